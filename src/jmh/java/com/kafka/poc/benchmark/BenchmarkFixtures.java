@@ -0,0 +1,33 @@
+package com.kafka.poc.benchmark;
+
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.enums.TransactionStatus;
+import com.kafka.poc.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Shared synthetic inputs for the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static TransactionDTO transaction() {
+        return TransactionDTO.builder()
+                .transactionId(UUID.randomUUID().toString())
+                .fromAccount("ACC-1000200030")
+                .toAccount("ACC-4000500060")
+                .amount(new BigDecimal("1250.75"))
+                .currency("INR")
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.CREATED)
+                .description("Monthly rent transfer")
+                .timestamp(Instant.now().toString())
+                .build();
+    }
+}
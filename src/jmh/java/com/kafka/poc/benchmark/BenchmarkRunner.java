@@ -0,0 +1,129 @@
+package com.kafka.poc.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Entry point for the JMH benchmarks.
+ * <p>
+ * Runs every benchmark matching {@code bench.include} with the GC profiler attached, so each result also reports
+ * the allocation rate per operation ({@code gc.alloc.rate.norm}), and writes the results as JSON to
+ * {@code bench.result}. When {@code bench.baseline} points at a previous result file, each benchmark is compared
+ * with its baseline and the process exits with status 1 if throughput dropped, or allocation per operation grew,
+ * by more than {@code bench.threshold} percent.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *     mvn -Pbenchmark test-compile exec:exec
+ *     cp target/jmh-result.json baseline.json
+ *     mvn -o -Pbenchmark test-compile exec:exec -Dbench.baseline=baseline.json -Dbench.threshold=5
+ * </pre>
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = System.getProperty("bench.include", ".*");
+        String baseline = System.getProperty("bench.baseline", "");
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "10"));
+        String result = System.getProperty("bench.result", "target/jmh-result.json");
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .forks(Integer.getInteger("bench.forks", 1))
+                .warmupIterations(Integer.getInteger("bench.warmup", 3))
+                .measurementIterations(Integer.getInteger("bench.iterations", 5))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+
+        if (baseline != null && !baseline.isBlank()) {
+            int regressions = compare(new File(baseline), new File(result), threshold);
+            if (regressions > 0) {
+                System.err.printf("%d benchmark(s) regressed by more than %.1f%% against %s%n", regressions, threshold, baseline);
+                System.exit(1);
+            }
+            System.out.printf("No regressions beyond %.1f%% against %s%n", threshold, baseline);
+        }
+    }
+
+    /**
+     * Compares two JMH JSON result files and prints one line per benchmark present in both.
+     *
+     * @return the number of benchmarks that regressed beyond the threshold
+     */
+    private static int compare(File baselineFile, File currentFile, double threshold) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(objectMapper.readTree(currentFile));
+        int regressions = 0;
+        System.out.printf("%n%-90s %14s %14s %9s %12s %12s %9s%n", "Benchmark", "Base score", "Score", "Delta", "Base B/op", "B/op", "Delta");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %s%n", entry.getKey(), "(no baseline)");
+                continue;
+            }
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double score = entry.getValue().path("primaryMetric").path("score").asDouble();
+            boolean lowerIsBetter = !"thrpt".equals(entry.getValue().path("mode").asText());
+            double scoreDelta = percent(baseScore, score);
+            double baseAlloc = before.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(Double.NaN);
+            double alloc = entry.getValue().path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(Double.NaN);
+            double allocDelta = percent(baseAlloc, alloc);
+            boolean regressed = (lowerIsBetter ? scoreDelta > threshold : scoreDelta < -threshold)
+                    || (!Double.isNaN(allocDelta) && baseAlloc > 1 && allocDelta > threshold);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.2f %14.2f %+8.1f%% %12.1f %12.1f %+8.1f%%%s%n", entry.getKey(), baseScore, score, scoreDelta,
+                    baseAlloc, alloc, allocDelta, regressed ? "  REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    /**
+     * Indexes results by benchmark name plus parameters, so parameterized runs are compared one to one.
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new TreeMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                List<String> names = new ArrayList<>();
+                params.fieldNames().forEachRemaining(names::add);
+                Collections.sort(names);
+                for (String name : names) {
+                    key.append(':').append(name).append('=').append(params.get(name).asText());
+                }
+            }
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+
+    private static double percent(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return Double.NaN;
+        }
+        return (after - before) / before * 100.0;
+    }
+}
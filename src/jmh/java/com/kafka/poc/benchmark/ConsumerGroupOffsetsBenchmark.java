@@ -0,0 +1,94 @@
+package com.kafka.poc.benchmark;
+
+import com.kafka.poc.model.OffsetInfo;
+import com.kafka.poc.service.impl.ConsumerGroupServiceImpl;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsOptions;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures offset and lag assembly in {@link ConsumerGroupServiceImpl#getOffsets(String)} against a
+ * {@link MockAdminClient} holding one topic whose partitions all have committed offsets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConsumerGroupOffsetsBenchmark {
+
+    private static final String TOPIC = "banking.transaction.topic";
+    private static final String GROUP = "transaction_group";
+
+    @Param({"10", "1000"})
+    private int partitions;
+
+    private MockAdminClient adminClient;
+    private ConsumerGroupServiceImpl consumerGroupService;
+
+    @Setup
+    public void setUp() {
+        Node broker = new Node(0, "localhost", 9092);
+        List<TopicPartitionInfo> partitionInfos = new ArrayList<>(partitions);
+        List<TopicPartition> topicPartitions = new ArrayList<>(partitions);
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        Map<TopicPartition, Long> committed = new HashMap<>();
+        for (int p = 0; p < partitions; p++) {
+            partitionInfos.add(new TopicPartitionInfo(p, broker, List.of(broker), List.of(broker)));
+            TopicPartition topicPartition = new TopicPartition(TOPIC, p);
+            topicPartitions.add(topicPartition);
+            beginningOffsets.put(topicPartition, 0L);
+            endOffsets.put(topicPartition, 100_000L + p);
+            committed.put(topicPartition, 90_000L + p);
+        }
+        adminClient = new WholeGroupMockAdminClient(List.of(broker), broker, topicPartitions);
+        adminClient.addTopic(false, TOPIC, partitionInfos, Collections.emptyMap());
+        adminClient.updateBeginningOffsets(beginningOffsets);
+        adminClient.updateEndOffsets(endOffsets);
+        adminClient.updateConsumerGroupOffsets(committed);
+
+        consumerGroupService = new ConsumerGroupServiceImpl();
+        ReflectionTestUtils.setField(consumerGroupService, "adminClient", adminClient);
+    }
+
+    @TearDown
+    public void tearDown() {
+        adminClient.close();
+    }
+
+    @Benchmark
+    public List<OffsetInfo> getOffsets() {
+        return consumerGroupService.getOffsets(GROUP);
+    }
+
+    /**
+     * MockAdminClient only answers listConsumerGroupOffsets for explicitly listed partitions, while the service asks
+     * for the whole group; fill in the benchmark's partitions in that case.
+     */
+    private static final class WholeGroupMockAdminClient extends MockAdminClient {
+        private final List<TopicPartition> topicPartitions;
+
+        private WholeGroupMockAdminClient(List<Node> brokers, Node controller, List<TopicPartition> topicPartitions) {
+            super(brokers, controller);
+            this.topicPartitions = topicPartitions;
+        }
+
+        @Override
+        public synchronized ListConsumerGroupOffsetsResult listConsumerGroupOffsets(Map<String, ListConsumerGroupOffsetsSpec> groupSpecs,
+                                                                                   ListConsumerGroupOffsetsOptions options) {
+            Map<String, ListConsumerGroupOffsetsSpec> specs = new HashMap<>();
+            groupSpecs.forEach((group, spec) -> specs.put(group, spec.topicPartitions() == null
+                    ? new ListConsumerGroupOffsetsSpec().topicPartitions(topicPartitions)
+                    : spec));
+            return super.listConsumerGroupOffsets(specs, options);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.kafka.poc.benchmark;
+
+import com.kafka.poc.controller.TransactionController;
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.model.common.CommonSuccessResponse;
+import com.kafka.poc.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the controller layer around a request: invoking the handler and building the
+ * {@link CommonSuccessResponse} envelope, with the service replaced by a pass-through stub.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ControllerResponseBenchmark {
+
+    private TransactionController transactionController;
+    private TransactionDTO transaction;
+
+    @Setup
+    public void setUp() {
+        transactionController = new TransactionController();
+        TransactionService passThrough = transactionDTO -> transactionDTO;
+        ReflectionTestUtils.setField(transactionController, "transactionService", passThrough);
+        transaction = BenchmarkFixtures.transaction();
+    }
+
+    @Benchmark
+    public ResponseEntity<CommonSuccessResponse<TransactionDTO>> initiateTransactionResponse() {
+        return transactionController.initiateTransaction(transaction);
+    }
+}
@@ -0,0 +1,49 @@
+package com.kafka.poc.benchmark;
+
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.serialization.PayloadSerializer;
+import com.kafka.poc.utils.Utility;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Utility#objectToJsonString(Object)} on a {@link TransactionDTO}, the encoding used for every
+ * transaction sent to Kafka, against the {@link PayloadSerializer} path that encodes the transaction straight into
+ * the record bytes. Compare the {@code gc.alloc.rate.norm} of {@link #transactionToRecordBytes()} and
+ * {@link #transactionEncoded()}: both produce the bytes the producer appends to its batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonSerializationBenchmark {
+
+    private static final String TOPIC = "banking.transaction.topic";
+
+    private TransactionDTO transaction;
+    private StringSerializer stringSerializer;
+    private PayloadSerializer payloadSerializer;
+
+    @Setup
+    public void setUp() {
+        transaction = BenchmarkFixtures.transaction();
+        stringSerializer = new StringSerializer();
+        payloadSerializer = new PayloadSerializer();
+    }
+
+    @Benchmark
+    public String transactionToJson() {
+        return Utility.objectToJsonString(transaction);
+    }
+
+    @Benchmark
+    public byte[] transactionToRecordBytes() {
+        return stringSerializer.serialize(TOPIC, Utility.objectToJsonString(transaction));
+    }
+
+    @Benchmark
+    public byte[] transactionEncoded() {
+        return payloadSerializer.serialize(TOPIC, transaction);
+    }
+}
@@ -0,0 +1,76 @@
+package com.kafka.poc.benchmark;
+
+import com.kafka.poc.metrics.ProducerMetrics;
+import com.kafka.poc.producer.KafkaDefaultPartitionStrategy;
+import com.kafka.poc.producer.KafkaProducer;
+import com.kafka.poc.producer.ProducerSpool;
+import com.kafka.poc.utils.Utility;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link KafkaProducer} send throughput against an auto-completing {@link MockProducer}, i.e. the
+ * application-side cost of a send (template, logging, metrics, callbacks) without any network I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KafkaProducerBenchmark {
+
+    private static final String TOPIC = "banking.transaction.topic";
+
+    private MockProducer<String, String> mockProducer;
+    private KafkaProducer kafkaProducer;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        mockProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer()) {
+            @Override
+            public void close() {
+                close(Duration.ZERO);
+            }
+
+            @Override
+            public void close(Duration timeout) {
+                // KafkaTemplate closes non-transactional producers after each send; keep the shared instance open.
+            }
+        };
+        KafkaTemplate<String, String> kafkaTemplate = new KafkaTemplate<>(new MockProducerFactory<>(() -> mockProducer));
+        ProducerMetrics producerMetrics = new ProducerMetrics();
+        ReflectionTestUtils.setField(producerMetrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(producerMetrics, "maxTopicTags", 200);
+        kafkaProducer = new KafkaProducer();
+        ReflectionTestUtils.setField(kafkaProducer, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(kafkaProducer, "producerMetrics", producerMetrics);
+        ReflectionTestUtils.setField(kafkaProducer, "producerSpool", new ProducerSpool());
+        ReflectionTestUtils.setField(kafkaProducer, "partitionStrategy", new KafkaDefaultPartitionStrategy());
+        message = Utility.objectToJsonString(BenchmarkFixtures.transaction());
+    }
+
+    /**
+     * MockProducer keeps every sent record; drop them between iterations so the history does not dominate the heap.
+     */
+    @TearDown(Level.Iteration)
+    public void clearHistory() {
+        mockProducer.clear();
+    }
+
+    @Benchmark
+    public void sendMessage() {
+        kafkaProducer.sendMessage(TOPIC, message);
+    }
+
+    @Benchmark
+    public void sendMessageWithKey() {
+        kafkaProducer.sendMessageWithKey(TOPIC, message, "ACC-1000200030");
+    }
+}
@@ -0,0 +1,39 @@
+package com.kafka.poc.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.enums.TransactionType;
+import com.kafka.poc.serialization.TransactionJsonEncoder;
+import com.kafka.poc.serialization.TransactionView;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the consumer-side cost of routing a transaction record on its type: reading it through a
+ * {@link TransactionView} against parsing the whole record into a {@link TransactionDTO}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionViewBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] record;
+
+    @Setup
+    public void setUp() {
+        record = TransactionJsonEncoder.encode(BenchmarkFixtures.transaction());
+    }
+
+    @Benchmark
+    public boolean typeFromView() {
+        return TransactionView.of(record).type() == TransactionType.TRANSFER;
+    }
+
+    @Benchmark
+    public boolean typeFromFullParse() throws IOException {
+        return objectMapper.readValue(record, TransactionDTO.class).getType() == TransactionType.TRANSFER;
+    }
+}
@@ -0,0 +1,97 @@
+package com.kafka.poc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafka.poc.model.common.CommonErrorResponse;
+import com.kafka.poc.producer.AdmissionControl;
+import com.kafka.poc.utils.Constants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds produce and transaction requests refused by {@link AdmissionControl}.
+ * <p>
+ * Runs before the body is read, so a refused request costs no JSON parsing and never reaches the producer. The
+ * answer is {@code 429 Too Many Requests} with a {@code Retry-After} header, in whole seconds, telling when a permit
+ * is free again. Covers {@code POST /api/transactions/initiate} and {@code POST /api/kafka/producer/produce[-with-key]/{topic}}.
+ * </p>
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String TRANSACTIONS_PATH = "/api/transactions/initiate";
+    private static final String PRODUCE_PATH = "/api/kafka/producer/produce/";
+    private static final String PRODUCE_WITH_KEY_PATH = "/api/kafka/producer/produce-with-key/";
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionControl.isEnabled() || !HttpMethod.POST.matches(request.getMethod())
+                || resolveTopic(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String topic = resolveTopic(request.getRequestURI());
+        long waitNanos = admissionControl.admit(topic, resolveCaller(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        CommonErrorResponse body = CommonErrorResponse.builder()
+                .timestamp(String.valueOf(Instant.now()))
+                .status(Constants.FAILURE_TAG)
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests for topic " + topic + ", retry after " + retryAfterSeconds + " s.")
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Returns the identity a request is rate limited by: its authenticated principal, or its client address for
+     * anonymous requests. Headers are not trusted, since any caller could pick a fresh identity with each request.
+     */
+    private static String resolveCaller(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : request.getRemoteAddr();
+    }
+
+    /**
+     * Returns the topic a request produces to, or null for requests that are not admission controlled.
+     */
+    private String resolveTopic(String uri) {
+        if (TRANSACTIONS_PATH.equals(uri)) {
+            return Constants.TRANSACTION_TOPIC;
+        }
+        String topic = null;
+        if (uri.startsWith(PRODUCE_PATH)) {
+            topic = uri.substring(PRODUCE_PATH.length());
+        } else if (uri.startsWith(PRODUCE_WITH_KEY_PATH)) {
+            topic = uri.substring(PRODUCE_WITH_KEY_PATH.length());
+        }
+        return topic == null || topic.isEmpty() || topic.indexOf('/') >= 0 ? null : topic;
+    }
+}
@@ -0,0 +1,312 @@
+package com.kafka.poc.config;
+
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response wrapper used by {@link ResponseCompressionFilter}.
+ * <p>
+ * The body is held back until it reaches the compression threshold, then the wrapper commits to one of two modes:
+ * compressing everything written from then on, or passing it through unchanged. Bodies that end below the threshold
+ * are written uncompressed when the filter finishes the response. A flush while the request is asynchronous means
+ * the handler is streaming, so the wrapper commits to compression right away instead of holding items back; flushes
+ * of synchronous responses are deferred to the end, since message converters flush after every body.
+ * </p>
+ */
+@Slf4j
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum Mode {PENDING, IDENTITY, COMPRESSING}
+
+    private final HttpServletRequest request;
+    private final ResponseCompressionFilter filter;
+    private final String encoding;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private Mode mode = Mode.PENDING;
+    private Long declaredLength;
+    private OutputStream target;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CompressingResponseWrapper(HttpServletResponse response, HttpServletRequest request,
+                               ResponseCompressionFilter filter, String encoding) {
+        super(response);
+        this.request = request;
+        this.filter = filter;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response.");
+        }
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response.");
+            }
+            outputStream = new CompressingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (mode == Mode.PENDING) {
+            declaredLength = len;
+        } else if (mode == Mode.IDENTITY) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        flush();
+        if (mode != Mode.PENDING) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        buffer.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        buffer.reset();
+        declaredLength = null;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        passThrough();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        passThrough();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        passThrough();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Completes the response: writes a held-back body uncompressed, or ends the compressed stream.
+     *
+     * @param completed false if the handler failed, in which case a held-back body is discarded so the error
+     *                  response can replace it
+     */
+    void finish(boolean completed) throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (mode == Mode.PENDING) {
+            if (!completed) {
+                return;
+            }
+            if (buffer.size() > 0) {
+                declaredLength = (long) buffer.size();
+            }
+            startIdentity();
+            return;
+        }
+        if (mode == Mode.COMPRESSING) {
+            try {
+                target.close();
+            } catch (IOException e) {
+                log.debug("Could not complete compressed response, client likely disconnected: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void passThrough() {
+        if (mode == Mode.PENDING) {
+            buffer.reset();
+            mode = Mode.IDENTITY;
+        }
+    }
+
+    private void write(byte[] bytes, int off, int len) throws IOException {
+        if (mode == Mode.PENDING) {
+            if (!isCompressible() || (declaredLength != null && declaredLength < filter.getMinResponseSize())) {
+                startIdentity();
+            } else if (buffer.size() + len < filter.getMinResponseSize()) {
+                buffer.write(bytes, off, len);
+                return;
+            } else {
+                startCompressing();
+            }
+        }
+        target().write(bytes, off, len);
+    }
+
+    private void flush() throws IOException {
+        if (mode == Mode.PENDING) {
+            if (!isCompressible()) {
+                startIdentity();
+            } else if (request.isAsyncStarted()) {
+                startCompressing();
+            } else {
+                return;
+            }
+        }
+        target().flush();
+    }
+
+    private OutputStream target() throws IOException {
+        if (target == null) {
+            target = super.getOutputStream();
+        }
+        return target;
+    }
+
+    private boolean isCompressible() {
+        return getHeader(HttpHeaders.CONTENT_ENCODING) == null && filter.isCompressible(getContentType());
+    }
+
+    private void startIdentity() throws IOException {
+        mode = Mode.IDENTITY;
+        if (filter.isCompressible(getContentType())) {
+            addVary();
+        }
+        if (declaredLength != null) {
+            super.setContentLengthLong(declaredLength);
+        }
+        target = super.getOutputStream();
+        buffer.writeTo(target);
+        buffer.reset();
+    }
+
+    private void startCompressing() throws IOException {
+        mode = Mode.COMPRESSING;
+        addVary();
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        OutputStream out = super.getOutputStream();
+        if (ResponseCompressionFilter.ZSTD.equals(encoding)) {
+            target = new ZstdOutputStreamNoFinalizer(out, filter.getZstdLevel());
+        } else {
+            int level = filter.getGzipLevel();
+            target = new GZIPOutputStream(out, 8192, true) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+        buffer.writeTo(target);
+        buffer.reset();
+    }
+
+    private void addVary() {
+        String vary = getHeader(HttpHeaders.VARY);
+        if (vary == null || !vary.toLowerCase(Locale.ROOT).contains(HttpHeaders.ACCEPT_ENCODING.toLowerCase(Locale.ROOT))) {
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    /**
+     * Servlet output stream routing every write through the wrapper's current mode.
+     */
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            CompressingResponseWrapper.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            CompressingResponseWrapper.this.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported on compressed responses.");
+        }
+    }
+}
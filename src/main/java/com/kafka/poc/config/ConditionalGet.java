@@ -0,0 +1,20 @@
+package com.kafka.poc.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint returning cacheable cluster metadata.
+ * <p>
+ * {@link ConditionalGetAdvice} tags its responses with an ETag computed from the payload and answers a matching
+ * {@code If-None-Match} with 304 Not Modified and no body.
+ * </p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+}
@@ -0,0 +1,124 @@
+package com.kafka.poc.config;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.kafka.poc.model.common.CommonSuccessResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Adds ETag / If-None-Match support to the endpoints annotated with {@link ConditionalGet}.
+ * <p>
+ * The ETag covers the payload only, since the envelope's {@code timestamp} changes on every request and would make
+ * a hash of the whole body useless. The payload is serialized once, into a Jackson {@link TokenBuffer}; the ETag is a
+ * 64-bit fingerprint of those tokens, and the response is written by replaying the same buffer, so the payload's
+ * object graph is never serialized twice. When the client's {@code If-None-Match} matches, the
+ * response becomes 304 Not Modified without a body, so polling unchanged metadata only costs the admin requests,
+ * not the transfer. The ETag is weak because the same payload is served in several encodings (JSON, Smile, CBOR,
+ * compressed or not). Responses carry {@code Cache-Control: no-cache} so caches revalidate before reuse.
+ * </p>
+ */
+@Slf4j
+@ControllerAdvice
+public class ConditionalGetAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Application ObjectMapper, used to serialize payloads into token buffers.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(ConditionalGet.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof CommonSuccessResponse<?> successResponse)
+                || !HttpMethod.GET.equals(request.getMethod())
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        TokenBuffer payload;
+        String eTag;
+        try {
+            payload = new TokenBuffer(objectMapper, false);
+            objectMapper.writeValue(payload, successResponse.getPayload());
+            eTag = "W/\"" + Long.toHexString(fingerprint(payload)) + "\"";
+        } catch (IOException e) {
+            log.warn("Could not compute ETag, serving the full response. Reason: {}", e.getMessage());
+            return body;
+        }
+        if (!response.getHeaders().containsKey(HttpHeaders.CACHE_CONTROL)) {
+            response.getHeaders().setCacheControl(CacheControl.noCache());
+        }
+        ServletWebRequest webRequest = new ServletWebRequest(servletRequest.getServletRequest(), servletResponse.getServletResponse());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return CommonSuccessResponse.builder()
+                .timestamp(successResponse.getTimestamp())
+                .status(successResponse.getStatus())
+                .statusCode(successResponse.getStatusCode())
+                .message(successResponse.getMessage())
+                .payload(payload)
+                .build();
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a fingerprint over the tokens of a serialized payload. Field names, strings and numbers
+     * are read back as the objects the buffer already holds, so nothing is rendered to text or bytes.
+     *
+     * @param payload the serialized payload
+     * @return the fingerprint
+     */
+    private static long fingerprint(TokenBuffer payload) throws IOException {
+        long hash = 0xcbf29ce484222325L;
+        try (JsonParser parser = payload.asParser()) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                hash = mix(hash, token.ordinal());
+                switch (token) {
+                    case FIELD_NAME, VALUE_STRING -> hash = mix(hash, parser.getText().hashCode());
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> hash = mix(hash, parser.getNumberValue().hashCode());
+                    case VALUE_EMBEDDED_OBJECT -> hash = mix(hash, parser.getEmbeddedObject() instanceof byte[] bytes
+                            ? Arrays.hashCode(bytes) : Objects.hashCode(parser.getEmbeddedObject()));
+                    default -> {
+                    }
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
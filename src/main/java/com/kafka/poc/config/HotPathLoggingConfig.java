@@ -0,0 +1,44 @@
+package com.kafka.poc.config;
+
+import com.kafka.poc.utils.HotPathLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the {@code kafka.poc.logging.*} sampling and output settings to every {@link HotPathLogger} and binds their event
+ * counters to the application's meter registry.
+ */
+@Configuration
+public class HotPathLoggingConfig {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Keep one in this many INFO hot-path events; 1 logs every event.
+     */
+    @Value("${kafka.poc.logging.sample-every:100}")
+    private int sampleEvery;
+
+    /**
+     * Maximum hot-path events logged per second by each hot-path logger.
+     */
+    @Value("${kafka.poc.logging.max-per-second:20}")
+    private int maxPerSecond;
+
+    /**
+     * Attach hot-path fields as SLF4J key/value pairs instead of appending them to the message; for structured
+     * logging ({@code logging.structured.format.*}) or patterns with {@code %kvp}.
+     */
+    @Value("${kafka.poc.logging.key-values:false}")
+    private boolean keyValues;
+
+    @PostConstruct
+    public void configureHotPathLogging() {
+        HotPathLogger.configure(sampleEvery, maxPerSecond, keyValues);
+        HotPathLogger.bindTo(meterRegistry);
+    }
+}
@@ -1,7 +1,12 @@
 package com.kafka.poc.config;
 
+import com.kafka.poc.serialization.PayloadSerializer;
+import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.KafkaAdmin;
@@ -36,4 +41,34 @@ public class KafkaConfig {
         configs.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServer);
         return new KafkaAdmin(configs);
     }
+
+    /**
+     * Creates a long-lived AdminClient shared by components that issue frequent or concurrent admin requests.
+     * <p>
+     * Creating an AdminClient per call costs a fresh metadata bootstrap and network connections each time;
+     * sharing one instance lets concurrent requests be multiplexed over the same connections.
+     * The client is closed when the application context shuts down.
+     * </p>
+     *
+     * @param kafkaAdmin the KafkaAdmin holding the admin client configuration
+     * @return a shared AdminClient instance
+     */
+    @Bean(destroyMethod = "close")
+    public AdminClient adminClient(KafkaAdmin kafkaAdmin) {
+        return AdminClient.create(kafkaAdmin.getConfigurationProperties());
+    }
+
+    /**
+     * Switches the shared producer's value serializer to {@link PayloadSerializer}, so transactions can be handed to
+     * it as {@link com.kafka.poc.dto.TransactionDTO}s and encoded without an intermediate JSON String. String values
+     * are serialized as before.
+     *
+     * @return a customizer overriding the configured value serializer
+     */
+    @Bean
+    @ConditionalOnProperty(name = "kafka.poc.serialization.transaction-encoder.enabled", havingValue = "true")
+    public DefaultKafkaProducerFactoryCustomizer payloadSerializerCustomizer() {
+        return producerFactory -> producerFactory.updateConfigs(
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, PayloadSerializer.class));
+    }
 }
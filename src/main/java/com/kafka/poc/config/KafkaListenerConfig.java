@@ -0,0 +1,101 @@
+package com.kafka.poc.config;
+
+import com.kafka.poc.consumer.TransactionRoutingStage;
+import com.kafka.poc.serialization.TransactionView;
+import com.kafka.poc.serialization.TransactionViewConverter;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Listener configuration for consumers that read record values as raw bytes.
+ * <p>
+ * Boot's default container factory deserializes values with the configured value deserializer (a String). The
+ * {@link #RAW_CONTAINER_FACTORY} factory is the same consumer configuration, with the same customizers, listeners
+ * and container settings, except that values stay {@code byte[]}; together with the {@link TransactionViewConverter}
+ * a listener can then take a {@link TransactionView} over the record bytes and decode only the fields it needs.
+ * When enabled, the {@link TransactionRoutingStage} filters and routes records of this factory before they reach a
+ * listener. The {@link #DYNAMIC_CONTAINER_FACTORY} factory is the same raw-bytes factory without the routing stage,
+ * for the listeners created at runtime: the stage decides on the topic alone, so it would otherwise apply the
+ * transaction listener's rules to every other group reading the same topics. The stage is not a
+ * {@code RecordFilterStrategy} bean, so Boot's own factories never pick it up.
+ * </p>
+ */
+@Configuration
+public class KafkaListenerConfig {
+
+    /**
+     * Bean name of the container factory delivering record values as {@code byte[]}.
+     */
+    public static final String RAW_CONTAINER_FACTORY = "rawKafkaListenerContainerFactory";
+
+    /**
+     * Bean name of the raw-bytes container factory for listeners created at runtime, which bypasses routing.
+     */
+    public static final String DYNAMIC_CONTAINER_FACTORY = "dynamicKafkaListenerContainerFactory";
+
+    /**
+     * Creates the raw-bytes listener container factory from Boot's consumer factory and listener settings.
+     *
+     * @param configurer      Boot's container factory configurer, applying {@code spring.kafka.listener.*}
+     * @param consumerFactory Boot's consumer factory, after its customizers ran
+     * @param routingStage    the routing stage, if enabled
+     * @return the container factory
+     */
+    @Bean(RAW_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> rawKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer, ConsumerFactory<Object, Object> consumerFactory,
+            ObjectProvider<TransactionRoutingStage> routingStage) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = rawFactory(configurer, consumerFactory);
+        routingStage.ifAvailable(stage -> {
+            factory.setRecordFilterStrategy(stage::route);
+            factory.setAckDiscarded(true);
+        });
+        return factory;
+    }
+
+    /**
+     * Creates the raw-bytes listener container factory used for listeners created at runtime, without the routing
+     * stage.
+     *
+     * @param configurer      Boot's container factory configurer, applying {@code spring.kafka.listener.*}
+     * @param consumerFactory Boot's consumer factory, after its customizers ran
+     * @return the container factory
+     */
+    @Bean(DYNAMIC_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> dynamicKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer, ConsumerFactory<Object, Object> consumerFactory) {
+        return rawFactory(configurer, consumerFactory);
+    }
+
+    private static ConcurrentKafkaListenerContainerFactory<Object, Object> rawFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer, ConsumerFactory<Object, Object> consumerFactory) {
+        Map<String, Object> configs = new HashMap<>(consumerFactory.getConfigurationProperties());
+        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        DefaultKafkaConsumerFactory<Object, Object> rawConsumerFactory = new DefaultKafkaConsumerFactory<>(configs);
+        consumerFactory.getListeners().forEach(rawConsumerFactory::addListener);
+        consumerFactory.getPostProcessors().forEach(rawConsumerFactory::addPostProcessor);
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, rawConsumerFactory);
+        return factory;
+    }
+
+    /**
+     * Lets listeners declare {@link TransactionView} as their payload type.
+     *
+     * @return the converter
+     */
+    @Bean
+    public TransactionViewConverter transactionViewConverter() {
+        return new TransactionViewConverter();
+    }
+}
@@ -0,0 +1,53 @@
+package com.kafka.poc.config;
+
+import com.kafka.poc.metrics.ConsumerPollMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+/**
+ * Kafka metrics configuration.
+ * <p>
+ * Spring Boot already binds the native metrics of the producer and consumer factories to Micrometer, and the
+ * listener containers time every listener invocation ({@code spring.kafka.listener}). This configuration adds the
+ * pieces Boot does not cover: the native metrics of the shared {@link AdminClient}, and the
+ * {@link ConsumerPollMetrics} reporting records per poll.
+ * </p>
+ */
+@Configuration
+public class KafkaMetricsConfig {
+
+    /**
+     * Binds the native metrics of the shared AdminClient to the meter registry.
+     *
+     * @param adminClient   the shared AdminClient
+     * @param meterRegistry the application meter registry
+     * @return the metrics binder, closed with the application context
+     */
+    @Bean(destroyMethod = "close")
+    public KafkaClientMetrics adminClientMetrics(AdminClient adminClient, MeterRegistry meterRegistry) {
+        KafkaClientMetrics kafkaClientMetrics = new KafkaClientMetrics(adminClient);
+        kafkaClientMetrics.bindTo(meterRegistry);
+        return kafkaClientMetrics;
+    }
+
+    /**
+     * Registers the records-per-poll metrics on the consumer factory. Consumer factories copied from Boot's one, such
+     * as the raw-bytes factory, inherit it with the factory's other post-processors.
+     *
+     * @param meterRegistry the application meter registry
+     * @return a consumer factory customizer
+     */
+    @Bean
+    public DefaultKafkaConsumerFactoryCustomizer consumerPollMetricsCustomizer(MeterRegistry meterRegistry) {
+        return consumerFactory -> addPollMetrics(consumerFactory, meterRegistry);
+    }
+
+    private static <K, V> void addPollMetrics(DefaultKafkaConsumerFactory<K, V> consumerFactory, MeterRegistry meterRegistry) {
+        consumerFactory.addPostProcessor(new ConsumerPollMetrics<>(meterRegistry));
+    }
+}
@@ -0,0 +1,68 @@
+package com.kafka.poc.config;
+
+import com.kafka.poc.utils.RequestDeadline;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts a {@link RequestDeadline} for every API request.
+ * <p>
+ * The budget is {@code kafka.poc.admin.request-timeout-ms}, or the value of the {@value #TIMEOUT_HEADER} header
+ * when the client sends one, capped at {@code kafka.poc.admin.max-request-timeout-ms}.
+ * </p>
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    /**
+     * Request header carrying the client's time budget in milliseconds.
+     */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    @Value("${kafka.poc.admin.request-timeout-ms:30000}")
+    private long requestTimeoutMs;
+
+    @Value("${kafka.poc.admin.max-request-timeout-ms:120000}")
+    private long maxRequestTimeoutMs;
+
+    @PostConstruct
+    public void configureDefaultTimeout() {
+        RequestDeadline.configure(requestTimeoutMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDeadline.start(resolveTimeoutMs(request.getHeader(TIMEOUT_HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private long resolveTimeoutMs(String header) {
+        if (header == null || header.isBlank()) {
+            return requestTimeoutMs;
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? Math.min(requested, maxRequestTimeoutMs) : requestTimeoutMs;
+        } catch (NumberFormatException e) {
+            return requestTimeoutMs;
+        }
+    }
+}
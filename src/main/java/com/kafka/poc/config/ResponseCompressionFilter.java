@@ -0,0 +1,169 @@
+package com.kafka.poc.config;
+
+import com.github.luben.zstd.util.Native;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compresses API responses with zstd or gzip, negotiated through {@code Accept-Encoding}.
+ * <p>
+ * zstd is preferred when the client accepts both, since it compresses JSON better than gzip at a fraction of the
+ * CPU cost. Only responses whose content type is listed in {@code kafka.poc.compression.mime-types} and whose body
+ * reaches {@code kafka.poc.compression.min-response-size} bytes are compressed; smaller bodies are buffered up to
+ * the threshold and sent as they are. Streamed responses are compressed as they are written and every flush is
+ * passed through, so clients still receive the first items early. Server-Sent Events are never compressed.
+ * </p>
+ * <p>
+ * Asynchronous responses (streamed bodies, NDJSON) are finished on the async dispatch that completes them, the
+ * same way Spring's {@link org.springframework.web.filter.ShallowEtagHeaderFilter} handles them. When the zstd
+ * native library cannot be loaded on this platform, only gzip is offered.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+    static final String ZSTD = "zstd";
+
+    @Value("${kafka.poc.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${kafka.poc.compression.min-response-size:2048}")
+    private int minResponseSize;
+
+    @Value("${kafka.poc.compression.mime-types:application/json,application/x-ndjson,application/x-jackson-smile,application/cbor}")
+    private String mimeTypes;
+
+    @Value("${kafka.poc.compression.gzip-level:6}")
+    private int gzipLevel;
+
+    @Value("${kafka.poc.compression.zstd-level:3}")
+    private int zstdLevel;
+
+    private List<MediaType> compressibleTypes;
+
+    private boolean zstdAvailable;
+
+    @PostConstruct
+    public void configureCompression() {
+        compressibleTypes = MediaType.parseMediaTypes(mimeTypes);
+        try {
+            Native.load();
+            zstdAvailable = true;
+        } catch (Throwable e) {
+            log.warn("zstd native library unavailable, responses will only be compressed with gzip. Reason: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompressingResponseWrapper wrapper = isAsyncDispatch(request)
+                ? WebUtils.getNativeResponse(response, CompressingResponseWrapper.class)
+                : wrap(request, response);
+        if (wrapper == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, isAsyncDispatch(request) ? response : wrapper);
+            completed = true;
+        } finally {
+            if (!isAsyncStarted(request)) {
+                wrapper.finish(completed);
+            }
+        }
+    }
+
+    private CompressingResponseWrapper wrap(HttpServletRequest request, HttpServletResponse response) {
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return null;
+        }
+        String encoding = negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        return encoding == null ? null : new CompressingResponseWrapper(response, request, this, encoding);
+    }
+
+    /**
+     * Picks zstd or gzip from an {@code Accept-Encoding} header, ignoring codings the client refuses with {@code q=0}.
+     *
+     * @param acceptEncoding the request header, may be null
+     * @return the content coding to use, or null when the client accepts neither
+     */
+    private String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean zstd = false;
+        for (String token : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim();
+            if (parts.length > 1 && parts[1].trim().matches("q\\s*=\\s*0(\\.0*)?")) {
+                continue;
+            }
+            gzip |= GZIP.equals(coding) || "*".equals(coding);
+            zstd |= ZSTD.equals(coding);
+        }
+        if (zstd && zstdAvailable) {
+            return ZSTD;
+        }
+        return gzip ? GZIP : null;
+    }
+
+    /**
+     * Returns whether a response of the given content type may be compressed.
+     *
+     * @param contentType the response content type, may be null
+     * @return true if the type matches one of the configured MIME types
+     */
+    boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return compressibleTypes.stream().anyMatch(mimeType -> mimeType.includes(mediaType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    int getMinResponseSize() {
+        return minResponseSize;
+    }
+
+    int getGzipLevel() {
+        return gzipLevel;
+    }
+
+    int getZstdLevel() {
+        return zstdLevel;
+    }
+}
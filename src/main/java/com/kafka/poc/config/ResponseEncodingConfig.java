@@ -0,0 +1,46 @@
+package com.kafka.poc.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary response encodings for the REST API.
+ * <p>
+ * Registers Jackson Smile ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) converters next
+ * to the JSON one, so clients that send a matching {@code Accept} header receive the same
+ * {@link com.kafka.poc.model.common.CommonSuccessResponse} in a compact binary form. Both mappers are built from the
+ * application's {@link Jackson2ObjectMapperBuilder}, so {@code spring.jackson.*} settings apply to every encoding.
+ * JSON stays the default when no binary type is requested. Response compression is handled separately by
+ * {@link ResponseCompressionFilter}.
+ * </p>
+ */
+@Configuration
+public class ResponseEncodingConfig {
+
+    /**
+     * Converter writing and reading Jackson Smile.
+     *
+     * @param objectMapperBuilder the application ObjectMapper builder
+     * @return the Smile converter, picked up by Spring Boot's {@code HttpMessageConverters}
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Converter writing and reading CBOR.
+     *
+     * @param objectMapperBuilder the application ObjectMapper builder
+     * @return the CBOR converter, picked up by Spring Boot's {@code HttpMessageConverters}
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
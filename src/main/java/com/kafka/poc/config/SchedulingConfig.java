@@ -0,0 +1,12 @@
+package com.kafka.poc.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task execution for background watchers and scanners.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,35 @@
+package com.kafka.poc.consumer;
+
+import com.kafka.poc.serialization.TransactionView;
+import com.kafka.poc.utils.HotPathLogger;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Message listener of a listener created at runtime through the listener API.
+ * <p>
+ * Record values arrive as raw bytes. Without a handler each record is logged; with one, the value is passed to the
+ * {@link TransactionHandler} as a {@link TransactionView}.
+ * </p>
+ */
+public class DynamicListener {
+
+    private static final HotPathLogger CONSUME_LOG = HotPathLogger.of(DynamicListener.class, "kafka.consumer.record");
+
+    private final String listenerId;
+    private final TransactionHandler handler;
+
+    public DynamicListener(String listenerId, TransactionHandler handler) {
+        this.listenerId = listenerId;
+        this.handler = handler;
+    }
+
+    public void onRecord(ConsumerRecord<Object, Object> record) {
+        if (handler != null && record.value() instanceof byte[] bytes) {
+            handler.handle(TransactionView.of(bytes), record);
+            return;
+        }
+        Object value = record.value();
+        CONSUME_LOG.info("Consumed message", "listener", listenerId, "partition", record.partition(),
+                "offset", record.offset(), "bytes", value instanceof byte[] bytes ? bytes.length : 0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.kafka.poc.consumer;
+
+import com.kafka.poc.enums.TransactionStatus;
+import com.kafka.poc.enums.TransactionType;
+import com.kafka.poc.serialization.TransactionView;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One rule of the {@link TransactionRoutingStage}, parsed from its text form:
+ * <pre>
+ *     condition[&amp;condition...]-&gt;target
+ * </pre>
+ * A condition is {@code field=value[|value...]} or {@code field!=value[|value...]}, where the field is
+ * {@code type}, {@code status}, {@code currency} or {@code header:<name>}; {@code header:<name>} alone requires the
+ * header to be present. All conditions must hold. A type or status the record does not carry, or that is not a known
+ * value, equals none of the listed values. The target is {@code drop}, a {@link TransactionHandler} bean
+ * name, or a bean name and a pool, {@code handler@pool}. For example
+ * {@code type=TRANSFER&currency!=INR->transactionConsumer@foreign}.
+ */
+final class RoutingRule {
+
+    private final String text;
+    private final Condition[] conditions;
+    private final boolean needsBody;
+    private final String handlerName;
+    private final String poolName;
+
+    private RoutingRule(String text, Condition[] conditions, String handlerName, String poolName) {
+        this.text = text;
+        this.conditions = conditions;
+        this.handlerName = handlerName;
+        this.poolName = poolName;
+        boolean body = false;
+        for (Condition condition : conditions) {
+            body |= condition.kind != Kind.HEADER;
+        }
+        this.needsBody = body;
+    }
+
+    /**
+     * Parses a rule.
+     *
+     * @throws IllegalStateException if the rule is malformed
+     */
+    static RoutingRule parse(String text) {
+        String rule = text.trim();
+        int arrow = rule.lastIndexOf("->");
+        if (arrow <= 0 || arrow == rule.length() - 2) {
+            throw invalid(rule, "expected <conditions>-><target>");
+        }
+        List<Condition> conditions = new ArrayList<>();
+        for (String condition : rule.substring(0, arrow).split("&")) {
+            conditions.add(Condition.parse(rule, condition.trim()));
+        }
+        String target = rule.substring(arrow + 2).trim();
+        if ("drop".equals(target)) {
+            return new RoutingRule(rule, conditions.toArray(Condition[]::new), null, null);
+        }
+        int at = target.indexOf('@');
+        String handler = at < 0 ? target : target.substring(0, at).trim();
+        String pool = at < 0 ? null : target.substring(at + 1).trim();
+        if (handler.isEmpty() || (pool != null && pool.isEmpty())) {
+            throw invalid(rule, "expected drop, <handler> or <handler>@<pool> as target");
+        }
+        return new RoutingRule(rule, conditions.toArray(Condition[]::new), handler, pool);
+    }
+
+    /**
+     * Evaluates the rule. The view is only read when a condition needs the record value.
+     */
+    boolean matches(ConsumerRecord<?, ?> record, TransactionView view) {
+        for (Condition condition : conditions) {
+            if (!condition.matches(record, view)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean needsBody() {
+        return needsBody;
+    }
+
+    boolean isDrop() {
+        return handlerName == null;
+    }
+
+    String handlerName() {
+        return handlerName;
+    }
+
+    String poolName() {
+        return poolName;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static IllegalStateException invalid(String rule, String reason) {
+        return new IllegalStateException("Invalid kafka.poc.routing rule '" + rule + "': " + reason);
+    }
+
+    private enum Kind {
+        TYPE, STATUS, CURRENCY, HEADER
+    }
+
+    private static final class Condition {
+
+        private final Kind kind;
+        private final boolean negated;
+        private final EnumSet<TransactionType> types;
+        private final EnumSet<TransactionStatus> statuses;
+        private final String[] currencies;
+        private final String header;
+        private final byte[][] headerValues;
+
+        private Condition(Kind kind, boolean negated, EnumSet<TransactionType> types, EnumSet<TransactionStatus> statuses,
+                          String[] currencies, String header, byte[][] headerValues) {
+            this.kind = kind;
+            this.negated = negated;
+            this.types = types;
+            this.statuses = statuses;
+            this.currencies = currencies;
+            this.header = header;
+            this.headerValues = headerValues;
+        }
+
+        private static Condition parse(String rule, String condition) {
+            int operator = condition.indexOf('=');
+            if (operator < 0) {
+                if (condition.startsWith("header:") && condition.length() > "header:".length()) {
+                    return new Condition(Kind.HEADER, false, null, null, null, condition.substring("header:".length()), null);
+                }
+                throw invalid(rule, "condition '" + condition + "' has no '=' or '!='");
+            }
+            boolean negated = operator > 0 && condition.charAt(operator - 1) == '!';
+            String field = condition.substring(0, negated ? operator - 1 : operator).trim();
+            String[] values = Arrays.stream(condition.substring(operator + 1).split("\\|")).map(String::trim).toArray(String[]::new);
+            if (values.length == 0 || Arrays.stream(values).anyMatch(String::isEmpty)) {
+                throw invalid(rule, "condition '" + condition + "' has an empty value");
+            }
+            try {
+                if (field.startsWith("header:") && field.length() > "header:".length()) {
+                    byte[][] bytes = Arrays.stream(values).map(v -> v.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+                    return new Condition(Kind.HEADER, negated, null, null, null, field.substring("header:".length()), bytes);
+                }
+                return switch (field.toLowerCase(Locale.ROOT)) {
+                    case "type" -> new Condition(Kind.TYPE, negated, enumSet(TransactionType.class, values), null, null, null, null);
+                    case "status" -> new Condition(Kind.STATUS, negated, null, enumSet(TransactionStatus.class, values), null, null, null);
+                    case "currency" -> new Condition(Kind.CURRENCY, negated, null, null, values, null, null);
+                    default -> throw invalid(rule, "unknown field '" + field + "'");
+                };
+            } catch (IllegalArgumentException e) {
+                throw invalid(rule, e.getMessage());
+            }
+        }
+
+        private static <E extends Enum<E>> EnumSet<E> enumSet(Class<E> type, String[] values) {
+            EnumSet<E> set = EnumSet.noneOf(type);
+            for (String value : values) {
+                set.add(Enum.valueOf(type, value.toUpperCase(Locale.ROOT)));
+            }
+            return set;
+        }
+
+        private boolean matches(ConsumerRecord<?, ?> record, TransactionView view) {
+            boolean matched = switch (kind) {
+                case TYPE -> types.contains(view.knownType());
+                case STATUS -> statuses.contains(view.knownStatus());
+                case CURRENCY -> anyCurrency(view);
+                case HEADER -> headerMatches(record);
+            };
+            return matched != negated;
+        }
+
+        private boolean anyCurrency(TransactionView view) {
+            for (String currency : currencies) {
+                if (view.isCurrency(currency)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean headerMatches(ConsumerRecord<?, ?> record) {
+            Header found = record.headers().lastHeader(header);
+            if (found == null) {
+                return false;
+            }
+            if (headerValues == null) {
+                return true;
+            }
+            for (byte[] value : headerValues) {
+                if (Arrays.equals(value, found.value())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
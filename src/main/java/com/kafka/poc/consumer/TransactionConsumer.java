@@ -1,25 +1,59 @@
 package com.kafka.poc.consumer;
 
-import lombok.extern.slf4j.Slf4j;
+import com.kafka.poc.config.KafkaListenerConfig;
+import com.kafka.poc.serialization.TransactionView;
+import com.kafka.poc.utils.HotPathLogger;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
-@Slf4j
+import java.util.function.Supplier;
+
 @Component
-public class TransactionConsumer {
+public class TransactionConsumer implements TransactionHandler {
+
+    private static final HotPathLogger CONSUME_LOG = HotPathLogger.of(TransactionConsumer.class, "kafka.consumer.record");
+
+    @KafkaListener(id = "transaction-listener", topics = "banking.transaction.topic", groupId = "transaction_group",
+            containerFactory = KafkaListenerConfig.RAW_CONTAINER_FACTORY)
+    public void consumeTransaction(@Payload TransactionView transaction, @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                   @Header(KafkaHeaders.OFFSET) long offset) {
+        CONSUME_LOG.info("Consumed transaction message", "partition", partition, "offset", offset,
+                "type", (Supplier<Object>) () -> typeOf(transaction), "bytes", transaction.raw().length);
+    }
+
+    /**
+     * Decodes the type for the sampled log line only, so records that are not valid transactions are still
+     * consumed; those are logged with the type {@code undecodable}.
+     */
+    private static Object typeOf(TransactionView transaction) {
+        try {
+            return transaction.type();
+        } catch (IllegalArgumentException e) {
+            return "undecodable";
+        }
+    }
 
-    @KafkaListener(topics = "banking.transaction.topic", groupId = "transaction_group")
-    public void consumeTransaction(String message) {
-        log.info("Consumed transaction message: {}", message);
+    /**
+     * Handles a transaction the {@link TransactionRoutingStage} routed here, e.g. onto a pool of its own.
+     */
+    @Override
+    public void handle(TransactionView transaction, ConsumerRecord<?, ?> record) {
+        consumeTransaction(transaction, record.partition(), record.offset());
     }
 
-    @KafkaListener(topics = "test.1", groupId = "test_group")
-    public void consumeTest1(String message) {
-        log.info("Consumed test-1 message: {}", message);
+    @KafkaListener(id = "test-1-listener", topics = "test.1", groupId = "test_group")
+    public void consumeTest1(@Payload String message, @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                             @Header(KafkaHeaders.OFFSET) long offset) {
+        CONSUME_LOG.info("Consumed test-1 message", "partition", partition, "offset", offset, "bytes", message.length());
     }
 
-    @KafkaListener(topics = "test.2", groupId = "test_group")
-    public void consumeTest2(String message) {
-        log.info("Consumed test-2 message: {}", message);
+    @KafkaListener(id = "test-2-listener", topics = "test.2", groupId = "test_group")
+    public void consumeTest2(@Payload String message, @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                             @Header(KafkaHeaders.OFFSET) long offset) {
+        CONSUME_LOG.info("Consumed test-2 message", "partition", partition, "offset", offset, "bytes", message.length());
     }
 }
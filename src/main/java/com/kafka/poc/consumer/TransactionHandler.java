@@ -0,0 +1,18 @@
+package com.kafka.poc.consumer;
+
+import com.kafka.poc.serialization.TransactionView;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Target of a {@link TransactionRoutingStage} rule, referenced from {@code kafka.poc.routing.rules} by bean name.
+ */
+public interface TransactionHandler {
+
+    /**
+     * Handles one routed transaction record.
+     *
+     * @param transaction lazy view of the record value
+     * @param record      the record, for its headers, partition and offset
+     */
+    void handle(TransactionView transaction, ConsumerRecord<?, ?> record);
+}
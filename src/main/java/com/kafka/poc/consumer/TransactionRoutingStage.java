@@ -0,0 +1,290 @@
+package com.kafka.poc.consumer;
+
+import com.kafka.poc.serialization.TransactionView;
+import com.kafka.poc.utils.HotPathLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Declarative filtering and routing of transaction records ahead of the listener.
+ * <p>
+ * The raw-bytes container factory installs {@link #route(ConsumerRecord)} as its {@link RecordFilterStrategy}, so
+ * the stage sees each record of the {@code kafka.poc.routing.topics} before any listener argument is converted. It
+ * is deliberately not a {@link RecordFilterStrategy} bean itself: Boot would apply such a bean to its default
+ * container factory too, and route the records of every listener there. The {@code kafka.poc.routing.rules}
+ * are tried in order, separated by {@code ;}, and the first matching {@link RoutingRule} decides:
+ * <ul>
+ *     <li><b>drop</b>: the record is discarded</li>
+ *     <li><b>handler</b>: the {@link TransactionHandler} bean of that name handles it on the consumer thread</li>
+ *     <li><b>handler@pool</b>: the handler runs on the named pool of {@code kafka.poc.routing.pools}, given as
+ *     {@code name=threads,...}. Each thread of a pool has its own queue and every partition is bound to one
+ *     thread, so the records of a partition are handled one at a time in offset order, as on the consumer
+ *     thread.</li>
+ * </ul>
+ * Records matched by no rule reach the {@code @KafkaListener} as before. Header conditions compare the raw header
+ * bytes; type, status and currency conditions read the value through one {@link TransactionView}, created only
+ * when a rule needs it, so dropped or re-routed records are never parsed into objects. A record whose value cannot
+ * be read is left to the listener and its error handling.
+ * </p>
+ * <p>
+ * The container commits the offset of a record once this stage returns. A record routed to a pool is therefore
+ * committed before its handler ran, and lost if the application stops in between; routes needing at-least-once
+ * delivery should run their handler on the consumer thread. A full pool queue blocks the consumer thread until
+ * the pool catches up, which slows the consumer down instead of dropping or reordering records; the
+ * {@code kafka.poc.routing.pool-queue-capacity} is shared between the threads of a pool. Only active with
+ * {@code kafka.poc.routing.enabled=true}.
+ * </p>
+ *
+ * <p>Registered meters:
+ * <ul>
+ *     <li><b>kafka.consumer.routing.records</b>: records decided by a rule, tagged with {@code rule} (its position)
+ *     and {@code target}, or passed to the listener, tagged {@code target=listener}</li>
+ *     <li><b>kafka.consumer.routing.pool.queue</b>: records waiting for the threads of a pool, tagged with
+ *     {@code pool}</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kafka.poc.routing.enabled", havingValue = "true")
+public class TransactionRoutingStage implements SmartInitializingSingleton {
+
+    private static final HotPathLogger ROUTING_ERROR_LOG = HotPathLogger.of(TransactionRoutingStage.class, "kafka.consumer.routing.error");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${kafka.poc.routing.topics:banking.transaction.topic}")
+    private String topicNames;
+
+    @Value("${kafka.poc.routing.rules:}")
+    private String ruleDefinitions;
+
+    @Value("${kafka.poc.routing.pools:}")
+    private String poolDefinitions;
+
+    @Value("${kafka.poc.routing.pool-queue-capacity:1000}")
+    private int poolQueueCapacity;
+
+    private Set<String> topics;
+    private RoutingRule[] rules;
+    private TransactionHandler[] handlers;
+    private ThreadPoolExecutor[][] executors;
+    private Counter[] matched;
+    private Counter passed;
+    private final Map<String, ThreadPoolExecutor[]> pools = new HashMap<>();
+
+    @PostConstruct
+    public void start() {
+        topics = Arrays.stream(topicNames.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toSet());
+        for (String pool : poolDefinitions.split(",")) {
+            if (!pool.isBlank()) {
+                createPool(pool.trim());
+            }
+        }
+        rules = Arrays.stream(ruleDefinitions.split(";")).filter(s -> !s.isBlank()).map(RoutingRule::parse).toArray(RoutingRule[]::new);
+        handlers = new TransactionHandler[rules.length];
+        executors = new ThreadPoolExecutor[rules.length][];
+        matched = new Counter[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            RoutingRule rule = rules[i];
+            String target = "drop";
+            if (!rule.isDrop()) {
+                target = rule.handlerName();
+                if (rule.poolName() != null) {
+                    executors[i] = pools.get(rule.poolName());
+                    if (executors[i] == null) {
+                        throw new IllegalStateException("Invalid kafka.poc.routing rule '" + rule + "': unknown pool '"
+                                + rule.poolName() + "'");
+                    }
+                    target = target + "@" + rule.poolName();
+                }
+            }
+            matched[i] = Counter.builder("kafka.consumer.routing.records")
+                    .description("Transaction records decided by the routing stage")
+                    .tag("rule", String.valueOf(i))
+                    .tag("target", target)
+                    .register(meterRegistry);
+        }
+        passed = Counter.builder("kafka.consumer.routing.records")
+                .description("Transaction records decided by the routing stage")
+                .tag("rule", "none")
+                .tag("target", "listener")
+                .register(meterRegistry);
+        log.info("Transaction routing on {}: {} rules {}, pools {}", topics, rules.length, Arrays.toString(rules), pools.keySet());
+    }
+
+    /**
+     * Looks the handlers up once all singletons exist; a handler may itself be a listener bean whose creation
+     * needed this stage. Runs before the listener containers start.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int i = 0; i < rules.length; i++) {
+            if (!rules[i].isDrop()) {
+                handlers[i] = applicationContext.getBean(rules[i].handlerName(), TransactionHandler.class);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (ThreadPoolExecutor[] pool : pools.values()) {
+            for (ThreadPoolExecutor lane : pool) {
+                lane.shutdown();
+            }
+        }
+        for (ThreadPoolExecutor[] pool : pools.values()) {
+            for (ThreadPoolExecutor lane : pool) {
+                lane.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Applies the rules to a record.
+     *
+     * @return true if a rule consumed the record, false to pass it to the listener
+     */
+    public boolean route(ConsumerRecord<Object, Object> record) {
+        if (!topics.contains(record.topic())) {
+            return false;
+        }
+        TransactionView view = null;
+        for (int i = 0; i < rules.length; i++) {
+            RoutingRule rule = rules[i];
+            if (rule.needsBody() && view == null) {
+                view = viewOf(record);
+                if (view == null) {
+                    break;
+                }
+            }
+            if (rule.matches(record, view)) {
+                if (!rule.isDrop()) {
+                    if (view == null && (view = viewOf(record)) == null) {
+                        break;
+                    }
+                    dispatch(handlers[i], executors[i], view, record);
+                }
+                matched[i].increment();
+                return true;
+            }
+        }
+        passed.increment();
+        return false;
+    }
+
+    private void dispatch(TransactionHandler handler, ThreadPoolExecutor[] pool, TransactionView view,
+                          ConsumerRecord<Object, Object> record) {
+        if (pool == null) {
+            handler.handle(view, record);
+            return;
+        }
+        int lane = Math.floorMod(31 * record.topic().hashCode() + record.partition(), pool.length);
+        pool[lane].execute(() -> {
+            try {
+                handler.handle(view, record);
+            } catch (RuntimeException e) {
+                ROUTING_ERROR_LOG.error("Routed transaction handler failed", "partition", record.partition(),
+                        "offset", record.offset(), "error", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Returns a view over the record value, or null if the value is not a well-formed JSON object. Only the
+     * structure is checked, no field is decoded.
+     */
+    private static TransactionView viewOf(ConsumerRecord<Object, Object> record) {
+        Object value = record.value();
+        try {
+            TransactionView view = value instanceof byte[] bytes ? TransactionView.of(bytes)
+                    : value instanceof String text ? TransactionView.of(text) : null;
+            if (view != null) {
+                view.validate();
+            }
+            return view;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void createPool(String definition) {
+        int eq = definition.indexOf('=');
+        String name = eq < 0 ? "" : definition.substring(0, eq).trim();
+        int threads;
+        try {
+            threads = eq < 0 ? 0 : Integer.parseInt(definition.substring(eq + 1).trim());
+        } catch (NumberFormatException e) {
+            threads = 0;
+        }
+        if (name.isEmpty() || threads < 1) {
+            throw new IllegalStateException("Invalid kafka.poc.routing pool '" + definition + "': expected <name>=<threads>");
+        }
+        int laneCapacity = Math.max(poolQueueCapacity / threads, 1);
+        ThreadPoolExecutor[] pool = new ThreadPoolExecutor[threads];
+        for (int i = 0; i < threads; i++) {
+            String threadName = "routing-" + name + "-" + i;
+            pool[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(laneCapacity),
+                    r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    TransactionRoutingStage::waitForSpace);
+        }
+        pools.put(name, pool);
+        Gauge.builder("kafka.consumer.routing.pool.queue", pool, TransactionRoutingStage::queued)
+                .description("Routed records waiting for a pool thread")
+                .tag("pool", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejection policy of a pool thread: waits for room in its queue so the records of a partition stay in order.
+     */
+    private static void waitForSpace(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Routing pool is stopped");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the routing pool", e);
+        }
+    }
+
+    private static int queued(ThreadPoolExecutor[] pool) {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : pool) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+}
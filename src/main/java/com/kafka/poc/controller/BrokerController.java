@@ -1,19 +1,24 @@
 package com.kafka.poc.controller;
 
+import com.kafka.poc.config.ConditionalGet;
 import com.kafka.poc.exception.ServiceException;
 import com.kafka.poc.model.BrokerConfigs;
 import com.kafka.poc.model.BrokerInfo;
 import com.kafka.poc.model.BrokerLogs;
+import com.kafka.poc.model.LogDirInfo;
 import com.kafka.poc.model.common.CommonSuccessResponse;
 import com.kafka.poc.service.BrokerService;
 import com.kafka.poc.utils.Constants;
+import com.kafka.poc.utils.StreamingJsonResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.List;
@@ -28,17 +33,36 @@ public class BrokerController {
     @Autowired
     private BrokerService brokerService;
 
+    /**
+     * Writer for streamed responses.
+     */
+    @Autowired
+    private StreamingJsonResponse streamingJsonResponse;
+
     /**
      * Retrieves metadata and configuration information for all Kafka brokers in the cluster.
      *
      * @return HTTP 200 with a list of all brokers' metadata and configuration
      */
+    @ConditionalGet
     @GetMapping("/info")
     public ResponseEntity<CommonSuccessResponse<List<BrokerInfo>>> getTopicInfo() {
         List<BrokerInfo> brokerInfos = brokerService.getAllBrokers();
         return getSpecificResponse("Fetched broker info successfully.", HttpStatus.OK.value(), brokerInfos);
     }
 
+    /**
+     * Streams metadata and configuration information for all Kafka brokers, writing each broker as soon as its
+     * configuration arrives. Selected with {@code ?stream=true}.
+     *
+     * @return HTTP 200 streaming the same response as {@link #getTopicInfo()}
+     */
+    @GetMapping(value = "/info", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamBrokerInfo() {
+        return streamingJsonResponse.stream(brokerService::forEachBroker, count -> "Fetched broker info successfully.");
+    }
+
+    @ConditionalGet
     @GetMapping("/{broker-id}/configs")
     public ResponseEntity<CommonSuccessResponse<List<BrokerConfigs>>> getBrokerConfig(@PathVariable("broker-id") int brokerId) {
         List<BrokerConfigs> brokerConfigs = brokerService.getBrokerConfig(brokerId);
@@ -50,6 +74,33 @@ public class BrokerController {
         List<BrokerLogs> brokerConfigs = brokerService.getBrokerLogs(brokerId);
         return getSpecificResponse("Fetched broker logs successfully.", HttpStatus.OK.value(), brokerConfigs);
     }
+
+    /**
+     * Retrieves replica log details for every broker in the cluster using a single log-dir scan.
+     *
+     * @return HTTP 200 with one entry per replica in the cluster
+     */
+    @GetMapping("/logs")
+    public ResponseEntity<CommonSuccessResponse<List<BrokerLogs>>> getAllBrokerLogs() {
+        List<BrokerLogs> brokerLogs = brokerService.getAllBrokerLogs();
+        return getSpecificResponse("Fetched logs for all brokers successfully.", HttpStatus.OK.value(), brokerLogs);
+    }
+
+    /**
+     * Retrieves aggregated totals and the largest partitions for every log directory in the cluster.
+     *
+     * @param top               number of largest partitions to report per log directory, 1 to 1000
+     * @param includePartitions whether to include the topic to partitions listing per directory
+     * @return HTTP 200 with one entry per broker log directory, or 400 if top is out of range
+     */
+    @GetMapping("/log-dirs")
+    public ResponseEntity<CommonSuccessResponse<List<LogDirInfo>>> getLogDirSummary(
+            @RequestParam(value = "top", defaultValue = "10") int top,
+            @RequestParam(value = "include-partitions", defaultValue = "false") boolean includePartitions) {
+        List<LogDirInfo> logDirInfos = brokerService.getLogDirSummary(top, includePartitions);
+        return getSpecificResponse("Fetched log directory summary successfully.", HttpStatus.OK.value(), logDirInfos);
+    }
+
     /**
      * Constructs a standardized API response with the given parameters.
      *
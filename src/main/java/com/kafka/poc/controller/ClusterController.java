@@ -1,24 +1,69 @@
 package com.kafka.poc.controller;
 
+import com.kafka.poc.config.ConditionalGet;
 import com.kafka.poc.exception.ServiceException;
+import com.kafka.poc.model.ClusterInfo;
 import com.kafka.poc.model.common.CommonSuccessResponse;
+import com.kafka.poc.service.ClusterChangeService;
+import com.kafka.poc.service.ClusterService;
 import com.kafka.poc.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 
+/**
+ * REST controller for Kafka cluster overview operations.
+ * <p>
+ * Exposes an endpoint returning the brokers, controller, topics and consumer groups of the cluster,
+ * assembled by the {@link ClusterService} from one concurrent burst of admin requests, and an SSE
+ * endpoint streaming only the changes between consecutive snapshots.
+ * </p>
+ */
 @RestController
 @RequestMapping("/api/kafka/cluster")
 public class ClusterController {
 
+    /**
+     * Service for building cluster snapshots.
+     */
+    @Autowired
+    private ClusterService clusterService;
+
+    /**
+     * Service for streaming cluster change events.
+     */
+    @Autowired
+    private ClusterChangeService clusterChangeService;
+
+    /**
+     * Retrieves a snapshot of the Kafka cluster.
+     *
+     * @param refresh whether to bypass the snapshot cache
+     * @return HTTP 200 with the cluster snapshot
+     */
+    @ConditionalGet
     @GetMapping
-    public ResponseEntity<CommonSuccessResponse<Object>> healthCheck() {
+    public ResponseEntity<CommonSuccessResponse<ClusterInfo>> getClusterInfo(@RequestParam(value = "refresh", defaultValue = "false") boolean refresh) {
+        ClusterInfo clusterInfo = refresh ? clusterService.refreshClusterInfo() : clusterService.getClusterInfo();
+        return getSpecificResponse("Fetched cluster info successfully.", HttpStatus.OK.value(), clusterInfo);
+    }
 
-        return getSpecificResponse("", HttpStatus.OK.value(), null);
+    /**
+     * Streams structural cluster changes (topics, partitions, leaders, ISR, brokers, consumer groups) as Server-Sent Events.
+     *
+     * @return an SSE stream emitting one event per detected change
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClusterChanges() {
+        return clusterChangeService.subscribe();
     }
 
     /**
@@ -1,23 +1,30 @@
 package com.kafka.poc.controller;
 
+import com.kafka.poc.config.ConditionalGet;
+import com.kafka.poc.dto.ConsumerGroupQueryDTO;
 import com.kafka.poc.exception.ServiceException;
 import com.kafka.poc.model.ConsumerGroupInfo;
 import com.kafka.poc.model.Coordinator;
 import com.kafka.poc.model.MemberInfo;
 import com.kafka.poc.model.OffsetInfo;
+import com.kafka.poc.model.PageResult;
 import com.kafka.poc.model.common.CommonSuccessResponse;
 import com.kafka.poc.service.ConsumerGroupService;
 import com.kafka.poc.utils.Constants;
+import com.kafka.poc.utils.StreamingJsonResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for managing Kafka consumer groups.
@@ -37,6 +44,12 @@ public class ConsumerGroupController {
     @Autowired
     private ConsumerGroupService consumerGroupService;
 
+    /**
+     * Writer for streamed responses.
+     */
+    @Autowired
+    private StreamingJsonResponse streamingJsonResponse;
+
     /**
      * Retrieves the coordinator information for a specific consumer group.
      * <p>
@@ -47,6 +60,7 @@ public class ConsumerGroupController {
      * @param groupId The ID of the consumer group to fetch the coordinator for
      * @return ResponseEntity containing a CommonSuccessResponse with coordinator info and a user-friendly message
      */
+    @ConditionalGet
     @GetMapping("/coordinator/{group-id}")
     public ResponseEntity<CommonSuccessResponse<Coordinator>> getCoordinator(@PathVariable("group-id") String groupId) {
         Coordinator coordinator = consumerGroupService.getCoordinator(groupId);
@@ -66,6 +80,7 @@ public class ConsumerGroupController {
      * @param groupId The ID of the consumer group to fetch member information for
      * @return ResponseEntity containing a CommonSuccessResponse with the list of members and a relevant message
      */
+    @ConditionalGet
     @GetMapping("/member/{group-id}")
     public ResponseEntity<CommonSuccessResponse<List<MemberInfo>>> getMemberInfo(@PathVariable("group-id") String groupId) {
         List<MemberInfo> memberInfos = consumerGroupService.getMembers(groupId);
@@ -94,6 +109,24 @@ public class ConsumerGroupController {
         return getSpecificResponse(message, HttpStatus.OK.value(), offsets);
     }
 
+    /**
+     * Streams offset information for a specific consumer group.
+     * <p>
+     * Same response as {@link #getOffsetInfo(String)}, but each offset is written as soon as it is built instead of
+     * collecting the whole list first. Selected with {@code ?stream=true}.
+     * </p>
+     *
+     * @param groupId The ID of the consumer group to fetch offset information for
+     * @return ResponseEntity streaming a CommonSuccessResponse with the offsets as its payload
+     */
+    @GetMapping(value = "/offset/{group-id}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamOffsetInfo(@PathVariable("group-id") String groupId) {
+        return streamingJsonResponse.stream(action -> consumerGroupService.forEachOffset(groupId, action),
+                count -> count == 0
+                        ? String.format("No offsets found for consumer group '%s'.", groupId)
+                        : String.format("Offsets for consumer group '%s' fetched successfully.", groupId));
+    }
+
     /**
      * Retrieves details of all consumer groups in the Kafka cluster.
      * <p>
@@ -103,6 +136,7 @@ public class ConsumerGroupController {
      *
      * @return ResponseEntity containing a CommonSuccessResponse with the list of consumer groups and a relevant message
      */
+    @ConditionalGet
     @GetMapping
     public ResponseEntity<CommonSuccessResponse<List<ConsumerGroupInfo>>> getConsumerGroupDetails() {
         List<ConsumerGroupInfo> consumerGroups = consumerGroupService.getAllConsumerGroups();
@@ -112,6 +146,63 @@ public class ConsumerGroupController {
         return getSpecificResponse(message, HttpStatus.OK.value(), consumerGroups);
     }
 
+    /**
+     * Retrieves one page of consumer groups, with only the requested fields filled in.
+     * <p>
+     * Only the admin requests needed for the requested fields and filters are made: for example
+     * {@code fields=id,state} lists groups without describing them or fetching their offsets. Pass the returned
+     * {@code nextCursor} as {@code cursor} to fetch the next page.
+     * </p>
+     *
+     * @param fields      ConsumerGroupInfo fields to include; all fields if omitted
+     * @param states      only groups in one of these states (e.g. Stable, Empty)
+     * @param topicPrefix only groups assigned to or committing offsets for a topic with this prefix
+     * @param minLag      only groups whose total lag is at least this value
+     * @param cursor      cursor of the page to fetch; first page if omitted
+     * @param limit       maximum number of groups in the page
+     * @return ResponseEntity containing a CommonSuccessResponse with the page of consumer groups
+     */
+    @ConditionalGet
+    @GetMapping("/page")
+    public ResponseEntity<CommonSuccessResponse<PageResult<ConsumerGroupInfo>>> getConsumerGroupPage(
+            @RequestParam(value = "fields", required = false) Set<String> fields,
+            @RequestParam(value = "state", required = false) Set<String> states,
+            @RequestParam(value = "topic-prefix", required = false) String topicPrefix,
+            @RequestParam(value = "min-lag", required = false) Long minLag,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        PageResult<ConsumerGroupInfo> page = consumerGroupService.getConsumerGroupPage(ConsumerGroupQueryDTO.builder()
+                .fields(fields)
+                .states(states)
+                .topicPrefix(topicPrefix)
+                .minLag(minLag)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+        String message = page.getItems().isEmpty()
+                ? "No consumer groups match the query."
+                : String.format("Successfully fetched %d consumer groups.", page.getItems().size());
+        return getSpecificResponse(message, HttpStatus.OK.value(), page);
+    }
+
+    /**
+     * Streams details of all consumer groups in the Kafka cluster.
+     * <p>
+     * Same response as {@link #getConsumerGroupDetails()}, but each group is written as soon as it is described, so
+     * memory use does not grow with the number of groups and the first groups reach the client early. Selected with
+     * {@code ?stream=true}.
+     * </p>
+     *
+     * @return ResponseEntity streaming a CommonSuccessResponse with the consumer groups as its payload
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamConsumerGroupDetails() {
+        return streamingJsonResponse.stream(consumerGroupService::forEachConsumerGroup,
+                count -> count == 0
+                        ? "No consumer groups found. Your Kafka cluster is ready for new consumers."
+                        : String.format("Successfully fetched %d consumer groups.", count));
+    }
+
     /**
      * Constructs a standardized API response for successful operations.
      * <p>
@@ -4,6 +4,7 @@ import com.kafka.poc.exception.ServiceException;
 import com.kafka.poc.model.common.CommonSuccessResponse;
 import com.kafka.poc.utils.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -39,7 +40,8 @@ public class HealthController {
      */
     @GetMapping
     public ResponseEntity<CommonSuccessResponse<Object>> healthCheck() {
-        String status = healthEndpoint.health().getStatus().getCode();
+        HealthComponent health = healthEndpoint.health();
+        String status = health.getStatus().getCode();
         String message = switch (status) {
             case "UP" -> "Service is up and running. All systems are healthy.";
             case "DOWN" -> "Service is currently down. Please contact support.";
@@ -47,7 +49,7 @@ public class HealthController {
             case "UNKNOWN" -> "Service health is unknown. Please try again later.";
             default -> "Service status: " + status;
         };
-        return getSpecificResponse(message, HttpStatus.OK.value(), healthEndpoint.health());
+        return getSpecificResponse(message, HttpStatus.OK.value(), health);
     }
 
     /**
@@ -0,0 +1,183 @@
+package com.kafka.poc.controller;
+
+import com.kafka.poc.dto.CreateListenerRequestDTO;
+import com.kafka.poc.exception.ServiceException;
+import com.kafka.poc.model.ListenerInfo;
+import com.kafka.poc.model.common.CommonSuccessResponse;
+import com.kafka.poc.service.ListenerService;
+import com.kafka.poc.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * REST controller for managing the application's Kafka listeners at runtime.
+ * <p>
+ * Lists the listener containers with their state, assignment and throughput, creates listeners for any topic and
+ * consumer group, starts and stops them, changes their concurrency, and pauses or resumes them, whole or per
+ * partition, without a restart. It delegates to the {@link ListenerService}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/kafka/listeners")
+public class ListenerController {
+
+    /**
+     * Service for listener management operations.
+     */
+    @Autowired
+    private ListenerService listenerService;
+
+    /**
+     * Retrieves all listeners.
+     *
+     * @return HTTP 200 with the state and throughput of every listener
+     */
+    @GetMapping
+    public ResponseEntity<CommonSuccessResponse<List<ListenerInfo>>> getListeners() {
+        List<ListenerInfo> listeners = listenerService.getListeners();
+        String message = listeners.isEmpty()
+                ? "No listeners registered."
+                : String.format("Successfully fetched %d listeners.", listeners.size());
+        return getSpecificResponse(message, HttpStatus.OK.value(), listeners);
+    }
+
+    /**
+     * Retrieves a single listener.
+     *
+     * @param listenerId the id of the listener
+     * @return HTTP 200 with the state and throughput of the listener, or 404 if not found
+     */
+    @GetMapping("/{listener-id}")
+    public ResponseEntity<CommonSuccessResponse<ListenerInfo>> getListener(@PathVariable("listener-id") String listenerId) {
+        ListenerInfo listener = listenerService.getListener(listenerId);
+        return getSpecificResponse(String.format("Listener '%s' fetched successfully.", listenerId), HttpStatus.OK.value(), listener);
+    }
+
+    /**
+     * Creates a listener.
+     *
+     * @param request the listener id, topics, group, concurrency and handler
+     * @return HTTP 201 with the created listener, 400 if the request is invalid, or 409 if the id is taken
+     */
+    @PostMapping
+    public ResponseEntity<CommonSuccessResponse<ListenerInfo>> createListener(@RequestBody CreateListenerRequestDTO request) {
+        ListenerInfo listener = listenerService.createListener(request);
+        return getSpecificResponse(String.format("Listener '%s' created successfully.", listener.getId()), HttpStatus.CREATED.value(), listener);
+    }
+
+    /**
+     * Stops and removes a listener created at runtime.
+     *
+     * @param listenerId the id of the listener
+     * @return HTTP 200, 404 if not found, or 409 if the listener is declared in code
+     */
+    @DeleteMapping("/{listener-id}")
+    public ResponseEntity<CommonSuccessResponse<Object>> deleteListener(@PathVariable("listener-id") String listenerId) {
+        listenerService.deleteListener(listenerId);
+        return getSpecificResponse(String.format("Listener '%s' deleted successfully.", listenerId), HttpStatus.OK.value(), null);
+    }
+
+    /**
+     * Starts a stopped listener.
+     *
+     * @param listenerId the id of the listener
+     * @return HTTP 200 with the listener, or 404 if not found
+     */
+    @PostMapping("/{listener-id}/start")
+    public ResponseEntity<CommonSuccessResponse<ListenerInfo>> startListener(@PathVariable("listener-id") String listenerId) {
+        ListenerInfo listener = listenerService.startListener(listenerId);
+        return getSpecificResponse(String.format("Listener '%s' started.", listenerId), HttpStatus.OK.value(), listener);
+    }
+
+    /**
+     * Stops a listener.
+     *
+     * @param listenerId the id of the listener
+     * @return HTTP 200 with the listener, or 404 if not found
+     */
+    @PostMapping("/{listener-id}/stop")
+    public ResponseEntity<CommonSuccessResponse<ListenerInfo>> stopListener(@PathVariable("listener-id") String listenerId) {
+        ListenerInfo listener = listenerService.stopListener(listenerId);
+        return getSpecificResponse(String.format("Listener '%s' stopped.", listenerId), HttpStatus.OK.value(), listener);
+    }
+
+    /**
+     * Changes the number of consumer threads of a listener.
+     *
+     * @param listenerId  the id of the listener
+     * @param concurrency the new number of consumer threads
+     * @return HTTP 200 with the listener, 400 if the concurrency is out of range, or 404 if not found
+     */
+    @PutMapping("/{listener-id}/concurrency")
+    public ResponseEntity<CommonSuccessResponse<ListenerInfo>> setConcurrency(@PathVariable("listener-id") String listenerId,
+                                                                              @RequestParam("concurrency") int concurrency) {
+        ListenerInfo listener = listenerService.setConcurrency(listenerId, concurrency);
+        return getSpecificResponse(String.format("Concurrency of listener '%s' set to %d.", listenerId, concurrency),
+                HttpStatus.OK.value(), listener);
+    }
+
+    /**
+     * Pauses a listener, or some of its partitions, without leaving the consumer group.
+     *
+     * @param listenerId the id of the listener
+     * @param topic      only pause partitions of this topic
+     * @param partitions only pause these partitions of the topic; all assigned ones if omitted
+     * @return HTTP 200 with the listener, 400 if partitions are given without a topic, 404 if not found, or 409 if
+     * the partitions are not assigned to the listener
+     */
+    @PostMapping("/{listener-id}/pause")
+    public ResponseEntity<CommonSuccessResponse<ListenerInfo>> pauseListener(
+            @PathVariable("listener-id") String listenerId,
+            @RequestParam(value = "topic", required = false) String topic,
+            @RequestParam(value = "partitions", required = false) List<Integer> partitions) {
+        ListenerInfo listener = listenerService.pauseListener(listenerId, topic, partitions);
+        return getSpecificResponse(String.format("Pause of listener '%s' requested.", listenerId), HttpStatus.OK.value(), listener);
+    }
+
+    /**
+     * Resumes a paused listener, or some of its partitions.
+     *
+     * @param listenerId the id of the listener
+     * @param topic      only resume partitions of this topic
+     * @param partitions only resume these partitions of the topic; all assigned ones if omitted
+     * @return HTTP 200 with the listener, 400 if partitions are given without a topic, 404 if not found, or 409 if
+     * the partitions are not assigned to the listener
+     */
+    @PostMapping("/{listener-id}/resume")
+    public ResponseEntity<CommonSuccessResponse<ListenerInfo>> resumeListener(
+            @PathVariable("listener-id") String listenerId,
+            @RequestParam(value = "topic", required = false) String topic,
+            @RequestParam(value = "partitions", required = false) List<Integer> partitions) {
+        ListenerInfo listener = listenerService.resumeListener(listenerId, topic, partitions);
+        return getSpecificResponse(String.format("Resume of listener '%s' requested.", listenerId), HttpStatus.OK.value(), listener);
+    }
+
+    /**
+     * Constructs a standardized API response with the given parameters.
+     *
+     * @param msg        the message to include in the response
+     * @param statusCode the HTTP status code for the response
+     * @param payload    the payload data to include in the response
+     * @param <T>        the type of the payload
+     * @return a {@link ResponseEntity} containing a {@link CommonSuccessResponse} with the specified details
+     */
+    private <T> ResponseEntity<CommonSuccessResponse<T>> getSpecificResponse(String msg, int statusCode, T payload) {
+        try {
+            CommonSuccessResponse<T> response = CommonSuccessResponse.<T>builder()
+                    .timestamp((Instant.now().toString()))
+                    .status(Constants.SUCCESS_TAG)
+                    .statusCode(statusCode)
+                    .message(msg)
+                    .payload(payload)
+                    .build();
+            return ResponseEntity.status(statusCode).body(response);
+        } catch (Exception e) {
+            throw new ServiceException("Something wrong on server.", e);
+        }
+    }
+}
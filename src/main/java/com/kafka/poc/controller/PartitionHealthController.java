@@ -0,0 +1,96 @@
+package com.kafka.poc.controller;
+
+import com.kafka.poc.exception.ServiceException;
+import com.kafka.poc.model.PartitionHealthInfo;
+import com.kafka.poc.model.PartitionHealthSummary;
+import com.kafka.poc.model.common.CommonSuccessResponse;
+import com.kafka.poc.service.PartitionHealthService;
+import com.kafka.poc.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * REST controller for partition replication health.
+ * <p>
+ * Serves the results of the background partition health scanner: counts of under-replicated, offline and
+ * under-min-ISR partitions, and the details of each unhealthy partition.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/kafka/partitions/health")
+public class PartitionHealthController {
+
+    /**
+     * Service tracking partition replication health.
+     */
+    @Autowired
+    private PartitionHealthService partitionHealthService;
+
+    /**
+     * Retrieves the partition health counts as of the last scan.
+     *
+     * @return HTTP 200 with the partition health summary
+     */
+    @GetMapping
+    public ResponseEntity<CommonSuccessResponse<PartitionHealthSummary>> getSummary() {
+        PartitionHealthSummary summary = partitionHealthService.getSummary();
+        return getSpecificResponse("Fetched partition health summary successfully.", HttpStatus.OK.value(), summary);
+    }
+
+    /**
+     * Retrieves details of every partition currently flagged as unhealthy.
+     *
+     * @param topicPrefix optional topic name prefix to filter on
+     * @return HTTP 200 with the list of unhealthy partitions
+     */
+    @GetMapping("/unhealthy")
+    public ResponseEntity<CommonSuccessResponse<List<PartitionHealthInfo>>> getUnhealthyPartitions(
+            @RequestParam(value = "topic-prefix", required = false) String topicPrefix) {
+        List<PartitionHealthInfo> partitions = partitionHealthService.getUnhealthyPartitions(topicPrefix);
+        String message = partitions.isEmpty()
+                ? "All partitions are healthy."
+                : String.format("Found %d unhealthy partitions.", partitions.size());
+        return getSpecificResponse(message, HttpStatus.OK.value(), partitions);
+    }
+
+    /**
+     * Triggers a full partition health scan immediately.
+     *
+     * @return HTTP 200 with the partition health summary after the scan
+     */
+    @PostMapping("/scan")
+    public ResponseEntity<CommonSuccessResponse<PartitionHealthSummary>> scanNow() {
+        PartitionHealthSummary summary = partitionHealthService.scanNow();
+        return getSpecificResponse("Partition health scan completed successfully.", HttpStatus.OK.value(), summary);
+    }
+
+    /**
+     * Constructs a standardized API response for successful operations.
+     *
+     * @param msg        User-friendly message to include in the response
+     * @param statusCode HTTP status code for the response
+     * @param payload    Data payload to include in the response
+     * @param <T>        Type of the payload
+     * @return ResponseEntity containing the CommonSuccessResponse
+     * @throws ServiceException if an error occurs while building the response
+     */
+    private <T> ResponseEntity<CommonSuccessResponse<T>> getSpecificResponse(String msg, int statusCode, T payload) {
+        try {
+            CommonSuccessResponse<T> response = CommonSuccessResponse.<T>builder()
+                    .timestamp((Instant.now().toString()))
+                    .status(Constants.SUCCESS_TAG)
+                    .statusCode(statusCode)
+                    .message(msg)
+                    .payload(payload)
+                    .build();
+            return ResponseEntity.status(statusCode).body(response);
+        } catch (Exception e) {
+            throw new ServiceException("Something wrong on server.", e);
+        }
+    }
+}
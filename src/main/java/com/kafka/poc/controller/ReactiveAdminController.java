@@ -0,0 +1,119 @@
+package com.kafka.poc.controller;
+
+import com.kafka.poc.exception.ServiceException;
+import com.kafka.poc.model.BrokerInfo;
+import com.kafka.poc.model.ConsumerGroupInfo;
+import com.kafka.poc.model.OffsetInfo;
+import com.kafka.poc.model.TopicInfo;
+import com.kafka.poc.model.common.CommonSuccessResponse;
+import com.kafka.poc.service.ReactiveAdminService;
+import com.kafka.poc.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * REST controller exposing the topic, broker and consumer group admin operations without blocking request threads.
+ * <p>
+ * Collections are streamed as newline-delimited JSON ({@code application/x-ndjson}), one element per line, written
+ * as soon as the cluster returns it. The response is written one element at a time, and the next element is only
+ * requested once the previous one has been handed to the client, so slow clients apply backpressure all the way
+ * to the admin requests. Single resources are returned as the usual {@link CommonSuccessResponse}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/reactive/kafka")
+public class ReactiveAdminController {
+
+    /**
+     * Service for non-blocking Kafka admin operations.
+     */
+    @Autowired
+    private ReactiveAdminService reactiveAdminService;
+
+    /**
+     * Streams the names of all topics in the cluster. Each line is a {@code {"topicName": ...}} object, since plain strings would be written without line delimiters.
+     *
+     * @return HTTP 200 with one topic name per line
+     */
+    @GetMapping(value = "/topic", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, String>> streamTopicNames() {
+        return reactiveAdminService.getTopicNames()
+                .map(topicName -> Map.of("topicName", topicName));
+    }
+
+    /**
+     * Retrieves metadata and configuration information for a given Kafka topic.
+     *
+     * @param topicName the name of the topic to retrieve
+     * @return HTTP 200 with the topic's metadata and configuration, or 404 if not found
+     */
+    @GetMapping("/topic/info/{topicName}")
+    public Mono<ResponseEntity<CommonSuccessResponse<TopicInfo>>> getTopicInfo(@PathVariable("topicName") String topicName) {
+        return reactiveAdminService.getTopicInfo(topicName)
+                .map(topicInfo -> getSpecificResponse("Fetched topic info successfully.", HttpStatus.OK.value(), topicInfo));
+    }
+
+    /**
+     * Streams every broker of the cluster with its configuration.
+     *
+     * @return HTTP 200 with one broker per line
+     */
+    @GetMapping(value = "/broker", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BrokerInfo> streamBrokers() {
+        return reactiveAdminService.getBrokers();
+    }
+
+    /**
+     * Streams every consumer group of the cluster.
+     *
+     * @param includeOffsets whether to include committed offsets and lag for each group
+     * @return HTTP 200 with one consumer group per line
+     */
+    @GetMapping(value = "/consumer-groups", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ConsumerGroupInfo> streamConsumerGroups(@RequestParam(value = "include-offsets", defaultValue = "false") boolean includeOffsets) {
+        return reactiveAdminService.getConsumerGroups(includeOffsets);
+    }
+
+    /**
+     * Streams the committed offsets and lag of a consumer group.
+     *
+     * @param groupId the consumer group ID
+     * @return HTTP 200 with one partition offset per line
+     */
+    @GetMapping(value = "/consumer-groups/offset/{group-id}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OffsetInfo> streamOffsets(@PathVariable("group-id") String groupId) {
+        return reactiveAdminService.getOffsets(groupId);
+    }
+
+    /**
+     * Constructs a standardized API response with the given parameters.
+     *
+     * @param msg        the message to include in the response
+     * @param statusCode the HTTP status code for the response
+     * @param payload    the payload data to include in the response
+     * @param <T>        the type of the payload
+     * @return a {@link ResponseEntity} containing a {@link CommonSuccessResponse} with the specified details
+     */
+    private <T> ResponseEntity<CommonSuccessResponse<T>> getSpecificResponse(String msg, int statusCode, T payload) {
+        try {
+            CommonSuccessResponse<T> response = CommonSuccessResponse.<T>builder()
+                    .timestamp((Instant.now().toString()))
+                    .status(Constants.SUCCESS_TAG)
+                    .statusCode(statusCode)
+                    .message(msg)
+                    .payload(payload)
+                    .build();
+            return ResponseEntity.status(statusCode).body(response);
+        } catch (Exception e) {
+            throw new ServiceException("Something wrong on server.", e);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.kafka.poc.controller;
 
+import com.kafka.poc.config.ConditionalGet;
+import com.kafka.poc.dto.CompressionAnalysisRequestDTO;
 import com.kafka.poc.dto.CreateTopicRequestDTO;
+import com.kafka.poc.dto.TopicQueryDTO;
 import com.kafka.poc.exception.ServiceException;
+import com.kafka.poc.model.CompressionAnalysis;
+import com.kafka.poc.model.PageResult;
 import com.kafka.poc.model.TopicInfo;
 import com.kafka.poc.model.common.CommonSuccessResponse;
+import com.kafka.poc.service.CompressionAnalysisService;
 import com.kafka.poc.service.TopicService;
 import com.kafka.poc.utils.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +38,12 @@ public class TopicController {
     @Autowired
     private TopicService topicService;
 
+    /**
+     * Service for topic compression analysis.
+     */
+    @Autowired
+    private CompressionAnalysisService compressionAnalysisService;
+
     /**
      * Creates a new Kafka topic with the specified configuration.
      *
@@ -50,6 +62,7 @@ public class TopicController {
      * @param topicName the name of the topic to retrieve
      * @return HTTP 200 with the topic's metadata and configuration, or 404 if not found
      */
+    @ConditionalGet
     @GetMapping("/info/{topicName}")
     public ResponseEntity<CommonSuccessResponse<TopicInfo>> getTopicInfo(@PathVariable("topicName") String topicName) {
         TopicInfo topicInfoResponse = topicService.getTopicInfo(topicName);
@@ -61,12 +74,66 @@ public class TopicController {
      *
      * @return HTTP 200 with a set of topic names
      */
+    @ConditionalGet
     @GetMapping
     public ResponseEntity<CommonSuccessResponse<Set<String>>> getAllTopicDetails() {
         Set<String> topicName = topicService.getAllTopicName();
         return getSpecificResponse("Topic list fetched successfully.", HttpStatus.OK.value(), topicName);
     }
 
+    /**
+     * Retrieves one page of topics, with only the requested fields filled in.
+     * <p>
+     * Topics are only described when a partition field is requested, and their configs only when {@code configs}
+     * is requested. Pass the returned {@code nextCursor} as {@code cursor} to fetch the next page.
+     * </p>
+     *
+     * @param fields      TopicInfo fields to include; all fields if omitted
+     * @param topicPrefix only topics whose name starts with this prefix
+     * @param cursor      cursor of the page to fetch; first page if omitted
+     * @param limit       maximum number of topics in the page
+     * @return HTTP 200 with the page of topics
+     */
+    @ConditionalGet
+    @GetMapping("/page")
+    public ResponseEntity<CommonSuccessResponse<PageResult<TopicInfo>>> getTopicPage(
+            @RequestParam(value = "fields", required = false) Set<String> fields,
+            @RequestParam(value = "topic-prefix", required = false) String topicPrefix,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        PageResult<TopicInfo> page = topicService.getTopicPage(TopicQueryDTO.builder()
+                .fields(fields)
+                .topicPrefix(topicPrefix)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+        return getSpecificResponse("Topic page fetched successfully.", HttpStatus.OK.value(), page);
+    }
+
+    /**
+     * Samples the latest records of a topic and compares the compression ratio and throughput of every codec at
+     * several batch sizes, recommending a {@code compression.type}.
+     * <p>
+     * The body is optional. With {@code "apply": true} the recommendation is set on the topic with
+     * incrementalAlterConfigs; producers should then be switched to the same codec to avoid broker-side recompression.
+     * </p>
+     *
+     * @param topicName the name of the topic to analyze
+     * @param request   the sample size, batch sizes, codecs and whether to apply the recommendation
+     * @return HTTP 200 with the per-codec results and the recommendation, 404 if the topic does not exist, 429 if
+     * another analysis is running, or 504 if the analysis does not finish in time
+     */
+    @PostMapping("/compression-analysis/{topicName}")
+    public ResponseEntity<CommonSuccessResponse<CompressionAnalysis>> analyzeTopicCompression(
+            @PathVariable("topicName") String topicName,
+            @RequestBody(required = false) CompressionAnalysisRequestDTO request) {
+        CompressionAnalysis analysis = compressionAnalysisService.analyzeTopic(topicName, request);
+        String message = analysis.isApplied()
+                ? String.format("Compression analysis completed and compression.type set to '%s'.", analysis.getRecommendedCompressionType())
+                : "Compression analysis completed successfully.";
+        return getSpecificResponse(message, HttpStatus.OK.value(), analysis);
+    }
+
     /**
      * Deletes the specified Kafka topic from the cluster.
      *
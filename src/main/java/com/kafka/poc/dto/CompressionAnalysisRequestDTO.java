@@ -0,0 +1,47 @@
+package com.kafka.poc.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object describing a compression analysis of a topic.
+ * <p>
+ * All fields are optional. Without a body, the latest {@code kafka.poc.compression-analysis.default-sample-size}
+ * records are compressed with every codec at the default batch sizes, and nothing is changed on the topic.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *     CompressionAnalysisRequestDTO request = CompressionAnalysisRequestDTO.builder()
+ *         .sampleSize(5000)
+ *         .batchSizes(List.of(16384, 65536, 262144))
+ *         .compressionTypes(List.of("lz4", "zstd"))
+ *         .apply(true)
+ *         .build();
+ * </pre>
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompressionAnalysisRequestDTO {
+    /**
+     * Number of most recent records to sample, spread across partitions.
+     */
+    private Integer sampleSize;
+    /**
+     * Record batch sizes in bytes to compress the sample at, like the producer's {@code batch.size}.
+     */
+    private List<Integer> batchSizes;
+    /**
+     * Codecs to compare ({@code none}, {@code gzip}, {@code snappy}, {@code lz4}, {@code zstd}); all if omitted.
+     */
+    private List<String> compressionTypes;
+    /**
+     * Whether to set the topic's {@code compression.type} to the recommended codec.
+     */
+    private boolean apply;
+}
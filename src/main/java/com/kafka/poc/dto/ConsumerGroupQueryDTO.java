@@ -0,0 +1,56 @@
+package com.kafka.poc.dto;
+
+import lombok.*;
+
+import java.util.Set;
+
+/**
+ * Data Transfer Object describing a paginated consumer group query.
+ * <p>
+ * All criteria are optional. {@code id}, {@code state}, {@code type} and {@code simpleConsumerGroup} are always
+ * returned; every other {@link com.kafka.poc.model.ConsumerGroupInfo} field is only fetched and filled when it is
+ * listed in {@code fields}, or when no fields are given at all.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *     ConsumerGroupQueryDTO query = ConsumerGroupQueryDTO.builder()
+ *         .fields(Set.of("totalLag", "topics"))
+ *         .states(Set.of("Stable"))
+ *         .minLag(1000L)
+ *         .limit(20)
+ *         .build();
+ * </pre>
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConsumerGroupQueryDTO {
+    /**
+     * ConsumerGroupInfo fields to include; empty or null for all fields.
+     */
+    private Set<String> fields;
+    /**
+     * Only return groups in one of these states (e.g. Stable, Empty), case-insensitive.
+     */
+    private Set<String> states;
+    /**
+     * Only return groups assigned to or committing offsets for a topic starting with this prefix.
+     */
+    private String topicPrefix;
+    /**
+     * Only return groups whose total lag over all partitions is at least this value.
+     */
+    private Long minLag;
+    /**
+     * Cursor returned by the previous page, or null for the first page.
+     */
+    private String cursor;
+    /**
+     * Maximum number of groups to return; defaults to {@code kafka.poc.pagination.default-limit}.
+     */
+    private Integer limit;
+}
@@ -0,0 +1,57 @@
+package com.kafka.poc.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for creating a Kafka listener at runtime.
+ * <p>
+ * Only {@code listenerId} and {@code topics} are required. The listener reads record values as raw bytes; without a
+ * {@code handler} it logs each record, with one it passes each record to that
+ * {@link com.kafka.poc.consumer.TransactionHandler} bean as a transaction.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *     CreateListenerRequestDTO request = CreateListenerRequestDTO.builder()
+ *         .listenerId("audit-listener")
+ *         .topics(List.of("banking.transaction.topic"))
+ *         .groupId("audit_group") // optional, defaults to the listener id
+ *         .concurrency(3) // optional, defaults to 1
+ *         .handler("transactionConsumer") // optional
+ *         .build();
+ * </pre>
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateListenerRequestDTO {
+    /**
+     * Unique id of the listener, used in every other listener request.
+     */
+    private String listenerId;
+    /**
+     * Topics to consume.
+     */
+    private List<String> topics;
+    /**
+     * Consumer group of the listener; the listener id if omitted.
+     */
+    private String groupId;
+    /**
+     * Number of consumer threads; 1 if omitted.
+     */
+    private Integer concurrency;
+    /**
+     * Name of the TransactionHandler bean receiving the records; records are logged if omitted.
+     */
+    private String handler;
+    /**
+     * Whether to register the listener without starting it.
+     */
+    private boolean stopped;
+}
@@ -0,0 +1,46 @@
+package com.kafka.poc.dto;
+
+import lombok.*;
+
+import java.util.Set;
+
+/**
+ * Data Transfer Object describing a paginated topic query.
+ * <p>
+ * All criteria are optional. {@code topicName} is always returned; the partition layout is only described when
+ * one of its fields is requested, and {@code configs} only when it is requested explicitly or no fields are given.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *     TopicQueryDTO query = TopicQueryDTO.builder()
+ *         .fields(Set.of("partitions", "replicationFactor"))
+ *         .topicPrefix("banking.")
+ *         .limit(100)
+ *         .build();
+ * </pre>
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TopicQueryDTO {
+    /**
+     * TopicInfo fields to include; empty or null for all fields.
+     */
+    private Set<String> fields;
+    /**
+     * Only return topics whose name starts with this prefix.
+     */
+    private String topicPrefix;
+    /**
+     * Cursor returned by the previous page, or null for the first page.
+     */
+    private String cursor;
+    /**
+     * Maximum number of topics to return; defaults to {@code kafka.poc.pagination.default-limit}.
+     */
+    private Integer limit;
+}
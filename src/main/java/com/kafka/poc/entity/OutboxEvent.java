@@ -0,0 +1,74 @@
+package com.kafka.poc.entity;
+
+import com.kafka.poc.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity representing a message waiting in the transactional outbox.
+ * <p>
+ * A row is inserted when a request is accepted and deleted by the {@link com.kafka.poc.producer.OutboxRelay} once
+ * the broker has acknowledged the message. The auto-increment id gives the publishing order. A message the broker
+ * can never accept (too large, not authorized, not serializable) is parked instead of deleted, keeping its last
+ * error for an operator; setting it back to {@code PENDING} publishes it again.
+ * </p>
+ */
+@Entity
+@Table(name = "transaction_outbox", indexes = @Index(name = "idx_transaction_outbox_status_id", columnList = "status, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    /**
+     * Sequence number, assigned by the database in insertion order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Topic the message is published to.
+     */
+    @Column(nullable = false)
+    private String topic;
+    /**
+     * Record key, or null to let the producer pick the partition.
+     */
+    private String messageKey;
+    /**
+     * Record value.
+     */
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    /**
+     * When the message was accepted.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+    /**
+     * PENDING until published, PARKED if the broker rejected it permanently.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status;
+    /**
+     * Number of failed publish attempts.
+     */
+    @Column(nullable = false)
+    private int attempts;
+    /**
+     * Error of the last failed publish attempt.
+     */
+    @Column(length = 1000)
+    private String lastError;
+    /**
+     * Earliest time a relay may claim the message; a relay claiming it moves this past its acknowledgement wait,
+     * so the message is picked up again if that relay dies before finishing.
+     */
+    @Column(nullable = false)
+    private Instant availableAt;
+}
@@ -0,0 +1,8 @@
+package com.kafka.poc.enums;
+
+public enum ClusterChangeType {
+    BROKER_ADDED, BROKER_REMOVED, CONTROLLER_CHANGED,
+    TOPIC_CREATED, TOPIC_DELETED, TOPIC_CONFIG_CHANGED, PARTITIONS_ADDED, REPLICAS_REASSIGNED,
+    LEADER_CHANGED, ISR_SHRUNK, ISR_EXPANDED, ISR_CHANGED,
+    GROUP_CREATED, GROUP_DELETED, GROUP_STATE_CHANGED
+}
@@ -0,0 +1,5 @@
+package com.kafka.poc.enums;
+
+public enum OutboxStatus {
+    PENDING, PARKED
+}
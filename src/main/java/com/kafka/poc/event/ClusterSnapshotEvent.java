@@ -0,0 +1,40 @@
+package com.kafka.poc.event;
+
+import com.kafka.poc.model.ClusterInfo;
+import lombok.Getter;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Map;
+
+/**
+ * Application event published every time a new cluster snapshot has been built.
+ * <p>
+ * Besides the {@link ClusterInfo} returned to API clients, the event carries the raw topic descriptions
+ * (leaders and in-sync replicas) so listeners can inspect partition state without issuing their own
+ * admin requests. The sequence number increases monotonically, which lets listeners drop snapshots
+ * that are delivered out of order.
+ * </p>
+ */
+@Getter
+public class ClusterSnapshotEvent extends ApplicationEvent {
+    /**
+     * Monotonic sequence number of the snapshot.
+     */
+    private final long sequence;
+    /**
+     * The assembled cluster snapshot.
+     */
+    private final ClusterInfo clusterInfo;
+    /**
+     * Raw topic descriptions keyed by topic name.
+     */
+    private final Map<String, TopicDescription> topicDescriptions;
+
+    public ClusterSnapshotEvent(Object source, long sequence, ClusterInfo clusterInfo, Map<String, TopicDescription> topicDescriptions) {
+        super(source);
+        this.sequence = sequence;
+        this.clusterInfo = clusterInfo;
+        this.topicDescriptions = topicDescriptions;
+    }
+}
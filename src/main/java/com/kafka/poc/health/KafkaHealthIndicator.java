@@ -1,42 +1,165 @@
 package com.kafka.poc.health;
 
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
 import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.common.KafkaFuture;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
-import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Health indicator for Kafka cluster connectivity.
  * Provides user-friendly and informative health status messages.
+ * <p>
+ * The cluster is probed in the background on a schedule with a bounded admin timeout, and {@link #health()}
+ * only reads the cached result, so health probes never block on a slow cluster. Consecutive probe failures
+ * open a circuit breaker that skips probing for a cool-down period; afterwards a single half-open probe decides
+ * whether to close it again. Each response reports how old the cached result is and when the last successful probe
+ * completed; results older than the staleness limit are reported as {@code UNKNOWN}.
+ * </p>
  */
+@Slf4j
 @Component("kafka")
 public class KafkaHealthIndicator implements HealthIndicator {
 
     @Autowired
-    private KafkaAdmin kafkaAdmin;
+    private AdminClient adminClient;
+
+    @Value("${kafka.poc.health.probe-timeout-ms:5000}")
+    private int probeTimeoutMs;
+
+    @Value("${kafka.poc.health.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${kafka.poc.health.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${kafka.poc.health.max-staleness-ms:60000}")
+    private long maxStalenessMs;
+
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    private volatile Health cachedHealth = Health.unknown()
+            .withDetail("message", "Kafka cluster has not been probed yet.")
+            .build();
+    private volatile long lastCheckedAtMillis;
+    private volatile long lastSuccessAtMillis;
+    private volatile CircuitState circuitState = CircuitState.CLOSED;
+    private volatile long circuitOpenedAtMillis;
+    private int consecutiveFailures;
 
     /**
-     * Checks the health of the Kafka cluster connection.
+     * Returns the cached health of the Kafka cluster connection without contacting the cluster.
      *
-     * @return Health status with user-friendly details and suggestions.
+     * @return Health status with user-friendly details, suggestions and cache age.
      */
     @Override
     public Health health() {
+        Health cached = cachedHealth;
+        long checkedAt = lastCheckedAtMillis;
+        long succeededAt = lastSuccessAtMillis;
+        long ageMs = checkedAt == 0 ? -1 : System.currentTimeMillis() - checkedAt;
+        boolean stale = checkedAt != 0 && ageMs > maxStalenessMs;
+        Health.Builder health = Health.status(stale ? Status.UNKNOWN : cached.getStatus())
+                .withDetails(cached.getDetails())
+                .withDetail("lastCheckedAt", checkedAt == 0 ? "never" : Instant.ofEpochMilli(checkedAt).toString())
+                .withDetail("lastSuccessAt", succeededAt == 0 ? "never" : Instant.ofEpochMilli(succeededAt).toString())
+                .withDetail("ageMs", ageMs)
+                .withDetail("stale", stale)
+                .withDetail("circuitBreaker", circuitState.name());
+        if (stale) {
+            health.withDetail("message", "Kafka health result is stale; the last completed probe is older than " + maxStalenessMs + " ms.");
+        }
+        return health.build();
+    }
+
+    /**
+     * Probes the cluster in the background. The probe is asynchronous: the scheduler thread only fires the
+     * describeCluster request and the cached result is updated when it completes or times out.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.health.probe-interval-ms:10000}")
+    public void probe() {
+        if (circuitState == CircuitState.OPEN) {
+            if (System.currentTimeMillis() - circuitOpenedAtMillis < openDurationMs) {
+                return;
+            }
+            circuitState = CircuitState.HALF_OPEN;
+            log.info("Kafka health circuit breaker is half-open; sending a trial probe.");
+        }
+        if (!probeInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            DescribeClusterResult describeClusterResult = adminClient.describeCluster(new DescribeClusterOptions().timeoutMs(probeTimeoutMs));
+            KafkaFuture.allOf(describeClusterResult.clusterId(), describeClusterResult.controller(), describeClusterResult.nodes())
+                    .whenComplete((ignored, ex) -> {
+                        try {
+                            if (ex == null) {
+                                onSuccess(describeClusterResult);
+                            } else {
+                                onFailure(ex);
+                            }
+                        } finally {
+                            probeInFlight.set(false);
+                        }
+                    });
+        } catch (Exception e) {
+            onFailure(e);
+            probeInFlight.set(false);
+        }
+    }
+
+    private synchronized void onSuccess(DescribeClusterResult describeClusterResult) {
         Health.Builder health = Health.up();
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
-            DescribeClusterResult describeClusterResult = adminClient.describeCluster();
+        try {
             health.withDetail("message", "Successfully connected to the Kafka cluster. All systems are operational.");
-            health.withDetail("clusterId", describeClusterResult.clusterId().get());
-            health.withDetail("controller", describeClusterResult.controller().get());
-            health.withDetail("nodes", describeClusterResult.nodes().get());
+            health.withDetail("clusterId", describeClusterResult.clusterId().getNow(null));
+            health.withDetail("controller", describeClusterResult.controller().getNow(null));
+            health.withDetail("nodes", describeClusterResult.nodes().getNow(null));
         } catch (Exception e) {
-            health.down()
-                    .withDetail("error", "Unable to connect to Kafka cluster: " + e.getMessage())
-                    .withDetail("suggestion", "Please verify your Kafka server address, network connectivity, and cluster status.");
+            onFailure(e);
+            return;
         }
-        return health.build();
+        if (circuitState != CircuitState.CLOSED) {
+            log.info("Kafka health probe succeeded; closing circuit breaker.");
+        }
+        consecutiveFailures = 0;
+        circuitState = CircuitState.CLOSED;
+        cachedHealth = health.build();
+        lastCheckedAtMillis = System.currentTimeMillis();
+        lastSuccessAtMillis = lastCheckedAtMillis;
+    }
+
+    private synchronized void onFailure(Throwable e) {
+        consecutiveFailures++;
+        if (circuitState == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (circuitState != CircuitState.OPEN) {
+                log.warn("Kafka health probe failed {} times in a row; opening circuit breaker for {} ms.", consecutiveFailures, openDurationMs);
+            }
+            circuitState = CircuitState.OPEN;
+            circuitOpenedAtMillis = System.currentTimeMillis();
+        }
+        cachedHealth = Health.down()
+                .withDetail("error", "Unable to connect to Kafka cluster: " + e.getMessage())
+                .withDetail("consecutiveFailures", consecutiveFailures)
+                .withDetail("suggestion", "Please verify your Kafka server address, network connectivity, and cluster status.")
+                .build();
+        lastCheckedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * States of the probe circuit breaker.
+     */
+    private enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
     }
 }
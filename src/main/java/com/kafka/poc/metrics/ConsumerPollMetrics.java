@@ -0,0 +1,71 @@
+package com.kafka.poc.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.errors.InvalidGroupIdException;
+import org.springframework.kafka.core.ConsumerPostProcessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Consumer post-processor recording how many records each non-empty poll returns, per consumer group.
+ * <p>
+ * Registered on the consumer factory, it wraps every consumer the factory creates, so the {@link MeterRegistry} is
+ * held by this bean instead of being smuggled through the consumer configs. The summary is resolved once per
+ * consumer; each poll then records a single value. Every other call goes straight to the wrapped consumer.
+ * </p>
+ */
+public class ConsumerPollMetrics<K, V> implements ConsumerPostProcessor<K, V> {
+
+    private final MeterRegistry meterRegistry;
+
+    public ConsumerPollMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Consumer<K, V> apply(Consumer<K, V> consumer) {
+        DistributionSummary recordsPerPoll = DistributionSummary.builder("kafka.consumer.poll.records")
+                .description("Records returned by each non-empty poll")
+                .baseUnit("records")
+                .tag("group", groupId(consumer))
+                .register(meterRegistry);
+        return (Consumer<K, V>) Proxy.newProxyInstance(Consumer.class.getClassLoader(), new Class<?>[]{Consumer.class},
+                (proxy, method, args) -> invoke(consumer, recordsPerPoll, proxy, method, args));
+    }
+
+    private static Object invoke(Consumer<?, ?> consumer, DistributionSummary recordsPerPoll,
+                                 Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return args != null && args.length == 1 && proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        Object result;
+        try {
+            result = method.invoke(consumer, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (result instanceof ConsumerRecords<?, ?> records && !records.isEmpty()) {
+            recordsPerPoll.record(records.count());
+        }
+        return result;
+    }
+
+    private static String groupId(Consumer<?, ?> consumer) {
+        try {
+            return consumer.groupMetadata().groupId();
+        } catch (InvalidGroupIdException e) {
+            return "none";
+        }
+    }
+}
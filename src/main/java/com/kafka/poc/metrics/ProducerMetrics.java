@@ -0,0 +1,201 @@
+package com.kafka.poc.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-topic Micrometer meters for the send path of {@link com.kafka.poc.producer.KafkaProducer}.
+ * <p>
+ * Meters are registered once per topic and cached, so recording a send is a map lookup plus primitive updates
+ * and allocates nothing. Topics beyond {@code kafka.poc.metrics.max-topic-tags} share the {@code other} tag to keep
+ * the tag cardinality bounded, since the producer endpoint accepts arbitrary topic names.
+ * </p>
+ *
+ * <p>Registered meters, all tagged with {@code topic}:
+ * <ul>
+ *     <li><b>kafka.producer.send.latency</b>: time from send until broker acknowledgement, tagged with {@code result}</li>
+ *     <li><b>kafka.producer.record.size</b>: serialized key plus value size of acknowledged records</li>
+ *     <li><b>kafka.producer.send.errors</b>: sends that failed synchronously or were not acknowledged</li>
+ *     <li><b>kafka.producer.sends.in.flight</b>: sends awaiting acknowledgement</li>
+ * </ul>
+ * Batch sizes, compression and request latencies come from the Kafka client's own metrics
+ * ({@code kafka.producer.batch.size.avg} etc.), which Spring Boot binds to the same registry.
+ * </p>
+ * <p>
+ * The in-flight count and running acknowledgement totals of each topic, and the free share of the producer's
+ * {@code buffer.memory}, are also readable directly, for components that react to producer load.
+ * </p>
+ */
+@Component
+public class ProducerMetrics {
+
+    private static final String OTHER_TOPIC = "other";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Maximum number of distinct topic tag values before topics are folded into {@code other}.
+     */
+    @Value("${kafka.poc.metrics.max-topic-tags:200}")
+    private int maxTopicTags;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final ConcurrentMap<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached meters of the given topic, registering them on first use.
+     *
+     * @param topic the topic being sent to
+     * @return the meters to record the send with
+     */
+    public TopicMeters forTopic(String topic) {
+        TopicMeters meters = topicMeters.get(topic);
+        if (meters != null) {
+            return meters;
+        }
+        if (topicMeters.size() >= maxTopicTags) {
+            return topicMeters.computeIfAbsent(OTHER_TOPIC, this::register);
+        }
+        return topicMeters.computeIfAbsent(topic, this::register);
+    }
+
+    /**
+     * Returns the free share of the producer's {@code buffer.memory}, read from the client's
+     * {@code buffer-available-bytes} and {@code buffer-total-bytes} metrics.
+     *
+     * @return a ratio between 0 and 1, or -1 if the metrics are not available
+     */
+    public double bufferAvailableRatio() {
+        double available = -1;
+        double total = -1;
+        for (Map.Entry<MetricName, ? extends Metric> entry : kafkaTemplate.metrics().entrySet()) {
+            if ("producer-metrics".equals(entry.getKey().group())) {
+                if ("buffer-available-bytes".equals(entry.getKey().name())) {
+                    available = ((Number) entry.getValue().metricValue()).doubleValue();
+                } else if ("buffer-total-bytes".equals(entry.getKey().name())) {
+                    total = ((Number) entry.getValue().metricValue()).doubleValue();
+                }
+            }
+        }
+        return total > 0 && available >= 0 ? available / total : -1;
+    }
+
+    private TopicMeters register(String topic) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("kafka.producer.sends.in.flight", inFlight, AtomicInteger::get)
+                .description("Sends awaiting broker acknowledgement")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        return new TopicMeters(
+                Timer.builder("kafka.producer.send.latency")
+                        .description("Time from send until broker acknowledgement")
+                        .tag("topic", topic).tag("result", "success")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("kafka.producer.send.latency")
+                        .description("Time from send until broker acknowledgement")
+                        .tag("topic", topic).tag("result", "failure")
+                        .register(meterRegistry),
+                DistributionSummary.builder("kafka.producer.record.size")
+                        .description("Serialized key plus value size of acknowledged records")
+                        .baseUnit("bytes")
+                        .tag("topic", topic)
+                        .register(meterRegistry),
+                Counter.builder("kafka.producer.send.errors")
+                        .description("Sends that failed or were not acknowledged")
+                        .tag("topic", topic)
+                        .register(meterRegistry),
+                inFlight);
+    }
+
+    /**
+     * Meters of a single topic.
+     */
+    public static final class TopicMeters {
+
+        private final Timer successLatency;
+        private final Timer failureLatency;
+        private final DistributionSummary recordSize;
+        private final Counter errors;
+        private final AtomicInteger inFlight;
+        private final LongAdder acknowledged = new LongAdder();
+        private final LongAdder acknowledgedNanos = new LongAdder();
+
+        private TopicMeters(Timer successLatency, Timer failureLatency, DistributionSummary recordSize, Counter errors,
+                            AtomicInteger inFlight) {
+            this.successLatency = successLatency;
+            this.failureLatency = failureLatency;
+            this.recordSize = recordSize;
+            this.errors = errors;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Marks a send as started.
+         *
+         * @return the start timestamp to pass to {@link #sendSucceeded} or {@link #sendFailed}
+         */
+        public long sendStarted() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        public void sendSucceeded(long startNanos, RecordMetadata metadata) {
+            inFlight.decrementAndGet();
+            long latencyNanos = System.nanoTime() - startNanos;
+            successLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+            acknowledged.increment();
+            acknowledgedNanos.add(latencyNanos);
+            if (metadata != null) {
+                recordSize.record(Math.max(metadata.serializedKeySize(), 0) + Math.max(metadata.serializedValueSize(), 0));
+            }
+        }
+
+        public void sendFailed(long startNanos) {
+            inFlight.decrementAndGet();
+            failureLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            errors.increment();
+        }
+
+        /**
+         * Returns the number of sends awaiting acknowledgement.
+         */
+        public int inFlight() {
+            return inFlight.get();
+        }
+
+        /**
+         * Returns the number of acknowledged sends since startup.
+         */
+        public long acknowledged() {
+            return acknowledged.sum();
+        }
+
+        /**
+         * Returns the summed latency of acknowledged sends since startup, in nanoseconds.
+         */
+        public long acknowledgedNanos() {
+            return acknowledgedNanos.sum();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.kafka.poc.model;
+
+import com.kafka.poc.enums.ClusterChangeType;
+import lombok.*;
+
+/**
+ * Model representing a single structural change detected between two cluster snapshots.
+ * <p>
+ * Only the changed resource and its previous/current values are carried, so watchers can follow the
+ * cluster incrementally instead of downloading and comparing full snapshots.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterChangeEvent {
+    /**
+     * Sequence number of the snapshot in which the change was detected.
+     */
+    private long sequence;
+    /**
+     * The kind of change.
+     */
+    private ClusterChangeType type;
+    /**
+     * Name of the changed resource (broker ID, topic name or consumer group ID).
+     */
+    private String resource;
+    /**
+     * Partition number for partition-level changes, otherwise null.
+     */
+    private Integer partition;
+    /**
+     * Value before the change, if applicable.
+     */
+    private String previousValue;
+    /**
+     * Value after the change, if applicable.
+     */
+    private String currentValue;
+    /**
+     * The timestamp when the change was detected (ISO-8601 format).
+     */
+    private String timestamp;
+}
@@ -0,0 +1,57 @@
+package com.kafka.poc.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Model representing the outcome of a compression analysis of a topic.
+ * <p>
+ * Holds one {@link CompressionResult} per codec and batch size, and the codec recommended for the topic's
+ * {@code compression.type}. The recommendation is judged at {@code referenceBatchSize}, the analyzed batch size
+ * closest to the producer's {@code batch.size}.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompressionAnalysis {
+    /**
+     * Name of the analyzed topic.
+     */
+    private String topicName;
+    /**
+     * Number of records sampled.
+     */
+    private int sampledRecords;
+    /**
+     * Total size of the sampled keys, values and headers.
+     */
+    private long sampledBytes;
+    /**
+     * The topic's {@code compression.type} before the analysis.
+     */
+    private String currentCompressionType;
+    /**
+     * Batch size at which codecs were compared for the recommendation.
+     */
+    private int referenceBatchSize;
+    /**
+     * Results for every codec and batch size.
+     */
+    private List<CompressionResult> results;
+    /**
+     * Recommended topic {@code compression.type}; {@code uncompressed} corresponds to the producer setting {@code none}.
+     */
+    private String recommendedCompressionType;
+    /**
+     * Why the recommended codec was chosen.
+     */
+    private String recommendationReason;
+    /**
+     * Whether the recommendation was applied to the topic.
+     */
+    private boolean applied;
+}
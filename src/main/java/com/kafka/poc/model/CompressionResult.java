@@ -0,0 +1,46 @@
+package com.kafka.poc.model;
+
+import lombok.*;
+
+/**
+ * Model representing how one codec performed on the sampled records at one batch size.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompressionResult {
+    /**
+     * Codec name, as used by {@code compression.type}.
+     */
+    private String compressionType;
+    /**
+     * Target record batch size in bytes.
+     */
+    private int batchSize;
+    /**
+     * Number of record batches the sample was split into.
+     */
+    private int batches;
+    /**
+     * Size of the batches without compression, including batch and record headers.
+     */
+    private long uncompressedBytes;
+    /**
+     * Size of the batches with this codec.
+     */
+    private long compressedBytes;
+    /**
+     * Uncompressed size divided by compressed size.
+     */
+    private double ratio;
+    /**
+     * Uncompressed megabytes compressed per second, on one thread.
+     */
+    private double compressMbPerSec;
+    /**
+     * Uncompressed megabytes decompressed per second, on one thread.
+     */
+    private double decompressMbPerSec;
+}
@@ -23,4 +23,5 @@ public class ConsumerGroupInfo {
     private List<String> topics;
     private List<String> activeTopics;
     private Set<AclOperation> authorizedOperations;
+    private Long totalLag;
 }
@@ -0,0 +1,29 @@
+package com.kafka.poc.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Model describing a Kafka listener container: its state, assignment and throughput as reported by its consumers.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ListenerInfo {
+    private String id;
+    private String groupId;
+    private List<String> topics;
+    private boolean dynamic;
+    private boolean running;
+    private int concurrency;
+    private boolean pauseRequested;
+    private boolean paused;
+    private List<String> assignedPartitions;
+    private List<String> pausedPartitions;
+    private double recordsConsumedRate;
+    private long recordsConsumedTotal;
+    private double recordsLagMax;
+}
@@ -11,7 +11,24 @@ import java.util.Map;
 @AllArgsConstructor
 @Builder
 public class LogDirInfo {
+    private int brokerId;
     private String path;
+    private String error;
+    /**
+     * Sum of the sizes of the replicas in the directory.
+     */
     private long totalSizeBytes;
+    /**
+     * Capacity of the volume holding the directory, or -1 if the broker does not report it.
+     */
+    private long volumeTotalBytes;
+    /**
+     * Free space on the volume holding the directory, or -1 if the broker does not report it.
+     */
+    private long volumeUsableBytes;
+    private int replicaCount;
+    private int futureReplicaCount;
+    private long maxOffsetLag;
+    private List<BrokerLogs> largestPartitions;
     private Map<String, List<Integer>> topicPartitions;
 }
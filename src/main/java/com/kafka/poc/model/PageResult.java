@@ -0,0 +1,32 @@
+package com.kafka.poc.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Model representing one page of a cursor-paginated listing.
+ * <p>
+ * Pass {@code nextCursor} back as the {@code cursor} query parameter to fetch the following page; it is
+ * {@code null} once the listing is exhausted. Cursors are opaque and stay valid when items are added or removed,
+ * since they encode the position after the last returned item rather than an index.
+ * </p>
+ *
+ * @param <T> the type of the listed items
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResult<T> {
+    /**
+     * Items of this page, in listing order.
+     */
+    private List<T> items;
+    /**
+     * Cursor of the following page, or {@code null} if there are no further items. A filtered page that stopped
+     * scanning early may hold fewer items than requested and still have a cursor.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.kafka.poc.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Model describing the replication health of a single topic partition.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartitionHealthInfo {
+    private String topic;
+    private int partition;
+    private int leader;
+    private List<Integer> replicas;
+    private List<Integer> inSyncReplicas;
+    private int minInSyncReplicas;
+    private boolean underReplicated;
+    private boolean offline;
+    private boolean underMinIsr;
+}
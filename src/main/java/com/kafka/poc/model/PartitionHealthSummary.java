@@ -0,0 +1,23 @@
+package com.kafka.poc.model;
+
+import lombok.*;
+
+/**
+ * Model summarizing partition replication health across the whole cluster, as of the last scan.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartitionHealthSummary {
+    private int topicCount;
+    private int partitionCount;
+    private int underReplicatedPartitions;
+    private int offlinePartitions;
+    private int underMinIsrPartitions;
+    private String lastScanAt;
+    private long lastScanDurationMs;
+    private int lastScanDescribedTopics;
+    private boolean lastScanFull;
+}
@@ -37,11 +37,11 @@ public class TopicInfo {
     /**
      * Number of partitions in the topic.
      */
-    private int partitions;
+    private Integer partitions;
     /**
      * Replication factor for the topic.
      */
-    private short replicationFactor;
+    private Short replicationFactor;
     /**
      * Map of partition to list of broker IDs where replicas are assigned.
      * Key: partition number, Value: list of broker IDs.
@@ -52,4 +52,8 @@ public class TopicInfo {
      * Key: config name, Value: config value.
      */
     private Map<String, String> configs;
+    /**
+     * Per-partition leader, replica and in-sync replica details.
+     */
+    private List<PartitionInfo> partitionInfos;
 }
@@ -0,0 +1,308 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.metrics.ProducerMetrics;
+import com.kafka.poc.utils.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive admission control for the produce and transaction endpoints.
+ * <p>
+ * Every request takes a permit from a token bucket of its caller and one of its topic, and is refused when either
+ * is empty, so a burst is shed in microseconds instead of filling {@code buffer.memory} and blocking request threads
+ * in {@code send()} for {@code max.block.ms}. The bucket rates follow producer health with additive increase and
+ * multiplicative decrease, re-evaluated every {@code kafka.poc.admission.adjust-interval-ms}:
+ * <ul>
+ *     <li>a global factor drops while less than {@code buffer-low-water-ratio} of the producer buffer is free, and
+ *     scales every bucket</li>
+ *     <li>a per-topic factor drops while the topic's average acknowledgement latency over the last interval exceeds
+ *     {@code target-latency-ms}, or while more than {@code max-in-flight} of its sends await acknowledgement</li>
+ * </ul>
+ * Factors recover by {@code increase-step} per healthy interval and never drop below {@code min-factor}.
+ * Callers are identified by their authenticated principal, or by their address for anonymous requests. Caller
+ * buckets idle for {@code caller-idle-ms} are evicted, and once {@code max-callers} buckets exist a new caller
+ * replaces the one idle the longest. Topics get their own bucket only once they are seen in the topic list,
+ * refreshed every {@code topic-refresh-ms}; unknown topics and topics beyond {@code max-topics} share one bucket,
+ * and the buckets of deleted topics are dropped with their gauges. Only active with
+ * {@code kafka.poc.admission.enabled=true}; behind a proxy or load balancer anonymous callers all share its address,
+ * and with it one caller bucket.
+ * </p>
+ *
+ * <p>Registered meters:
+ * <ul>
+ *     <li><b>kafka.producer.admission.rejected</b>: refused requests, tagged with {@code reason} (caller or topic)</li>
+ *     <li><b>kafka.producer.admission.rate</b>: current permits per second of each topic bucket</li>
+ *     <li><b>kafka.producer.admission.buffer.factor</b>: current global factor</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    private static final String OTHER = "other";
+
+    @Autowired
+    private ProducerMetrics producerMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdminClient adminClient;
+
+    @Value("${kafka.poc.admission.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Permits per second of a topic while the producer is healthy.
+     */
+    @Value("${kafka.poc.admission.topic-rate:5000}")
+    private double topicRate;
+
+    /**
+     * Permits per second of a caller while the producer is healthy.
+     */
+    @Value("${kafka.poc.admission.caller-rate:1000}")
+    private double callerRate;
+
+    @Value("${kafka.poc.admission.burst-ms:200}")
+    private long burstMs;
+
+    @Value("${kafka.poc.admission.buffer-low-water-ratio:0.3}")
+    private double bufferLowWaterRatio;
+
+    @Value("${kafka.poc.admission.target-latency-ms:250}")
+    private double targetLatencyMs;
+
+    @Value("${kafka.poc.admission.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${kafka.poc.admission.min-factor:0.05}")
+    private double minFactor;
+
+    @Value("${kafka.poc.admission.increase-step:0.05}")
+    private double increaseStep;
+
+    @Value("${kafka.poc.admission.decrease-ratio:0.7}")
+    private double decreaseRatio;
+
+    @Value("${kafka.poc.admission.max-topics:200}")
+    private int maxTopics;
+
+    @Value("${kafka.poc.admission.max-callers:10000}")
+    private int maxCallers;
+
+    @Value("${kafka.poc.admission.caller-idle-ms:60000}")
+    private long callerIdleMs;
+
+    private final ConcurrentMap<String, TopicLimit> topicLimits = new ConcurrentHashMap<>();
+    private volatile Set<String> knownTopics = Set.of();
+    private final ConcurrentMap<String, TokenBucket> callerBuckets = new ConcurrentHashMap<>();
+
+    private volatile double bufferFactor = 1.0;
+
+    private Counter callerRejections;
+    private Counter topicRejections;
+
+    @PostConstruct
+    public void registerMeters() {
+        callerRejections = Counter.builder("kafka.producer.admission.rejected")
+                .description("Requests refused by admission control")
+                .tag("reason", "caller")
+                .register(meterRegistry);
+        topicRejections = Counter.builder("kafka.producer.admission.rejected")
+                .description("Requests refused by admission control")
+                .tag("reason", "topic")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.admission.buffer.factor", this, control -> control.bufferFactor)
+                .description("Share of the configured rates currently admitted, driven by producer buffer usage")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admits or refuses one request.
+     *
+     * @param topic  the topic the request produces to
+     * @param caller the caller identity
+     * @return 0 if the request is admitted, otherwise the nanoseconds after which a retry may succeed
+     */
+    public long admit(String topic, String caller) {
+        TokenBucket callerBucket = callerBucket(caller);
+        long wait = callerBucket.tryAcquire();
+        if (wait > 0) {
+            callerRejections.increment();
+            return wait;
+        }
+        wait = topicLimit(topic).bucket.tryAcquire();
+        if (wait > 0) {
+            callerBucket.release();
+            topicRejections.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Re-evaluates the factors from the producer buffer and the topics' acknowledgement latency, and applies the
+     * resulting rates to every bucket.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.admission.adjust-interval-ms:250}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        double availableRatio;
+        try {
+            availableRatio = producerMetrics.bufferAvailableRatio();
+        } catch (Exception e) {
+            availableRatio = -1;
+        }
+        double previousBufferFactor = bufferFactor;
+        bufferFactor = availableRatio >= 0 && availableRatio < bufferLowWaterRatio
+                ? decrease(bufferFactor) : increase(bufferFactor);
+        if (bufferFactor < previousBufferFactor) {
+            log.warn("Producer buffer {}% free, admitting {}% of the configured rates.",
+                    Math.round(availableRatio * 100), Math.round(bufferFactor * 100));
+        }
+
+        for (Map.Entry<String, TopicLimit> entry : topicLimits.entrySet()) {
+            TopicLimit limit = entry.getValue();
+            ProducerMetrics.TopicMeters meters = producerMetrics.forTopic(entry.getKey());
+            long acknowledged = meters.acknowledged();
+            long acknowledgedNanos = meters.acknowledgedNanos();
+            long acks = acknowledged - limit.lastAcknowledged;
+            double latencyMs = acks > 0 ? (acknowledgedNanos - limit.lastAcknowledgedNanos) / (double) acks / 1_000_000 : 0;
+            limit.lastAcknowledged = acknowledged;
+            limit.lastAcknowledgedNanos = acknowledgedNanos;
+            boolean congested = latencyMs > targetLatencyMs || meters.inFlight() > maxInFlight;
+            limit.factor = congested ? decrease(limit.factor) : increase(limit.factor);
+            limit.bucket.setRate(topicRate * bufferFactor * limit.factor, burstMs);
+        }
+
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(callerIdleMs);
+        callerBuckets.entrySet().removeIf(entry -> entry.getValue().idleNanos() > idleNanos);
+        for (TokenBucket bucket : callerBuckets.values()) {
+            bucket.setRate(callerRate * bufferFactor, burstMs);
+        }
+    }
+
+    /**
+     * Refreshes the names of the existing topics, which are the only ones given a bucket of their own, and drops the
+     * buckets of topics that no longer exist.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.admission.topic-refresh-ms:30000}")
+    public void refreshTopics() {
+        if (!enabled) {
+            return;
+        }
+        adminClient.listTopics().names().whenComplete((names, error) -> {
+            if (error != null) {
+                log.debug("Could not refresh the topics known to admission control: {}", error.getMessage());
+                return;
+            }
+            knownTopics = names;
+            topicLimits.entrySet().removeIf(entry -> {
+                if (OTHER.equals(entry.getKey()) || names.contains(entry.getKey())) {
+                    return false;
+                }
+                meterRegistry.remove(entry.getValue().rateGauge);
+                return true;
+            });
+        });
+    }
+
+    private double decrease(double factor) {
+        return Math.max(minFactor, factor * decreaseRatio);
+    }
+
+    private double increase(double factor) {
+        return Math.min(1.0, factor + increaseStep);
+    }
+
+    private TokenBucket callerBucket(String caller) {
+        TokenBucket bucket = callerBuckets.get(caller);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (callerBuckets.size() >= maxCallers) {
+            evictIdlestCaller();
+        }
+        return callerBuckets.computeIfAbsent(caller, k -> new TokenBucket(callerRate * bufferFactor, burstMs));
+    }
+
+    /**
+     * Makes room for a new caller by dropping the bucket idle the longest. Only runs while the map is full, so the
+     * scan is not paid by known callers; a caller whose bucket was dropped starts again with a full burst.
+     */
+    private void evictIdlestCaller() {
+        String idlest = null;
+        long longestIdle = -1;
+        for (Map.Entry<String, TokenBucket> entry : callerBuckets.entrySet()) {
+            long idle = entry.getValue().idleNanos();
+            if (idle > longestIdle) {
+                longestIdle = idle;
+                idlest = entry.getKey();
+            }
+        }
+        if (idlest != null) {
+            callerBuckets.remove(idlest);
+        }
+    }
+
+    private TopicLimit topicLimit(String topic) {
+        TopicLimit limit = topicLimits.get(topic);
+        if (limit != null) {
+            return limit;
+        }
+        String key = !knownTopics.contains(topic) || topicLimits.size() >= maxTopics ? OTHER : topic;
+        return topicLimits.computeIfAbsent(key, this::newTopicLimit);
+    }
+
+    private TopicLimit newTopicLimit(String topic) {
+        TokenBucket bucket = new TokenBucket(topicRate * bufferFactor, burstMs);
+        Gauge rateGauge = Gauge.builder("kafka.producer.admission.rate", bucket, TokenBucket::getRate)
+                .description("Permits per second currently admitted for the topic")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        TopicLimit limit = new TopicLimit(bucket, rateGauge);
+        ProducerMetrics.TopicMeters meters = producerMetrics.forTopic(topic);
+        limit.lastAcknowledged = meters.acknowledged();
+        limit.lastAcknowledgedNanos = meters.acknowledgedNanos();
+        return limit;
+    }
+
+    /**
+     * Bucket and adaptation state of one topic; the counters are only touched by {@link #adjust()}.
+     */
+    private static final class TopicLimit {
+
+        private final TokenBucket bucket;
+        private final Gauge rateGauge;
+        private volatile double factor = 1.0;
+        private long lastAcknowledged;
+        private long lastAcknowledgedNanos;
+
+        private TopicLimit(TokenBucket bucket, Gauge rateGauge) {
+            this.bucket = bucket;
+            this.rateGauge = rateGauge;
+        }
+    }
+}
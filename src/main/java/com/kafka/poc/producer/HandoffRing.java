@@ -0,0 +1,175 @@
+package com.kafka.poc.producer;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer, single-consumer ring of pre-allocated {@link Slot}s used by {@link RingBufferHandoff}.
+ * <p>
+ * Each slot carries a sequence number that says whose turn it is: {@code n} when it is free for the producer that
+ * claims position {@code n}, {@code n + 1} once that producer has filled it, and {@code n + capacity} once the
+ * consumer has taken it, freeing it for the next lap. Producers claim a position with a single compare-and-set on
+ * the tail and never take a lock; a full ring is reported to the caller instead of waited on. The slot fields are
+ * plain and published by the volatile write of the sequence.
+ * </p>
+ * <p>
+ * Only one thread may call {@link #poll()}. {@link #close()} sets a flag in the tail itself, so an offer either
+ * claims its position before the ring closes, and is then taken by the consumer, or is refused; none can slip in
+ * after the consumer has taken the last record.
+ * </p>
+ */
+final class HandoffRing {
+
+    /**
+     * Bit of the tail set once the ring is closed; positions never come close to it.
+     */
+    private static final long CLOSED = 1L << 62;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder claimRetries = new LongAdder();
+
+    /**
+     * Set by the consumer before it parks, so producers know to wake it.
+     */
+    private volatile Thread parkedConsumer;
+
+    HandoffRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+    }
+
+    /**
+     * Publishes a record into the next free slot.
+     *
+     * @return false if the ring is full or closed
+     */
+    boolean offer(String topic, String key, String message, CompletableFuture<RecordMetadata> future) {
+        long position = tail.get();
+        Slot slot;
+        while (true) {
+            if ((position & CLOSED) != 0) {
+                return false;
+            }
+            slot = slots[(int) (position & mask)];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                claimRetries.increment();
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        slot.topic = topic;
+        slot.key = key;
+        slot.message = message;
+        slot.future = future;
+        slot.enqueuedNanos = System.nanoTime();
+        slot.sequence = position + 1;
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the next filled slot, or null if the ring is empty. The slot stays owned by the caller until
+     * {@link #release(Slot)}.
+     */
+    Slot poll() {
+        long position = head.get();
+        Slot slot = slots[(int) (position & mask)];
+        return slot.sequence == position + 1 ? slot : null;
+    }
+
+    /**
+     * Clears a slot returned by {@link #poll()} and hands it back to the producers.
+     */
+    void release(Slot slot) {
+        long position = head.get();
+        slot.topic = null;
+        slot.key = null;
+        slot.message = null;
+        slot.future = null;
+        slot.sequence = position + slots.length;
+        head.lazySet(position + 1);
+    }
+
+    /**
+     * Registers the calling consumer as parked, or clears it with null. Producers unpark a registered consumer
+     * after each publish.
+     */
+    void parkedConsumer(Thread consumer) {
+        this.parkedConsumer = consumer;
+    }
+
+    boolean isEmpty() {
+        return poll() == null;
+    }
+
+    /**
+     * Refuses all further offers. Positions claimed before are still filled and must be polled by the consumer
+     * until {@link #occupancy()} drops to zero.
+     */
+    void close() {
+        long position = tail.get();
+        while ((position & CLOSED) == 0 && !tail.compareAndSet(position, position | CLOSED)) {
+            position = tail.get();
+        }
+    }
+
+    boolean isClosed() {
+        return (tail.get() & CLOSED) != 0;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Claimed positions not yet taken by the consumer, including slots still being filled.
+     */
+    long occupancy() {
+        return Math.max((tail.get() & ~CLOSED) - head.get(), 0);
+    }
+
+    /**
+     * Compare-and-set failures on the tail, a measure of contention between producers.
+     */
+    long claimRetries() {
+        return claimRetries.sum();
+    }
+
+    /**
+     * A pre-allocated event of the ring.
+     */
+    static final class Slot {
+
+        private volatile long sequence;
+        String topic;
+        String key;
+        String message;
+        CompletableFuture<RecordMetadata> future;
+        long enqueuedNanos;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
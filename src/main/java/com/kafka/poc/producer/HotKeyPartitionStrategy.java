@@ -0,0 +1,286 @@
+package com.kafka.poc.producer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Key-hash partitioning that spreads hot keys over a few partitions.
+ * <p>
+ * A key normally goes to {@code murmur2(key) % partitions}, the partition Kafka's own partitioner would pick, so
+ * records of one account stay ordered on one partition. Key frequencies are estimated per topic with a count-min
+ * sketch over the current and the previous {@code kafka.poc.partitioning.window-ms} window, which costs a few
+ * atomic increments per send and a fixed amount of memory however many accounts there are. A key is hot once its
+ * estimate reaches {@code hot-min-count} and {@code hot-share} of the topic's traffic in those windows; its records
+ * are then spread at random over {@code fan-out} consecutive partitions starting at its own. Records of a hot key
+ * are therefore no longer ordered relative to each other, the price of not overloading a single partition; cold
+ * keys keep their order.
+ * </p>
+ *
+ * <p>Registered meters, all tagged with {@code topic}:
+ * <ul>
+ *     <li><b>kafka.producer.partition.skew</b>: records on the busiest partition over the mean, in the last window</li>
+ *     <li><b>kafka.producer.hot.keys</b>: distinct hot keys seen in the last window</li>
+ *     <li><b>kafka.producer.hot.key.sends</b>: records spread because their key was hot</li>
+ * </ul>
+ * Topics beyond {@code max-topics} are partitioned by key hash only, without detection or meters.
+ * </p>
+ * <p>
+ * Partition counts are never looked up on the send path: they are described asynchronously every window, and every
+ * {@code metadata-refresh-ms} for topics whose count is not known yet. Until it is, records of the topic are left to
+ * the producer's own partitioner.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kafka.poc.partitioning.strategy", havingValue = "hot-key", matchIfMissing = true)
+public class HotKeyPartitionStrategy implements PartitionStrategy {
+
+    @Autowired
+    private AdminClient adminClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Counters per sketch row, rounded up to a power of two.
+     */
+    @Value("${kafka.poc.partitioning.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${kafka.poc.partitioning.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${kafka.poc.partitioning.hot-min-count:500}")
+    private long hotMinCount;
+
+    @Value("${kafka.poc.partitioning.hot-share:0.02}")
+    private double hotShare;
+
+    @Value("${kafka.poc.partitioning.fan-out:4}")
+    private int fanOut;
+
+    @Value("${kafka.poc.partitioning.max-topics:200}")
+    private int maxTopics;
+
+    /**
+     * Upper bound on the distinct hot keys counted per topic and window.
+     */
+    @Value("${kafka.poc.partitioning.max-tracked-hot-keys:1000}")
+    private int maxTrackedHotKeys;
+
+    private final ConcurrentMap<String, TopicState> topics = new ConcurrentHashMap<>();
+
+    @Override
+    public Integer partition(String topic, String key) {
+        if (key == null) {
+            return null;
+        }
+        TopicState state = topicState(topic);
+        int partitions = state == null ? 0 : state.partitions;
+        if (partitions <= 0) {
+            return null;
+        }
+        int hash = Utils.murmur2(key.getBytes(StandardCharsets.UTF_8));
+        int partition = Utils.toPositive(hash) % partitions;
+        long estimate = state.record(hash);
+        if (fanOut > 1 && partitions > 1 && estimate >= hotMinCount && estimate >= hotShare * state.total()) {
+            partition = (partition + ThreadLocalRandom.current().nextInt(Math.min(fanOut, partitions))) % partitions;
+            state.hotKeySends.increment();
+            if (state.hotKeys.size() < maxTrackedHotKeys) {
+                state.hotKeys.add(hash);
+            }
+        }
+        AtomicLongArray counts = state.partitionCounts;
+        if (partition < counts.length()) {
+            counts.incrementAndGet(partition);
+        }
+        return partition;
+    }
+
+    /**
+     * Starts a new window: ages the sketches, publishes the skew and hot key counts of the window that ended and
+     * refreshes the partition counts of all topics.
+     */
+    @Scheduled(fixedRateString = "${kafka.poc.partitioning.window-ms:10000}")
+    public void rotateWindow() {
+        for (TopicState state : topics.values()) {
+            state.rotate(new CountMinSketch(sketchDepth, sketchWidth));
+        }
+        refreshPartitions(topics.keySet());
+    }
+
+    /**
+     * Looks up the partition counts of the topics seen since the last refresh, so they do not wait a whole window.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.partitioning.metadata-refresh-ms:1000}")
+    public void refreshUnknownPartitions() {
+        List<String> unknown = topics.entrySet().stream().filter(entry -> entry.getValue().partitions <= 0).map(Map.Entry::getKey).toList();
+        if (!unknown.isEmpty()) {
+            refreshPartitions(unknown);
+        }
+    }
+
+    /**
+     * Describes the topics asynchronously and applies their partition counts as the answers arrive. Topics that
+     * cannot be described right now keep their previous count.
+     */
+    private void refreshPartitions(Collection<String> topicNames) {
+        if (topicNames.isEmpty()) {
+            return;
+        }
+        adminClient.describeTopics(topicNames).topicNameValues().forEach((topic, future) ->
+                future.whenComplete((description, error) -> {
+                    TopicState state = topics.get(topic);
+                    if (error != null) {
+                        log.debug("Could not read the partitions of {}: {}", topic, error.getMessage());
+                        return;
+                    }
+                    int partitions = description.partitions().size();
+                    if (state != null && partitions > 0 && partitions != state.partitions) {
+                        log.info("Topic {} now has {} partitions.", topic, partitions);
+                        state.partitionCounts = new AtomicLongArray(partitions);
+                        state.partitions = partitions;
+                    }
+                }));
+    }
+
+    private TopicState topicState(String topic) {
+        TopicState state = topics.get(topic);
+        if (state != null || topics.size() >= maxTopics) {
+            return state;
+        }
+        return topics.computeIfAbsent(topic, this::newTopicState);
+    }
+
+    private TopicState newTopicState(String topic) {
+        TopicState state = new TopicState(new CountMinSketch(sketchDepth, sketchWidth),
+                Counter.builder("kafka.producer.hot.key.sends")
+                        .description("Records spread over several partitions because their key was hot")
+                        .tag("topic", topic)
+                        .register(meterRegistry));
+        Gauge.builder("kafka.producer.partition.skew", state, s -> s.skew)
+                .description("Records on the busiest partition over the mean, in the last window")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.hot.keys", state, s -> s.lastHotKeys)
+                .description("Distinct hot keys seen in the last window")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        return state;
+    }
+
+    /**
+     * Sketches, counters and window statistics of one topic.
+     */
+    private static final class TopicState {
+
+        private final Counter hotKeySends;
+        private final Set<Integer> hotKeys = ConcurrentHashMap.newKeySet();
+        private volatile CountMinSketch current;
+        private volatile CountMinSketch previous;
+        private volatile LongAdder currentTotal = new LongAdder();
+        private volatile long previousTotal;
+        private volatile int partitions;
+        private volatile AtomicLongArray partitionCounts = new AtomicLongArray(0);
+        private volatile double skew;
+        private volatile int lastHotKeys;
+
+        private TopicState(CountMinSketch sketch, Counter hotKeySends) {
+            this.current = sketch;
+            this.hotKeySends = hotKeySends;
+        }
+
+        /**
+         * Counts one record of the key and returns its estimated count over the current and previous window.
+         */
+        private long record(int hash) {
+            currentTotal.increment();
+            CountMinSketch previousSketch = previous;
+            return current.add(hash) + (previousSketch == null ? 0 : previousSketch.estimate(hash));
+        }
+
+        private long total() {
+            return previousTotal + currentTotal.sum();
+        }
+
+        private void rotate(CountMinSketch fresh) {
+            previous = current;
+            current = fresh;
+            previousTotal = currentTotal.sum();
+            currentTotal = new LongAdder();
+
+            AtomicLongArray counts = partitionCounts;
+            partitionCounts = new AtomicLongArray(counts.length());
+            long sum = 0;
+            long max = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                long count = counts.get(i);
+                sum += count;
+                max = Math.max(max, count);
+            }
+            skew = sum == 0 ? 0 : max / ((double) sum / counts.length());
+            lastHotKeys = hotKeys.size();
+            hotKeys.clear();
+        }
+    }
+
+    /**
+     * Count-min sketch over 32-bit key hashes; row indexes are derived from the hash with double hashing.
+     */
+    private static final class CountMinSketch {
+
+        private final int depth;
+        private final int mask;
+        private final AtomicIntegerArray cells;
+
+        private CountMinSketch(int depth, int width) {
+            int size = Integer.highestOneBit(Math.max(width, 16) - 1) << 1;
+            this.depth = Math.max(depth, 1);
+            this.mask = size - 1;
+            this.cells = new AtomicIntegerArray(this.depth * size);
+        }
+
+        private long add(int hash) {
+            int step = secondHash(hash);
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, cells.incrementAndGet(row * (mask + 1) + ((hash + row * step) & mask)));
+            }
+            return min;
+        }
+
+        private long estimate(int hash) {
+            int step = secondHash(hash);
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, cells.get(row * (mask + 1) + ((hash + row * step) & mask)));
+            }
+            return min;
+        }
+
+        private static int secondHash(int hash) {
+            return (Integer.rotateLeft(hash, 16) * 0x9E3779B9) | 1;
+        }
+    }
+}
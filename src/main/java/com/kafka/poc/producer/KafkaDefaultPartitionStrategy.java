@@ -0,0 +1,18 @@
+package com.kafka.poc.producer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Leaves every record to the producer's configured partitioner: murmur2 of the key for keyed records, sticky
+ * batches for the others. Selected with {@code kafka.poc.partitioning.strategy=kafka}.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.poc.partitioning.strategy", havingValue = "kafka")
+public class KafkaDefaultPartitionStrategy implements PartitionStrategy {
+
+    @Override
+    public Integer partition(String topic, String key) {
+        return null;
+    }
+}
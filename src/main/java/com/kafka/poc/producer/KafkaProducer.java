@@ -1,8 +1,14 @@
 package com.kafka.poc.producer;
 
+import com.kafka.poc.dto.TransactionDTO;
 import com.kafka.poc.exception.CommonCustomException;
-import lombok.extern.slf4j.Slf4j;
+import com.kafka.poc.metrics.ProducerMetrics;
+import com.kafka.poc.serialization.TransactionJsonEncoder;
+import com.kafka.poc.utils.HotPathLogger;
+import com.kafka.poc.utils.Utility;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
@@ -16,41 +22,96 @@ import java.util.concurrent.CompletableFuture;
  * This service provides methods to send messages to specified Kafka topics using the {@link KafkaTemplate}.
  * It handles asynchronous message sending and logs the success or failure of message publishing.
  * In case of failure, it throws a {@link CommonCustomException} with an appropriate HTTP status code.
+ * Every send is recorded in the per-topic {@link ProducerMetrics}; per-send logs go through a sampled
+ * {@link HotPathLogger} and carry the topic, partition, offset and payload size rather than the payload itself.
+ * </p>
+ * <p>
+ * With {@code kafka.poc.spool.enabled=true}, sends that cannot reach the cluster are written to the
+ * {@link ProducerSpool} instead of failing, and replayed from there once the brokers are reachable again.
+ * Records that were already in flight when an earlier send failed may reach the broker before it; see the spool for
+ * the ordering it keeps. Keyed records are placed by the configured {@link PartitionStrategy}.
+ * </p>
+ * <p>
+ * With {@code kafka.poc.serialization.transaction-encoder.enabled=true}, transactions are sent as objects and
+ * encoded by the producer's serializer, see {@link #publishTransaction(String, String, TransactionDTO)}.
  * </p>
  */
-@Slf4j
 @Service
 public class KafkaProducer {
+
+    private static final HotPathLogger SEND_LOG = HotPathLogger.of(KafkaProducer.class, "kafka.producer.send");
+    private static final HotPathLogger SEND_ERROR_LOG = HotPathLogger.of(KafkaProducer.class, "kafka.producer.send.error");
+
     /**
      * KafkaTemplate for sending messages to Kafka topics.
      */
     @Autowired
     private KafkaTemplate<String, String> kafkaTemplate;
 
+    /**
+     * Per-topic send metrics.
+     */
+    @Autowired
+    private ProducerMetrics producerMetrics;
+
+    /**
+     * Disk spool taking over sends while the cluster is unreachable or the producer buffer is full.
+     */
+    @Autowired
+    private ProducerSpool producerSpool;
+
+    /**
+     * Partition choice for keyed records.
+     */
+    @Autowired
+    private PartitionStrategy partitionStrategy;
+
+    /**
+     * When true, the producer's value serializer is {@link com.kafka.poc.serialization.PayloadSerializer} and
+     * transactions are handed to it as objects; see {@link #publishTransaction(String, String, TransactionDTO)}.
+     */
+    @Value("${kafka.poc.serialization.transaction-encoder.enabled:false}")
+    private boolean transactionEncoder;
+
     /**
      * Publishes a message to the specified Kafka topic.
      * <p>
      * This method sends a message to the given Kafka topic asynchronously. If the message is published successfully,
-     * a success log is recorded. If publishing fails, an error log is recorded and a CommonCustomException is thrown.
+     * a sampled success log is recorded. If publishing fails, a rate-limited error log is recorded and a CommonCustomException is thrown.
      *
      * @param topic   the name of the Kafka topic to which the message will be published
      * @param message the message content to be published
      * @throws CommonCustomException if message publishing fails
      */
     public void sendMessage(String topic, String message) {
-        log.info("Publishing message to topic {}: {}", topic, message);
+        if (producerSpool.shouldSpool()) {
+            producerSpool.append(topic, null, message);
+            return;
+        }
+        ProducerMetrics.TopicMeters meters = producerMetrics.forTopic(topic);
+        long startNanos = meters.sendStarted();
         try {
             CompletableFuture<SendResult<String, String>> completableFuture = kafkaTemplate.send(topic, message);
             completableFuture.whenComplete((result, ex) -> {
                 if (ex == null) {
-                    log.info("Message published successfully to topic {}: {}", topic, message);
+                    meters.sendSucceeded(startNanos, result.getRecordMetadata());
+                    SEND_LOG.info("Message published", "topic", topic, "partition", result.getRecordMetadata().partition(),
+                            "offset", result.getRecordMetadata().offset(), "bytes", message == null ? 0 : message.length());
                 } else {
-                    log.error("Failed to publish message to topic {}: {}", topic, ex.getMessage());
+                    meters.sendFailed(startNanos);
+                    SEND_ERROR_LOG.error("Failed to publish message", "topic", topic, "error", ex.getMessage());
+                    if (spoolAfterFailure(topic, null, message, ex)) {
+                        return;
+                    }
                     throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to publish message to topic " + topic);
                 }
             });
         } catch (Exception e) {
-            log.error("Failed to publish message to topic {}: {}", topic, e.getMessage());
+            meters.sendFailed(startNanos);
+            SEND_ERROR_LOG.error("Failed to publish message", "topic", topic, "error", e.getMessage());
+            if (spoolAfterFailure(topic, null, message, e)) {
+                return;
+            }
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to publish message to topic " + topic);
         }
     }
@@ -59,7 +120,7 @@ public class KafkaProducer {
      * Publishes a message with a specific key to the specified Kafka topic.
      * <p>
      * This method sends a message with a key to the given Kafka topic asynchronously. If the message is published successfully,
-     * a success log is recorded. If publishing fails, an error log is recorded and a CommonCustomException is thrown.
+     * a sampled success log is recorded. If publishing fails, a rate-limited error log is recorded and a CommonCustomException is thrown.
      *
      * @param topic   the name of the Kafka topic to which the message will be published
      * @param message the message content to be published
@@ -67,20 +128,119 @@ public class KafkaProducer {
      * @throws CommonCustomException if message publishing fails
      */
     public void sendMessageWithKey(String topic, String message, String key) {
-        log.info("Publishing message to topic {} with key {}: {}", topic, key, message);
+        publish(topic, key, message);
+    }
+
+    /**
+     * Publishes a keyed message and returns its outcome.
+     * <p>
+     * Behaves like {@link #sendMessageWithKey(String, String, String)}, but the returned future completes with the
+     * broker's {@link RecordMetadata} once the record is acknowledged, with null if the record went to the
+     * {@link ProducerSpool} instead, or exceptionally with a {@link CommonCustomException} if it could not be published.
+     *
+     * @param topic   the name of the Kafka topic to which the message will be published
+     * @param key     the key associated with the message, may be null
+     * @param message the message content to be published
+     * @return the future outcome of the send
+     * @throws CommonCustomException if the send fails synchronously and cannot be spooled
+     */
+    public CompletableFuture<RecordMetadata> publish(String topic, String key, String message) {
+        return send(topic, key, message);
+    }
+
+    /**
+     * Publishes a transaction and returns its outcome, like {@link #publish(String, String, String)}.
+     * <p>
+     * With {@code kafka.poc.serialization.transaction-encoder.enabled=true} the transaction itself is the record
+     * value and is encoded by the producer's serializer straight into bytes, skipping the intermediate JSON String;
+     * otherwise it is rendered with {@link Utility#objectToJsonString(Object)} and sent as text.
+     *
+     * @param topic       the name of the Kafka topic to which the transaction will be published
+     * @param key         the key associated with the transaction, may be null
+     * @param transaction the transaction to be published
+     * @return the future outcome of the send
+     * @throws CommonCustomException if the send fails synchronously and cannot be spooled
+     */
+    public CompletableFuture<RecordMetadata> publishTransaction(String topic, String key, TransactionDTO transaction) {
+        if (!transactionEncoder) {
+            return send(topic, key, transactionPayload(transaction));
+        }
+        return send(topic, key, transaction);
+    }
+
+    /**
+     * Renders a transaction as the record value {@link #publishTransaction(String, String, TransactionDTO)} sends,
+     * for paths that hand the text over first (batching, producer handoff, outbox), so every path puts the same JSON
+     * on the topic: the compact encoder output with
+     * {@code kafka.poc.serialization.transaction-encoder.enabled=true}, {@link Utility#objectToJsonString(Object)}
+     * otherwise.
+     *
+     * @param transaction the transaction
+     * @return the record value
+     */
+    public String transactionPayload(TransactionDTO transaction) {
+        return transactionEncoder ? TransactionJsonEncoder.encodeToString(transaction) : Utility.objectToJsonString(transaction);
+    }
+
+    private CompletableFuture<RecordMetadata> send(String topic, String key, Object value) {
+        if (producerSpool.shouldSpool()) {
+            producerSpool.append(topic, key, asText(value));
+            return CompletableFuture.completedFuture(null);
+        }
+        ProducerMetrics.TopicMeters meters = producerMetrics.forTopic(topic);
+        long startNanos = meters.sendStarted();
         try {
-            CompletableFuture<SendResult<String, String>> completableFuture = kafkaTemplate.send(topic, key, message);
-            completableFuture.whenComplete((result, ex) -> {
+            CompletableFuture<SendResult<String, Object>> completableFuture = objectTemplate().send(topic, partitionStrategy.partition(topic, key), key, value);
+            return completableFuture.handle((result, ex) -> {
                 if (ex == null) {
-                    log.info("Message published successfully to topic {} with key {}: {}", topic, key, message);
-                } else {
-                    log.error("Failed to publish message to topic {} with key {}: {}", topic, key, ex.getMessage());
-                    throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to publish message to topic " + topic);
+                    meters.sendSucceeded(startNanos, result.getRecordMetadata());
+                    SEND_LOG.info("Message published", "topic", topic, "partition", result.getRecordMetadata().partition(),
+                            "offset", result.getRecordMetadata().offset(), "key", key);
+                    return result.getRecordMetadata();
                 }
+                meters.sendFailed(startNanos);
+                SEND_ERROR_LOG.error("Failed to publish message", "topic", topic, "key", key, "error", ex.getMessage());
+                if (spoolAfterFailure(topic, key, value, ex)) {
+                    return null;
+                }
+                throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to publish message to topic " + topic);
             });
         } catch (Exception e) {
-            log.error("Failed to publish message to topic {} with key {}: {}", topic, key, e.getMessage());
+            meters.sendFailed(startNanos);
+            SEND_ERROR_LOG.error("Failed to publish message", "topic", topic, "key", key, "error", e.getMessage());
+            if (spoolAfterFailure(topic, key, value, e)) {
+                return CompletableFuture.completedFuture(null);
+            }
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to publish message to topic " + topic);
         }
     }
+
+    /**
+     * The shared template viewed with Object values. Only Strings go through it unless the value serializer is
+     * {@link com.kafka.poc.serialization.PayloadSerializer}, which also accepts transactions.
+     */
+    @SuppressWarnings("unchecked")
+    private KafkaTemplate<String, Object> objectTemplate() {
+        return (KafkaTemplate<String, Object>) (KafkaTemplate<String, ?>) kafkaTemplate;
+    }
+
+    /**
+     * Renders a record value as the text kept by the spool.
+     */
+    private static String asText(Object value) {
+        return value instanceof TransactionDTO transaction ? TransactionJsonEncoder.encodeToString(transaction) : (String) value;
+    }
+
+    /**
+     * Writes a failed send to the spool when the spool is enabled and the failure is retriable.
+     *
+     * @return true if the record was spooled
+     */
+    private boolean spoolAfterFailure(String topic, String key, Object value, Throwable failure) {
+        if (!producerSpool.isEnabled() || !producerSpool.isRetriable(failure)) {
+            return false;
+        }
+        producerSpool.append(topic, key, asText(value));
+        return true;
+    }
 }
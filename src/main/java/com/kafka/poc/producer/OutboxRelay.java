@@ -0,0 +1,259 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.entity.OutboxEvent;
+import com.kafka.poc.enums.OutboxStatus;
+import com.kafka.poc.metrics.ProducerMetrics;
+import com.kafka.poc.repository.OutboxEventRepository;
+import com.kafka.poc.utils.HotPathLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.errors.RecordBatchTooLargeException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the messages of the transactional outbox to Kafka.
+ * <p>
+ * Each pass claims the oldest {@code kafka.poc.outbox.batch-size} pending rows in a short database transaction:
+ * they are selected with {@code FOR UPDATE SKIP LOCKED} and their {@code availableAt} is moved past the
+ * acknowledgement wait, so other relays skip them. The rows are then sent in id order through an idempotent
+ * producer tuned for large batches, and the relay waits for the acknowledgements without holding a transaction or
+ * row locks. A second short transaction deletes the acknowledged rows and releases the rest. Passes repeat while
+ * full batches are published, so a backlog drains without waiting for the next poll.
+ * </p>
+ * <p>
+ * Acknowledgements are processed in id order and the pass stops at the first message that failed with an error
+ * worth retrying: only the messages before it are deleted, and it is retried first by the next pass, so a failure
+ * never lets later messages of the same key overtake it. Messages behind it that were already sent are published
+ * again by the next pass. A message the broker can never accept (too large, not authorized, not serializable) is
+ * parked with its error instead, so it neither blocks the outbox nor is retried forever. Delivery is at-least-once:
+ * a crash after an acknowledgement, or a resend after a stopped pass, publishes a message again, so consumers should
+ * deduplicate on {@code transactionId}. Rows claimed by a relay that dies are claimed again once their
+ * {@code availableAt}, twice the send timeout after the claim, has passed.
+ * </p>
+ * <p>
+ * Only active with {@code kafka.poc.outbox.enabled=true}.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kafka.poc.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    /**
+     * Length of the {@code lastError} column.
+     */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final HotPathLogger RELAY_ERROR_LOG = HotPathLogger.of(OutboxRelay.class, "outbox.relay.error");
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Application producer factory; the relay uses a copy with idempotence and larger batches.
+     */
+    @Autowired
+    private ProducerFactory<String, String> producerFactory;
+
+    /**
+     * Per-topic send metrics, shared with {@link KafkaProducer}.
+     */
+    @Autowired
+    private ProducerMetrics producerMetrics;
+
+    @Value("${kafka.poc.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${kafka.poc.outbox.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${kafka.poc.outbox.linger-ms:10}")
+    private int lingerMs;
+
+    @Value("${kafka.poc.outbox.producer-batch-size:262144}")
+    private int producerBatchSize;
+
+    private ProducerFactory<String, String> relayProducerFactory;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void createProducer() {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        overrides.put(ProducerConfig.ACKS_CONFIG, "all");
+        overrides.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        overrides.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        overrides.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        overrides.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        overrides.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) Math.max(sendTimeoutMs, lingerMs + 30_000L));
+        relayProducerFactory = producerFactory.copyWithConfigurationOverride(overrides);
+        kafkaTemplate = new KafkaTemplate<>(relayProducerFactory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("Outbox relay started: batchSize={}, lingerMs={}, producerBatchSize={}.", batchSize, lingerMs, producerBatchSize);
+    }
+
+    @PreDestroy
+    public void closeProducer() {
+        relayProducerFactory.reset();
+    }
+
+    /**
+     * Drains the outbox one claimed batch at a time, until a pass publishes less than a full batch.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.outbox.poll-interval-ms:50}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Claims one batch, sends it, and settles the rows by their acknowledgements.
+     *
+     * @return the number of messages removed from the pending outbox, published or parked
+     */
+    private int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(events.size());
+        long[] startNanos = new long[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            startNanos[i] = producerMetrics.forTopic(event.getTopic()).sendStarted();
+            futures.add(kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload()));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> published = new ArrayList<>(events.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        OutboxEvent retry = null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        int settled = 0;
+        for (; settled < events.size() && retry == null; settled++) {
+            OutboxEvent event = events.get(settled);
+            ProducerMetrics.TopicMeters meters = producerMetrics.forTopic(event.getTopic());
+            try {
+                SendResult<String, String> result = futures.get(settled).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                meters.sendSucceeded(startNanos[settled], result.getRecordMetadata());
+                published.add(event.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                meters.sendFailed(startNanos[settled]);
+                Throwable error = e instanceof ExecutionException ? e.getCause() : e;
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(error.toString()));
+                failed.add(event);
+                if (isPermanent(error)) {
+                    event.setStatus(OutboxStatus.PARKED);
+                    RELAY_ERROR_LOG.error("Parked outbox message the broker cannot accept", "id", event.getId(), "topic", event.getTopic(), "error", error.toString());
+                } else {
+                    retry = event;
+                    RELAY_ERROR_LOG.error("Failed to relay outbox message; stopping the pass", "id", event.getId(), "topic", event.getTopic(), "error", error.toString());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                meters.sendFailed(startNanos[settled]);
+                log.warn("Outbox relay interrupted; {} acknowledged messages will be removed.", published.size());
+                failed.add(event);
+                retry = event;
+            }
+        }
+        for (int i = settled; i < events.size(); i++) {
+            ProducerMetrics.TopicMeters meters = producerMetrics.forTopic(events.get(i).getTopic());
+            long started = startNanos[i];
+            futures.get(i).whenComplete((result, error) -> {
+                if (error == null) {
+                    meters.sendSucceeded(started, result.getRecordMetadata());
+                } else {
+                    meters.sendFailed(started);
+                }
+            });
+        }
+        List<Long> released = events.subList(settled, events.size()).stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> settleBatch(published, failed, released));
+        int parked = retry == null ? failed.size() : failed.size() - 1;
+        log.debug("Relayed {} and parked {} of {} outbox messages.", published.size(), parked, events.size());
+        return published.size() + parked;
+    }
+
+    /**
+     * Selects the oldest available pending rows and moves their {@code availableAt} past this pass, so other relays
+     * skip them once this transaction commits.
+     */
+    private List<OutboxEvent> claimBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.findAllByStatusAndAvailableAtLessThanEqualOrderByIdAsc(
+                OutboxStatus.PENDING, now, Limit.of(batchSize));
+        if (!events.isEmpty()) {
+            outboxEventRepository.updateAvailableAt(events.stream().map(OutboxEvent::getId).toList(), now.plusMillis(2 * sendTimeoutMs));
+        }
+        return events;
+    }
+
+    /**
+     * Deletes the published rows, records the failed attempts, and makes the unsettled rows available again.
+     */
+    private void settleBatch(List<Long> published, List<OutboxEvent> failed, List<Long> released) {
+        Instant now = Instant.now();
+        if (!published.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(published);
+        }
+        for (OutboxEvent event : failed) {
+            event.setAvailableAt(now);
+        }
+        outboxEventRepository.saveAll(failed);
+        if (!released.isEmpty()) {
+            outboxEventRepository.updateAvailableAt(released, now);
+        }
+    }
+
+    /**
+     * Whether a send failed with an error that no retry can fix, so the message must be parked.
+     */
+    private static boolean isPermanent(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RecordTooLargeException || cause instanceof RecordBatchTooLargeException
+                    || cause instanceof AuthorizationException || cause instanceof SerializationException
+                    || cause instanceof InvalidTopicException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,21 @@
+package com.kafka.poc.producer;
+
+/**
+ * Chooses the partition of keyed records sent by {@link KafkaProducer}.
+ * <p>
+ * The implementation is selected with {@code kafka.poc.partitioning.strategy}: {@code hot-key} (default) is
+ * {@link HotKeyPartitionStrategy}, {@code kafka} is {@link KafkaDefaultPartitionStrategy}. Records without a key are
+ * always left to the producer's own partitioner.
+ * </p>
+ */
+public interface PartitionStrategy {
+
+    /**
+     * Returns the partition for a keyed record.
+     *
+     * @param topic the destination topic
+     * @param key   the record key, may be null
+     * @return the partition, or null to let the producer's partitioner decide
+     */
+    Integer partition(String topic, String key);
+}
@@ -0,0 +1,511 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.metrics.ProducerMetrics;
+import com.kafka.poc.utils.HotPathLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Local disk spool for {@link KafkaProducer} sends that cannot reach the cluster.
+ * <p>
+ * While the spool holds records, or while the producer's {@code buffer.memory} is nearly exhausted, new sends are
+ * appended to a segmented, memory-mapped log under {@code kafka.poc.spool.directory} instead of the client buffer,
+ * and sends that fail with a retriable error (broker down, delivery timeout, buffer exhausted) are appended as well.
+ * A scheduled task replays the log in order, in large batches, as soon as sends succeed again; the replay position is
+ * checkpointed after every acknowledged batch and fully replayed segments are deleted. Replayed keyed
+ * records are placed by the same {@link PartitionStrategy} as direct sends. Delivery is at-least-once: a batch
+ * interrupted by a failure or a crash is replayed again from its start.
+ * </p>
+ * <p>
+ * Order is kept for records that enter the spool, and records sent while it holds any are spooled behind them. A
+ * send that fails asynchronously, however, is spooled when its failure is reported: records handed to the producer
+ * after it and before that report were already in flight and may be delivered before it, so per-key order is only
+ * guaranteed up to the first failed send of an outage.
+ * </p>
+ * <p>
+ * Disk usage is bounded by {@code kafka.poc.spool.max-bytes}; when the spool is full, sends fail as they would
+ * without it. Each record carries a CRC32C, checked when the log is scanned at startup and again on replay; corrupt
+ * records are skipped and counted. Mapped pages are forced to disk on every replay tick, so a host crash can lose
+ * the records spooled during the last {@code kafka.poc.spool.poll-interval-ms}; a process crash loses none.
+ * </p>
+ *
+ * <p>Registered meters:
+ * <ul>
+ *     <li><b>kafka.producer.spool.records</b>: records waiting to be replayed</li>
+ *     <li><b>kafka.producer.spool.bytes</b>: bytes waiting to be replayed</li>
+ *     <li><b>kafka.producer.spool.segments</b>: segment files on disk</li>
+ *     <li><b>kafka.producer.spool.appended</b>, <b>.replayed</b>, <b>.rejected</b>, <b>.corrupt</b>: record counters</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class ProducerSpool {
+
+    private static final HotPathLogger SPOOL_LOG = HotPathLogger.of(ProducerSpool.class, "kafka.producer.spool");
+    private static final HotPathLogger SPOOL_ERROR_LOG = HotPathLogger.of(ProducerSpool.class, "kafka.producer.spool.error");
+
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "replay.checkpoint";
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProducerMetrics producerMetrics;
+
+    /**
+     * Partition choice for replayed keyed records, the same one {@link KafkaProducer} uses for direct sends.
+     */
+    @Autowired
+    private PartitionStrategy partitionStrategy;
+
+    @Value("${kafka.poc.spool.enabled:false}")
+    private boolean enabled;
+
+    @Value("${kafka.poc.spool.directory:${java.io.tmpdir}/kafka-poc-spool}")
+    private String directory;
+
+    @Value("${kafka.poc.spool.segment-size-bytes:67108864}")
+    private int segmentSize;
+
+    @Value("${kafka.poc.spool.max-bytes:1073741824}")
+    private long maxBytes;
+
+    @Value("${kafka.poc.spool.replay-batch-size:5000}")
+    private int replayBatchSize;
+
+    @Value("${kafka.poc.spool.replay-timeout-ms:30000}")
+    private long replayTimeoutMs;
+
+    /**
+     * Sends are spooled while less than this fraction of the producer's {@code buffer.memory} is free.
+     */
+    @Value("${kafka.poc.spool.buffer-low-water-ratio:0.1}")
+    private double bufferLowWaterRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<SpoolSegment> segments = new ArrayDeque<>();
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    private Path spoolDirectory;
+    private int maxSegments;
+    private long nextSegmentId;
+    private SpoolSegment readSegment;
+    private int readPosition;
+    private volatile boolean bufferSaturated;
+    private volatile boolean dirty;
+
+    private Counter appended;
+    private Counter replayed;
+    private Counter rejected;
+    private Counter corrupt;
+
+    @PostConstruct
+    public void openSpool() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        spoolDirectory = Paths.get(directory);
+        Files.createDirectories(spoolDirectory);
+        maxSegments = (int) Math.max(2, maxBytes / segmentSize);
+        registerMeters();
+        recover();
+        log.info("Producer spool opened at {}: {} records pending in {} segments, limit {} segments of {} bytes.",
+                spoolDirectory, pendingRecords.get(), segments.size(), maxSegments, segmentSize);
+    }
+
+    @PreDestroy
+    public void closeSpool() {
+        if (enabled) {
+            lock.lock();
+            try {
+                segments.forEach(SpoolSegment::force);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns whether new sends must go to the spool: records are already waiting there, so sending directly would
+     * overtake them, or the producer buffer is nearly full.
+     */
+    public boolean shouldSpool() {
+        return enabled && (pendingRecords.get() > 0 || bufferSaturated);
+    }
+
+    /**
+     * Returns whether a failed send may be spooled and retried later.
+     *
+     * @param e the send failure
+     * @return true if the failure, or one of its causes, is a retriable Kafka error
+     */
+    public boolean isRetriable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends a record to the spool.
+     *
+     * @param topic the destination topic
+     * @param key   the record key, may be null
+     * @param value the record value, may be null
+     * @throws CommonCustomException if the spool is full or the record cannot be written
+     */
+    public void append(String topic, String key, String value) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            SpoolSegment segment = segments.peekLast();
+            int written = segment == null ? -1 : segment.append(topicBytes, keyBytes, valueBytes);
+            if (written < 0) {
+                if (segments.size() >= maxSegments) {
+                    rejected.increment();
+                    SPOOL_ERROR_LOG.error("Producer spool full, rejecting record", "topic", topic, "segments", segments.size());
+                    throw new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), "Kafka is unavailable and the producer spool is full.");
+                }
+                if (segment != null) {
+                    segment.force();
+                }
+                segment = newSegment();
+                written = segment.append(topicBytes, keyBytes, valueBytes);
+                if (written < 0) {
+                    rejected.increment();
+                    throw new CommonCustomException(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Record does not fit in a producer spool segment.");
+                }
+            }
+            pendingRecords.incrementAndGet();
+            pendingBytes.addAndGet(written);
+            appended.increment();
+            dirty = true;
+        } catch (IOException e) {
+            rejected.increment();
+            throw new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), "Could not write to the producer spool: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks the producer buffer, forces spooled pages to disk and replays pending records while sends succeed.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.spool.poll-interval-ms:100}")
+    public void replay() {
+        if (!enabled) {
+            return;
+        }
+        probeBuffer();
+        if (dirty) {
+            dirty = false;
+            lock.lock();
+            try {
+                segments.forEach(SpoolSegment::force);
+            } finally {
+                lock.unlock();
+            }
+        }
+        try {
+            while (pendingRecords.get() > 0 && replayBatch()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            SPOOL_ERROR_LOG.error("Producer spool replay failed", "directory", spoolDirectory, "error", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the next batch of spooled records and advances the checkpoint once all of them are acknowledged.
+     *
+     * @return true if the batch was fully acknowledged
+     */
+    private boolean replayBatch() throws IOException {
+        SpoolSegment segment;
+        int position;
+        int limit;
+        lock.lock();
+        try {
+            advancePastFinishedSegments();
+            segment = readSegment;
+            position = readPosition;
+            limit = segment == null ? 0 : segment.writePosition();
+        } finally {
+            lock.unlock();
+        }
+        if (segment == null || position >= limit) {
+            return false;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(Math.min(replayBatchSize, 1024));
+        int start = position;
+        int records = 0;
+        int skipped = 0;
+        boolean lostTail = false;
+        while (records + skipped < replayBatchSize && position < limit) {
+            int length = segment.recordLength(position);
+            if (length == 0) {
+                corrupt.increment();
+                SPOOL_ERROR_LOG.error("Corrupt producer spool segment, skipping its remainder", "segment", segment.id(), "position", position);
+                lostTail = true;
+                position = limit;
+                break;
+            }
+            if (!segment.isValid(position)) {
+                corrupt.increment();
+                SPOOL_ERROR_LOG.error("Producer spool record failed its CRC check, skipping it", "segment", segment.id(), "position", position);
+                skipped++;
+            } else {
+                SpoolSegment.SpooledRecord record = segment.read(position);
+                try {
+                    futures.add(kafkaTemplate.send(record.topic(), partitionStrategy.partition(record.topic(), record.key()),
+                            record.key(), record.value()));
+                } catch (Exception e) {
+                    SPOOL_ERROR_LOG.error("Producer spool replay stopped", "topic", record.topic(), "error", e.getMessage());
+                    return false;
+                }
+                records++;
+            }
+            position += SpoolSegment.HEADER_SIZE + length;
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(replayTimeoutMs);
+        try {
+            for (CompletableFuture<SendResult<String, String>> future : futures) {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            SPOOL_ERROR_LOG.error("Producer spool replay stopped", "pending", pendingRecords.get(), "error", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        lock.lock();
+        try {
+            readPosition = position;
+            writeCheckpoint(segment.id(), position);
+            if (lostTail) {
+                // The records behind an unreadable length cannot be located, so the pending count is rebuilt.
+                segment.truncate(position);
+                countPending();
+            } else {
+                pendingRecords.addAndGet(-(records + skipped));
+                pendingBytes.addAndGet(-(position - start));
+            }
+            advancePastFinishedSegments();
+        } finally {
+            lock.unlock();
+        }
+        replayed.increment(records);
+        SPOOL_LOG.info("Replayed spooled records", "records", records, "pending", pendingRecords.get());
+        return true;
+    }
+
+    /**
+     * Moves the read position to the next segment when the current one is fully replayed and no longer written to,
+     * deleting the finished segment. Called with the lock held.
+     */
+    private void advancePastFinishedSegments() throws IOException {
+        while (readSegment != null && readPosition >= readSegment.writePosition() && readSegment != segments.peekLast()) {
+            SpoolSegment finished = segments.pollFirst();
+            finished.delete();
+            readSegment = segments.peekFirst();
+            readPosition = 0;
+            writeCheckpoint(readSegment.id(), 0);
+        }
+    }
+
+    private SpoolSegment newSegment() throws IOException {
+        long id = nextSegmentId++;
+        SpoolSegment segment = SpoolSegment.open(id, spoolDirectory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX)), segmentSize);
+        segments.addLast(segment);
+        if (readSegment == null) {
+            readSegment = segment;
+            readPosition = 0;
+        }
+        return segment;
+    }
+
+    /**
+     * Reopens the segments left by a previous run, dropping those already replayed, and counts pending records.
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(spoolDirectory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        long[] checkpoint = readCheckpoint();
+        for (Path file : files) {
+            long id = Long.parseLong(file.getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+            if (checkpoint != null && id < checkpoint[0]) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            SpoolSegment segment = SpoolSegment.open(id, file, segmentSize);
+            if (segment.hasCorruptTail()) {
+                corrupt.increment();
+                log.warn("Producer spool segment {} has a torn or corrupt record at {}; records from there on are dropped.",
+                        file, segment.writePosition());
+            }
+            segments.addLast(segment);
+        }
+        readSegment = segments.peekFirst();
+        readPosition = readSegment != null && checkpoint != null && readSegment.id() == checkpoint[0]
+                ? (int) Math.min(checkpoint[1], readSegment.writePosition()) : 0;
+        countPending();
+    }
+
+    /**
+     * Recomputes the pending record and byte counts from the read position. Called with the lock held.
+     */
+    private void countPending() {
+        long records = 0;
+        long bytes = 0;
+        for (SpoolSegment segment : segments) {
+            int position = segment == readSegment ? readPosition : 0;
+            bytes += segment.writePosition() - position;
+            while (position < segment.writePosition()) {
+                records++;
+                position += SpoolSegment.HEADER_SIZE + segment.recordLength(position);
+            }
+        }
+        pendingRecords.set(records);
+        pendingBytes.set(bytes);
+    }
+
+    private long[] readCheckpoint() throws IOException {
+        Path file = spoolDirectory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != 16) {
+            log.warn("Ignoring malformed producer spool checkpoint {}.", file);
+            return null;
+        }
+        long segmentId = buffer.getLong();
+        int position = buffer.getInt();
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, 12);
+        if (buffer.getInt() != (int) crc.getValue()) {
+            log.warn("Ignoring producer spool checkpoint {} with a bad CRC.", file);
+            return null;
+        }
+        return new long[]{segmentId, position};
+    }
+
+    /**
+     * Atomically replaces the checkpoint file. Called with the lock held.
+     */
+    private void writeCheckpoint(long segmentId, int position) {
+        ByteBuffer buffer = ByteBuffer.allocate(16).putLong(segmentId).putInt(position);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, 12);
+        buffer.putInt((int) crc.getValue());
+        Path file = spoolDirectory.resolve(CHECKPOINT_FILE);
+        Path temp = spoolDirectory.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flags the producer buffer as saturated when its free memory drops below the low-water ratio.
+     */
+    private void probeBuffer() {
+        double availableRatio;
+        try {
+            availableRatio = producerMetrics.bufferAvailableRatio();
+        } catch (Exception e) {
+            log.debug("Could not read producer buffer metrics: {}", e.getMessage());
+            return;
+        }
+        boolean saturated = availableRatio >= 0 && availableRatio < bufferLowWaterRatio;
+        if (saturated != bufferSaturated) {
+            log.warn("Producer buffer {}, {}% free.", saturated ? "saturated, spooling new sends" : "recovered", Math.round(availableRatio * 100));
+            bufferSaturated = saturated;
+        }
+    }
+
+    private void registerMeters() {
+        Gauge.builder("kafka.producer.spool.records", pendingRecords, AtomicLong::get)
+                .description("Records waiting in the producer spool")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.spool.bytes", pendingBytes, AtomicLong::get)
+                .description("Bytes waiting in the producer spool")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.spool.segments", segments, Deque::size)
+                .description("Producer spool segment files on disk")
+                .register(meterRegistry);
+        appended = Counter.builder("kafka.producer.spool.appended")
+                .description("Records written to the producer spool")
+                .register(meterRegistry);
+        replayed = Counter.builder("kafka.producer.spool.replayed")
+                .description("Spooled records acknowledged by the broker")
+                .register(meterRegistry);
+        rejected = Counter.builder("kafka.producer.spool.rejected")
+                .description("Records rejected because the producer spool was full or unwritable")
+                .register(meterRegistry);
+        corrupt = Counter.builder("kafka.producer.spool.corrupt")
+                .description("Spooled records or segment tails skipped after failing their CRC check")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,318 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.utils.HotPathLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free handoff between request threads and dedicated producer threads.
+ * <p>
+ * Request threads publish their record into one of {@code kafka.poc.handoff.threads} {@link HandoffRing}s of
+ * pre-allocated slots, claiming a slot with a single compare-and-set, and return. Each ring is drained by its own
+ * thread, which hands the records to {@link KafkaProducer#publish(String, String, String)}; the producer's
+ * accumulator is then appended to by those few threads only, instead of by every request thread. Keyed records
+ * always go to the ring of their key, so records of one account keep their order. A full ring is refused with 503
+ * rather than waited on. On shutdown each drain thread hands over what is queued, then closes its ring and fails
+ * the futures of records published while it closed, so no caller is left waiting.
+ * </p>
+ * <p>
+ * How a drain thread waits on an empty ring is set with {@code wait-strategy}; the spinning strategies only pay off
+ * when the drain threads have cores of their own:
+ * <ul>
+ *     <li><b>busy-spin</b>: never gives up the CPU; lowest latency, costs a full core per thread</li>
+ *     <li><b>yielding</b>: spins briefly, then yields between checks</li>
+ *     <li><b>sleeping</b>: spins, yields, then parks for {@code sleep-micros} between checks</li>
+ *     <li><b>blocking</b> (default): parks until a request thread publishes and wakes it; never competes with the
+ *     request threads for CPU, at the cost of a wake-up after each idle period</li>
+ * </ul>
+ * Only active with {@code kafka.poc.handoff.enabled=true}.
+ * </p>
+ *
+ * <p>Registered meters, tagged with the {@code wait.strategy} in use:
+ * <ul>
+ *     <li><b>kafka.producer.handoff.occupancy</b>: records in a ring, tagged with {@code ring}</li>
+ *     <li><b>kafka.producer.handoff.capacity</b>: slots per ring</li>
+ *     <li><b>kafka.producer.handoff.wait</b>: time from publish until the record is handed to the producer</li>
+ *     <li><b>kafka.producer.handoff.consumer.parks</b>: times a drain thread yielded or parked on an empty ring</li>
+ *     <li><b>kafka.producer.handoff.claim.retries</b>: lost compare-and-sets between request threads</li>
+ *     <li><b>kafka.producer.handoff.rejected</b>: records refused because their ring was full</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class RingBufferHandoff {
+
+    private static final HotPathLogger HANDOFF_ERROR_LOG = HotPathLogger.of(RingBufferHandoff.class, "kafka.producer.handoff.error");
+
+    /**
+     * Empty polls a drain thread spins through before yielding, and yields before parking.
+     */
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+
+    @Autowired
+    private KafkaProducer kafkaProducer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${kafka.poc.handoff.enabled:false}")
+    private boolean enabled;
+
+    @Value("${kafka.poc.handoff.threads:1}")
+    private int threads;
+
+    /**
+     * Slots per ring, rounded up to a power of two.
+     */
+    @Value("${kafka.poc.handoff.ring-size:8192}")
+    private int ringSize;
+
+    @Value("${kafka.poc.handoff.wait-strategy:blocking}")
+    private String waitStrategyName;
+
+    @Value("${kafka.poc.handoff.sleep-micros:100}")
+    private long sleepMicros;
+
+    private WaitStrategy waitStrategy;
+    private HandoffRing[] rings;
+    private Thread[] drainThreads;
+    private volatile boolean running;
+
+    private Timer handoffWait;
+    private Counter rejected;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        waitStrategy = WaitStrategy.of(waitStrategyName);
+        rings = new HandoffRing[Math.max(threads, 1)];
+        drainThreads = new Thread[rings.length];
+        String strategyTag = waitStrategy.tag;
+        handoffWait = Timer.builder("kafka.producer.handoff.wait")
+                .description("Time from publish until the record is handed to the producer")
+                .tag("wait.strategy", strategyTag)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejected = Counter.builder("kafka.producer.handoff.rejected")
+                .description("Records refused because their ring was full")
+                .tag("wait.strategy", strategyTag)
+                .register(meterRegistry);
+        running = true;
+        for (int i = 0; i < rings.length; i++) {
+            HandoffRing ring = new HandoffRing(ringSize);
+            Drainer drainer = new Drainer(ring);
+            rings[i] = ring;
+            Gauge.builder("kafka.producer.handoff.occupancy", ring, HandoffRing::occupancy)
+                    .description("Records waiting in the handoff ring")
+                    .tag("ring", String.valueOf(i))
+                    .tag("wait.strategy", strategyTag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("kafka.producer.handoff.consumer.parks", drainer, d -> d.parks)
+                    .description("Times the drain thread yielded or parked on an empty ring")
+                    .tag("ring", String.valueOf(i))
+                    .tag("wait.strategy", strategyTag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("kafka.producer.handoff.claim.retries", ring, HandoffRing::claimRetries)
+                    .description("Lost compare-and-sets between request threads claiming a slot")
+                    .tag("ring", String.valueOf(i))
+                    .tag("wait.strategy", strategyTag)
+                    .register(meterRegistry);
+            drainThreads[i] = Thread.ofPlatform().name("producer-handoff-" + i).daemon().start(drainer);
+        }
+        Gauge.builder("kafka.producer.handoff.capacity", rings[0], HandoffRing::capacity)
+                .description("Slots per handoff ring")
+                .tag("wait.strategy", strategyTag)
+                .register(meterRegistry);
+        log.info("Producer handoff enabled: threads={}, ringSize={}, waitStrategy={}.", rings.length, rings[0].capacity(), strategyTag);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (drainThreads == null) {
+            return;
+        }
+        running = false;
+        for (Thread thread : drainThreads) {
+            LockSupport.unpark(thread);
+        }
+        for (Thread thread : drainThreads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Publishes a record to the ring of its key.
+     *
+     * @param topic   the destination topic
+     * @param key     the record key, may be null
+     * @param message the record value
+     * @return a future completed like {@link KafkaProducer#publish(String, String, String)}
+     * @throws CommonCustomException if the ring is full
+     */
+    public CompletableFuture<RecordMetadata> submit(String topic, String key, String message) {
+        CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+        HandoffRing ring = ringFor(key);
+        if (!running || !ring.offer(topic, key, message, future)) {
+            rejected.increment();
+            throw new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), !running || ring.isClosed()
+                    ? "Producer handoff is stopped." : "Producer handoff is full, retry later.");
+        }
+        return future;
+    }
+
+    private HandoffRing ringFor(String key) {
+        if (rings.length == 1) {
+            return rings[0];
+        }
+        int hash = key == null ? ThreadLocalRandom.current().nextInt() : key.hashCode();
+        return rings[(hash & Integer.MAX_VALUE) % rings.length];
+    }
+
+    /**
+     * Drains one ring into the producer until the handoff stops and the ring is empty.
+     */
+    private final class Drainer implements Runnable {
+
+        private final HandoffRing ring;
+        private volatile long parks;
+
+        private Drainer(HandoffRing ring) {
+            this.ring = ring;
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running || !ring.isEmpty()) {
+                HandoffRing.Slot slot = ring.poll();
+                if (slot == null) {
+                    idle = waitStrategy == WaitStrategy.BLOCKING ? block() : idle(idle);
+                    continue;
+                }
+                idle = 0;
+                handOff(slot);
+                ring.release(slot);
+            }
+            failRemaining();
+        }
+
+        /**
+         * Closes the ring and fails the records whose publish raced with the shutdown. Offers that claimed a slot
+         * before the ring closed finish filling it without blocking, so this only spins briefly.
+         */
+        private void failRemaining() {
+            ring.close();
+            while (ring.occupancy() > 0) {
+                HandoffRing.Slot slot = ring.poll();
+                if (slot == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                slot.future.completeExceptionally(new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), "Producer handoff is stopped."));
+                ring.release(slot);
+            }
+        }
+
+        private void handOff(HandoffRing.Slot slot) {
+            CompletableFuture<RecordMetadata> future = slot.future;
+            handoffWait.record(System.nanoTime() - slot.enqueuedNanos, TimeUnit.NANOSECONDS);
+            String topic = slot.topic;
+            try {
+                kafkaProducer.publish(topic, slot.key, slot.message).whenComplete((metadata, ex) -> {
+                    if (ex == null) {
+                        future.complete(metadata);
+                    } else {
+                        future.completeExceptionally(ex);
+                    }
+                });
+            } catch (Exception e) {
+                HANDOFF_ERROR_LOG.error("Failed to hand record to the producer", "topic", topic, "error", e.getMessage());
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Waits once on an empty ring according to the spin, yield and sleep strategies.
+         *
+         * @return the updated count of consecutive empty polls
+         */
+        private int idle(int idle) {
+            if (waitStrategy == WaitStrategy.BUSY_SPIN || idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (waitStrategy == WaitStrategy.YIELDING || idle < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+                parks++;
+            } else {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(sleepMicros));
+                parks++;
+            }
+            return idle == Integer.MAX_VALUE ? idle : idle + 1;
+        }
+
+        /**
+         * Parks until a request thread publishes into the ring. The ring is checked again after registering, so a
+         * record published in between is not missed; the timeout only bounds how late a stop is noticed.
+         */
+        private int block() {
+            ring.parkedConsumer(Thread.currentThread());
+            try {
+                if (running && ring.isEmpty()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                    parks++;
+                }
+            } finally {
+                ring.parkedConsumer(null);
+            }
+            return 0;
+        }
+    }
+
+    private enum WaitStrategy {
+        BUSY_SPIN("busy-spin"),
+        YIELDING("yielding"),
+        SLEEPING("sleeping"),
+        BLOCKING("blocking");
+
+        private final String tag;
+
+        WaitStrategy(String tag) {
+            this.tag = tag;
+        }
+
+        private static WaitStrategy of(String name) {
+            String normalized = name.trim().toLowerCase(Locale.ROOT);
+            for (WaitStrategy strategy : values()) {
+                if (strategy.tag.equals(normalized)) {
+                    return strategy;
+                }
+            }
+            throw new IllegalStateException("Unknown kafka.poc.handoff.wait-strategy: " + name);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.kafka.poc.producer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped file of the {@link ProducerSpool} log.
+ * <p>
+ * Records are laid out back to back as {@code [int length][int crc32c][body]}, where the body holds the topic, the
+ * key and the value, each prefixed with its length ({@code -1} for null). The length is written last, so a record
+ * torn by a crash reads as length zero, which is also what the zero-filled rest of the file reads as: both mark the
+ * end of the data when the segment is scanned again after a restart.
+ * </p>
+ * <p>
+ * Writes are serialized by the spool; reads may run concurrently with them, since they only touch positions below
+ * the published {@link #writePosition()} and use absolute buffer accesses.
+ * </p>
+ */
+final class SpoolSegment {
+
+    static final int HEADER_SIZE = 8;
+
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private volatile int writePosition;
+
+    private SpoolSegment(long id, Path path, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps a segment file, creating it if needed, and finds the end of its valid records.
+     *
+     * @param id   segment sequence number
+     * @param path segment file
+     * @param size mapped size in bytes
+     * @return the mapped segment, positioned after its last valid record
+     * @throws IOException if the file cannot be created or mapped
+     */
+    static SpoolSegment open(long id, Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            SpoolSegment segment = new SpoolSegment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            int position = 0;
+            while (segment.recordLength(position) > 0 && segment.isValid(position)) {
+                position += HEADER_SIZE + segment.recordLength(position);
+            }
+            segment.writePosition = position;
+            return segment;
+        }
+    }
+
+    long id() {
+        return id;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    /**
+     * Appends a record if it fits.
+     *
+     * @return the number of bytes written, or -1 if the segment has no room left for it
+     */
+    int append(byte[] topic, byte[] key, byte[] value) {
+        int bodyLength = 2 + topic.length + 4 + (key == null ? 0 : key.length) + 4 + (value == null ? 0 : value.length);
+        int start = writePosition;
+        if (start + HEADER_SIZE + bodyLength > buffer.capacity()) {
+            return -1;
+        }
+        int position = start + HEADER_SIZE;
+        buffer.putShort(position, (short) topic.length);
+        buffer.put(position + 2, topic);
+        position += 2 + topic.length;
+        position = putBytes(position, key);
+        putBytes(position, value);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_SIZE, bodyLength));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, bodyLength);
+        writePosition = start + HEADER_SIZE + bodyLength;
+        return HEADER_SIZE + bodyLength;
+    }
+
+    private int putBytes(int position, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(position, -1);
+            return position + 4;
+        }
+        buffer.putInt(position, bytes.length);
+        buffer.put(position + 4, bytes);
+        return position + 4 + bytes.length;
+    }
+
+    /**
+     * Returns whether the data stops at a record that is torn or fails its CRC check rather than at zeroed space.
+     */
+    boolean hasCorruptTail() {
+        return recordLength(writePosition) > 0;
+    }
+
+    /**
+     * Marks everything from the given position on as unreadable, so no further records are appended after it.
+     */
+    void truncate(int position) {
+        writePosition = Math.min(writePosition, position);
+    }
+
+    /**
+     * Returns the body length of the record at the given position, or 0 at the end of the data.
+     */
+    int recordLength(int position) {
+        if (position + HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        return length > 0 && position + HEADER_SIZE + length <= buffer.capacity() ? length : 0;
+    }
+
+    /**
+     * Returns whether the CRC of the record at the given position matches its body.
+     */
+    boolean isValid(int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + HEADER_SIZE, recordLength(position)));
+        return buffer.getInt(position + 4) == (int) crc.getValue();
+    }
+
+    /**
+     * Decodes the record at the given position; callers check {@link #isValid(int)} first.
+     */
+    SpooledRecord read(int position) {
+        int offset = position + HEADER_SIZE;
+        byte[] topic = new byte[buffer.getShort(offset)];
+        buffer.get(offset + 2, topic);
+        offset += 2 + topic.length;
+        byte[] key = getBytes(offset);
+        offset += 4 + (key == null ? 0 : key.length);
+        byte[] value = getBytes(offset);
+        return new SpooledRecord(new String(topic, StandardCharsets.UTF_8),
+                key == null ? null : new String(key, StandardCharsets.UTF_8),
+                value == null ? null : new String(value, StandardCharsets.UTF_8));
+    }
+
+    private byte[] getBytes(int position) {
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes the mapped pages back to the file.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes the segment file. The mapping is released when the buffer is garbage collected, and the file keeps its
+     * disk space until then; the segment must not be used afterwards.
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * A record read back from the spool.
+     */
+    record SpooledRecord(String topic, String key, String value) {
+    }
+}
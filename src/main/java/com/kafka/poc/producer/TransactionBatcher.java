@@ -0,0 +1,257 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.utils.HotPathLogger;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batching stage between the transaction endpoint and {@link KafkaProducer}.
+ * <p>
+ * Request threads only serialize their record and enqueue it; a dedicated thread gathers the queued records into
+ * batches of up to {@code kafka.poc.batching.max-batch-size}, waiting at most {@code max-wait-micros} for more to
+ * arrive once a batch has started, and hands each batch to the producer in one pass. The producer's accumulator is
+ * then appended to by a single thread instead of every request thread, which removes the lock contention that
+ * dominates at high request rates. Each caller gets a future completed with the {@link RecordMetadata} of its own
+ * record, as returned by {@link KafkaProducer#publish(String, String, String)}.
+ * </p>
+ * <p>
+ * The queue is bounded by {@code queue-capacity}; when it is full, callers are refused with 503 rather than queued
+ * without limit. On shutdown the batcher is closed before its last drain: a record is either queued in time to be
+ * published or refused with 503, never left behind in the queue. Only active with
+ * {@code kafka.poc.batching.enabled=true}.
+ * </p>
+ *
+ * <p>Registered meters:
+ * <ul>
+ *     <li><b>kafka.producer.batcher.batch.size</b>: records handed to the producer per batch</li>
+ *     <li><b>kafka.producer.batcher.queue.wait</b>: time from enqueue until the record is handed to the producer</li>
+ *     <li><b>kafka.producer.batcher.queue.depth</b>: records waiting in the queue</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class TransactionBatcher {
+
+    private static final HotPathLogger BATCH_ERROR_LOG = HotPathLogger.of(TransactionBatcher.class, "kafka.producer.batcher.error");
+
+    /**
+     * Bit of {@link #gate} set while the batcher does not take new records, before start and after stop.
+     */
+    private static final int CLOSED = 1 << 30;
+
+    @Autowired
+    private KafkaProducer kafkaProducer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${kafka.poc.batching.enabled:false}")
+    private boolean enabled;
+
+    @Value("${kafka.poc.batching.max-batch-size:256}")
+    private int maxBatchSize;
+
+    @Value("${kafka.poc.batching.max-wait-micros:200}")
+    private long maxWaitMicros;
+
+    @Value("${kafka.poc.batching.queue-capacity:8192}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingRecord> queue;
+    private Thread batchThread;
+    private volatile boolean running;
+
+    /**
+     * Number of submits currently enqueueing, plus {@link #CLOSED} until started and once stopped; the final drain
+     * waits for the count to reach zero, so no record can be enqueued after it.
+     */
+    private final AtomicInteger gate = new AtomicInteger(CLOSED);
+
+    private DistributionSummary batchSize;
+    private Timer queueWait;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSize = DistributionSummary.builder("kafka.producer.batcher.batch.size")
+                .description("Records handed to the producer per batch")
+                .register(meterRegistry);
+        queueWait = Timer.builder("kafka.producer.batcher.queue.wait")
+                .description("Time from enqueue until the record is handed to the producer")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.batcher.queue.depth", queue, BlockingQueue::size)
+                .description("Records waiting in the batching queue")
+                .register(meterRegistry);
+        running = true;
+        gate.set(0);
+        batchThread = Thread.ofPlatform().name("transaction-batcher").daemon().start(this::run);
+        log.info("Transaction batching enabled: maxBatchSize={}, maxWaitMicros={}, queueCapacity={}.", maxBatchSize, maxWaitMicros, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (batchThread == null) {
+            return;
+        }
+        running = false;
+        batchThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a record for the next batch.
+     *
+     * @param topic   the destination topic
+     * @param key     the record key, may be null
+     * @param message the record value
+     * @return a future completed like {@link KafkaProducer#publish(String, String, String)}
+     * @throws CommonCustomException if the queue is full or the batcher is stopped
+     */
+    public CompletableFuture<RecordMetadata> submit(String topic, String key, String message) {
+        if (!enter()) {
+            throw new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), "Transaction batcher is stopped.");
+        }
+        PendingRecord record = new PendingRecord(topic, key, message, System.nanoTime(), new CompletableFuture<>());
+        try {
+            if (!queue.offer(record)) {
+                throw new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), "Transaction queue is full, retry later.");
+            }
+        } finally {
+            gate.decrementAndGet();
+        }
+        return record.future();
+    }
+
+    /**
+     * Registers a submit unless the batcher is closed.
+     */
+    private boolean enter() {
+        while (true) {
+            int state = gate.get();
+            if ((state & CLOSED) != 0) {
+                return false;
+            }
+            if (gate.compareAndSet(state, state + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Closes the batcher to new records and waits for the submits already enqueueing.
+     */
+    private void close() {
+        gate.updateAndGet(state -> state | CLOSED);
+        while (gate.get() != CLOSED) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void run() {
+        List<PendingRecord> batch = new ArrayList<>(maxBatchSize);
+        boolean interrupted = false;
+        while (running) {
+            try {
+                PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        close();
+        PendingRecord record;
+        while (!interrupted && (record = queue.poll()) != null) {
+            batch.add(record);
+            queue.drainTo(batch, maxBatchSize - 1);
+            publish(batch);
+            batch.clear();
+        }
+        while ((record = queue.poll()) != null) {
+            record.future().completeExceptionally(new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), "Transaction batcher stopped."));
+        }
+    }
+
+    /**
+     * Adds the records already queued, then waits up to the configured time for more while the batch is not full.
+     */
+    private void collect(List<PendingRecord> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void publish(List<PendingRecord> batch) {
+        long now = System.nanoTime();
+        batchSize.record(batch.size());
+        for (PendingRecord record : batch) {
+            queueWait.record(now - record.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            try {
+                kafkaProducer.publish(record.topic(), record.key(), record.message()).whenComplete((metadata, ex) -> {
+                    if (ex == null) {
+                        record.future().complete(metadata);
+                    } else {
+                        record.future().completeExceptionally(ex);
+                    }
+                });
+            } catch (Exception e) {
+                BATCH_ERROR_LOG.error("Failed to hand record to the producer", "topic", record.topic(), "error", e.getMessage());
+                record.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * A record waiting in the queue, with the caller's future.
+     */
+    private record PendingRecord(String topic, String key, String message, long enqueuedNanos,
+                                 CompletableFuture<RecordMetadata> future) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.kafka.poc.repository;
+
+import com.kafka.poc.entity.OutboxEvent;
+import com.kafka.poc.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the transactional outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks and returns the oldest messages in the given status that are available at the given time, skipping rows
+     * already locked by another relay ({@code SELECT ... FOR UPDATE SKIP LOCKED}), so several application instances
+     * can claim messages without claiming the same message twice.
+     *
+     * @param status status of the messages
+     * @param now    messages whose {@code availableAt} is after this time are skipped
+     * @param limit  maximum number of messages to return
+     * @return the oldest available unlocked messages, in id order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxEvent> findAllByStatusAndAvailableAtLessThanEqualOrderByIdAsc(OutboxStatus status, Instant now, Limit limit);
+
+    /**
+     * Sets the time from which the given messages may be claimed.
+     *
+     * @param ids         ids of the messages
+     * @param availableAt the new {@code availableAt}
+     * @return the number of updated messages
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.availableAt = :availableAt where e.id in :ids")
+    int updateAvailableAt(@Param("ids") Collection<Long> ids, @Param("availableAt") Instant availableAt);
+}
@@ -0,0 +1,35 @@
+package com.kafka.poc.serialization;
+
+import com.kafka.poc.dto.TransactionDTO;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Value serializer of the shared producer when {@code kafka.poc.serialization.transaction-encoder.enabled=true}.
+ * <p>
+ * Strings are written as UTF-8, exactly like {@link org.apache.kafka.common.serialization.StringSerializer}, so
+ * every existing send is unchanged; {@link TransactionDTO}s are encoded straight from their fields by
+ * {@link TransactionJsonEncoder}, without building an intermediate JSON String first.
+ * </p>
+ */
+public class PayloadSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        if (data instanceof TransactionDTO transaction) {
+            return TransactionJsonEncoder.encode(transaction);
+        }
+        if (data instanceof byte[] bytes) {
+            return bytes;
+        }
+        throw new SerializationException("Cannot serialize value of type " + data.getClass().getName() + " for topic " + topic);
+    }
+}
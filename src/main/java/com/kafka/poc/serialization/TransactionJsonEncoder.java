@@ -0,0 +1,308 @@
+package com.kafka.poc.serialization;
+
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.enums.TransactionStatus;
+import com.kafka.poc.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Writes a {@link TransactionDTO} as compact UTF-8 JSON straight from its fields.
+ * <p>
+ * The output has the same fields, order and null handling as the application's Jackson mapper, without the
+ * indentation, and the amount is always written in plain notation. Field names, enum values and punctuation are
+ * pre-encoded constants; strings are escaped and UTF-8 encoded character by character, and amounts of up to 18
+ * digits are written from their unscaled long, read through a short-lived {@code BigDecimal} that escape analysis
+ * removes, so once compiled nothing is allocated while writing; longer amounts go through {@code toPlainString()}. Writers and their buffers are
+ * taken from a small striped pool rather than from thread locals, so request threads, virtual or not, share a
+ * bounded set of them. The only allocation of {@link #encode(TransactionDTO)} is the exactly-sized array it returns,
+ * which is what a Kafka {@link org.apache.kafka.common.serialization.Serializer} has to hand over.
+ * </p>
+ */
+public final class TransactionJsonEncoder {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * Writers that grew beyond this size are dropped instead of being returned to the pool.
+     */
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    private static final int POOL_PROBES = 4;
+    private static final AtomicReferenceArray<JsonWriter> POOL = new AtomicReferenceArray<>(poolSize());
+
+    private static final byte[] TRANSACTION_ID = ascii("{\"transactionId\":");
+    private static final byte[] FROM_ACCOUNT = ascii(",\"fromAccount\":");
+    private static final byte[] TO_ACCOUNT = ascii(",\"toAccount\":");
+    private static final byte[] AMOUNT = ascii(",\"amount\":");
+    private static final byte[] CURRENCY = ascii(",\"currency\":");
+    private static final byte[] TYPE = ascii(",\"type\":");
+    private static final byte[] STATUS = ascii(",\"status\":");
+    private static final byte[] DESCRIPTION = ascii(",\"description\":");
+    private static final byte[] TIMESTAMP = ascii(",\"timestamp\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[][] TYPE_NAMES = enumNames(TransactionType.values());
+    private static final byte[][] STATUS_NAMES = enumNames(TransactionStatus.values());
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private TransactionJsonEncoder() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Encodes a transaction.
+     *
+     * @param transaction the transaction, may be null
+     * @return the JSON bytes, or null if the transaction is null
+     */
+    public static byte[] encode(TransactionDTO transaction) {
+        if (transaction == null) {
+            return null;
+        }
+        JsonWriter writer = acquire();
+        try {
+            write(writer, transaction);
+            return Arrays.copyOf(writer.buffer, writer.position);
+        } finally {
+            release(writer);
+        }
+    }
+
+    /**
+     * Encodes a transaction into a String, for the paths that keep messages as text such as the producer spool.
+     *
+     * @param transaction the transaction, may be null
+     * @return the JSON text, or null if the transaction is null
+     */
+    public static String encodeToString(TransactionDTO transaction) {
+        if (transaction == null) {
+            return null;
+        }
+        JsonWriter writer = acquire();
+        try {
+            write(writer, transaction);
+            return new String(writer.buffer, 0, writer.position, StandardCharsets.UTF_8);
+        } finally {
+            release(writer);
+        }
+    }
+
+    private static void write(JsonWriter writer, TransactionDTO transaction) {
+        writer.position = 0;
+        writer.writeRaw(TRANSACTION_ID);
+        writer.writeString(transaction.getTransactionId());
+        writer.writeRaw(FROM_ACCOUNT);
+        writer.writeString(transaction.getFromAccount());
+        writer.writeRaw(TO_ACCOUNT);
+        writer.writeString(transaction.getToAccount());
+        writer.writeRaw(AMOUNT);
+        writer.writeDecimal(transaction.getAmount());
+        writer.writeRaw(CURRENCY);
+        writer.writeString(transaction.getCurrency());
+        writer.writeRaw(TYPE);
+        writer.writeRaw(transaction.getType() == null ? NULL : TYPE_NAMES[transaction.getType().ordinal()]);
+        writer.writeRaw(STATUS);
+        writer.writeRaw(transaction.getStatus() == null ? NULL : STATUS_NAMES[transaction.getStatus().ordinal()]);
+        writer.writeRaw(DESCRIPTION);
+        writer.writeString(transaction.getDescription());
+        writer.writeRaw(TIMESTAMP);
+        writer.writeString(transaction.getTimestamp());
+        writer.writeByte('}');
+    }
+
+    private static JsonWriter acquire() {
+        int start = stripe();
+        for (int i = 0; i < POOL_PROBES; i++) {
+            JsonWriter writer = POOL.getAndSet((start + i) & (POOL.length() - 1), null);
+            if (writer != null) {
+                return writer;
+            }
+        }
+        return new JsonWriter(INITIAL_CAPACITY);
+    }
+
+    private static void release(JsonWriter writer) {
+        if (writer.buffer.length > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        int start = stripe();
+        for (int i = 0; i < POOL_PROBES; i++) {
+            if (POOL.compareAndSet((start + i) & (POOL.length() - 1), null, writer)) {
+                return;
+            }
+        }
+    }
+
+    private static int stripe() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 32)) * 0x9E3779B9 >>> 16;
+    }
+
+    private static int poolSize() {
+        int slots = Math.max(Runtime.getRuntime().availableProcessors() * 4, 16);
+        return Integer.highestOneBit(slots - 1) << 1;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] enumNames(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = ascii('"' + value.name() + '"');
+        }
+        return names;
+    }
+
+    /**
+     * Growable byte buffer with JSON primitives; reused across encodes.
+     */
+    private static final class JsonWriter {
+
+        private byte[] buffer;
+        private int position;
+        private final byte[] digits = new byte[20];
+
+        private JsonWriter(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensure(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+
+        private void writeByte(int b) {
+            ensure(1);
+            buffer[position++] = (byte) b;
+        }
+
+        private void writeRaw(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        /**
+         * Writes a quoted, escaped string. Unpaired surrogates, which have no UTF-8 form, are written as unicode
+         * escapes, as Jackson does.
+         */
+        private void writeString(String value) {
+            if (value == null) {
+                writeRaw(NULL);
+                return;
+            }
+            int length = value.length();
+            ensure(length * 6 + 2);
+            byte[] out = buffer;
+            int pos = position;
+            out[pos++] = '"';
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        out[pos++] = (byte) c;
+                    } else {
+                        pos = escape(out, pos, c);
+                    }
+                } else if (c < 0x800) {
+                    out[pos++] = (byte) (0xC0 | (c >> 6));
+                    out[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                        out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else {
+                        pos = unicodeEscape(out, pos, c);
+                    }
+                } else {
+                    out[pos++] = (byte) (0xE0 | (c >> 12));
+                    out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    out[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            out[pos++] = '"';
+            position = pos;
+        }
+
+        private static int escape(byte[] out, int pos, char c) {
+            out[pos++] = '\\';
+            switch (c) {
+                case '"' -> out[pos++] = '"';
+                case '\\' -> out[pos++] = '\\';
+                case '\n' -> out[pos++] = 'n';
+                case '\r' -> out[pos++] = 'r';
+                case '\t' -> out[pos++] = 't';
+                case '\b' -> out[pos++] = 'b';
+                case '\f' -> out[pos++] = 'f';
+                default -> {
+                    return unicodeEscape(out, pos - 1, c);
+                }
+            }
+            return pos;
+        }
+
+        private static int unicodeEscape(byte[] out, int pos, char c) {
+            out[pos++] = '\\';
+            out[pos++] = 'u';
+            out[pos++] = HEX[c >> 12];
+            out[pos++] = HEX[(c >> 8) & 0xF];
+            out[pos++] = HEX[(c >> 4) & 0xF];
+            out[pos++] = HEX[c & 0xF];
+            return pos;
+        }
+
+        /**
+         * Writes an amount in plain notation. Amounts with more than 18 digits or a negative scale fall back to
+         * {@link BigDecimal#toPlainString()}.
+         */
+        private void writeDecimal(BigDecimal value) {
+            if (value == null) {
+                writeRaw(NULL);
+                return;
+            }
+            int scale = value.scale();
+            if (scale < 0 || scale > 18 || value.precision() > 18) {
+                writeRaw(ascii(value.toPlainString()));
+                return;
+            }
+            // Unlike unscaledValue(), this reads the compact long of the value without creating a BigInteger.
+            long unscaled = value.movePointRight(scale).longValue();
+            int count = 0;
+            long remaining = Math.abs(unscaled);
+            do {
+                digits[count++] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining != 0);
+            ensure(count + scale + 3);
+            if (unscaled < 0) {
+                buffer[position++] = '-';
+            }
+            if (count <= scale) {
+                buffer[position++] = '0';
+                buffer[position++] = '.';
+                for (int i = count; i < scale; i++) {
+                    buffer[position++] = '0';
+                }
+                for (int i = count - 1; i >= 0; i--) {
+                    buffer[position++] = digits[i];
+                }
+                return;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                if (i == scale - 1) {
+                    buffer[position++] = '.';
+                }
+                buffer[position++] = digits[i];
+            }
+        }
+    }
+}
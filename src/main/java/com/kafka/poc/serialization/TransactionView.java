@@ -0,0 +1,474 @@
+package com.kafka.poc.serialization;
+
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.enums.TransactionStatus;
+import com.kafka.poc.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a transaction record that decodes fields from the raw JSON bytes only when asked for.
+ * <p>
+ * The first field access scans the record once and remembers where the value of each {@link TransactionDTO} field
+ * starts and ends; every accessor then decodes just its own value. {@link #type()} and {@link #status()} match the
+ * enum name in place and {@link #isCurrency(String)} compares bytes, so filtering or routing on them allocates
+ * nothing beyond the index; {@link #toTransactionDTO()} materializes the whole transaction when it is really needed.
+ * Both the compact output of {@link TransactionJsonEncoder} and Jackson's indented output are accepted, and
+ * unknown fields are skipped.
+ * </p>
+ * <p>
+ * Listeners receive it as their payload type through {@link TransactionViewConverter}; with the
+ * {@link com.kafka.poc.config.KafkaListenerConfig#RAW_CONTAINER_FACTORY raw container factory} the view wraps the
+ * record value without copying it. A view is not thread-safe; it is meant for the listener invocation it was
+ * created for.
+ * </p>
+ */
+public final class TransactionView {
+
+    private static final Field[] FIELDS = Field.values();
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    private static final byte[][] TYPE_NAMES = enumNames(TYPES);
+    private static final byte[][] STATUS_NAMES = enumNames(STATUSES);
+
+    private final byte[] data;
+
+    /**
+     * Start and end (exclusive) offsets of each field's value token, -1 when the field is absent; null until the
+     * first field access.
+     */
+    private int[] spans;
+
+    private TransactionView(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Wraps a record value without copying it.
+     *
+     * @param data the UTF-8 JSON bytes of a transaction
+     * @return the view
+     */
+    public static TransactionView of(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Transaction record value is null");
+        }
+        return new TransactionView(data);
+    }
+
+    /**
+     * Wraps a record value consumed as text.
+     *
+     * @param json the JSON of a transaction
+     * @return the view
+     */
+    public static TransactionView of(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("Transaction record value is null");
+        }
+        return new TransactionView(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the record value this view reads from
+     */
+    public byte[] raw() {
+        return data;
+    }
+
+    public String transactionId() {
+        return string(Field.TRANSACTION_ID);
+    }
+
+    public String fromAccount() {
+        return string(Field.FROM_ACCOUNT);
+    }
+
+    public String toAccount() {
+        return string(Field.TO_ACCOUNT);
+    }
+
+    public BigDecimal amount() {
+        int[] index = index();
+        int start = index[Field.AMOUNT.ordinal() * 2];
+        int end = index[Field.AMOUNT.ordinal() * 2 + 1];
+        if (start < 0 || isNull(start)) {
+            return null;
+        }
+        if (data[start] == '"') {
+            return new BigDecimal(decodeString(start, end).trim());
+        }
+        return new BigDecimal(new String(data, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    public String currency() {
+        return string(Field.CURRENCY);
+    }
+
+    /**
+     * Decodes the transaction type without allocating.
+     *
+     * @return the type, or null if the field is absent or null
+     * @throws IllegalArgumentException if the value is not a known type
+     */
+    public TransactionType type() {
+        int ordinal = enumOrdinal(Field.TYPE, TYPES, TYPE_NAMES, true);
+        return ordinal < 0 ? null : TYPES[ordinal];
+    }
+
+    /**
+     * Decodes the transaction type without allocating, for matching against expected types.
+     *
+     * @return the type, or null if the field is absent, null or not a known type
+     */
+    public TransactionType knownType() {
+        int ordinal = enumOrdinal(Field.TYPE, TYPES, TYPE_NAMES, false);
+        return ordinal < 0 ? null : TYPES[ordinal];
+    }
+
+    /**
+     * Decodes the transaction status without allocating.
+     *
+     * @return the status, or null if the field is absent or null
+     * @throws IllegalArgumentException if the value is not a known status
+     */
+    public TransactionStatus status() {
+        int ordinal = enumOrdinal(Field.STATUS, STATUSES, STATUS_NAMES, true);
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    /**
+     * Decodes the transaction status without allocating, for matching against expected statuses.
+     *
+     * @return the status, or null if the field is absent, null or not a known status
+     */
+    public TransactionStatus knownStatus() {
+        int ordinal = enumOrdinal(Field.STATUS, STATUSES, STATUS_NAMES, false);
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    public String description() {
+        return string(Field.DESCRIPTION);
+    }
+
+    public String timestamp() {
+        return string(Field.TIMESTAMP);
+    }
+
+    /**
+     * Compares the currency with a code without decoding it.
+     *
+     * @param code the currency code, e.g. {@code INR}
+     * @return true if the record's currency equals the code
+     */
+    public boolean isCurrency(String code) {
+        int[] index = index();
+        int start = index[Field.CURRENCY.ordinal() * 2];
+        int end = index[Field.CURRENCY.ordinal() * 2 + 1];
+        if (start < 0 || isNull(start)) {
+            return code == null;
+        }
+        if (code == null || data[start] != '"') {
+            return false;
+        }
+        for (int i = start + 1; i < end - 1; i++) {
+            if (data[i] == '\\' || data[i] < 0) {
+                return code.equals(decodeString(start, end));
+            }
+        }
+        int length = end - start - 2;
+        if (length != code.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (data[start + 1 + i] != code.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the record is a well-formed JSON object, without decoding any field. The scan builds the index
+     * the accessors use anyway, so it costs no extra pass.
+     *
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public void validate() {
+        index();
+    }
+
+    /**
+     * Decodes every field.
+     *
+     * @return the transaction
+     */
+    public TransactionDTO toTransactionDTO() {
+        return TransactionDTO.builder()
+                .transactionId(transactionId())
+                .fromAccount(fromAccount())
+                .toAccount(toAccount())
+                .amount(amount())
+                .currency(currency())
+                .type(type())
+                .status(status())
+                .description(description())
+                .timestamp(timestamp())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private String string(Field field) {
+        int[] index = index();
+        int start = index[field.ordinal() * 2];
+        if (start < 0 || isNull(start)) {
+            return null;
+        }
+        if (data[start] != '"') {
+            throw malformed("field " + field.jsonName + " is not a string", start);
+        }
+        return decodeString(start, index[field.ordinal() * 2 + 1]);
+    }
+
+    /**
+     * Matches the quoted value against the pre-encoded names first, and only decodes it when that fails, e.g. for
+     * escaped values. An unknown value throws when strict and is treated as absent otherwise.
+     */
+    private int enumOrdinal(Field field, Enum<?>[] values, byte[][] names, boolean strict) {
+        int[] index = index();
+        int start = index[field.ordinal() * 2];
+        int end = index[field.ordinal() * 2 + 1];
+        if (start < 0 || isNull(start)) {
+            return -1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (Arrays.equals(data, start, end, names[i], 0, names[i].length)) {
+                return i;
+            }
+        }
+        String value = data[start] == '"' ? decodeString(start, end) : new String(data, start, end - start, StandardCharsets.UTF_8);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].name().equals(value)) {
+                return i;
+            }
+        }
+        if (!strict) {
+            return -1;
+        }
+        throw new IllegalArgumentException("Unknown " + field.jsonName + " value: " + value);
+    }
+
+    private boolean isNull(int start) {
+        return data[start] == 'n';
+    }
+
+    /**
+     * Finds the value of every known field in one pass over the top-level object.
+     */
+    private int[] index() {
+        int[] index = spans;
+        if (index != null) {
+            return index;
+        }
+        index = new int[FIELDS.length * 2];
+        Arrays.fill(index, -1);
+        int pos = skipWhitespace(0);
+        expect(pos, '{');
+        pos = skipWhitespace(pos + 1);
+        if (pos < data.length && data[pos] == '}') {
+            spans = index;
+            return index;
+        }
+        while (true) {
+            expect(pos, '"');
+            int keyEnd = skipString(pos);
+            Field field = field(pos + 1, keyEnd - 1);
+            pos = skipWhitespace(keyEnd);
+            expect(pos, ':');
+            int valueStart = skipWhitespace(pos + 1);
+            int valueEnd = skipValue(valueStart);
+            if (field != null) {
+                index[field.ordinal() * 2] = valueStart;
+                index[field.ordinal() * 2 + 1] = valueEnd;
+            }
+            pos = skipWhitespace(valueEnd);
+            if (pos < data.length && data[pos] == ',') {
+                pos = skipWhitespace(pos + 1);
+            } else {
+                expect(pos, '}');
+                break;
+            }
+        }
+        spans = index;
+        return index;
+    }
+
+    private Field field(int start, int end) {
+        for (Field field : FIELDS) {
+            if (Arrays.equals(data, start, end, field.name, 0, field.name.length)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < data.length && (data[pos] == ' ' || data[pos] == '\n' || data[pos] == '\r' || data[pos] == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * @return the offset after the closing quote of the string starting at {@code pos}
+     */
+    private int skipString(int pos) {
+        int i = pos + 1;
+        while (i < data.length) {
+            byte b = data[i];
+            if (b == '"') {
+                return i + 1;
+            }
+            i += b == '\\' ? 2 : 1;
+        }
+        throw malformed("unterminated string", pos);
+    }
+
+    /**
+     * @return the offset after the value starting at {@code pos}
+     */
+    private int skipValue(int pos) {
+        if (pos >= data.length) {
+            throw malformed("missing value", pos);
+        }
+        byte first = data[pos];
+        if (first == '"') {
+            return skipString(pos);
+        }
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            int i = pos;
+            while (i < data.length) {
+                byte b = data[i];
+                if (b == '"') {
+                    i = skipString(i);
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return i + 1;
+                }
+                i++;
+            }
+            throw malformed("unterminated " + (first == '{' ? "object" : "array"), pos);
+        }
+        int i = pos;
+        while (i < data.length && data[i] != ',' && data[i] != '}' && data[i] != ']'
+                && data[i] != ' ' && data[i] != '\n' && data[i] != '\r' && data[i] != '\t') {
+            i++;
+        }
+        if (i == pos) {
+            throw malformed("missing value", pos);
+        }
+        return i;
+    }
+
+    private void expect(int pos, char expected) {
+        if (pos >= data.length || data[pos] != expected) {
+            throw malformed("expected '" + expected + "'", pos);
+        }
+    }
+
+    /**
+     * Decodes the quoted string spanning {@code [start, end)}, unescaping only when it contains escapes.
+     */
+    private String decodeString(int start, int end) {
+        int from = start + 1;
+        int to = end - 1;
+        int backslash = -1;
+        for (int i = from; i < to; i++) {
+            if (data[i] == '\\') {
+                backslash = i;
+                break;
+            }
+        }
+        if (backslash < 0) {
+            return new String(data, from, to - from, StandardCharsets.UTF_8);
+        }
+        StringBuilder builder = new StringBuilder(to - from);
+        builder.append(new String(data, from, backslash - from, StandardCharsets.UTF_8));
+        int i = backslash;
+        while (i < to) {
+            int next = i;
+            while (next < to && data[next] != '\\') {
+                next++;
+            }
+            if (next > i) {
+                builder.append(new String(data, i, next - i, StandardCharsets.UTF_8));
+                i = next;
+                continue;
+            }
+            if (i + 1 >= to) {
+                throw malformed("dangling escape", i);
+            }
+            byte escaped = data[i + 1];
+            switch (escaped) {
+                case '"', '\\', '/' -> builder.append((char) escaped);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (i + 6 > to) {
+                        throw malformed("truncated unicode escape", i);
+                    }
+                    builder.append((char) Integer.parseInt(new String(data, i + 2, 4, StandardCharsets.ISO_8859_1), 16));
+                    i += 4;
+                }
+                default -> throw malformed("invalid escape", i);
+            }
+            i += 2;
+        }
+        return builder.toString();
+    }
+
+    private IllegalArgumentException malformed(String reason, int pos) {
+        return new IllegalArgumentException("Malformed transaction record: " + reason + " at offset " + pos);
+    }
+
+    private static byte[][] enumNames(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = ('"' + value.name() + '"').getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+
+    private enum Field {
+        TRANSACTION_ID("transactionId"),
+        FROM_ACCOUNT("fromAccount"),
+        TO_ACCOUNT("toAccount"),
+        AMOUNT("amount"),
+        CURRENCY("currency"),
+        TYPE("type"),
+        STATUS("status"),
+        DESCRIPTION("description"),
+        TIMESTAMP("timestamp");
+
+        private final String jsonName;
+        private final byte[] name;
+
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+            this.name = jsonName.getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.kafka.poc.serialization;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+
+import java.util.Set;
+
+/**
+ * Converts record values, raw bytes or text, to a {@link TransactionView}.
+ * <p>
+ * Registered as a bean, it is picked up by the {@code @KafkaListener} argument resolution, so a listener can
+ * declare {@code @Payload TransactionView transaction} instead of a String it would have to parse.
+ * </p>
+ */
+public class TransactionViewConverter implements GenericConverter {
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(new ConvertiblePair(byte[].class, TransactionView.class),
+                new ConvertiblePair(String.class, TransactionView.class));
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        return source instanceof byte[] bytes ? TransactionView.of(bytes) : TransactionView.of((String) source);
+    }
+}
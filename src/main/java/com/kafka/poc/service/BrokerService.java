@@ -3,8 +3,10 @@ package com.kafka.poc.service;
 import com.kafka.poc.model.BrokerConfigs;
 import com.kafka.poc.model.BrokerInfo;
 import com.kafka.poc.model.BrokerLogs;
+import com.kafka.poc.model.LogDirInfo;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BrokerService {
 
@@ -15,6 +17,14 @@ public interface BrokerService {
      */
     List<BrokerInfo> getAllBrokers();
 
+    /**
+     * Fetches all brokers in the Kafka cluster one at a time, without collecting them.
+     *
+     * @param action receives every broker as soon as its configuration is available
+     * @return the number of brokers passed to the action
+     */
+    int forEachBroker(Consumer<? super BrokerInfo> action);
+
     /**
      * Fetches and returns the configuration details of a specific broker by its ID.
      *
@@ -23,5 +33,27 @@ public interface BrokerService {
      */
     List<BrokerConfigs> getBrokerConfig(int brokerId);
 
+    /**
+     * Fetches and returns the replica log details hosted by a specific broker.
+     *
+     * @param brokerId The ID of the broker.
+     * @return List of BrokerLogs objects, one per replica hosted by the broker.
+     */
     List<BrokerLogs> getBrokerLogs(int brokerId);
+
+    /**
+     * Fetches and returns the replica log details hosted by every broker in the cluster.
+     *
+     * @return List of BrokerLogs objects, one per replica in the cluster.
+     */
+    List<BrokerLogs> getAllBrokerLogs();
+
+    /**
+     * Fetches and returns aggregated totals for every log directory in the cluster.
+     *
+     * @param topN              Number of largest partitions to report per log directory, 1 to 1000.
+     * @param includePartitions Whether to include the topic to partitions listing per directory.
+     * @return List of LogDirInfo objects, one per broker log directory.
+     */
+    List<LogDirInfo> getLogDirSummary(int topN, boolean includePartitions);
 }
@@ -0,0 +1,16 @@
+package com.kafka.poc.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for streaming structural changes of the Kafka cluster.
+ */
+public interface ClusterChangeService {
+
+    /**
+     * Registers a new watcher that receives change events as Server-Sent Events.
+     *
+     * @return the SseEmitter bound to the watcher's HTTP connection
+     */
+    SseEmitter subscribe();
+}
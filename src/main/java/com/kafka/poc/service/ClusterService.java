@@ -1,5 +1,26 @@
 package com.kafka.poc.service;
 
+import com.kafka.poc.model.ClusterInfo;
+
+/**
+ * Service interface for retrieving a consolidated view of the Kafka cluster.
+ */
 public interface ClusterService {
 
+    /**
+     * Retrieves a snapshot of the Kafka cluster, including brokers, controller, topics and consumer groups.
+     * <p>
+     * The snapshot may be served from a short-lived cache.
+     * </p>
+     *
+     * @return the ClusterInfo snapshot
+     */
+    ClusterInfo getClusterInfo();
+
+    /**
+     * Builds a fresh snapshot of the Kafka cluster, bypassing and then replacing the cached one.
+     *
+     * @return the freshly built ClusterInfo snapshot
+     */
+    ClusterInfo refreshClusterInfo();
 }
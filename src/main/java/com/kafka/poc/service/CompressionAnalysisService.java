@@ -0,0 +1,19 @@
+package com.kafka.poc.service;
+
+import com.kafka.poc.dto.CompressionAnalysisRequestDTO;
+import com.kafka.poc.model.CompressionAnalysis;
+
+/**
+ * Service interface for choosing a topic's compression codec from its real records.
+ */
+public interface CompressionAnalysisService {
+    /**
+     * Sample the latest records of a topic, compress them with each codec at each batch size, and recommend a
+     * {@code compression.type}, optionally applying it to the topic.
+     *
+     * @param topicName The name of the topic to analyze.
+     * @param request   The sample size, batch sizes, codecs and whether to apply the recommendation.
+     * @return The measured results and the recommended codec.
+     */
+    CompressionAnalysis analyzeTopic(String topicName, CompressionAnalysisRequestDTO request);
+}
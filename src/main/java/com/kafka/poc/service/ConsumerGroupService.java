@@ -1,11 +1,14 @@
 package com.kafka.poc.service;
 
+import com.kafka.poc.dto.ConsumerGroupQueryDTO;
 import com.kafka.poc.model.ConsumerGroupInfo;
 import com.kafka.poc.model.Coordinator;
 import com.kafka.poc.model.MemberInfo;
 import com.kafka.poc.model.OffsetInfo;
+import com.kafka.poc.model.PageResult;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing Kafka consumer groups.
@@ -19,6 +22,22 @@ public interface ConsumerGroupService {
      */
     List<ConsumerGroupInfo> getAllConsumerGroups();
 
+    /**
+     * Retrieves all consumer groups in the Kafka cluster one at a time, without collecting them.
+     *
+     * @param action receives every consumer group as soon as it is described
+     * @return the number of consumer groups passed to the action
+     */
+    int forEachConsumerGroup(Consumer<? super ConsumerGroupInfo> action);
+
+    /**
+     * Retrieves one page of consumer groups, filled only with the requested fields.
+     *
+     * @param query the projection, filters and page position
+     * @return the matching consumer groups and the cursor of the next page
+     */
+    PageResult<ConsumerGroupInfo> getConsumerGroupPage(ConsumerGroupQueryDTO query);
+
     /**
      * Retrieves the coordinator information for a specific consumer group.
      *
@@ -42,4 +61,13 @@ public interface ConsumerGroupService {
      * @return a list of OffsetInfo objects representing the offsets of the specified consumer group
      */
     List<OffsetInfo> getOffsets(String groupId);
+
+    /**
+     * Retrieves offset information for a specific consumer group one partition at a time, without collecting it.
+     *
+     * @param groupId the ID of the consumer group
+     * @param action  receives the offset of every partition with a committed offset
+     * @return the number of offsets passed to the action
+     */
+    int forEachOffset(String groupId, Consumer<? super OffsetInfo> action);
 }
@@ -0,0 +1,89 @@
+package com.kafka.poc.service;
+
+import com.kafka.poc.dto.CreateListenerRequestDTO;
+import com.kafka.poc.model.ListenerInfo;
+
+import java.util.List;
+
+/**
+ * Service interface for managing Kafka listener containers at runtime.
+ */
+public interface ListenerService {
+
+    /**
+     * Retrieves all listeners, declared with {@code @KafkaListener} or created at runtime.
+     *
+     * @return a list of ListenerInfo objects, one per listener
+     */
+    List<ListenerInfo> getListeners();
+
+    /**
+     * Retrieves a single listener.
+     *
+     * @param listenerId the id of the listener
+     * @return the ListenerInfo of the listener
+     */
+    ListenerInfo getListener(String listenerId);
+
+    /**
+     * Creates a listener and, unless requested otherwise, starts it.
+     *
+     * @param request the listener id, topics, group, concurrency and handler
+     * @return the ListenerInfo of the created listener
+     */
+    ListenerInfo createListener(CreateListenerRequestDTO request);
+
+    /**
+     * Stops and removes a listener created at runtime.
+     *
+     * @param listenerId the id of the listener
+     */
+    void deleteListener(String listenerId);
+
+    /**
+     * Starts a stopped listener.
+     *
+     * @param listenerId the id of the listener
+     * @return the ListenerInfo of the listener
+     */
+    ListenerInfo startListener(String listenerId);
+
+    /**
+     * Stops a listener, committing its offsets and leaving its group.
+     *
+     * @param listenerId the id of the listener
+     * @return the ListenerInfo of the listener
+     */
+    ListenerInfo stopListener(String listenerId);
+
+    /**
+     * Changes the number of consumer threads of a listener, restarting it if it is running.
+     *
+     * @param listenerId  the id of the listener
+     * @param concurrency the new number of consumer threads
+     * @return the ListenerInfo of the listener
+     */
+    ListenerInfo setConcurrency(String listenerId, int concurrency);
+
+    /**
+     * Pauses consumption of a listener without leaving its group.
+     *
+     * @param listenerId the id of the listener
+     * @param topic      only pause partitions of this topic; the whole listener if null
+     * @param partitions only pause these partitions of the topic, which must be assigned; all assigned ones if null
+     *                   or empty
+     * @return the ListenerInfo of the listener
+     */
+    ListenerInfo pauseListener(String listenerId, String topic, List<Integer> partitions);
+
+    /**
+     * Resumes consumption paused with {@link #pauseListener(String, String, List)}.
+     *
+     * @param listenerId the id of the listener
+     * @param topic      only resume partitions of this topic; the whole listener if null
+     * @param partitions only resume these partitions of the topic, which must be assigned; all assigned ones if null
+     *                   or empty
+     * @return the ListenerInfo of the listener
+     */
+    ListenerInfo resumeListener(String listenerId, String topic, List<Integer> partitions);
+}
@@ -0,0 +1,34 @@
+package com.kafka.poc.service;
+
+import com.kafka.poc.model.PartitionHealthInfo;
+import com.kafka.poc.model.PartitionHealthSummary;
+
+import java.util.List;
+
+/**
+ * Service interface for tracking under-replicated, offline and under-min-ISR partitions.
+ */
+public interface PartitionHealthService {
+
+    /**
+     * Retrieves the partition health counts as of the last background scan.
+     *
+     * @return the PartitionHealthSummary
+     */
+    PartitionHealthSummary getSummary();
+
+    /**
+     * Retrieves details for every partition currently flagged as unhealthy.
+     *
+     * @param topicPrefix optional topic name prefix to filter on; null or blank for all topics
+     * @return a list of PartitionHealthInfo objects, one per unhealthy partition
+     */
+    List<PartitionHealthInfo> getUnhealthyPartitions(String topicPrefix);
+
+    /**
+     * Runs a full scan immediately instead of waiting for the next scheduled pass.
+     *
+     * @return the PartitionHealthSummary after the scan
+     */
+    PartitionHealthSummary scanNow();
+}
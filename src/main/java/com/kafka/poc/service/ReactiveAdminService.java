@@ -0,0 +1,56 @@
+package com.kafka.poc.service;
+
+import com.kafka.poc.model.BrokerInfo;
+import com.kafka.poc.model.ConsumerGroupInfo;
+import com.kafka.poc.model.OffsetInfo;
+import com.kafka.poc.model.TopicInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the topic, broker and consumer group admin operations.
+ * <p>
+ * Every method returns a cold publisher: the admin requests are only sent on subscription, results are emitted
+ * from the admin client's own thread as they arrive, and cancelling the subscription cancels pending requests.
+ * </p>
+ */
+public interface ReactiveAdminService {
+
+    /**
+     * Streams the names of all topics in the cluster.
+     *
+     * @return a Flux of topic names
+     */
+    Flux<String> getTopicNames();
+
+    /**
+     * Retrieves metadata and configuration of a topic.
+     *
+     * @param topicName the topic to describe
+     * @return a Mono of the TopicInfo, failing with a 404 if the topic does not exist
+     */
+    Mono<TopicInfo> getTopicInfo(String topicName);
+
+    /**
+     * Streams every broker of the cluster with its configuration.
+     *
+     * @return a Flux of BrokerInfo
+     */
+    Flux<BrokerInfo> getBrokers();
+
+    /**
+     * Streams every consumer group of the cluster, describing groups in batches as the subscriber requests them.
+     *
+     * @param includeOffsets whether to resolve committed offsets and lag for each group
+     * @return a Flux of ConsumerGroupInfo
+     */
+    Flux<ConsumerGroupInfo> getConsumerGroups(boolean includeOffsets);
+
+    /**
+     * Streams the committed offsets and lag of a consumer group, one partition at a time.
+     *
+     * @param groupId the consumer group ID
+     * @return a Flux of OffsetInfo
+     */
+    Flux<OffsetInfo> getOffsets(String groupId);
+}
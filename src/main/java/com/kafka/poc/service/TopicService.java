@@ -1,6 +1,8 @@
 package com.kafka.poc.service;
 
 import com.kafka.poc.dto.CreateTopicRequestDTO;
+import com.kafka.poc.dto.TopicQueryDTO;
+import com.kafka.poc.model.PageResult;
 import com.kafka.poc.model.TopicInfo;
 
 import java.util.Set;
@@ -32,6 +34,14 @@ public interface TopicService {
      */
     TopicInfo getTopicInfo(String topicName);
 
+    /**
+     * Retrieve one page of topics, filled only with the requested fields.
+     *
+     * @param query The projection, name prefix filter and page position.
+     * @return The matching topics and the cursor of the next page.
+     */
+    PageResult<TopicInfo> getTopicPage(TopicQueryDTO query);
+
     /**
      * Delete a specified Kafka topic from the cluster.
      *
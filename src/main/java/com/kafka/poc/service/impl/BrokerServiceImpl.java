@@ -4,20 +4,24 @@ import com.kafka.poc.exception.CommonCustomException;
 import com.kafka.poc.model.BrokerConfigs;
 import com.kafka.poc.model.BrokerInfo;
 import com.kafka.poc.model.BrokerLogs;
+import com.kafka.poc.model.LogDirInfo;
 import com.kafka.poc.service.BrokerService;
+import com.kafka.poc.utils.AdminModelMapper;
+import com.kafka.poc.utils.RequestDeadline;
 import com.kafka.poc.utils.Utility;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.*;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.ConfigResource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,49 +29,63 @@ import java.util.stream.Collectors;
 public class BrokerServiceImpl implements BrokerService {
 
     /**
-     * KafkaAdmin for managing Kafka cluster operations.
+     * Largest number of partitions a log directory summary may list per directory.
+     */
+    static final int MAX_LARGEST_PARTITIONS = 1000;
+
+    /**
+     * Shared AdminClient for Kafka cluster operations.
      */
     @Autowired
-    private KafkaAdmin kafkaAdmin;
+    private AdminClient adminClient;
 
     @Override
     public List<BrokerInfo> getAllBrokers() {
+        List<BrokerInfo> brokerInfos = new ArrayList<>();
+        forEachBroker(brokerInfos::add);
+        return brokerInfos;
+    }
+
+    /**
+     * Retrieves every broker of the cluster with its configuration and hands each one to the given action.
+     * <p>
+     * The configs of all brokers are requested at once, but each broker is passed on as soon as its own configs
+     * arrive, in broker ID order, so only one broker's config map is held at a time.
+     * </p>
+     *
+     * @param action receives every broker in broker ID order
+     * @return the number of brokers passed to the action
+     * @throws CommonCustomException if an error occurs during retrieval
+     */
+    @Override
+    public int forEachBroker(Consumer<? super BrokerInfo> action) {
         log.info("Initiating retrieval of Kafka broker information from the cluster.");
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
-            DescribeClusterResult describeClusterResult = adminClient.describeCluster();
-            Collection<Node> nodes = describeClusterResult.nodes().get();
-            List<Integer> brokerIds = nodes.stream().map(Node::id).toList();
-            Map<Integer, BrokerInfo> brokerMap = nodes.stream()
-                    .collect(Collectors.toMap(
-                            Node::id,
-                            node -> BrokerInfo.builder()
-                                    .id(node.id())
-                                    .host(node.host())
-                                    .port(node.port())
-                                    .rack(node.rack())
-                                    .build()
-                    ));
-            List<ConfigResource> brokerResources = brokerIds.stream()
-                    .map(id -> new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(id)))
+        try {
+            DescribeClusterResult describeClusterResult = adminClient.describeCluster(new DescribeClusterOptions().timeoutMs(RequestDeadline.timeoutMs()));
+            List<Node> nodes = RequestDeadline.await(describeClusterResult.nodes()).stream()
+                    .sorted(Comparator.comparingInt(Node::id))
+                    .toList();
+            List<ConfigResource> brokerResources = nodes.stream()
+                    .map(node -> new ConfigResource(ConfigResource.Type.BROKER, node.idString()))
                     .collect(Collectors.toList());
-            DescribeConfigsResult describeConfigsResult = adminClient.describeConfigs(brokerResources);
-            Map<ConfigResource, Config> configs = describeConfigsResult.all().get();
-            for (Map.Entry<ConfigResource, Config> e : configs.entrySet()) {
-                int id = Integer.parseInt(e.getKey().name());
-                Map<String, String> configMap = new HashMap<>();
-                for (ConfigEntry entry : e.getValue().entries()) {
-                    configMap.put(entry.name(), entry.value());
-                }
-                BrokerInfo brokerInfo = brokerMap.get(id);
-                if (brokerInfo != null) brokerInfo.setConfigs(configMap);
+            Map<ConfigResource, KafkaFuture<Config>> configFutures = brokerResources.isEmpty()
+                    ? Collections.emptyMap()
+                    : adminClient.describeConfigs(brokerResources, new DescribeConfigsOptions().timeoutMs(RequestDeadline.timeoutMs())).values();
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                Config config = RequestDeadline.await(configFutures.get(brokerResources.get(i)));
+                action.accept(AdminModelMapper.toBrokerInfo(node, config));
             }
 
-            log.info("Kafka broker information retrieval successful. Total brokers found: {}.", brokerMap.size());
-            return new ArrayList<>(brokerMap.values());
+            log.info("Kafka broker information retrieval successful. Total brokers found: {}.", nodes.size());
+            return nodes.size();
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
             log.error("Thread was interrupted while fetching broker info.", ie);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Request interrupted while fetching broker info.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during broker info retrieval: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error occurred while fetching broker info.", e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching kafka brokers info.");
@@ -89,11 +107,12 @@ public class BrokerServiceImpl implements BrokerService {
     @Override
     public List<BrokerConfigs> getBrokerConfig(int brokerId) {
         List<BrokerConfigs> brokerConfigs = new ArrayList<>();
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+        try {
             log.info("Starting configuration retrieval for Kafka broker with ID: {}...", brokerId);
             ConfigResource configResource = new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId));
-            DescribeConfigsResult describeConfigsResult = adminClient.describeConfigs(Collections.singletonList(configResource));
-            Config config = describeConfigsResult.all().get(30, TimeUnit.SECONDS).get(configResource);
+            DescribeConfigsResult describeConfigsResult = adminClient.describeConfigs(Collections.singletonList(configResource),
+                    new DescribeConfigsOptions().timeoutMs(RequestDeadline.timeoutMs()));
+            Config config = RequestDeadline.await(describeConfigsResult.all()).get(configResource);
             config.entries().stream().map(configEntry -> BrokerConfigs.builder()
                             .name(configEntry.name())
                             .value(configEntry.value())
@@ -110,31 +129,280 @@ public class BrokerServiceImpl implements BrokerService {
             Thread.currentThread().interrupt();
             log.error("Configuration retrieval for broker {} was interrupted. Reason: {}", brokerId, ie.getMessage(), ie);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Request interrupted while fetching broker configuration. Please try again.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during configuration retrieval for broker: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error occurred while fetching configuration for broker {}: {}", brokerId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching broker configuration. Please contact support.");
         }
-        log.info("Configuration retrieval for Kafka broker with ID: {} completed successfully. {}", brokerId, Utility.objectToJsonString(brokerConfigs));
+        log.info("Configuration retrieval for Kafka broker with ID: {} completed successfully.", brokerId);
+        log.atDebug().setMessage("Broker {} configuration: {}").addArgument(brokerId).addArgument(Utility.lazyJson(brokerConfigs)).log();
         return brokerConfigs;
     }
 
+    /**
+     * Retrieves the replica log details hosted by a specific Kafka broker.
+     * <p>
+     * A single describeLogDirs call is issued for the broker and every replica in every log directory
+     * is flattened into a {@link BrokerLogs} entry carrying its size, offset lag and future flag.
+     * </p>
+     *
+     * @param brokerId the ID of the broker whose log directories are to be described
+     * @return list of BrokerLogs, one per replica hosted by the broker
+     * @throws CommonCustomException if an error occurs during retrieval
+     */
     @Override
     public List<BrokerLogs> getBrokerLogs(int brokerId) {
-        try(AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())){
+        try {
             log.info("Starting log retrieval for Kafka broker with ID: {}...", brokerId);
-            List<BrokerLogs> brokerLogs = new ArrayList<>();
-            DescribeLogDirsResult describeLogDirsResult = adminClient.describeLogDirs(Collections.singleton(brokerId));
-            describeLogDirsResult.descriptions().get(brokerId);
-            describeLogDirsResult.all().get(30, TimeUnit.SECONDS);
-            log.info("Log retrieval for Kafka broker with ID: {} completed successfully. {}", brokerId, Utility.objectToJsonString(brokerLogs));
+            Map<Integer, Map<String, LogDirDescription>> descriptions = RequestDeadline.await(adminClient
+                    .describeLogDirs(Collections.singleton(brokerId), new DescribeLogDirsOptions().timeoutMs(RequestDeadline.timeoutMs()))
+                    .allDescriptions());
+            List<BrokerLogs> brokerLogs = flattenLogDirs(descriptions);
+            log.info("Log retrieval for Kafka broker with ID: {} completed successfully. Total replicas found: {}.", brokerId, brokerLogs.size());
             return brokerLogs;
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
             log.error("Log retrieval for broker {} was interrupted. Reason: {}", brokerId, ie.getMessage(), ie);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Request interrupted while fetching broker logs. Please try again.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during log retrieval for broker: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error occurred while fetching logs for broker {}: {}", brokerId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching broker logs. Please contact support.");
         }
     }
+
+    /**
+     * Retrieves the replica log details hosted by every broker in the Kafka cluster.
+     * <p>
+     * All brokers are described with one describeLogDirs call so the cost is a single round trip per
+     * broker performed in parallel by the admin client, instead of one request per broker.
+     * </p>
+     *
+     * @return list of BrokerLogs, one per replica in the cluster
+     * @throws CommonCustomException if an error occurs during retrieval
+     */
+    @Override
+    public List<BrokerLogs> getAllBrokerLogs() {
+        try {
+            log.info("Starting log retrieval for all Kafka brokers...");
+            List<BrokerLogs> brokerLogs = flattenLogDirs(describeAllLogDirs());
+            log.info("Log retrieval for all Kafka brokers completed successfully. Total replicas found: {}.", brokerLogs.size());
+            return brokerLogs;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            log.error("Log retrieval for all brokers was interrupted. Reason: {}", ie.getMessage(), ie);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Request interrupted while fetching broker logs. Please try again.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during log retrieval for all brokers: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
+        } catch (Exception e) {
+            log.error("Unexpected error occurred while fetching logs for all brokers: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching broker logs. Please contact support.");
+        }
+    }
+
+    /**
+     * Retrieves an aggregated summary of every log directory in the Kafka cluster.
+     * <p>
+     * Replicas are visited exactly once. Per-directory totals are kept in primitive accumulators and the
+     * largest partitions are tracked with a bounded top-N buffer, so no per-replica intermediate
+     * collections are built unless the caller explicitly asks for the topic/partition listing.
+     * </p>
+     *
+     * @param topN              number of largest partitions to report per log directory
+     * @param includePartitions whether to include the full topic to partitions listing for each directory
+     * @return list of LogDirInfo, one per broker log directory
+     * @throws CommonCustomException with 400 if topN is outside 1..{@value #MAX_LARGEST_PARTITIONS}, or if an error
+     *                               occurs during retrieval
+     */
+    @Override
+    public List<LogDirInfo> getLogDirSummary(int topN, boolean includePartitions) {
+        if (topN < 1 || topN > MAX_LARGEST_PARTITIONS) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(),
+                    String.format("top must be between 1 and %d.", MAX_LARGEST_PARTITIONS));
+        }
+        try {
+            log.info("Starting log directory summary for all Kafka brokers (topN={}, includePartitions={})...", topN, includePartitions);
+            Map<Integer, Map<String, LogDirDescription>> descriptions = describeAllLogDirs();
+            List<LogDirInfo> logDirInfos = new ArrayList<>();
+            descriptions.forEach((brokerId, logDirs) -> logDirs.forEach((path, description) ->
+                    logDirInfos.add(summarizeLogDir(brokerId, path, description, topN, includePartitions))));
+            log.info("Log directory summary completed successfully. Total log directories found: {}.", logDirInfos.size());
+            return logDirInfos;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            log.error("Log directory summary was interrupted. Reason: {}", ie.getMessage(), ie);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Request interrupted while fetching log directory summary. Please try again.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during log directory summary: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
+        } catch (Exception e) {
+            log.error("Unexpected error occurred while building log directory summary: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching log directory summary. Please contact support.");
+        }
+    }
+
+    /**
+     * Describes the log directories of every broker in the cluster with a single admin request.
+     *
+     * @return log directory descriptions keyed by broker ID and then by directory path
+     */
+    private Map<Integer, Map<String, LogDirDescription>> describeAllLogDirs() throws Exception {
+        List<Integer> brokerIds = RequestDeadline.await(adminClient
+                        .describeCluster(new DescribeClusterOptions().timeoutMs(RequestDeadline.timeoutMs())).nodes())
+                .stream().map(Node::id).toList();
+        return RequestDeadline.await(adminClient
+                .describeLogDirs(brokerIds, new DescribeLogDirsOptions().timeoutMs(RequestDeadline.timeoutMs()))
+                .allDescriptions());
+    }
+
+    /**
+     * Flattens log directory descriptions into one BrokerLogs entry per replica.
+     *
+     * @param descriptions log directory descriptions keyed by broker ID and directory path
+     * @return flattened list of BrokerLogs
+     */
+    private List<BrokerLogs> flattenLogDirs(Map<Integer, Map<String, LogDirDescription>> descriptions) {
+        int replicaCount = 0;
+        for (Map<String, LogDirDescription> logDirs : descriptions.values()) {
+            for (LogDirDescription description : logDirs.values()) {
+                replicaCount += description.replicaInfos().size();
+            }
+        }
+        List<BrokerLogs> brokerLogs = new ArrayList<>(replicaCount);
+        descriptions.forEach((brokerId, logDirs) -> logDirs.forEach((path, description) ->
+                description.replicaInfos().forEach((topicPartition, replicaInfo) ->
+                        brokerLogs.add(toBrokerLogs(brokerId, path, topicPartition, replicaInfo)))));
+        return brokerLogs;
+    }
+
+    /**
+     * Aggregates a single log directory in one pass over its replicas.
+     *
+     * @param brokerId          the broker hosting the directory
+     * @param path              the directory path
+     * @param description       the directory description returned by the admin client
+     * @param topN              number of largest partitions to keep
+     * @param includePartitions whether to build the topic to partitions listing
+     * @return aggregated LogDirInfo for the directory
+     */
+    private LogDirInfo summarizeLogDir(int brokerId, String path, LogDirDescription description, int topN, boolean includePartitions) {
+        long totalSize = 0L;
+        long maxOffsetLag = 0L;
+        int futureReplicas = 0;
+        LargestReplicas largest = new LargestReplicas(topN);
+        Map<String, List<Integer>> topicPartitions = includePartitions ? new HashMap<>() : null;
+        for (Map.Entry<TopicPartition, ReplicaInfo> entry : description.replicaInfos().entrySet()) {
+            ReplicaInfo replicaInfo = entry.getValue();
+            long size = replicaInfo.size();
+            totalSize += size;
+            if (replicaInfo.offsetLag() > maxOffsetLag) {
+                maxOffsetLag = replicaInfo.offsetLag();
+            }
+            if (replicaInfo.isFuture()) {
+                futureReplicas++;
+            }
+            largest.offer(size, entry.getKey(), replicaInfo);
+            if (topicPartitions != null) {
+                topicPartitions.computeIfAbsent(entry.getKey().topic(), t -> new ArrayList<>()).add(entry.getKey().partition());
+            }
+        }
+        return LogDirInfo.builder()
+                .brokerId(brokerId)
+                .path(path)
+                .error(description.error() == null ? null : description.error().getMessage())
+                .totalSizeBytes(totalSize)
+                .volumeTotalBytes(description.totalBytes().orElse(-1L))
+                .volumeUsableBytes(description.usableBytes().orElse(-1L))
+                .replicaCount(description.replicaInfos().size())
+                .futureReplicaCount(futureReplicas)
+                .maxOffsetLag(maxOffsetLag)
+                .largestPartitions(largest.toBrokerLogs(brokerId, path))
+                .topicPartitions(topicPartitions)
+                .build();
+    }
+
+    private static BrokerLogs toBrokerLogs(int brokerId, String path, TopicPartition topicPartition, ReplicaInfo replicaInfo) {
+        return BrokerLogs.builder()
+                .brokerId(brokerId)
+                .path(path)
+                .topic(topicPartition.topic())
+                .partition(topicPartition.partition())
+                .size(replicaInfo.size())
+                .offsetLag(replicaInfo.offsetLag())
+                .future(replicaInfo.isFuture())
+                .build();
+    }
+
+    /**
+     * Bounded buffer keeping the N largest replicas seen so far.
+     * <p>
+     * Sizes live in a primitive array next to the replica references; the smallest slot is tracked so
+     * that the common case (a replica smaller than everything kept) is rejected with one comparison.
+     * </p>
+     */
+    private static final class LargestReplicas {
+        private final long[] sizes;
+        private final TopicPartition[] partitions;
+        private final ReplicaInfo[] replicas;
+        private int count;
+        private int minIndex;
+
+        private LargestReplicas(int capacity) {
+            int size = Math.max(capacity, 0);
+            this.sizes = new long[size];
+            this.partitions = new TopicPartition[size];
+            this.replicas = new ReplicaInfo[size];
+        }
+
+        private void offer(long size, TopicPartition topicPartition, ReplicaInfo replicaInfo) {
+            if (sizes.length == 0) {
+                return;
+            }
+            if (count < sizes.length) {
+                put(count++, size, topicPartition, replicaInfo);
+                if (count == sizes.length) {
+                    recomputeMin();
+                }
+                return;
+            }
+            if (size > sizes[minIndex]) {
+                put(minIndex, size, topicPartition, replicaInfo);
+                recomputeMin();
+            }
+        }
+
+        private void put(int index, long size, TopicPartition topicPartition, ReplicaInfo replicaInfo) {
+            sizes[index] = size;
+            partitions[index] = topicPartition;
+            replicas[index] = replicaInfo;
+        }
+
+        private void recomputeMin() {
+            int min = 0;
+            for (int i = 1; i < count; i++) {
+                if (sizes[i] < sizes[min]) {
+                    min = i;
+                }
+            }
+            minIndex = min;
+        }
+
+        private List<BrokerLogs> toBrokerLogs(int brokerId, String path) {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(sizes[b], sizes[a]));
+            List<BrokerLogs> result = new ArrayList<>(count);
+            for (Integer i : order) {
+                result.add(BrokerServiceImpl.toBrokerLogs(brokerId, path, partitions[i], replicas[i]));
+            }
+            return result;
+        }
+    }
 }
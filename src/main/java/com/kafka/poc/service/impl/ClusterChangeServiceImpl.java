@@ -0,0 +1,316 @@
+package com.kafka.poc.service.impl;
+
+import com.kafka.poc.enums.ClusterChangeType;
+import com.kafka.poc.event.ClusterSnapshotEvent;
+import com.kafka.poc.model.BrokerInfo;
+import com.kafka.poc.model.ClusterChangeEvent;
+import com.kafka.poc.model.ClusterInfo;
+import com.kafka.poc.model.ConsumerGroupInfo;
+import com.kafka.poc.model.TopicInfo;
+import com.kafka.poc.producer.KafkaProducer;
+import com.kafka.poc.service.ClusterChangeService;
+import com.kafka.poc.service.ClusterService;
+import com.kafka.poc.utils.Utility;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Service implementation that detects structural changes between consecutive cluster snapshots.
+ * <p>
+ * The previous snapshot is kept only as a compact fingerprint: sorted broker IDs, group states, and per topic a
+ * combined hash plus primitive arrays of partition leaders and ISR sizes/hashes. Topics whose combined hash is
+ * unchanged are skipped without looking at their partitions, so a refresh of a mostly idle cluster costs one hash
+ * comparison per topic. An ISR that keeps its size but swaps members is reported as {@code ISR_CHANGED}.
+ * </p>
+ * <p>
+ * Detected changes are pushed to Server-Sent Event subscribers and, when {@code kafka.poc.cluster.change-topic}
+ * is set, published to that Kafka topic keyed by resource name. While anyone is watching, snapshots are refreshed
+ * on a fixed schedule; snapshots built for regular API calls are diffed as well.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ClusterChangeServiceImpl implements ClusterChangeService {
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private KafkaProducer kafkaProducer;
+
+    /**
+     * Optional Kafka topic to which change events are published; disabled when blank.
+     */
+    @Value("${kafka.poc.cluster.change-topic:}")
+    private String changeTopic;
+
+    /**
+     * How long an SSE subscription stays open before the client has to reconnect.
+     */
+    @Value("${kafka.poc.cluster.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private ClusterFingerprint previous;
+
+    /**
+     * Registers a new SSE watcher.
+     *
+     * @return the SseEmitter bound to the watcher's HTTP connection
+     */
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+        emitters.add(emitter);
+        log.info("New cluster change subscriber registered. Active subscribers: {}.", emitters.size());
+        return emitter;
+    }
+
+    /**
+     * Periodically refreshes the cluster snapshot while there is at least one consumer of change events.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.cluster.watch-interval-ms:10000}", initialDelayString = "${kafka.poc.cluster.watch-interval-ms:10000}")
+    public void refreshWhileWatched() {
+        if (emitters.isEmpty() && (changeTopic == null || changeTopic.isBlank())) {
+            return;
+        }
+        try {
+            clusterService.refreshClusterInfo();
+        } catch (Exception e) {
+            log.warn("Scheduled cluster snapshot refresh failed. Reason: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Diffs every new snapshot against the previous fingerprint and publishes the resulting change events.
+     *
+     * @param event the snapshot event published by the cluster service
+     */
+    @EventListener
+    public synchronized void onSnapshot(ClusterSnapshotEvent event) {
+        if (previous != null && event.getSequence() <= previous.sequence()) {
+            log.debug("Ignoring out-of-order cluster snapshot {}.", event.getSequence());
+            return;
+        }
+        ClusterFingerprint current = ClusterFingerprint.of(event.getSequence(), event.getClusterInfo(), event.getTopicDescriptions());
+        ClusterFingerprint last = previous;
+        previous = current;
+        if (last == null) {
+            log.info("Cluster change baseline established from snapshot {}.", event.getSequence());
+            return;
+        }
+        List<ClusterChangeEvent> changes = new ArrayList<>();
+        String timestamp = Instant.now().toString();
+        diffBrokers(last, current, changes, timestamp);
+        diffTopics(last, current, changes, timestamp);
+        diffGroups(last, current, changes, timestamp);
+        if (!changes.isEmpty()) {
+            log.info("Detected {} cluster changes in snapshot {}.", changes.size(), current.sequence());
+            changes.forEach(this::publish);
+        }
+    }
+
+    private void diffBrokers(ClusterFingerprint last, ClusterFingerprint current, List<ClusterChangeEvent> changes, String timestamp) {
+        int[] before = last.brokerIds();
+        int[] after = current.brokerIds();
+        int i = 0;
+        int j = 0;
+        while (i < before.length || j < after.length) {
+            if (j >= after.length || (i < before.length && before[i] < after[j])) {
+                changes.add(change(current, ClusterChangeType.BROKER_REMOVED, String.valueOf(before[i++]), null, null, null, timestamp));
+            } else if (i >= before.length || after[j] < before[i]) {
+                changes.add(change(current, ClusterChangeType.BROKER_ADDED, String.valueOf(after[j++]), null, null, null, timestamp));
+            } else {
+                i++;
+                j++;
+            }
+        }
+        if (last.controllerId() != current.controllerId()) {
+            changes.add(change(current, ClusterChangeType.CONTROLLER_CHANGED, "controller", null,
+                    String.valueOf(last.controllerId()), String.valueOf(current.controllerId()), timestamp));
+        }
+    }
+
+    private void diffTopics(ClusterFingerprint last, ClusterFingerprint current, List<ClusterChangeEvent> changes, String timestamp) {
+        for (Map.Entry<String, TopicFingerprint> entry : current.topics().entrySet()) {
+            String topic = entry.getKey();
+            TopicFingerprint after = entry.getValue();
+            TopicFingerprint before = last.topics().get(topic);
+            if (before == null) {
+                changes.add(change(current, ClusterChangeType.TOPIC_CREATED, topic, null, null, String.valueOf(after.leaders().length), timestamp));
+                continue;
+            }
+            if (before.hash() == after.hash()) {
+                continue;
+            }
+            if (before.configHash() != after.configHash()) {
+                changes.add(change(current, ClusterChangeType.TOPIC_CONFIG_CHANGED, topic, null, null, null, timestamp));
+            }
+            if (before.leaders().length != after.leaders().length) {
+                changes.add(change(current, ClusterChangeType.PARTITIONS_ADDED, topic, null,
+                        String.valueOf(before.leaders().length), String.valueOf(after.leaders().length), timestamp));
+            }
+            if (before.replicaHash() != after.replicaHash()) {
+                changes.add(change(current, ClusterChangeType.REPLICAS_REASSIGNED, topic, null, null, null, timestamp));
+            }
+            int common = Math.min(before.leaders().length, after.leaders().length);
+            for (int p = 0; p < common; p++) {
+                if (before.leaders()[p] != after.leaders()[p]) {
+                    changes.add(change(current, ClusterChangeType.LEADER_CHANGED, topic, p,
+                            String.valueOf(before.leaders()[p]), String.valueOf(after.leaders()[p]), timestamp));
+                }
+                if (after.isrSizes()[p] < before.isrSizes()[p]) {
+                    changes.add(change(current, ClusterChangeType.ISR_SHRUNK, topic, p,
+                            String.valueOf(before.isrSizes()[p]), String.valueOf(after.isrSizes()[p]), timestamp));
+                } else if (after.isrSizes()[p] > before.isrSizes()[p]) {
+                    changes.add(change(current, ClusterChangeType.ISR_EXPANDED, topic, p,
+                            String.valueOf(before.isrSizes()[p]), String.valueOf(after.isrSizes()[p]), timestamp));
+                } else if (after.isrHashes()[p] != before.isrHashes()[p]) {
+                    changes.add(change(current, ClusterChangeType.ISR_CHANGED, topic, p,
+                            String.valueOf(before.isrSizes()[p]), String.valueOf(after.isrSizes()[p]), timestamp));
+                }
+            }
+        }
+        for (String topic : last.topics().keySet()) {
+            if (!current.topics().containsKey(topic)) {
+                changes.add(change(current, ClusterChangeType.TOPIC_DELETED, topic, null, null, null, timestamp));
+            }
+        }
+    }
+
+    private void diffGroups(ClusterFingerprint last, ClusterFingerprint current, List<ClusterChangeEvent> changes, String timestamp) {
+        for (Map.Entry<String, String> entry : current.groupStates().entrySet()) {
+            String before = last.groupStates().get(entry.getKey());
+            if (before == null) {
+                changes.add(change(current, ClusterChangeType.GROUP_CREATED, entry.getKey(), null, null, entry.getValue(), timestamp));
+            } else if (!before.equals(entry.getValue())) {
+                changes.add(change(current, ClusterChangeType.GROUP_STATE_CHANGED, entry.getKey(), null, before, entry.getValue(), timestamp));
+            }
+        }
+        for (Map.Entry<String, String> entry : last.groupStates().entrySet()) {
+            if (!current.groupStates().containsKey(entry.getKey())) {
+                changes.add(change(current, ClusterChangeType.GROUP_DELETED, entry.getKey(), null, entry.getValue(), null, timestamp));
+            }
+        }
+    }
+
+    private ClusterChangeEvent change(ClusterFingerprint current, ClusterChangeType type, String resource, Integer partition,
+                                      String previousValue, String currentValue, String timestamp) {
+        return ClusterChangeEvent.builder()
+                .sequence(current.sequence())
+                .type(type)
+                .resource(resource)
+                .partition(partition)
+                .previousValue(previousValue)
+                .currentValue(currentValue)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    /**
+     * Sends a change event to every SSE subscriber and, if configured, to the change topic.
+     */
+    private void publish(ClusterChangeEvent change) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.getSequence()))
+                        .name(change.getType().name())
+                        .data(change));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping cluster change subscriber. Reason: {}", e.getMessage());
+                emitters.remove(emitter);
+            }
+        }
+        if (changeTopic != null && !changeTopic.isBlank()) {
+            try {
+                kafkaProducer.sendMessageWithKey(changeTopic, Utility.objectToJsonString(change), change.getResource());
+            } catch (Exception e) {
+                log.warn("Failed to publish cluster change to topic {}. Reason: {}", changeTopic, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Compact, hashed form of a cluster snapshot.
+     */
+    private record ClusterFingerprint(long sequence, int controllerId, int[] brokerIds,
+                                      Map<String, TopicFingerprint> topics, Map<String, String> groupStates) {
+
+        static ClusterFingerprint of(long sequence, ClusterInfo clusterInfo, Map<String, TopicDescription> descriptions) {
+            int[] brokerIds = clusterInfo.getBrokers().stream().mapToInt(BrokerInfo::getId).sorted().toArray();
+            int controllerId = clusterInfo.getController() == null ? -1 : clusterInfo.getController().getId();
+            Map<String, TopicFingerprint> topics = new HashMap<>(Math.max(16, descriptions.size() * 2));
+            for (TopicInfo topicInfo : clusterInfo.getTopics()) {
+                TopicDescription description = descriptions.get(topicInfo.getTopicName());
+                if (description != null) {
+                    topics.put(topicInfo.getTopicName(), TopicFingerprint.of(description, topicInfo.getConfigs()));
+                }
+            }
+            Map<String, String> groupStates = new HashMap<>();
+            for (ConsumerGroupInfo group : clusterInfo.getConsumerGroups()) {
+                groupStates.put(group.getId(), group.getState());
+            }
+            return new ClusterFingerprint(sequence, controllerId, brokerIds, topics, groupStates);
+        }
+    }
+
+    /**
+     * Per-topic fingerprint: a combined hash for a fast equality check, plus per-partition primitives for diffing.
+     */
+    private record TopicFingerprint(int hash, int replicaHash, int configHash, int[] leaders, int[] isrSizes, int[] isrHashes) {
+
+        static TopicFingerprint of(TopicDescription description, Map<String, String> configs) {
+            List<TopicPartitionInfo> partitions = description.partitions();
+            int size = partitions.size();
+            int[] leaders = new int[size];
+            int[] isrSizes = new int[size];
+            int[] isrHashes = new int[size];
+            int replicaHash = 1;
+            for (TopicPartitionInfo partition : partitions) {
+                int p = partition.partition();
+                if (p < 0 || p >= size) {
+                    continue;
+                }
+                leaders[p] = partition.leader() == null ? -1 : partition.leader().id();
+                isrSizes[p] = partition.isr().size();
+                int isrHash = 0;
+                for (Node node : partition.isr()) {
+                    isrHash += mix(node.id());
+                }
+                isrHashes[p] = isrHash;
+                for (Node node : partition.replicas()) {
+                    replicaHash = 31 * replicaHash + node.id();
+                }
+            }
+            int configHash = configs == null ? 0 : configs.hashCode();
+            int hash = 31 * (31 * (31 * (31 * replicaHash + configHash) + Arrays.hashCode(leaders)) + Arrays.hashCode(isrSizes)) + Arrays.hashCode(isrHashes);
+            return new TopicFingerprint(hash, replicaHash, configHash, leaders, isrSizes, isrHashes);
+        }
+
+        /**
+         * Order-independent mixing so that ISR ordering differences do not register as changes.
+         */
+        private static int mix(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
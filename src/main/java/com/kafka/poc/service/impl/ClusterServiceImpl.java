@@ -1,11 +1,256 @@
 package com.kafka.poc.service.impl;
 
+import com.kafka.poc.event.ClusterSnapshotEvent;
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.model.*;
 import com.kafka.poc.service.ClusterService;
+import com.kafka.poc.utils.AdminModelMapper;
+import com.kafka.poc.utils.RequestDeadline;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.*;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.config.ConfigResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service implementation for building a consolidated snapshot of the Kafka cluster.
+ * <p>
+ * All admin requests needed for a snapshot are fired concurrently on the shared {@link AdminClient}:
+ * describeCluster, listTopics and listConsumerGroups start immediately, and the dependent describeTopics,
+ * describeConfigs and describeConsumerGroups calls start as soon as their inputs arrive. Each dependent call
+ * is batched over all topics, brokers or groups, so a full overview costs one parallel burst of requests.
+ * </p>
+ * <p>
+ * The last snapshot is cached for a short TTL, and concurrent callers that miss the cache share a single
+ * in-flight refresh instead of each triggering their own. Every new snapshot is published as a
+ * {@link ClusterSnapshotEvent}.
+ * </p>
+ */
 @Slf4j
 @Service
 public class ClusterServiceImpl implements ClusterService {
 
+    /**
+     * Shared AdminClient used for all snapshot requests.
+     */
+    @Autowired
+    private AdminClient adminClient;
+
+    /**
+     * How long a snapshot is served from cache before a refresh is triggered.
+     */
+    @Value("${kafka.poc.cluster.snapshot-ttl-ms:5000}")
+    private long snapshotTtlMs;
+
+    /**
+     * Upper bound for building a single snapshot, applied to each admin request and to the overall wait.
+     */
+    @Value("${kafka.poc.cluster.request-timeout-ms:30000}")
+    private int requestTimeoutMs;
+
+    /**
+     * Publisher used to notify listeners of every new snapshot.
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong snapshotSequence = new AtomicLong();
+    private final AtomicReference<CachedSnapshot> cachedSnapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<ClusterInfo>> inFlightRefresh = new AtomicReference<>();
+
+    /**
+     * Returns the cached cluster snapshot if it is still fresh, otherwise builds a new one.
+     *
+     * @return the ClusterInfo snapshot
+     * @throws CommonCustomException if the snapshot cannot be built
+     */
+    @Override
+    public ClusterInfo getClusterInfo() {
+        CachedSnapshot snapshot = cachedSnapshot.get();
+        if (snapshot != null && System.nanoTime() - snapshot.createdAtNanos() < TimeUnit.MILLISECONDS.toNanos(snapshotTtlMs)) {
+            log.debug("Serving cluster snapshot from cache.");
+            return snapshot.clusterInfo();
+        }
+        return await(refreshAsync());
+    }
+
+    /**
+     * Builds a fresh cluster snapshot, joining an already running refresh if there is one.
+     *
+     * @return the freshly built ClusterInfo snapshot
+     * @throws CommonCustomException if the snapshot cannot be built
+     */
+    @Override
+    public ClusterInfo refreshClusterInfo() {
+        return await(refreshAsync());
+    }
+
+    /**
+     * Starts a snapshot refresh, or returns the one already in progress. The in-flight marker is cleared however the
+     * refresh ends, including when the admin requests cannot even be issued, so a failure never pins the cache.
+     *
+     * @return future completed with the new snapshot
+     */
+    private CompletableFuture<ClusterInfo> refreshAsync() {
+        while (true) {
+            CompletableFuture<ClusterInfo> current = inFlightRefresh.get();
+            if (current != null) {
+                return current;
+            }
+            CompletableFuture<ClusterInfo> refresh = new CompletableFuture<>();
+            if (inFlightRefresh.compareAndSet(null, refresh)) {
+                long startedAt = System.nanoTime();
+                CompletableFuture<ClusterInfo> snapshot;
+                try {
+                    snapshot = buildSnapshot();
+                } catch (RuntimeException e) {
+                    inFlightRefresh.set(null);
+                    refresh.completeExceptionally(e);
+                    return refresh;
+                }
+                snapshot.whenComplete((clusterInfo, ex) -> {
+                    if (ex == null) {
+                        cachedSnapshot.set(new CachedSnapshot(clusterInfo, System.nanoTime()));
+                        log.info("Cluster snapshot built in {} ms: {} brokers, {} topics, {} consumer groups.",
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+                                clusterInfo.getBrokers().size(), clusterInfo.getTopics().size(), clusterInfo.getConsumerGroups().size());
+                    }
+                    inFlightRefresh.set(null);
+                    if (ex == null) {
+                        refresh.complete(clusterInfo);
+                    } else {
+                        refresh.completeExceptionally(ex);
+                    }
+                });
+                return refresh;
+            }
+        }
+    }
+
+    /**
+     * Fires all admin requests for a snapshot concurrently and assembles the results.
+     *
+     * @return future completed with the assembled ClusterInfo
+     */
+    private CompletableFuture<ClusterInfo> buildSnapshot() {
+        DescribeClusterResult describeClusterResult = adminClient.describeCluster(new DescribeClusterOptions().timeoutMs(requestTimeoutMs));
+        CompletableFuture<String> clusterId = toCompletableFuture(describeClusterResult.clusterId());
+        CompletableFuture<Node> controller = toCompletableFuture(describeClusterResult.controller());
+        CompletableFuture<Collection<Node>> nodes = toCompletableFuture(describeClusterResult.nodes());
+        CompletableFuture<Set<String>> topicNames = toCompletableFuture(
+                adminClient.listTopics(new ListTopicsOptions().timeoutMs(requestTimeoutMs)).names());
+        CompletableFuture<Collection<ConsumerGroupListing>> groupListings = toCompletableFuture(
+                adminClient.listConsumerGroups(new ListConsumerGroupsOptions().timeoutMs(requestTimeoutMs)).all());
+
+        CompletableFuture<Map<String, TopicDescription>> topicDescriptions = topicNames.thenCompose(names -> names.isEmpty()
+                ? CompletableFuture.completedFuture(Collections.<String, TopicDescription>emptyMap())
+                : toCompletableFuture(adminClient.describeTopics(names, new DescribeTopicsOptions().timeoutMs(requestTimeoutMs)).allTopicNames()));
+        CompletableFuture<Map<ConfigResource, Config>> configs = nodes.thenCombine(topicNames, this::configResources)
+                .thenCompose(resources -> resources.isEmpty()
+                        ? CompletableFuture.completedFuture(Collections.<ConfigResource, Config>emptyMap())
+                        : toCompletableFuture(adminClient.describeConfigs(resources, new DescribeConfigsOptions().timeoutMs(requestTimeoutMs)).all()));
+        CompletableFuture<Map<String, ConsumerGroupDescription>> groupDescriptions = groupListings.thenCompose(listings -> listings.isEmpty()
+                ? CompletableFuture.completedFuture(Collections.<String, ConsumerGroupDescription>emptyMap())
+                : toCompletableFuture(adminClient.describeConsumerGroups(
+                        listings.stream().map(ConsumerGroupListing::groupId).toList(),
+                        new DescribeConsumerGroupsOptions().timeoutMs(requestTimeoutMs)).all()));
+
+        return CompletableFuture.allOf(clusterId, controller, nodes, topicDescriptions, configs, groupListings, groupDescriptions)
+                .thenApply(ignored -> {
+                    Map<ConfigResource, Config> configMap = configs.join();
+                    List<BrokerInfo> brokers = nodes.join().stream()
+                            .map(node -> AdminModelMapper.toBrokerInfo(node, configMap.get(new ConfigResource(ConfigResource.Type.BROKER, node.idString()))))
+                            .sorted(Comparator.comparingInt(BrokerInfo::getId))
+                            .toList();
+                    Node controllerNode = controller.join();
+                    BrokerInfo controllerInfo = controllerNode == null ? null : brokers.stream()
+                            .filter(broker -> broker.getId() == controllerNode.id())
+                            .findFirst()
+                            .orElseGet(() -> AdminModelMapper.toBrokerInfo(controllerNode, null));
+                    List<TopicInfo> topics = topicDescriptions.join().values().stream()
+                            .map(description -> AdminModelMapper.toTopicInfo(description, configMap.get(new ConfigResource(ConfigResource.Type.TOPIC, description.name())), false))
+                            .sorted(Comparator.comparing(TopicInfo::getTopicName))
+                            .toList();
+                    Map<String, ConsumerGroupDescription> groupDescriptionMap = groupDescriptions.join();
+                    List<ConsumerGroupInfo> consumerGroups = groupListings.join().stream()
+                            .map(listing -> AdminModelMapper.toConsumerGroupInfo(listing, groupDescriptionMap.get(listing.groupId()), false))
+                            .sorted(Comparator.comparing(ConsumerGroupInfo::getId))
+                            .toList();
+                    ClusterInfo clusterInfo = ClusterInfo.builder()
+                            .clusterId(clusterId.join())
+                            .controller(controllerInfo)
+                            .brokers(brokers)
+                            .topics(topics)
+                            .consumerGroups(consumerGroups)
+                            .build();
+                    publishSnapshot(clusterInfo, topicDescriptions.join());
+                    return clusterInfo;
+                });
+    }
+
+    /**
+     * Publishes the new snapshot to listeners off the admin client's network thread.
+     */
+    private void publishSnapshot(ClusterInfo clusterInfo, Map<String, TopicDescription> topicDescriptions) {
+        ClusterSnapshotEvent event = new ClusterSnapshotEvent(this, snapshotSequence.incrementAndGet(), clusterInfo, topicDescriptions);
+        CompletableFuture.runAsync(() -> eventPublisher.publishEvent(event))
+                .exceptionally(ex -> {
+                    log.error("Cluster snapshot listener failed. Reason: {}", ex.getMessage(), ex);
+                    return null;
+                });
+    }
+
+    /**
+     * Builds the config resources for every broker and topic so they can be described in one request.
+     */
+    private List<ConfigResource> configResources(Collection<Node> nodes, Set<String> topicNames) {
+        List<ConfigResource> resources = new ArrayList<>(nodes.size() + topicNames.size());
+        nodes.forEach(node -> resources.add(new ConfigResource(ConfigResource.Type.BROKER, node.idString())));
+        topicNames.forEach(topic -> resources.add(new ConfigResource(ConfigResource.Type.TOPIC, topic)));
+        return resources;
+    }
+
+    /**
+     * Waits for a snapshot future, at most until the caller's request deadline, and translates failures into
+     * application exceptions. The shared future is never cancelled, since other callers may still be waiting on it.
+     */
+    private ClusterInfo await(CompletableFuture<ClusterInfo> future) {
+        try {
+            return future.get(Math.min(requestTimeoutMs, RequestDeadline.remainingMs()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Cluster snapshot retrieval was interrupted. Reason: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Cluster snapshot retrieval was interrupted. Please try again.");
+        } catch (TimeoutException e) {
+            log.error("Cluster snapshot was not built before the request deadline.");
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            log.error("Failed to build cluster snapshot. Reason: {}", cause.getMessage(), cause);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unable to fetch cluster details at this time. Please try again later.");
+        }
+    }
+
+    private static <T> CompletableFuture<T> toCompletableFuture(KafkaFuture<T> kafkaFuture) {
+        return kafkaFuture.toCompletionStage().toCompletableFuture();
+    }
+
+    /**
+     * Cached snapshot together with the monotonic time it was built at.
+     */
+    private record CachedSnapshot(ClusterInfo clusterInfo, long createdAtNanos) {
+    }
 }
@@ -0,0 +1,526 @@
+package com.kafka.poc.service.impl;
+
+import com.kafka.poc.dto.CompressionAnalysisRequestDTO;
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.model.CompressionAnalysis;
+import com.kafka.poc.model.CompressionResult;
+import com.kafka.poc.service.CompressionAnalysisService;
+import com.kafka.poc.utils.RequestDeadline;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.AlterConfigsOptions;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.DescribeConfigsOptions;
+import org.apache.kafka.clients.admin.DescribeTopicsOptions;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.utils.BufferSupplier;
+import org.apache.kafka.common.utils.CloseableIterator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation measuring how well each Kafka codec compresses a topic's records.
+ * <p>
+ * The latest records of every partition are read with a short-lived byte-array consumer, without joining a
+ * group or committing offsets. The sample is then split into record batches of each requested size and written
+ * with Kafka's own {@link MemoryRecordsBuilder}, so the measured sizes include batch and record headers exactly as
+ * producers send them and brokers store them. Batches are filled up to the batch size measured uncompressed, which
+ * is slightly conservative: producers fill batches by estimated compressed size. Compress and decompress throughput
+ * are measured on one thread over {@code kafka.poc.compression-analysis.measure-ms} per codec and batch size, after
+ * every codec has been warmed up for the same time.
+ * </p>
+ * <p>
+ * The recommendation is made at the analyzed batch size closest to
+ * {@code kafka.poc.compression-analysis.reference-batch-size}, which should match the producers' {@code batch.size}.
+ * Among codecs compressing at least {@code min-compress-mb-per-sec}, the one producing the smallest batches wins,
+ * unless another is within 5% of its size and faster. If no codec saves at least {@code min-saving} of the
+ * uncompressed size, {@code uncompressed} (the topic-level name of {@code none}) is recommended. Applying a codec other than {@code producer} makes brokers
+ * recompress batches produced with a different codec, so producers should be switched to the same codec.
+ * </p>
+ * <p>
+ * An analysis keeps a CPU busy for several seconds, so at most {@code max-concurrent} run at once; further requests
+ * are rejected with 429. The request deadline is checked before every codec is warmed up and before every
+ * measurement, and an analysis that runs out of time ends with 504 instead of finishing its measurements.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CompressionAnalysisServiceImpl implements CompressionAnalysisService {
+
+    /**
+     * Compressed size tolerance within which a faster codec is preferred over the smallest one.
+     */
+    private static final double SIZE_TOLERANCE = 1.05;
+
+    /**
+     * Topic-level {@code compression.type} value for storing batches uncompressed; producers call it {@code none}.
+     */
+    private static final String TOPIC_UNCOMPRESSED = "uncompressed";
+
+    /**
+     * Shared AdminClient for reading and altering topic configs.
+     */
+    @Autowired
+    private AdminClient adminClient;
+
+    /**
+     * Consumer factory the sampling consumer is created from, so it shares the application's connection settings.
+     */
+    @Autowired
+    private ConsumerFactory<?, ?> consumerFactory;
+
+    @Value("${kafka.poc.compression-analysis.default-sample-size:2000}")
+    private int defaultSampleSize;
+
+    @Value("${kafka.poc.compression-analysis.max-sample-size:50000}")
+    private int maxSampleSize;
+
+    @Value("${kafka.poc.compression-analysis.max-sample-bytes:67108864}")
+    private long maxSampleBytes;
+
+    @Value("${kafka.poc.compression-analysis.batch-sizes:16384,65536,262144}")
+    private String defaultBatchSizes;
+
+    @Value("${kafka.poc.compression-analysis.reference-batch-size:16384}")
+    private int referenceBatchSize;
+
+    @Value("${kafka.poc.compression-analysis.measure-ms:200}")
+    private long measureMs;
+
+    @Value("${kafka.poc.compression-analysis.min-compress-mb-per-sec:50}")
+    private double minCompressMbPerSec;
+
+    @Value("${kafka.poc.compression-analysis.min-saving:0.1}")
+    private double minSaving;
+
+    @Value("${kafka.poc.compression-analysis.max-concurrent:1}")
+    private int maxConcurrent;
+
+    /**
+     * Permits for running analyses, sized by {@code max-concurrent}.
+     */
+    private Semaphore permits;
+
+    /**
+     * Keeps decompressed record sizes observable so the JIT cannot skip the decompression being timed.
+     */
+    private volatile long blackhole;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * Samples the latest records of a topic, measures every requested codec at every requested batch size, and
+     * recommends a {@code compression.type}, applying it with incrementalAlterConfigs if requested.
+     *
+     * @param topicName The name of the topic to analyze.
+     * @param request   The sample size, batch sizes, codecs and whether to apply the recommendation; may be null.
+     * @return The measured results and the recommended codec.
+     * @throws CommonCustomException with 400 for an invalid request, 404 if the topic does not exist, 409 if it has
+     *                               no records, 429 if {@code max-concurrent} analyses are already running, or 504 if
+     *                               the cluster does not respond or the analysis does not finish in time.
+     */
+    @Override
+    public CompressionAnalysis analyzeTopic(String topicName, CompressionAnalysisRequestDTO request) {
+        CompressionAnalysisRequestDTO analysisRequest = request == null ? new CompressionAnalysisRequestDTO() : request;
+        int sampleSize = sampleSize(analysisRequest.getSampleSize());
+        List<Integer> batchSizes = batchSizes(analysisRequest.getBatchSizes());
+        List<CompressionType> compressionTypes = compressionTypes(analysisRequest.getCompressionTypes());
+        if (!permits.tryAcquire()) {
+            log.warn("Rejected compression analysis of topic '{}': {} analyses already running.", topicName, maxConcurrent);
+            throw new CommonCustomException(HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "A compression analysis is already running. Please try again later.");
+        }
+        log.info("Analyzing compression of topic '{}': sampleSize={}, batchSizes={}, compressionTypes={}.",
+                topicName, sampleSize, batchSizes, compressionTypes);
+        try {
+            TopicDescription description = RequestDeadline.await(adminClient.describeTopics(Collections.singleton(topicName),
+                    new DescribeTopicsOptions().timeoutMs(RequestDeadline.timeoutMs())).topicNameValues().get(topicName));
+            ConfigResource configResource = new ConfigResource(ConfigResource.Type.TOPIC, topicName);
+            Config config = RequestDeadline.await(adminClient.describeConfigs(Collections.singleton(configResource),
+                    new DescribeConfigsOptions().timeoutMs(RequestDeadline.timeoutMs())).all()).get(configResource);
+            ConfigEntry currentEntry = config.get(TopicConfig.COMPRESSION_TYPE_CONFIG);
+            String currentCompressionType = currentEntry == null ? null : currentEntry.value();
+
+            List<SampledRecord> records = sample(topicName, description.partitions().size(), sampleSize);
+            long sampledBytes = records.stream().mapToLong(SampledRecord::size).sum();
+
+            warmUp(topicName, compressionTypes, split(records, batchSizes.getFirst()));
+            List<CompressionResult> results = new ArrayList<>();
+            for (int batchSize : batchSizes) {
+                List<List<SampledRecord>> batches = split(records, batchSize);
+                long uncompressedBytes = totalSize(compressAll(Compression.NONE, batches));
+                for (CompressionType compressionType : compressionTypes) {
+                    checkDeadline(topicName);
+                    results.add(measure(compressionType, batchSize, batches, uncompressedBytes));
+                }
+            }
+
+            int reference = batchSizes.stream()
+                    .min(Comparator.comparingInt(batchSize -> Math.abs(batchSize - referenceBatchSize)))
+                    .orElse(referenceBatchSize);
+            CompressionAnalysis analysis = CompressionAnalysis.builder()
+                    .topicName(topicName)
+                    .sampledRecords(records.size())
+                    .sampledBytes(sampledBytes)
+                    .currentCompressionType(currentCompressionType)
+                    .referenceBatchSize(reference)
+                    .results(results)
+                    .build();
+            recommend(analysis);
+
+            if (analysisRequest.isApply()) {
+                apply(analysis, configResource);
+            }
+            log.info("Compression analysis of topic '{}' recommends '{}' (applied: {}).", topicName,
+                    analysis.getRecommendedCompressionType(), analysis.isApplied());
+            return analysis;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UnknownTopicOrPartitionException) {
+                log.warn("Topic '{}' does not exist. Exception: {}", topicName, e.getMessage());
+                throw new CommonCustomException(HttpStatus.NOT_FOUND.value(), String.format("Topic '%s' does not exist.", topicName));
+            }
+            log.error("Error while analyzing compression of topic '{}': {}", topicName, e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Error occurred while analyzing topic compression.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Compression analysis of topic '{}' was interrupted. Error: {}", topicName, e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Compression analysis was interrupted.");
+        } catch (CommonCustomException e) {
+            throw e;
+        } catch (TimeoutException | org.apache.kafka.common.errors.TimeoutException e) {
+            log.error("Request deadline exceeded during compression analysis of topic '{}': {}", topicName, e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
+        } catch (Exception e) {
+            log.error("Unexpected error while analyzing compression of topic '{}': {}", topicName, e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while analyzing topic compression.");
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Ends the analysis with 504 once the request deadline has passed.
+     */
+    private static void checkDeadline(String topicName) {
+        if (RequestDeadline.remainingMs() <= 0) {
+            log.warn("Compression analysis of topic '{}' ran out of time.", topicName);
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(),
+                    "Compression analysis did not finish in time. Please analyze fewer codecs or batch sizes.");
+        }
+    }
+
+    /**
+     * Reads up to {@code sampleSize} of the latest records, taking an equal share from the end of every partition.
+     * Stops early at {@code max-sample-bytes} or when the request deadline passes, keeping what was read so far.
+     */
+    private List<SampledRecord> sample(String topicName, int partitionCount, int sampleSize) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(sampleSize, 1000));
+        overrides.put(ConsumerConfig.INTERCEPTOR_CLASSES_CONFIG, Collections.emptyList());
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer(null, "compression-analysis", null, overrides)) {
+            List<TopicPartition> partitions = new ArrayList<>(partitionCount);
+            for (int partition = 0; partition < partitionCount; partition++) {
+                partitions.add(new TopicPartition(topicName, partition));
+            }
+            Duration timeout = Duration.ofMillis(RequestDeadline.timeoutMs());
+            Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions, timeout);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, timeout);
+            long perPartition = Math.max(1, (sampleSize + partitionCount - 1) / partitionCount);
+            List<TopicPartition> pending = partitions.stream()
+                    .filter(tp -> endOffsets.get(tp) > beginningOffsets.get(tp))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (pending.isEmpty()) {
+                throw new CommonCustomException(HttpStatus.CONFLICT.value(), String.format("Topic '%s' has no records to sample.", topicName));
+            }
+            consumer.assign(pending);
+            for (TopicPartition tp : pending) {
+                consumer.seek(tp, Math.max(beginningOffsets.get(tp), endOffsets.get(tp) - perPartition));
+            }
+
+            List<SampledRecord> records = new ArrayList<>(sampleSize);
+            long bytes = 0;
+            while (!pending.isEmpty() && records.size() < sampleSize && bytes < maxSampleBytes) {
+                long remainingMs = RequestDeadline.remainingMs();
+                if (remainingMs <= 0) {
+                    break;
+                }
+                for (ConsumerRecord<?, ?> consumerRecord : consumer.poll(Duration.ofMillis(Math.min(500, remainingMs)))) {
+                    if (records.size() < sampleSize) {
+                        SampledRecord sampledRecord = SampledRecord.of(consumerRecord);
+                        records.add(sampledRecord);
+                        bytes += sampledRecord.size();
+                    }
+                }
+                pending.removeIf(tp -> consumer.position(tp, timeout) >= endOffsets.get(tp));
+                consumer.pause(partitions.stream().filter(tp -> !pending.contains(tp) && consumer.assignment().contains(tp)).toList());
+            }
+            if (records.isEmpty()) {
+                throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(),
+                        String.format("No records of topic '%s' could be read in time.", topicName));
+            }
+            log.info("Sampled {} records ({} bytes) from topic '{}'.", records.size(), bytes, topicName);
+            return records;
+        }
+    }
+
+    /**
+     * Splits records into consecutive batches whose uncompressed record size stays within {@code batchSize}.
+     * A record larger than the batch size gets a batch of its own, as with the producer.
+     */
+    private List<List<SampledRecord>> split(List<SampledRecord> records, int batchSize) {
+        List<List<SampledRecord>> batches = new ArrayList<>();
+        List<SampledRecord> batch = new ArrayList<>();
+        long batchBytes = 0;
+        for (SampledRecord sampledRecord : records) {
+            if (!batch.isEmpty() && batchBytes + sampledRecord.size() > batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(sampledRecord);
+            batchBytes += sampledRecord.size();
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Runs every codec for {@code measure-ms} before anything is timed, so the first measured batch size does not
+     * pay for class loading and JIT compilation.
+     */
+    private void warmUp(String topicName, List<CompressionType> compressionTypes, List<List<SampledRecord>> batches) {
+        for (CompressionType compressionType : compressionTypes) {
+            checkDeadline(topicName);
+            Compression compression = Compression.of(compressionType).build();
+            List<MemoryRecords> compressed = compressAll(compression, batches);
+            throughput(0, () -> decompressAll(compressAll(compression, batches)));
+            decompressAll(compressed);
+        }
+    }
+
+    private CompressionResult measure(CompressionType compressionType, int batchSize, List<List<SampledRecord>> batches,
+                                      long uncompressedBytes) {
+        Compression compression = Compression.of(compressionType).build();
+        List<MemoryRecords> compressed = compressAll(compression, batches);
+        long compressedBytes = totalSize(compressed);
+        decompressAll(compressed);
+        double compressMbPerSec = throughput(uncompressedBytes, () -> compressAll(compression, batches));
+        double decompressMbPerSec = throughput(uncompressedBytes, () -> decompressAll(compressed));
+        return CompressionResult.builder()
+                .compressionType(compressionType.name)
+                .batchSize(batchSize)
+                .batches(batches.size())
+                .uncompressedBytes(uncompressedBytes)
+                .compressedBytes(compressedBytes)
+                .ratio(round((double) uncompressedBytes / compressedBytes))
+                .compressMbPerSec(round(compressMbPerSec))
+                .decompressMbPerSec(round(decompressMbPerSec))
+                .build();
+    }
+
+    private List<MemoryRecords> compressAll(Compression compression, List<List<SampledRecord>> batches) {
+        List<MemoryRecords> built = new ArrayList<>(batches.size());
+        for (List<SampledRecord> batch : batches) {
+            int estimate = batch.stream().mapToInt(SampledRecord::size).sum() + 64 + 32 * batch.size();
+            MemoryRecordsBuilder builder = MemoryRecords.builder(ByteBuffer.allocate(estimate), RecordBatch.CURRENT_MAGIC_VALUE,
+                    compression, TimestampType.CREATE_TIME, 0L);
+            for (SampledRecord sampledRecord : batch) {
+                builder.append(sampledRecord.timestamp(), sampledRecord.key(), sampledRecord.value(), sampledRecord.headers());
+            }
+            built.add(builder.build());
+        }
+        return built;
+    }
+
+    private void decompressAll(List<MemoryRecords> built) {
+        long size = 0;
+        try (BufferSupplier bufferSupplier = BufferSupplier.create()) {
+            for (MemoryRecords memoryRecords : built) {
+                for (RecordBatch batch : memoryRecords.batches()) {
+                    try (CloseableIterator<Record> iterator = batch.streamingIterator(bufferSupplier)) {
+                        while (iterator.hasNext()) {
+                            size += iterator.next().sizeInBytes();
+                        }
+                    }
+                }
+            }
+        }
+        blackhole = size;
+    }
+
+    /**
+     * Repeats a round until {@code measure-ms} has elapsed and returns the uncompressed megabytes processed per second.
+     */
+    private double throughput(long bytesPerRound, Runnable round) {
+        long measureNanos = TimeUnit.MILLISECONDS.toNanos(measureMs);
+        long start = System.nanoTime();
+        long rounds = 0;
+        long elapsed;
+        do {
+            round.run();
+            rounds++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < measureNanos);
+        return bytesPerRound * rounds / 1_000_000.0 / (elapsed / 1_000_000_000.0);
+    }
+
+    private void recommend(CompressionAnalysis analysis) {
+        List<CompressionResult> atReference = analysis.getResults().stream()
+                .filter(result -> result.getBatchSize() == analysis.getReferenceBatchSize())
+                .toList();
+        List<CompressionResult> eligible = atReference.stream()
+                .filter(result -> !CompressionType.NONE.name.equals(result.getCompressionType()))
+                .filter(result -> result.getCompressMbPerSec() >= minCompressMbPerSec)
+                .toList();
+        Optional<CompressionResult> smallest = eligible.stream().min(Comparator.comparingLong(CompressionResult::getCompressedBytes));
+        if (smallest.isEmpty()) {
+            analysis.setRecommendedCompressionType(TOPIC_UNCOMPRESSED);
+            analysis.setRecommendationReason(String.format("No codec compressed at least %.0f MB/s at batch size %d.",
+                    minCompressMbPerSec, analysis.getReferenceBatchSize()));
+            return;
+        }
+        CompressionResult best = smallest.get();
+        double saving = 1 - (double) best.getCompressedBytes() / best.getUncompressedBytes();
+        if (saving < minSaving) {
+            analysis.setRecommendedCompressionType(TOPIC_UNCOMPRESSED);
+            analysis.setRecommendationReason(String.format("The best codec, %s, only saves %.1f%% at batch size %d.",
+                    best.getCompressionType(), saving * 100, analysis.getReferenceBatchSize()));
+            return;
+        }
+        CompressionResult chosen = eligible.stream()
+                .filter(result -> result.getCompressedBytes() <= best.getCompressedBytes() * SIZE_TOLERANCE)
+                .max(Comparator.comparingDouble(CompressionResult::getCompressMbPerSec))
+                .orElse(best);
+        double chosenSaving = 1 - (double) chosen.getCompressedBytes() / chosen.getUncompressedBytes();
+        String reason = String.format("%s saves %.1f%% at batch size %d (ratio %.2f, compress %.0f MB/s, decompress %.0f MB/s).",
+                chosen.getCompressionType(), chosenSaving * 100, analysis.getReferenceBatchSize(), chosen.getRatio(),
+                chosen.getCompressMbPerSec(), chosen.getDecompressMbPerSec());
+        if (chosen != best) {
+            reason += String.format(" Preferred over %s, whose batches are at most %.0f%% smaller, because it is faster.",
+                    best.getCompressionType(), (SIZE_TOLERANCE - 1) * 100);
+        }
+        analysis.setRecommendedCompressionType(chosen.getCompressionType());
+        analysis.setRecommendationReason(reason);
+    }
+
+    private void apply(CompressionAnalysis analysis, ConfigResource configResource)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        String recommended = analysis.getRecommendedCompressionType();
+        if (recommended.equals(analysis.getCurrentCompressionType())) {
+            analysis.setRecommendationReason(analysis.getRecommendationReason() + " The topic already uses it.");
+            return;
+        }
+        AlterConfigOp op = new AlterConfigOp(new ConfigEntry(TopicConfig.COMPRESSION_TYPE_CONFIG, recommended), AlterConfigOp.OpType.SET);
+        RequestDeadline.await(adminClient.incrementalAlterConfigs(Map.of(configResource, List.of(op)),
+                new AlterConfigsOptions().timeoutMs(RequestDeadline.timeoutMs())).all());
+        analysis.setApplied(true);
+        log.info("Set compression.type of topic '{}' from '{}' to '{}'.", analysis.getTopicName(),
+                analysis.getCurrentCompressionType(), recommended);
+    }
+
+    private int sampleSize(Integer requested) {
+        if (requested == null) {
+            return defaultSampleSize;
+        }
+        if (requested < 1 || requested > maxSampleSize) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(),
+                    String.format("Sample size must be between 1 and %d.", maxSampleSize));
+        }
+        return requested;
+    }
+
+    private List<Integer> batchSizes(List<Integer> requested) {
+        List<Integer> batchSizes = requested == null || requested.isEmpty()
+                ? Arrays.stream(defaultBatchSizes.split(",")).map(String::trim).map(Integer::valueOf).toList()
+                : requested;
+        if (batchSizes.stream().anyMatch(batchSize -> batchSize == null || batchSize < 1)) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(), "Batch sizes must be positive.");
+        }
+        return batchSizes.stream().distinct().sorted().toList();
+    }
+
+    private List<CompressionType> compressionTypes(List<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return List.of(CompressionType.values());
+        }
+        Map<String, CompressionType> byName = Arrays.stream(CompressionType.values())
+                .collect(Collectors.toMap(compressionType -> compressionType.name, Function.identity()));
+        List<CompressionType> compressionTypes = new ArrayList<>();
+        for (String name : requested) {
+            CompressionType compressionType = byName.get(name == null ? null : name.trim().toLowerCase(Locale.ROOT));
+            if (compressionType == null) {
+                throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(),
+                        String.format("Unknown compression type '%s'. Allowed: %s.", name, byName.keySet()));
+            }
+            if (!compressionTypes.contains(compressionType)) {
+                compressionTypes.add(compressionType);
+            }
+        }
+        return compressionTypes;
+    }
+
+    private static long totalSize(List<MemoryRecords> built) {
+        return built.stream().mapToLong(MemoryRecords::sizeInBytes).sum();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * A sampled record, kept as raw bytes.
+     */
+    private record SampledRecord(long timestamp, byte[] key, byte[] value, Header[] headers, int size) {
+
+        static SampledRecord of(ConsumerRecord<?, ?> consumerRecord) {
+            byte[] key = (byte[]) consumerRecord.key();
+            byte[] value = (byte[]) consumerRecord.value();
+            Header[] headers = consumerRecord.headers().toArray();
+            int size = (key == null ? 0 : key.length) + (value == null ? 0 : value.length);
+            for (Header header : headers) {
+                size += header.key().length() + (header.value() == null ? 0 : header.value().length);
+            }
+            return new SampledRecord(consumerRecord.timestamp(), key, value, headers, size);
+        }
+    }
+}
@@ -1,35 +1,42 @@
 package com.kafka.poc.service.impl;
 
+import com.kafka.poc.dto.ConsumerGroupQueryDTO;
 import com.kafka.poc.exception.CommonCustomException;
 import com.kafka.poc.model.ConsumerGroupInfo;
 import com.kafka.poc.model.Coordinator;
 import com.kafka.poc.model.MemberInfo;
 import com.kafka.poc.model.OffsetInfo;
-import com.kafka.poc.props.KafkaConsumerProps;
+import com.kafka.poc.model.PageResult;
 import com.kafka.poc.service.ConsumerGroupService;
+import com.kafka.poc.utils.AdminModelMapper;
+import com.kafka.poc.utils.Pagination;
+import com.kafka.poc.utils.RequestDeadline;
 import com.kafka.poc.utils.Utility;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.*;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
-import org.apache.kafka.common.Node;
+import org.apache.kafka.common.ConsumerGroupState;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.GroupIdNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing Kafka consumer groups.
  * <p>
  * This service provides methods to fetch information about consumer groups,
  * including their coordinators, members, and offsets. It interacts with the Kafka
- * cluster using the AdminClient and KafkaConsumer APIs.
+ * cluster using the AdminClient API; committed offsets, log start offsets and log end offsets
+ * are each resolved with a single batched request on the shared AdminClient.
  * </p>
  */
 @Slf4j
@@ -37,13 +44,51 @@ import java.util.concurrent.TimeUnit;
 public class ConsumerGroupServiceImpl implements ConsumerGroupService {
 
     /**
-     * Injected KafkaAdmin to interact with Kafka cluster.
+     * Shared AdminClient used for all consumer group requests.
      */
     @Autowired
-    private KafkaAdmin kafkaAdmin;
+    private AdminClient adminClient;
 
-    @Autowired
-    private KafkaConsumerProps kafkaConsumerProps;
+    /**
+     * Number of consumer groups described per request when listing all groups.
+     */
+    @Value("${kafka.poc.consumer-groups.describe-batch-size:50}")
+    private int describeBatchSize;
+
+    /**
+     * Page size used when a paginated request does not specify one.
+     */
+    @Value("${kafka.poc.pagination.default-limit:50}")
+    private int defaultLimit;
+
+    /**
+     * Largest page size a paginated request may ask for.
+     */
+    @Value("${kafka.poc.pagination.max-limit:500}")
+    private int maxLimit;
+
+    /**
+     * Most groups a filtered page request examines before returning what it found so far.
+     */
+    @Value("${kafka.poc.pagination.max-scan:2000}")
+    private int maxScan;
+
+    /**
+     * ConsumerGroupInfo fields that require describing the group.
+     */
+    private static final Set<String> DESCRIBE_FIELDS = Set.of("partitionAssignor", "coordinator", "members", "topics", "authorizedOperations");
+
+    /**
+     * ConsumerGroupInfo fields that require the committed and end offsets of the group.
+     */
+    private static final Set<String> OFFSET_FIELDS = Set.of("offsets", "activeTopics", "totalLag");
+
+    /**
+     * Every ConsumerGroupInfo field that can be projected.
+     */
+    private static final Set<String> GROUP_FIELDS = Stream.of(Set.of("id", "state", "type", "simpleConsumerGroup"), DESCRIBE_FIELDS, OFFSET_FIELDS)
+            .flatMap(Set::stream)
+            .collect(Collectors.toUnmodifiableSet());
 
     /**
      * Fetches all consumer groups in the Kafka cluster.
@@ -54,41 +99,37 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
     @Override
     public List<ConsumerGroupInfo> getAllConsumerGroups() {
         List<ConsumerGroupInfo> consumerGroupInfos = new ArrayList<>();
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+        forEachConsumerGroup(consumerGroupInfos::add);
+        log.atDebug().setMessage("Consumer groups: {}").addArgument(Utility.lazyJson(consumerGroupInfos)).log();
+        return consumerGroupInfos;
+    }
+
+    /**
+     * Fetches all consumer groups in the Kafka cluster and hands each one to the given action as soon as it is
+     * described, without collecting them.
+     *
+     * @param action receives every consumer group in listing order
+     * @return the number of consumer groups passed to the action
+     * @throws CommonCustomException if there is an error while fetching consumer groups
+     */
+    @Override
+    public int forEachConsumerGroup(Consumer<? super ConsumerGroupInfo> action) {
+        int count = 0;
+        try {
             log.info("Initiating retrieval of all consumer groups from Kafka cluster...");
-            ListConsumerGroupsResult listConsumerGroupsResult = adminClient.listConsumerGroups();
-            Collection<ConsumerGroupListing> consumerGroupListings = listConsumerGroupsResult.all().get(30, TimeUnit.SECONDS);
+            List<ConsumerGroupListing> consumerGroupListings = listConsumerGroups(new ListConsumerGroupsOptions());
             if (consumerGroupListings.isEmpty()) {
                 log.warn("No consumer groups found. Your Kafka cluster is ready for new consumers!");
-                return consumerGroupInfos;
+                return count;
             }
-            consumerGroupListings.forEach(consumerGroupListing -> {
-                DescribeConsumerGroupsResult describeConsumerGroupsResult = adminClient.describeConsumerGroups(Collections.singleton(consumerGroupListing.groupId()));
-                try {
-                    ConsumerGroupDescription consumerGroupDescription = describeConsumerGroupsResult.describedGroups().get(consumerGroupListing.groupId()).get();
-                    Coordinator coordinator = getCoordinator(consumerGroupListing.groupId());
-                    List<MemberInfo> members = getMembers(consumerGroupListing.groupId());
-                    List<OffsetInfo> offsets = getOffsets(consumerGroupListing.groupId());
-                    ConsumerGroupInfo consumerGroupInfo = ConsumerGroupInfo.builder()
-                            .id(consumerGroupListing.groupId())
-                            .state(consumerGroupListing.state().isPresent() ? consumerGroupListing.state().get().toString() : "UNKNOWN")
-                            .isSimpleConsumerGroup(consumerGroupListing.isSimpleConsumerGroup())
-                            .type(consumerGroupListing.type().isPresent() ? consumerGroupListing.type().get().toString() : "UNKNOWN")
-                            .partitionAssignor(consumerGroupDescription.partitionAssignor())
-                            .coordinator(coordinator)
-                            .members(members)
-                            .offsets(offsets)
-                            .topics(consumerGroupDescription.members().stream().flatMap(member ->
-                                    member.assignment().topicPartitions().stream().map(TopicPartition::topic)).distinct().toList())
-                            .activeTopics(offsets.stream().map(OffsetInfo::getTopic).distinct().toList())
-                            .authorizedOperations(consumerGroupDescription.authorizedOperations())
-                            .build();
-                    consumerGroupInfos.add(consumerGroupInfo);
-                } catch (InterruptedException | ExecutionException e) {
-                    log.error("Error while processing consumer group '{}': {}", consumerGroupListing.groupId(), e.getMessage(), e);
-                    throw new RuntimeException(e);
+            int batchSize = Math.max(1, describeBatchSize);
+            for (int from = 0; from < consumerGroupListings.size(); from += batchSize) {
+                List<ConsumerGroupListing> batch = consumerGroupListings.subList(from, Math.min(from + batchSize, consumerGroupListings.size()));
+                for (GroupView view : assemble(batch, GROUP_FIELDS, false, false)) {
+                    action.accept(view.info());
+                    count++;
                 }
-            });
+            }
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
             log.error("Failed to fetch consumer groups from Kafka cluster. Reason: {}", cause.getMessage(), cause);
@@ -97,12 +138,90 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
             Thread.currentThread().interrupt();
             log.error("Consumer group retrieval interrupted. Reason: {}", e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Consumer group retrieval was interrupted. Please try again.");
+        } catch (CommonCustomException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during consumer group retrieval: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error during consumer group retrieval: {}", e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching consumer groups. Please contact support.");
         }
-        log.info("Successfully fetched {} consumer groups from Kafka cluster. {}", consumerGroupInfos.size(), Utility.objectToJsonString(consumerGroupInfos));
-        return consumerGroupInfos;
+        log.info("Successfully fetched {} consumer groups from Kafka cluster.", count);
+        return count;
+    }
+
+    /**
+     * Fetches one page of consumer groups matching the query.
+     * <p>
+     * Groups are ordered by ID. The state filter is applied by the broker; the topic prefix and lag filters are
+     * applied after describing the groups, which is done one page-sized batch at a time until the page is full or
+     * {@code max-scan} groups have been examined. In the latter case the page may hold fewer groups than the limit,
+     * or none, and its cursor continues after the last examined group. Descriptions are only requested when a description field or the topic filter needs them, and committed and
+     * end offsets only when an offset field, the topic filter or the lag filter needs them.
+     * </p>
+     *
+     * @param query the projection, filters and page position
+     * @return the matching groups and the cursor of the next page
+     * @throws CommonCustomException with 400 for an invalid query, or if there is an error while fetching consumer groups
+     */
+    @Override
+    public PageResult<ConsumerGroupInfo> getConsumerGroupPage(ConsumerGroupQueryDTO query) {
+        Set<String> fields = Pagination.fields(query.getFields(), GROUP_FIELDS);
+        int limit = Pagination.limit(query.getLimit(), defaultLimit, maxLimit);
+        String after = Pagination.decodeCursor(query.getCursor());
+        String topicPrefix = query.getTopicPrefix() == null || query.getTopicPrefix().isBlank() ? null : query.getTopicPrefix();
+        Long minLag = query.getMinLag();
+        try {
+            log.info("Fetching consumer group page: fields={}, states={}, topicPrefix={}, minLag={}, limit={}.",
+                    fields, query.getStates(), topicPrefix, minLag, limit);
+            ListConsumerGroupsOptions options = new ListConsumerGroupsOptions();
+            if (query.getStates() != null && !query.getStates().isEmpty()) {
+                options.inStates(parseStates(query.getStates()));
+            }
+            List<ConsumerGroupListing> candidates = listConsumerGroups(options).stream()
+                    .filter(listing -> after == null || listing.groupId().compareTo(after) > 0)
+                    .toList();
+            List<ConsumerGroupInfo> items = new ArrayList<>(Math.min(limit, candidates.size()));
+            int scanLimit = Math.min(Math.max(maxScan, limit), candidates.size());
+            int lastExamined = -1;
+            for (int from = 0; from < scanLimit && items.size() < limit; from += limit) {
+                List<ConsumerGroupListing> batch = candidates.subList(from, Math.min(from + limit, scanLimit));
+                List<GroupView> views = assemble(batch, fields, topicPrefix != null, minLag != null);
+                for (int i = 0; i < views.size() && items.size() < limit; i++) {
+                    GroupView view = views.get(i);
+                    lastExamined = from + i;
+                    if (topicPrefix != null && view.topics().stream().noneMatch(topic -> topic.startsWith(topicPrefix))) {
+                        continue;
+                    }
+                    if (minLag != null && view.totalLag() < minLag) {
+                        continue;
+                    }
+                    items.add(view.info());
+                }
+            }
+            String nextCursor = lastExamined >= 0 && lastExamined < candidates.size() - 1
+                    ? Pagination.encodeCursor(candidates.get(lastExamined).groupId())
+                    : null;
+            log.info("Fetched consumer group page of {} groups after examining {} of {} candidates.", items.size(), lastExamined + 1, candidates.size());
+            return PageResult.<ConsumerGroupInfo>builder().items(items).nextCursor(nextCursor).build();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            log.error("Failed to fetch consumer group page from Kafka cluster. Reason: {}", cause.getMessage(), cause);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unable to fetch consumer groups at this time. Please try again later.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Consumer group page retrieval interrupted. Reason: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Consumer group retrieval was interrupted. Please try again.");
+        } catch (CommonCustomException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during consumer group page retrieval: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
+        } catch (Exception e) {
+            log.error("Unexpected error during consumer group page retrieval: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching consumer groups. Please contact support.");
+        }
     }
 
     /**
@@ -114,19 +233,17 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
      */
     @Override
     public Coordinator getCoordinator(String groupId) {
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+        try {
             log.info("Fetching coordinator for consumer group '{}'.", groupId);
-            DescribeConsumerGroupsResult describeConsumerGroupsResult = adminClient.describeConsumerGroups(Collections.singleton(groupId));
-            ConsumerGroupDescription consumerGroupDescription = describeConsumerGroupsResult.describedGroups().get(groupId).get();
-            Node node = consumerGroupDescription.coordinator();
-            Coordinator coordinator = Coordinator.builder()
-                    .id(node.id())
-                    .idString(node.idString())
-                    .host(node.host())
-                    .port(node.port())
-                    .rack(node.rack())
-                    .build();
-            log.info("Coordinator for group '{}' fetched successfully: {}", groupId, Utility.objectToJsonString(coordinator));
+            DescribeConsumerGroupsResult describeConsumerGroupsResult = adminClient.describeConsumerGroups(Collections.singleton(groupId),
+                    new DescribeConsumerGroupsOptions().timeoutMs(RequestDeadline.timeoutMs()));
+            ConsumerGroupDescription consumerGroupDescription = RequestDeadline.await(describeConsumerGroupsResult.describedGroups().get(groupId));
+            Coordinator coordinator = AdminModelMapper.toCoordinator(consumerGroupDescription.coordinator());
+            if (coordinator == null) {
+                log.warn("No coordinator found for consumer group '{}'.", groupId);
+                return null;
+            }
+            log.info("Coordinator for group '{}' fetched successfully: broker {}", groupId, coordinator.getId());
             return coordinator;
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
@@ -141,6 +258,9 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
             Thread.currentThread().interrupt();
             log.error("⏸Coordinator fetch for group '{}' was interrupted. Reason: {}", groupId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Coordinator fetch was interrupted. Please try again.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during coordinator fetch for group: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error while fetching coordinator for group '{}': {}", groupId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching coordinator. Please contact support.");
@@ -156,30 +276,18 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
      */
     @Override
     public List<MemberInfo> getMembers(String groupId) {
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+        try {
             log.info("Fetching member information for consumer group '{}'.", groupId);
-            List<MemberInfo> memberInfos = new ArrayList<>();
-            DescribeConsumerGroupsResult describeConsumerGroupsResult = adminClient.describeConsumerGroups(Collections.singleton(groupId));
-            ConsumerGroupDescription consumerGroupDescription = describeConsumerGroupsResult.describedGroups().get(groupId).get();
+            DescribeConsumerGroupsResult describeConsumerGroupsResult = adminClient.describeConsumerGroups(Collections.singleton(groupId),
+                    new DescribeConsumerGroupsOptions().timeoutMs(RequestDeadline.timeoutMs()));
+            ConsumerGroupDescription consumerGroupDescription = RequestDeadline.await(describeConsumerGroupsResult.describedGroups().get(groupId));
             if (consumerGroupDescription.members().isEmpty()) {
                 log.warn("No members found in consumer group '{}'.", groupId);
                 throw new CommonCustomException(HttpStatus.NOT_FOUND.value(), "No members found in consumer group '" + groupId + "'.");
             }
-            consumerGroupDescription.members().forEach(memberDescription -> {
-                MemberInfo memberInfo = MemberInfo.builder()
-                        .id(memberDescription.consumerId())
-                        .clientId(memberDescription.clientId())
-                        .host(memberDescription.host())
-                        .assignment(memberDescription.assignment().topicPartitions().stream().map(topicPartition -> {
-                            Map<String, Object> map = new HashMap<>();
-                            map.put("topic", topicPartition.topic());
-                            map.put("partition", String.valueOf(topicPartition.partition()));
-                            return map;
-                        }).toList())
-                        .build();
-                memberInfos.add(memberInfo);
-            });
-            log.info("Member information for group '{}' fetched successfully: {}", groupId, Utility.objectToJsonString(memberInfos));
+            List<MemberInfo> memberInfos = consumerGroupDescription.members().stream().map(AdminModelMapper::toMemberInfo).toList();
+            log.info("Member information for group '{}' fetched successfully: {} members", groupId, memberInfos.size());
+            log.atDebug().setMessage("Members of group '{}': {}").addArgument(groupId).addArgument(Utility.lazyJson(memberInfos)).log();
             return memberInfos;
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
@@ -194,6 +302,9 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
             Thread.currentThread().interrupt();
             log.error("Member info fetch for group '{}' was interrupted. Reason: {}", groupId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Member info fetch was interrupted. Please try again.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during member info fetch for group: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error while fetching member info for group '{}': {}", groupId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching member info. Please contact support.");
@@ -209,33 +320,60 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
      */
     @Override
     public List<OffsetInfo> getOffsets(String groupId) {
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+        List<OffsetInfo> offsetInfos = new ArrayList<>();
+        forEachOffset(groupId, offsetInfos::add);
+        log.atDebug().setMessage("Offsets of group '{}': {}").addArgument(groupId).addArgument(Utility.lazyJson(offsetInfos)).log();
+        return offsetInfos;
+    }
+
+    /**
+     * Fetches the offsets for a given consumer group and hands each partition's offset to the given action.
+     * <p>
+     * The start and end offsets of all partitions are requested at once, and each partition is handed to the action
+     * as soon as its own results arrive, in topic and partition order, without collecting the others first.
+     * </p>
+     *
+     * @param groupId the ID of the consumer group
+     * @param action  receives the offset of every partition with a committed offset
+     * @return the number of offsets passed to the action
+     * @throws CommonCustomException if the consumer group is not found or has no committed offsets, or if there is
+     *                               an error while fetching offsets
+     */
+    @Override
+    public int forEachOffset(String groupId, Consumer<? super OffsetInfo> action) {
+        try {
             log.info("Fetching offsets for consumer group '{}'.", groupId);
-            List<OffsetInfo> offsetInfos = new ArrayList<>();
-            ListConsumerGroupOffsetsResult listConsumerGroupOffsetsResult = adminClient.listConsumerGroupOffsets(groupId);
-            Map<TopicPartition, OffsetAndMetadata> offsets = listConsumerGroupOffsetsResult.partitionsToOffsetAndMetadata().get();
-            if (offsets.isEmpty()) {
+            Map<TopicPartition, OffsetAndMetadata> committed = RequestDeadline.await(adminClient.listConsumerGroupOffsets(groupId,
+                    new ListConsumerGroupOffsetsOptions().timeoutMs(RequestDeadline.timeoutMs())).partitionsToOffsetAndMetadata());
+            List<TopicPartition> partitions = committed.entrySet().stream()
+                    .filter(entry -> entry.getValue() != null)
+                    .map(Map.Entry::getKey)
+                    .sorted(Comparator.comparing(TopicPartition::topic).thenComparingInt(TopicPartition::partition))
+                    .toList();
+            if (partitions.isEmpty()) {
                 log.warn("No offsets found in consumer group '{}'.", groupId);
                 throw new CommonCustomException(HttpStatus.NOT_FOUND.value(), "No offsets found in consumer group '" + groupId + "'.");
             }
-            try (KafkaConsumer<String, String> consumer = new KafkaConsumer<String, String>(kafkaConsumerProps.getProps())) {
-                offsets.forEach((topicPartition, offsetAndMetadata) -> {
-                    OffsetInfo offsetInfo = OffsetInfo.builder()
-                            .topic(topicPartition.topic())
-                            .partition(topicPartition.partition())
-                            .offset(offsetAndMetadata.offset())
-                            .firstOffset(consumer.beginningOffsets(Collections.singletonList(topicPartition)).get(topicPartition))
-                            .lastOffset(consumer.endOffsets(Collections.singletonList(topicPartition)).get(topicPartition))
-                            .offsetLag(Math.max(consumer.endOffsets(Collections.singletonList(topicPartition)).get(topicPartition) - offsetAndMetadata.offset(), 0))
-                            .metadata(offsetAndMetadata.metadata())
-                            .build();
-                    offsetInfos.add(offsetInfo);
-                });
-            } catch (Exception e) {
-                log.error("Error while creating KafkaConsumer: {}", e.getMessage(), e);
+            ListOffsetsResult latest = listOffsetsAsync(partitions, OffsetSpec.latest());
+            ListOffsetsResult earliest = listOffsetsAsync(partitions, OffsetSpec.earliest());
+            for (TopicPartition topicPartition : partitions) {
+                OffsetAndMetadata offsetAndMetadata = committed.get(topicPartition);
+                long offset = offsetAndMetadata.offset();
+                long lastOffset = partitionOffset(latest, topicPartition, offset);
+                action.accept(OffsetInfo.builder()
+                        .topic(topicPartition.topic())
+                        .partition(topicPartition.partition())
+                        .offset(offset)
+                        .firstOffset(partitionOffset(earliest, topicPartition, 0L))
+                        .lastOffset(lastOffset)
+                        .offsetLag(Math.max(lastOffset - offset, 0))
+                        .metadata(offsetAndMetadata.metadata())
+                        .build());
             }
-            log.info("Offsets for group '{}' fetched successfully: {}", groupId, Utility.objectToJsonString(offsetInfos));
-            return offsetInfos;
+            log.info("Offsets for group '{}' fetched successfully: {} partitions", groupId, partitions.size());
+            return partitions.size();
+        } catch (CommonCustomException e) {
+            throw e;
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
             if (cause instanceof GroupIdNotFoundException) {
@@ -249,10 +387,197 @@ public class ConsumerGroupServiceImpl implements ConsumerGroupService {
             Thread.currentThread().interrupt();
             log.error("Error while fetching offsets for groupId {}: {}", groupId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Fetching offsets was interrupted.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during offset fetch for group: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Error while fetching offsets for groupId {}: {}", groupId, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Error while fetching offsets for groupId " + groupId);
         }
     }
-}
 
+    /**
+     * Lists consumer groups with the given options, ordered by group ID.
+     */
+    private List<ConsumerGroupListing> listConsumerGroups(ListConsumerGroupsOptions options)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Collection<ConsumerGroupListing> listings = RequestDeadline.await(adminClient.listConsumerGroups(options.timeoutMs(RequestDeadline.timeoutMs())).all());
+        return listings.stream()
+                .sorted(Comparator.comparing(ConsumerGroupListing::groupId))
+                .toList();
+    }
+
+    /**
+     * Builds the requested fields of a batch of consumer groups with at most one describeConsumerGroups request,
+     * one listConsumerGroupOffsets request and one listOffsets request per offset spec, skipping every request the
+     * fields and filters do not need.
+     *
+     * @param listings     the groups to build
+     * @param fields       the ConsumerGroupInfo fields to fill
+     * @param topicFilter  whether assigned and committed topics are needed for filtering
+     * @param lagFilter    whether the total lag is needed for filtering
+     * @return one view per listing, in listing order
+     */
+    private List<GroupView> assemble(List<ConsumerGroupListing> listings, Set<String> fields, boolean topicFilter, boolean lagFilter)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        List<String> groupIds = listings.stream().map(ConsumerGroupListing::groupId).toList();
+        boolean describe = topicFilter || fields.stream().anyMatch(DESCRIBE_FIELDS::contains);
+        boolean offsets = topicFilter || lagFilter || fields.stream().anyMatch(OFFSET_FIELDS::contains);
+        Map<String, ConsumerGroupDescription> descriptions = describe
+                ? RequestDeadline.await(adminClient.describeConsumerGroups(groupIds, new DescribeConsumerGroupsOptions().timeoutMs(RequestDeadline.timeoutMs())).all())
+                : Collections.emptyMap();
+        Map<String, List<OffsetInfo>> offsetsByGroup = offsets
+                ? fetchOffsets(groupIds, fields.contains("offsets"))
+                : Collections.emptyMap();
+        List<GroupView> views = new ArrayList<>(listings.size());
+        for (ConsumerGroupListing listing : listings) {
+            ConsumerGroupDescription description = descriptions.get(listing.groupId());
+            List<OffsetInfo> groupOffsets = offsetsByGroup.getOrDefault(listing.groupId(), Collections.emptyList());
+            List<String> assignedTopics = description == null ? Collections.emptyList() : description.members().stream().flatMap(member ->
+                    member.assignment().topicPartitions().stream().map(TopicPartition::topic)).distinct().toList();
+            List<String> activeTopics = groupOffsets.stream().map(OffsetInfo::getTopic).distinct().toList();
+            long totalLag = groupOffsets.stream().mapToLong(OffsetInfo::getOffsetLag).sum();
+            ConsumerGroupInfo.ConsumerGroupInfoBuilder builder = ConsumerGroupInfo.builder()
+                    .id(listing.groupId())
+                    .state(listing.state().isPresent() ? listing.state().get().toString() : "UNKNOWN")
+                    .isSimpleConsumerGroup(listing.isSimpleConsumerGroup())
+                    .type(listing.type().isPresent() ? listing.type().get().toString() : "UNKNOWN");
+            if (description != null) {
+                if (fields.contains("partitionAssignor")) {
+                    builder.partitionAssignor(description.partitionAssignor());
+                }
+                if (fields.contains("coordinator")) {
+                    builder.coordinator(AdminModelMapper.toCoordinator(description.coordinator()));
+                }
+                if (fields.contains("members")) {
+                    builder.members(description.members().stream().map(AdminModelMapper::toMemberInfo).toList());
+                }
+                if (fields.contains("topics")) {
+                    builder.topics(assignedTopics);
+                }
+                if (fields.contains("authorizedOperations")) {
+                    builder.authorizedOperations(description.authorizedOperations());
+                }
+            }
+            if (offsets) {
+                if (fields.contains("offsets")) {
+                    builder.offsets(groupOffsets);
+                }
+                if (fields.contains("activeTopics")) {
+                    builder.activeTopics(activeTopics);
+                }
+                if (fields.contains("totalLag")) {
+                    builder.totalLag(totalLag);
+                }
+            }
+            List<String> topics = new ArrayList<>(assignedTopics);
+            topics.addAll(activeTopics);
+            views.add(new GroupView(builder.build(), topics, totalLag));
+        }
+        return views;
+    }
+
+    /**
+     * Fetches the committed offsets and lag of several groups with one listConsumerGroupOffsets request and one
+     * listOffsets request for the end offsets (plus one for the start offsets if requested). Groups without committed
+     * offsets map to an empty list, and partitions whose end offset cannot be resolved report no lag.
+     *
+     * @param groupIds          the groups to fetch
+     * @param withFirstOffsets  whether to resolve the log start offset of each partition
+     * @return offsets per group ID, ordered by topic and partition
+     */
+    private Map<String, List<OffsetInfo>> fetchOffsets(List<String> groupIds, boolean withFirstOffsets)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Map<String, ListConsumerGroupOffsetsSpec> specs = new HashMap<>(groupIds.size() * 2);
+        groupIds.forEach(groupId -> specs.put(groupId, new ListConsumerGroupOffsetsSpec()));
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> committed = RequestDeadline.await(adminClient.listConsumerGroupOffsets(specs,
+                new ListConsumerGroupOffsetsOptions().timeoutMs(RequestDeadline.timeoutMs())).all());
+        Set<TopicPartition> partitions = new HashSet<>();
+        committed.values().forEach(offsets -> offsets.forEach((topicPartition, offsetAndMetadata) -> {
+            if (offsetAndMetadata != null) {
+                partitions.add(topicPartition);
+            }
+        }));
+        Map<TopicPartition, Long> latest = listOffsets(partitions, OffsetSpec.latest());
+        Map<TopicPartition, Long> earliest = withFirstOffsets ? listOffsets(partitions, OffsetSpec.earliest()) : Collections.emptyMap();
+        Map<String, List<OffsetInfo>> offsetsByGroup = new HashMap<>(committed.size() * 2);
+        committed.forEach((groupId, offsets) -> offsetsByGroup.put(groupId, offsets.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(TopicPartition::topic).thenComparingInt(TopicPartition::partition)))
+                .map(entry -> {
+                    long offset = entry.getValue().offset();
+                    long lastOffset = latest.getOrDefault(entry.getKey(), offset);
+                    return OffsetInfo.builder()
+                            .topic(entry.getKey().topic())
+                            .partition(entry.getKey().partition())
+                            .offset(offset)
+                            .firstOffset(earliest.getOrDefault(entry.getKey(), 0L))
+                            .lastOffset(lastOffset)
+                            .offsetLag(Math.max(lastOffset - offset, 0))
+                            .metadata(entry.getValue().metadata())
+                            .build();
+                })
+                .toList()));
+        return offsetsByGroup;
+    }
+
+    /**
+     * Resolves one offset spec for all partitions with a single listOffsets request, leaving out partitions that
+     * fail (for example topics deleted since the offsets were committed).
+     */
+    private Map<TopicPartition, Long> listOffsets(Set<TopicPartition> partitions, OffsetSpec offsetSpec)
+            throws InterruptedException, TimeoutException {
+        if (partitions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ListOffsetsResult result = listOffsetsAsync(partitions, offsetSpec);
+        Map<TopicPartition, Long> offsets = new HashMap<>(partitions.size() * 2);
+        for (TopicPartition topicPartition : partitions) {
+            try {
+                offsets.put(topicPartition, RequestDeadline.await(result.partitionResult(topicPartition)).offset());
+            } catch (ExecutionException e) {
+                log.warn("Unable to resolve offset of partition {}: {}", topicPartition, e.getCause().getMessage());
+            }
+        }
+        return offsets;
+    }
+
+    private ListOffsetsResult listOffsetsAsync(Collection<TopicPartition> partitions, OffsetSpec offsetSpec) {
+        Map<TopicPartition, OffsetSpec> specs = new HashMap<>(partitions.size() * 2);
+        partitions.forEach(topicPartition -> specs.put(topicPartition, offsetSpec));
+        return adminClient.listOffsets(specs, new ListOffsetsOptions().timeoutMs(RequestDeadline.timeoutMs()));
+    }
+
+    /**
+     * Awaits one partition's result of a listOffsets request, falling back to the given value if that partition
+     * failed (for example a topic deleted since the offsets were committed).
+     */
+    private long partitionOffset(ListOffsetsResult result, TopicPartition topicPartition, long fallback)
+            throws InterruptedException, TimeoutException {
+        try {
+            return RequestDeadline.await(result.partitionResult(topicPartition)).offset();
+        } catch (ExecutionException e) {
+            log.warn("Unable to resolve offset of partition {}: {}", topicPartition, e.getCause().getMessage());
+            return fallback;
+        }
+    }
+
+    private Set<ConsumerGroupState> parseStates(Set<String> states) {
+        Set<ConsumerGroupState> parsed = EnumSet.noneOf(ConsumerGroupState.class);
+        for (String state : states) {
+            ConsumerGroupState groupState = ConsumerGroupState.parse(state.trim());
+            if (groupState == ConsumerGroupState.UNKNOWN) {
+                throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(), "Unknown consumer group state '" + state + "'.");
+            }
+            parsed.add(groupState);
+        }
+        return parsed;
+    }
+
+    /**
+     * A built consumer group together with the values its filters are evaluated on, which are computed even when
+     * the corresponding fields are not part of the projection.
+     */
+    private record GroupView(ConsumerGroupInfo info, List<String> topics, long totalLag) {
+    }
+}
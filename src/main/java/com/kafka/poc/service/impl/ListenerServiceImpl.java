@@ -0,0 +1,355 @@
+package com.kafka.poc.service.impl;
+
+import com.kafka.poc.config.KafkaListenerConfig;
+import com.kafka.poc.consumer.DynamicListener;
+import com.kafka.poc.consumer.TransactionHandler;
+import com.kafka.poc.dto.CreateListenerRequestDTO;
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.model.ListenerInfo;
+import com.kafka.poc.service.ListenerService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.config.MethodKafkaListenerEndpoint;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for managing Kafka listener containers at runtime.
+ * <p>
+ * Works on the {@link KafkaListenerEndpointRegistry}, so the {@code @KafkaListener} containers and the ones created
+ * here are handled alike: they can be started, stopped, paused and resumed, whole or per partition, and have their
+ * concurrency changed. Partition pauses apply to the partitions the listener has assigned at the time, and pauses
+ * do not survive a concurrency change, which restarts the listener's consumers; only assigned partitions can be
+ * paused or resumed. Listeners created here consume through the
+ * {@link KafkaListenerConfig#DYNAMIC_CONTAINER_FACTORY dynamic container factory}, with the same consumer and
+ * container settings as the declared ones but without the routing stage, so they see every record of their topics;
+ * they only live as long as the application, and only they can be deleted.
+ * </p>
+ * <p>
+ * Throughput is read from the listener's own Kafka consumers ({@code records-consumed-rate},
+ * {@code records-consumed-total} and {@code records-lag-max} of {@code consumer-fetch-manager-metrics}, summed
+ * over the consumer threads), so it costs nothing on the record path.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ListenerServiceImpl implements ListenerService {
+
+    private static final String FETCH_METRICS_GROUP = "consumer-fetch-manager-metrics";
+
+    /**
+     * Listener method invoked for each record of a listener created at runtime.
+     */
+    private static final Method ON_RECORD;
+
+    static {
+        try {
+            ON_RECORD = DynamicListener.class.getMethod("onRecord", ConsumerRecord.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Autowired
+    @Qualifier(KafkaListenerConfig.DYNAMIC_CONTAINER_FACTORY)
+    private ConcurrentKafkaListenerContainerFactory<Object, Object> dynamicContainerFactory;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    /**
+     * Largest number of consumer threads a listener may be given.
+     */
+    @Value("${kafka.poc.listeners.max-concurrency:16}")
+    private int maxConcurrency;
+
+    /**
+     * Largest number of listeners that may be created at runtime.
+     */
+    @Value("${kafka.poc.listeners.max-dynamic:50}")
+    private int maxDynamicListeners;
+
+    /**
+     * Ids of the listeners created at runtime.
+     */
+    private final Set<String> dynamicListenerIds = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    private DefaultMessageHandlerMethodFactory messageHandlerMethodFactory;
+
+    @PostConstruct
+    public void init() {
+        messageHandlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        messageHandlerMethodFactory.afterPropertiesSet();
+    }
+
+    @Override
+    public List<ListenerInfo> getListeners() {
+        return registry.getListenerContainerIds().stream()
+                .sorted()
+                .map(id -> toListenerInfo(id, registry.getListenerContainer(id)))
+                .toList();
+    }
+
+    @Override
+    public ListenerInfo getListener(String listenerId) {
+        return toListenerInfo(listenerId, container(listenerId));
+    }
+
+    @Override
+    public synchronized ListenerInfo createListener(CreateListenerRequestDTO request) {
+        String listenerId = request == null ? null : request.getListenerId();
+        if (listenerId == null || listenerId.isBlank()) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(), "Listener id is required.");
+        }
+        List<String> topics = request.getTopics() == null ? List.of()
+                : request.getTopics().stream().filter(Objects::nonNull).map(String::trim).filter(t -> !t.isEmpty()).toList();
+        if (topics.isEmpty()) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(), "At least one topic is required.");
+        }
+        int concurrency = request.getConcurrency() == null ? 1 : request.getConcurrency();
+        validateConcurrency(concurrency);
+        if (registry.getListenerContainer(listenerId) != null) {
+            throw new CommonCustomException(HttpStatus.CONFLICT.value(), String.format("Listener '%s' already exists.", listenerId));
+        }
+        if (dynamicListenerIds.size() >= maxDynamicListeners) {
+            throw new CommonCustomException(HttpStatus.CONFLICT.value(),
+                    String.format("Limit of %d runtime listeners reached. Delete one before creating another.", maxDynamicListeners));
+        }
+        TransactionHandler handler = null;
+        if (request.getHandler() != null && !request.getHandler().isBlank()) {
+            try {
+                handler = applicationContext.getBean(request.getHandler(), TransactionHandler.class);
+            } catch (BeansException e) {
+                throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(),
+                        String.format("No transaction handler named '%s'.", request.getHandler()));
+            }
+        }
+        String groupId = request.getGroupId() == null || request.getGroupId().isBlank() ? listenerId : request.getGroupId();
+
+        MethodKafkaListenerEndpoint<Object, Object> endpoint = new MethodKafkaListenerEndpoint<>();
+        endpoint.setId(listenerId);
+        endpoint.setGroupId(groupId);
+        endpoint.setTopics(topics.toArray(String[]::new));
+        endpoint.setConcurrency(concurrency);
+        endpoint.setAutoStartup(!request.isStopped());
+        endpoint.setBean(new DynamicListener(listenerId, handler));
+        endpoint.setMethod(ON_RECORD);
+        endpoint.setMessageHandlerMethodFactory(messageHandlerMethodFactory);
+        endpoint.setBeanFactory(applicationContext.getAutowireCapableBeanFactory());
+        registry.registerListenerContainer(endpoint, dynamicContainerFactory, !request.isStopped());
+        dynamicListenerIds.add(listenerId);
+        log.info("Created listener {} on {} for group {} with concurrency {}", listenerId, topics, groupId, concurrency);
+        return getListener(listenerId);
+    }
+
+    @Override
+    public synchronized void deleteListener(String listenerId) {
+        MessageListenerContainer container = container(listenerId);
+        if (!dynamicListenerIds.contains(listenerId)) {
+            throw new CommonCustomException(HttpStatus.CONFLICT.value(),
+                    String.format("Listener '%s' is declared in code and cannot be deleted. Stop it instead.", listenerId));
+        }
+        container.stop();
+        registry.unregisterListenerContainer(listenerId);
+        dynamicListenerIds.remove(listenerId);
+        log.info("Deleted listener {}", listenerId);
+    }
+
+    @Override
+    public synchronized ListenerInfo startListener(String listenerId) {
+        MessageListenerContainer container = container(listenerId);
+        if (!container.isRunning()) {
+            container.start();
+            log.info("Started listener {}", listenerId);
+        }
+        return toListenerInfo(listenerId, container);
+    }
+
+    @Override
+    public synchronized ListenerInfo stopListener(String listenerId) {
+        MessageListenerContainer container = container(listenerId);
+        if (container.isRunning()) {
+            container.stop();
+            log.info("Stopped listener {}", listenerId);
+        }
+        return toListenerInfo(listenerId, container);
+    }
+
+    @Override
+    public synchronized ListenerInfo setConcurrency(String listenerId, int concurrency) {
+        validateConcurrency(concurrency);
+        if (!(container(listenerId) instanceof ConcurrentMessageListenerContainer<?, ?> container)) {
+            throw new CommonCustomException(HttpStatus.CONFLICT.value(),
+                    String.format("Listener '%s' does not support changing its concurrency.", listenerId));
+        }
+        if (container.getConcurrency() != concurrency) {
+            boolean running = container.isRunning();
+            if (running) {
+                container.stop();
+            }
+            container.setConcurrency(concurrency);
+            if (running) {
+                container.start();
+            }
+            log.info("Set concurrency of listener {} to {}", listenerId, concurrency);
+        }
+        return toListenerInfo(listenerId, container);
+    }
+
+    @Override
+    public synchronized ListenerInfo pauseListener(String listenerId, String topic, List<Integer> partitions) {
+        MessageListenerContainer container = container(listenerId);
+        if (topic == null || topic.isBlank()) {
+            requireNoPartitions(partitions);
+            container.pause();
+        } else {
+            partitions(container, topic, partitions).forEach(container::pausePartition);
+        }
+        return toListenerInfo(listenerId, container);
+    }
+
+    @Override
+    public synchronized ListenerInfo resumeListener(String listenerId, String topic, List<Integer> partitions) {
+        MessageListenerContainer container = container(listenerId);
+        if (topic == null || topic.isBlank()) {
+            requireNoPartitions(partitions);
+            container.resume();
+        } else {
+            partitions(container, topic, partitions).forEach(container::resumePartition);
+        }
+        return toListenerInfo(listenerId, container);
+    }
+
+    private MessageListenerContainer container(String listenerId) {
+        MessageListenerContainer container = registry.getListenerContainer(listenerId);
+        if (container == null) {
+            throw new CommonCustomException(HttpStatus.NOT_FOUND.value(), String.format("Listener '%s' not found.", listenerId));
+        }
+        return container;
+    }
+
+    private void validateConcurrency(int concurrency) {
+        if (concurrency < 1 || concurrency > maxConcurrency) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(),
+                    String.format("Concurrency must be between 1 and %d.", maxConcurrency));
+        }
+    }
+
+    private static void requireNoPartitions(List<Integer> partitions) {
+        if (partitions != null && !partitions.isEmpty()) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(), "Partitions require a topic.");
+        }
+    }
+
+    /**
+     * Returns the given partitions of the topic, or all partitions of it currently assigned to the listener.
+     *
+     * @throws CommonCustomException 409 if a given partition, or with none given every partition of the topic, is
+     *                               not assigned to the listener
+     */
+    private static List<TopicPartition> partitions(MessageListenerContainer container, String topic, List<Integer> partitions) {
+        Collection<TopicPartition> assigned = container.getAssignedPartitions();
+        Set<TopicPartition> assignedOfTopic = assigned == null ? Set.of()
+                : assigned.stream().filter(tp -> tp.topic().equals(topic)).collect(Collectors.toSet());
+        if (partitions == null || partitions.isEmpty()) {
+            if (assignedOfTopic.isEmpty()) {
+                throw new CommonCustomException(HttpStatus.CONFLICT.value(),
+                        String.format("Listener has no partitions of topic '%s' assigned.", topic));
+            }
+            return List.copyOf(assignedOfTopic);
+        }
+        List<TopicPartition> requested = partitions.stream().filter(Objects::nonNull).distinct()
+                .map(p -> new TopicPartition(topic, p)).toList();
+        List<String> unassigned = requested.stream().filter(tp -> !assignedOfTopic.contains(tp)).map(TopicPartition::toString).toList();
+        if (requested.isEmpty() || !unassigned.isEmpty()) {
+            throw new CommonCustomException(HttpStatus.CONFLICT.value(),
+                    String.format("Partitions %s are not assigned to the listener.", unassigned.isEmpty() ? partitions : unassigned));
+        }
+        return requested;
+    }
+
+    private ListenerInfo toListenerInfo(String listenerId, MessageListenerContainer container) {
+        double rate = 0;
+        double total = 0;
+        double lagMax = 0;
+        for (Map<MetricName, ? extends Metric> clientMetrics : container.metrics().values()) {
+            for (Map.Entry<MetricName, ? extends Metric> entry : clientMetrics.entrySet()) {
+                MetricName name = entry.getKey();
+                if (!FETCH_METRICS_GROUP.equals(name.group()) || name.tags().containsKey("topic")
+                        || !(entry.getValue().metricValue() instanceof Double value) || !Double.isFinite(value)) {
+                    continue;
+                }
+                switch (name.name()) {
+                    case "records-consumed-rate" -> rate += value;
+                    case "records-consumed-total" -> total += value;
+                    case "records-lag-max" -> lagMax = Math.max(lagMax, value);
+                    default -> {
+                    }
+                }
+            }
+        }
+        Collection<TopicPartition> assigned = container.getAssignedPartitions();
+        List<TopicPartition> assignedPartitions = assigned == null ? List.of() : assigned.stream()
+                .sorted(Comparator.comparing(TopicPartition::topic).thenComparingInt(TopicPartition::partition))
+                .toList();
+        return ListenerInfo.builder()
+                .id(listenerId)
+                .groupId(container.getGroupId())
+                .topics(topics(container.getContainerProperties()))
+                .dynamic(dynamicListenerIds.contains(listenerId))
+                .running(container.isRunning())
+                .concurrency(container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent ? concurrent.getConcurrency() : 1)
+                .pauseRequested(container.isPauseRequested())
+                .paused(container.isContainerPaused())
+                .assignedPartitions(assignedPartitions.stream().map(TopicPartition::toString).toList())
+                .pausedPartitions(assignedPartitions.stream().filter(tp -> isPartitionPauseRequested(container, tp)).map(TopicPartition::toString).toList())
+                .recordsConsumedRate(rate)
+                .recordsConsumedTotal((long) total)
+                .recordsLagMax(lagMax)
+                .build();
+    }
+
+    /**
+     * Whether a pause of the partition was requested; a concurrent container only tracks this in its child
+     * containers.
+     */
+    private static boolean isPartitionPauseRequested(MessageListenerContainer container, TopicPartition partition) {
+        if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent) {
+            return concurrent.getContainers().stream().anyMatch(child -> child.isPartitionPauseRequested(partition));
+        }
+        return container.isPartitionPauseRequested(partition);
+    }
+
+    private static List<String> topics(ContainerProperties properties) {
+        if (properties.getTopics() != null) {
+            return List.of(properties.getTopics());
+        }
+        if (properties.getTopicPattern() != null) {
+            return List.of(properties.getTopicPattern().pattern());
+        }
+        return properties.getTopicPartitions() == null ? List.of()
+                : Arrays.stream(properties.getTopicPartitions()).map(tp -> tp.getTopic() + "-" + tp.getPartition()).distinct().toList();
+    }
+}
@@ -0,0 +1,353 @@
+package com.kafka.poc.service.impl;
+
+import com.kafka.poc.event.ClusterSnapshotEvent;
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.model.PartitionHealthInfo;
+import com.kafka.poc.model.PartitionHealthSummary;
+import com.kafka.poc.service.PartitionHealthService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.*;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation of a background scanner for partition replication health.
+ * <p>
+ * Each topic keeps three {@link BitSet}s (under-replicated, offline, under-min-ISR) indexed by partition number,
+ * and cluster-wide counts are adjusted by the difference in cardinality whenever a topic is re-described. Only
+ * topics with at least one unhealthy partition keep their {@link TopicDescription}, so memory stays proportional
+ * to the number of problems rather than the number of partitions.
+ * </p>
+ * <p>
+ * Incremental passes list topic names and re-describe only new topics and topics that are currently unhealthy;
+ * every {@code full-scan-every} passes all topics are re-described. A pass also becomes a full one whenever the set
+ * of brokers or the controller differs from the previous pass, since a broker restart or a controller failover can
+ * make healthy partitions unhealthy without any topic being created. Descriptions are requested in batches that are
+ * fired concurrently. Snapshots built by the cluster service are ingested for free as well.
+ * </p>
+ */
+@Slf4j
+@Service
+public class PartitionHealthServiceImpl implements PartitionHealthService {
+
+    @Autowired
+    private AdminClient adminClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Maximum number of topics per describeTopics / describeConfigs request.
+     */
+    @Value("${kafka.poc.partition-health.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Every how many scheduled passes all topics are re-described.
+     */
+    @Value("${kafka.poc.partition-health.full-scan-every:10}")
+    private int fullScanEvery;
+
+    @Value("${kafka.poc.partition-health.request-timeout-ms:30000}")
+    private int requestTimeoutMs;
+
+    private final Map<String, TopicHealth> topics = new HashMap<>();
+    private long passes;
+    private Set<Integer> lastBrokerIds;
+    private int lastControllerId = -1;
+
+    private volatile int partitionCount;
+    private volatile int underReplicatedCount;
+    private volatile int offlineCount;
+    private volatile int underMinIsrCount;
+    private volatile PartitionHealthSummary lastSummary = PartitionHealthSummary.builder().build();
+
+    /**
+     * Registers the partition health gauges with Micrometer.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("kafka.partitions.total", this, s -> s.partitionCount)
+                .description("Partitions known to the health scanner").register(meterRegistry);
+        Gauge.builder("kafka.partitions.under.replicated", this, s -> s.underReplicatedCount)
+                .description("Partitions whose ISR is smaller than the replica set").register(meterRegistry);
+        Gauge.builder("kafka.partitions.offline", this, s -> s.offlineCount)
+                .description("Partitions without a leader").register(meterRegistry);
+        Gauge.builder("kafka.partitions.under.min.isr", this, s -> s.underMinIsrCount)
+                .description("Partitions whose ISR is smaller than min.insync.replicas").register(meterRegistry);
+    }
+
+    @Override
+    public PartitionHealthSummary getSummary() {
+        return lastSummary;
+    }
+
+    @Override
+    public synchronized List<PartitionHealthInfo> getUnhealthyPartitions(String topicPrefix) {
+        List<PartitionHealthInfo> result = new ArrayList<>(underReplicatedCount + offlineCount);
+        for (Map.Entry<String, TopicHealth> entry : topics.entrySet()) {
+            TopicHealth health = entry.getValue();
+            if (health.description == null || (topicPrefix != null && !topicPrefix.isBlank() && !entry.getKey().startsWith(topicPrefix))) {
+                continue;
+            }
+            BitSet unhealthy = health.unhealthy();
+            for (TopicPartitionInfo partition : health.description.partitions()) {
+                int p = partition.partition();
+                if (!unhealthy.get(p)) {
+                    continue;
+                }
+                result.add(PartitionHealthInfo.builder()
+                        .topic(entry.getKey())
+                        .partition(p)
+                        .leader(partition.leader() == null ? -1 : partition.leader().id())
+                        .replicas(partition.replicas().stream().map(Node::id).toList())
+                        .inSyncReplicas(partition.isr().stream().map(Node::id).toList())
+                        .minInSyncReplicas(health.minIsr)
+                        .underReplicated(health.underReplicated.get(p))
+                        .offline(health.offline.get(p))
+                        .underMinIsr(health.underMinIsr.get(p))
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public PartitionHealthSummary scanNow() {
+        try {
+            return scan(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Partition health scan was interrupted. Reason: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Partition health scan was interrupted. Please try again.");
+        } catch (Exception e) {
+            log.error("Partition health scan failed. Reason: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unable to scan partition health at this time. Please try again later.");
+        }
+    }
+
+    /**
+     * Scheduled scan pass; every {@code full-scan-every} passes is a full re-describe.
+     */
+    @Scheduled(fixedDelayString = "${kafka.poc.partition-health.scan-interval-ms:30000}",
+            initialDelayString = "${kafka.poc.partition-health.initial-delay-ms:15000}")
+    public void scheduledScan() {
+        boolean full = passes++ % Math.max(fullScanEvery, 1) == 0;
+        try {
+            scan(full);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Scheduled partition health scan failed. Reason: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ingests the topic descriptions of every cluster snapshot, which costs no additional admin requests.
+     *
+     * @param event the snapshot event published by the cluster service
+     */
+    @EventListener
+    public void onSnapshot(ClusterSnapshotEvent event) {
+        synchronized (this) {
+            event.getTopicDescriptions().values().forEach(this::ingest);
+        }
+        publishSummary(lastSummary.getLastScanAt(), lastSummary.getLastScanDurationMs(), lastSummary.getLastScanDescribedTopics(), lastSummary.isLastScanFull());
+    }
+
+    private PartitionHealthSummary scan(boolean full) throws Exception {
+        long startedAt = System.nanoTime();
+        DescribeClusterResult cluster = adminClient.describeCluster(new DescribeClusterOptions().timeoutMs(requestTimeoutMs));
+        KafkaFuture<Set<String>> namesFuture = adminClient.listTopics(new ListTopicsOptions().listInternal(true).timeoutMs(requestTimeoutMs)).names();
+        if (clusterChanged(cluster) && !full) {
+            log.info("Broker set or controller changed since the last partition health scan; running a full scan.");
+            full = true;
+        }
+        Set<String> names = namesFuture.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        List<String> toDescribe = new ArrayList<>();
+        List<String> needMinIsr = new ArrayList<>();
+        synchronized (this) {
+            topics.keySet().removeIf(topic -> {
+                if (names.contains(topic)) {
+                    return false;
+                }
+                adjustCounts(topics.get(topic), -1);
+                return true;
+            });
+            for (String name : names) {
+                TopicHealth health = topics.get(name);
+                if (full || health == null || health.description != null || health.minIsr < 0) {
+                    toDescribe.add(name);
+                }
+                if (full || health == null || health.minIsr < 0) {
+                    needMinIsr.add(name);
+                }
+            }
+        }
+        Map<String, Integer> minIsrs = describeMinIsr(needMinIsr);
+        synchronized (this) {
+            minIsrs.forEach((topic, minIsr) -> topics.computeIfAbsent(topic, t -> new TopicHealth()).minIsr = minIsr);
+        }
+        for (Map.Entry<String, KafkaFuture<TopicDescription>> entry : describeTopics(toDescribe).entrySet()) {
+            try {
+                TopicDescription description = entry.getValue().get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+                synchronized (this) {
+                    ingest(description);
+                }
+            } catch (ExecutionException e) {
+                log.debug("Topic '{}' could not be described during health scan. Reason: {}", entry.getKey(), e.getCause().getMessage());
+            }
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        PartitionHealthSummary summary = publishSummary(Instant.now().toString(), durationMs, toDescribe.size(), full);
+        log.info("Partition health scan ({}) described {} topics in {} ms: {} under-replicated, {} offline, {} under-min-ISR.",
+                full ? "full" : "incremental", toDescribe.size(), durationMs, summary.getUnderReplicatedPartitions(),
+                summary.getOfflinePartitions(), summary.getUnderMinIsrPartitions());
+        return summary;
+    }
+
+    /**
+     * Records the current broker IDs and controller and reports whether either differs from the previous pass.
+     */
+    private synchronized boolean clusterChanged(DescribeClusterResult cluster) throws Exception {
+        Set<Integer> brokerIds = new HashSet<>();
+        for (Node node : cluster.nodes().get(requestTimeoutMs, TimeUnit.MILLISECONDS)) {
+            brokerIds.add(node.id());
+        }
+        Node controller = cluster.controller().get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        int controllerId = controller == null ? -1 : controller.id();
+        boolean changed = !brokerIds.equals(lastBrokerIds) || controllerId != lastControllerId;
+        lastBrokerIds = brokerIds;
+        lastControllerId = controllerId;
+        return changed;
+    }
+
+    /**
+     * Fires all describeTopics batches concurrently and returns the per-topic futures.
+     */
+    private Map<String, KafkaFuture<TopicDescription>> describeTopics(List<String> names) {
+        Map<String, KafkaFuture<TopicDescription>> futures = new LinkedHashMap<>();
+        for (int from = 0; from < names.size(); from += batchSize) {
+            List<String> batch = names.subList(from, Math.min(from + batchSize, names.size()));
+            futures.putAll(adminClient.describeTopics(batch, new DescribeTopicsOptions().timeoutMs(requestTimeoutMs)).topicNameValues());
+        }
+        return futures;
+    }
+
+    /**
+     * Reads min.insync.replicas for the given topics with concurrently fired describeConfigs batches.
+     */
+    private Map<String, Integer> describeMinIsr(List<String> names) throws Exception {
+        List<KafkaFuture<Map<ConfigResource, Config>>> futures = new ArrayList<>();
+        DescribeConfigsOptions options = new DescribeConfigsOptions().timeoutMs(requestTimeoutMs);
+        for (int from = 0; from < names.size(); from += batchSize) {
+            List<ConfigResource> batch = names.subList(from, Math.min(from + batchSize, names.size())).stream()
+                    .map(name -> new ConfigResource(ConfigResource.Type.TOPIC, name))
+                    .toList();
+            futures.add(adminClient.describeConfigs(batch, options).all());
+        }
+        Map<String, Integer> minIsrs = new HashMap<>();
+        for (KafkaFuture<Map<ConfigResource, Config>> future : futures) {
+            try {
+                future.get(requestTimeoutMs, TimeUnit.MILLISECONDS).forEach((resource, config) -> {
+                    ConfigEntry entry = config.get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+                    if (entry != null && entry.value() != null) {
+                        minIsrs.put(resource.name(), Integer.parseInt(entry.value()));
+                    }
+                });
+            } catch (ExecutionException e) {
+                log.debug("min.insync.replicas lookup failed for a batch. Reason: {}", e.getCause().getMessage());
+            }
+        }
+        return minIsrs;
+    }
+
+    /**
+     * Recomputes the bitsets of one topic and adjusts the cluster-wide counts by the difference. Caller holds the lock.
+     */
+    private void ingest(TopicDescription description) {
+        TopicHealth health = topics.computeIfAbsent(description.name(), t -> new TopicHealth());
+        adjustCounts(health, -1);
+        health.partitionCount = description.partitions().size();
+        health.underReplicated.clear();
+        health.offline.clear();
+        health.underMinIsr.clear();
+        for (TopicPartitionInfo partition : description.partitions()) {
+            int p = partition.partition();
+            int isr = partition.isr().size();
+            if (partition.leader() == null || partition.leader().isEmpty()) {
+                health.offline.set(p);
+            }
+            if (isr < partition.replicas().size()) {
+                health.underReplicated.set(p);
+            }
+            if (health.minIsr > 0 && isr < health.minIsr) {
+                health.underMinIsr.set(p);
+            }
+        }
+        health.description = health.unhealthy().isEmpty() ? null : description;
+        adjustCounts(health, 1);
+    }
+
+    private void adjustCounts(TopicHealth health, int sign) {
+        if (health == null) {
+            return;
+        }
+        partitionCount += sign * health.partitionCount;
+        underReplicatedCount += sign * health.underReplicated.cardinality();
+        offlineCount += sign * health.offline.cardinality();
+        underMinIsrCount += sign * health.underMinIsr.cardinality();
+    }
+
+    private synchronized PartitionHealthSummary publishSummary(String scanAt, long durationMs, int describedTopics, boolean full) {
+        PartitionHealthSummary summary = PartitionHealthSummary.builder()
+                .topicCount(topics.size())
+                .partitionCount(partitionCount)
+                .underReplicatedPartitions(underReplicatedCount)
+                .offlinePartitions(offlineCount)
+                .underMinIsrPartitions(underMinIsrCount)
+                .lastScanAt(scanAt)
+                .lastScanDurationMs(durationMs)
+                .lastScanDescribedTopics(describedTopics)
+                .lastScanFull(full)
+                .build();
+        lastSummary = summary;
+        return summary;
+    }
+
+    /**
+     * Per-topic health index. Guarded by the service monitor.
+     */
+    private static final class TopicHealth {
+        private int partitionCount;
+        private int minIsr = -1;
+        private final BitSet underReplicated = new BitSet();
+        private final BitSet offline = new BitSet();
+        private final BitSet underMinIsr = new BitSet();
+        private TopicDescription description;
+
+        private BitSet unhealthy() {
+            BitSet unhealthy = (BitSet) underReplicated.clone();
+            unhealthy.or(offline);
+            unhealthy.or(underMinIsr);
+            return unhealthy;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.kafka.poc.service.impl;
+
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.model.*;
+import com.kafka.poc.service.ReactiveAdminService;
+import com.kafka.poc.utils.AdminModelMapper;
+import com.kafka.poc.utils.RequestDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.*;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.GroupIdNotFoundException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Reactive implementation of the topic, broker and consumer group admin operations.
+ * <p>
+ * Each admin request is bridged from its {@link KafkaFuture} to a {@link Mono} that completes on the admin client's
+ * network thread, so no thread waits for the cluster. Requests are only sent on subscription, and cancelling the
+ * subscription (for example when a dashboard client disconnects) cancels the pending futures.
+ * </p>
+ * <p>
+ * Consumer groups are listed once and then described in batches of {@code kafka.poc.reactive.describe-batch-size},
+ * with at most {@code kafka.poc.reactive.max-concurrency} batches in flight. Batches are only requested as the
+ * subscriber consumes earlier results, so a slow client holds back the admin requests instead of buffering the
+ * whole cluster in memory. Every admin request carries the time budget of the API request it serves.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ReactiveAdminServiceImpl implements ReactiveAdminService {
+
+    private static final String TIMEOUT_MESSAGE = "Kafka cluster did not respond in time. Please try again later.";
+
+    /**
+     * Shared AdminClient used for all reactive admin requests.
+     */
+    @Autowired
+    private AdminClient adminClient;
+
+    /**
+     * Number of consumer groups described per describeConsumerGroups request.
+     */
+    @Value("${kafka.poc.reactive.describe-batch-size:50}")
+    private int describeBatchSize;
+
+    /**
+     * Maximum number of describe or offset requests in flight for one consumer group stream.
+     */
+    @Value("${kafka.poc.reactive.max-concurrency:4}")
+    private int maxConcurrency;
+
+    /**
+     * Streams the names of all topics in the cluster, sorted by name.
+     *
+     * @return a Flux of topic names
+     */
+    @Override
+    public Flux<String> getTopicNames() {
+        int timeoutMs = RequestDeadline.timeoutMs();
+        return mono(() -> adminClient.listTopics(new ListTopicsOptions().timeoutMs(timeoutMs)).names())
+                .flatMapIterable(names -> names.stream().sorted().toList())
+                .onErrorMap(ex -> translate(ex, "Unable to fetch topic list at this time. Please try again later."));
+    }
+
+    /**
+     * Describes a topic and its configuration with two concurrent admin requests.
+     *
+     * @param topicName the topic to describe
+     * @return a Mono of the TopicInfo, failing with a 404 if the topic does not exist
+     */
+    @Override
+    public Mono<TopicInfo> getTopicInfo(String topicName) {
+        int timeoutMs = RequestDeadline.timeoutMs();
+        ConfigResource configResource = new ConfigResource(ConfigResource.Type.TOPIC, topicName);
+        Mono<TopicDescription> description = mono(() -> adminClient.describeTopics(Collections.singleton(topicName),
+                new DescribeTopicsOptions().timeoutMs(timeoutMs)).topicNameValues().get(topicName));
+        Mono<Config> config = mono(() -> adminClient.describeConfigs(Collections.singleton(configResource),
+                new DescribeConfigsOptions().timeoutMs(timeoutMs)).values().get(configResource));
+        return Mono.zip(description, config)
+                .map(tuple -> AdminModelMapper.toTopicInfo(tuple.getT1(), tuple.getT2(), true))
+                .onErrorMap(ex -> {
+                    if (unwrap(ex) instanceof UnknownTopicOrPartitionException) {
+                        log.warn("Topic '{}' does not exist.", topicName);
+                        return new CommonCustomException(HttpStatus.NOT_FOUND.value(), String.format("Topic '%s' does not exist.", topicName));
+                    }
+                    return translate(ex, "Error occurred while fetching topic info.");
+                });
+    }
+
+    /**
+     * Streams every broker of the cluster with its configuration, sorted by broker ID.
+     *
+     * @return a Flux of BrokerInfo
+     */
+    @Override
+    public Flux<BrokerInfo> getBrokers() {
+        int timeoutMs = RequestDeadline.timeoutMs();
+        return mono(() -> adminClient.describeCluster(new DescribeClusterOptions().timeoutMs(timeoutMs)).nodes())
+                .flatMapMany(nodes -> {
+                    if (nodes.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    List<ConfigResource> resources = nodes.stream()
+                            .map(node -> new ConfigResource(ConfigResource.Type.BROKER, node.idString()))
+                            .toList();
+                    return mono(() -> adminClient.describeConfigs(resources, new DescribeConfigsOptions().timeoutMs(timeoutMs)).all())
+                            .flatMapIterable(configs -> nodes.stream()
+                                    .sorted(Comparator.comparingInt(Node::id))
+                                    .map(node -> AdminModelMapper.toBrokerInfo(node, configs.get(new ConfigResource(ConfigResource.Type.BROKER, node.idString()))))
+                                    .toList());
+                })
+                .onErrorMap(ex -> translate(ex, "Unable to fetch broker info at this time. Please try again later."));
+    }
+
+    /**
+     * Streams every consumer group of the cluster. Groups are described in batches, and when offsets are requested
+     * each group's committed offsets and lag are resolved concurrently, keeping the listing order.
+     *
+     * @param includeOffsets whether to resolve committed offsets and lag for each group
+     * @return a Flux of ConsumerGroupInfo
+     */
+    @Override
+    public Flux<ConsumerGroupInfo> getConsumerGroups(boolean includeOffsets) {
+        int timeoutMs = RequestDeadline.timeoutMs();
+        int batchSize = Math.max(1, describeBatchSize);
+        int concurrency = Math.max(1, maxConcurrency);
+        Flux<ConsumerGroupInfo> groups = mono(() -> adminClient.listConsumerGroups(new ListConsumerGroupsOptions().timeoutMs(timeoutMs)).all())
+                .flatMapIterable(listings -> listings.stream()
+                        .sorted(Comparator.comparing(ConsumerGroupListing::groupId))
+                        .toList())
+                .buffer(batchSize)
+                .flatMapSequential(batch -> describeBatch(batch, timeoutMs), concurrency, 1);
+        if (includeOffsets) {
+            groups = groups.flatMapSequential(group -> offsets(group.getId(), timeoutMs)
+                    .collectList()
+                    .map(offsets -> {
+                        group.setOffsets(offsets);
+                        group.setActiveTopics(offsets.stream().map(OffsetInfo::getTopic).distinct().toList());
+                        return group;
+                    }), concurrency, 1);
+        }
+        return groups.onErrorMap(ex -> translate(ex, "Unable to fetch consumer groups at this time. Please try again later."));
+    }
+
+    /**
+     * Streams the committed offsets and lag of a consumer group, sorted by topic and partition.
+     *
+     * @param groupId the consumer group ID
+     * @return a Flux of OffsetInfo, empty if the group has no committed offsets
+     */
+    @Override
+    public Flux<OffsetInfo> getOffsets(String groupId) {
+        return offsets(groupId, RequestDeadline.timeoutMs())
+                .onErrorMap(ex -> {
+                    if (unwrap(ex) instanceof GroupIdNotFoundException) {
+                        log.warn("Consumer group with id {} not found.", groupId);
+                        return new CommonCustomException(HttpStatus.NOT_FOUND.value(), "Consumer group with id " + groupId + " not found.");
+                    }
+                    return translate(ex, "Error while fetching offsets for groupId " + groupId);
+                });
+    }
+
+    /**
+     * Describes one batch of consumer groups with a single describeConsumerGroups request.
+     */
+    private Flux<ConsumerGroupInfo> describeBatch(List<ConsumerGroupListing> batch, int timeoutMs) {
+        List<String> groupIds = batch.stream().map(ConsumerGroupListing::groupId).toList();
+        return mono(() -> adminClient.describeConsumerGroups(groupIds, new DescribeConsumerGroupsOptions().timeoutMs(timeoutMs)).all())
+                .flatMapIterable(descriptions -> batch.stream()
+                        .map(listing -> AdminModelMapper.toConsumerGroupInfo(listing, descriptions.get(listing.groupId()), true))
+                        .toList());
+    }
+
+    /**
+     * Resolves the committed offsets of a group together with the earliest and latest offsets of its partitions.
+     */
+    private Flux<OffsetInfo> offsets(String groupId, int timeoutMs) {
+        return mono(() -> adminClient.listConsumerGroupOffsets(groupId,
+                new ListConsumerGroupOffsetsOptions().timeoutMs(timeoutMs)).partitionsToOffsetAndMetadata())
+                .flatMapMany(committed -> {
+                    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>(committed);
+                    offsets.values().removeIf(Objects::isNull);
+                    if (offsets.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    Map<TopicPartition, OffsetSpec> earliestSpecs = new HashMap<>(offsets.size() * 2);
+                    Map<TopicPartition, OffsetSpec> latestSpecs = new HashMap<>(offsets.size() * 2);
+                    for (TopicPartition topicPartition : offsets.keySet()) {
+                        earliestSpecs.put(topicPartition, OffsetSpec.earliest());
+                        latestSpecs.put(topicPartition, OffsetSpec.latest());
+                    }
+                    return Mono.zip(
+                                    mono(() -> adminClient.listOffsets(earliestSpecs, new ListOffsetsOptions().timeoutMs(timeoutMs)).all()),
+                                    mono(() -> adminClient.listOffsets(latestSpecs, new ListOffsetsOptions().timeoutMs(timeoutMs)).all()))
+                            .flatMapIterable(ends -> offsets.entrySet().stream()
+                                    .sorted(Map.Entry.comparingByKey(Comparator.comparing(TopicPartition::topic).thenComparingInt(TopicPartition::partition)))
+                                    .map(entry -> toOffsetInfo(entry.getKey(), entry.getValue(), ends.getT1().get(entry.getKey()), ends.getT2().get(entry.getKey())))
+                                    .toList());
+                });
+    }
+
+    /**
+     * Bridges a Kafka admin future to a Mono. The admin request is sent on subscription, the Mono completes on the
+     * admin client's thread, and cancelling the subscription cancels the future.
+     */
+    private static <T> Mono<T> mono(Supplier<KafkaFuture<T>> request) {
+        return Mono.create(sink -> {
+            KafkaFuture<T> future = request.get();
+            future.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    sink.error(unwrap(ex));
+                } else if (result == null) {
+                    sink.success();
+                } else {
+                    sink.success(result);
+                }
+            });
+            sink.onCancel(() -> future.cancel(true));
+        });
+    }
+
+    /**
+     * Translates admin failures into application exceptions, keeping exceptions that are already translated.
+     */
+    private static Throwable translate(Throwable ex, String message) {
+        Throwable cause = unwrap(ex);
+        if (cause instanceof CommonCustomException) {
+            return cause;
+        }
+        if (cause instanceof org.apache.kafka.common.errors.TimeoutException) {
+            log.error("Request deadline exceeded during reactive admin request: {}", cause.getMessage());
+            return new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), TIMEOUT_MESSAGE);
+        }
+        log.error("{} Reason: {}", message, cause.getMessage(), cause);
+        return new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), message);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        Throwable cause = ex;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private OffsetInfo toOffsetInfo(TopicPartition topicPartition, OffsetAndMetadata committed,
+                                    ListOffsetsResult.ListOffsetsResultInfo earliest, ListOffsetsResult.ListOffsetsResultInfo latest) {
+        long lastOffset = latest == null ? committed.offset() : latest.offset();
+        return OffsetInfo.builder()
+                .topic(topicPartition.topic())
+                .partition(topicPartition.partition())
+                .offset(committed.offset())
+                .firstOffset(earliest == null ? 0 : earliest.offset())
+                .lastOffset(lastOffset)
+                .offsetLag(Math.max(lastOffset - committed.offset(), 0))
+                .metadata(committed.metadata())
+                .build();
+    }
+}
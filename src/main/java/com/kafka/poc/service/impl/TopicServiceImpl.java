@@ -1,27 +1,31 @@
 package com.kafka.poc.service.impl;
 
 import com.kafka.poc.dto.CreateTopicRequestDTO;
+import com.kafka.poc.dto.TopicQueryDTO;
 import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.model.PageResult;
 import com.kafka.poc.model.TopicInfo;
 import com.kafka.poc.service.TopicService;
+import com.kafka.poc.utils.AdminModelMapper;
+import com.kafka.poc.utils.Pagination;
+import com.kafka.poc.utils.RequestDeadline;
 import com.kafka.poc.utils.Utility;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.*;
-import org.apache.kafka.common.Node;
+import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.errors.InvalidReplicationFactorException;
 import org.apache.kafka.common.errors.TopicExistsException;
 import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service implementation for managing Kafka topics.
@@ -36,10 +40,32 @@ import java.util.stream.Collectors;
 public class TopicServiceImpl implements TopicService {
 
     /**
-     * KafkaAdmin instance for managing Kafka topics.
+     * Shared AdminClient for managing Kafka topics.
      */
     @Autowired
-    private KafkaAdmin kafkaAdmin;
+    private AdminClient adminClient;
+
+    /**
+     * Page size used when a paginated request does not specify one.
+     */
+    @Value("${kafka.poc.pagination.default-limit:50}")
+    private int defaultLimit;
+
+    /**
+     * Largest page size a paginated request may ask for.
+     */
+    @Value("${kafka.poc.pagination.max-limit:500}")
+    private int maxLimit;
+
+    /**
+     * TopicInfo fields that require describing the topic.
+     */
+    private static final Set<String> DESCRIBE_FIELDS = Set.of("partitions", "replicationFactor", "replicasAssignments", "partitionInfos");
+
+    /**
+     * Every TopicInfo field that can be projected.
+     */
+    private static final Set<String> TOPIC_FIELDS = Set.of("topicName", "partitions", "replicationFactor", "replicasAssignments", "partitionInfos", "configs");
 
     /**
      * Creates a new Kafka topic based on the provided request data.
@@ -50,9 +76,10 @@ public class TopicServiceImpl implements TopicService {
      */
     @Override
     public TopicInfo createTopic(CreateTopicRequestDTO createTopicRequestDTO) {
-        log.info("Received request to create topic: {}", Utility.objectToJsonString(createTopicRequestDTO));
+        log.info("Received request to create topic '{}' with {} partitions and replication factor {}", createTopicRequestDTO.getTopicName(),
+                createTopicRequestDTO.getPartitions(), createTopicRequestDTO.getReplicationFactor());
         TopicInfo topicInfo;
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+        try {
             NewTopic newTopic;
             if (createTopicRequestDTO.getReplicasAssignments() != null && !createTopicRequestDTO.getReplicasAssignments().isEmpty()) {
                 newTopic = new NewTopic(createTopicRequestDTO.getTopicName(), createTopicRequestDTO.getReplicasAssignments());
@@ -64,10 +91,12 @@ public class TopicServiceImpl implements TopicService {
             if (createTopicRequestDTO.getConfigs() != null && !createTopicRequestDTO.getConfigs().isEmpty()) {
                 newTopic.configs(createTopicRequestDTO.getConfigs());
             }
-            CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
-            createTopicsResult.all().get();
+            CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic),
+                    new CreateTopicsOptions().timeoutMs(RequestDeadline.timeoutMs()));
+            RequestDeadline.await(createTopicsResult.all());
             topicInfo = getTopicInfo(createTopicRequestDTO.getTopicName());
-            log.info("Topic '{}' created successfully with details: {}", createTopicRequestDTO.getTopicName(), Utility.objectToJsonString(topicInfo));
+            log.info("Topic '{}' created successfully.", createTopicRequestDTO.getTopicName());
+            log.atDebug().setMessage("Created topic details: {}").addArgument(Utility.lazyJson(topicInfo)).log();
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
             if (cause instanceof TopicExistsException) {
@@ -88,6 +117,11 @@ public class TopicServiceImpl implements TopicService {
             Thread.currentThread().interrupt();
             log.error("Topic creation for '{}' was interrupted. Error: {}", createTopicRequestDTO.getTopicName(), e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Topic creation was interrupted.");
+        } catch (CommonCustomException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during creation of topic: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error occurred while creating topic '{}': {}", createTopicRequestDTO.getTopicName(), e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while creating topic.");
@@ -104,10 +138,13 @@ public class TopicServiceImpl implements TopicService {
     @Override
     public Set<String> getAllTopicName() {
         log.info("Fetching all topic names from the Kafka cluster.");
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
-            Set<String> topicsName = adminClient.listTopics().names().get();
+        try {
+            Set<String> topicsName = RequestDeadline.await(adminClient.listTopics(new ListTopicsOptions().timeoutMs(RequestDeadline.timeoutMs())).names());
             log.info("Successfully fetched topic names: {}", topicsName);
             return topicsName;
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during topic name listing: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while creating topic.");
         }
@@ -124,30 +161,19 @@ public class TopicServiceImpl implements TopicService {
     public TopicInfo getTopicInfo(String topicName) {
         log.info("Fetching topic info for '{}'", topicName);
         TopicInfo topicInfo = null;
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
-            DescribeTopicsResult describeTopicsResult = adminClient.describeTopics(Collections.singleton(topicName));
+        try {
+            DescribeTopicsResult describeTopicsResult = adminClient.describeTopics(Collections.singleton(topicName),
+                    new DescribeTopicsOptions().timeoutMs(RequestDeadline.timeoutMs()));
             if (describeTopicsResult != null) {
-                TopicDescription topicDescription = describeTopicsResult.topicNameValues().get(topicName).get();
+                TopicDescription topicDescription = RequestDeadline.await(describeTopicsResult.topicNameValues().get(topicName));
                 ConfigResource configResource = new ConfigResource(ConfigResource.Type.TOPIC, topicName);
-                DescribeConfigsResult describeConfigsResult = adminClient.describeConfigs(Collections.singleton(configResource));
-                Config config = describeConfigsResult.all().get().get(configResource);
+                DescribeConfigsResult describeConfigsResult = adminClient.describeConfigs(Collections.singleton(configResource),
+                        new DescribeConfigsOptions().timeoutMs(RequestDeadline.timeoutMs()));
+                Config config = RequestDeadline.await(describeConfigsResult.all()).get(configResource);
 
-                topicInfo = TopicInfo.builder()
-                        .topicName(topicDescription.name())
-                        .partitions(topicDescription.partitions().size())
-                        .replicationFactor((short) topicDescription.partitions().getFirst().replicas().size())
-                        .replicasAssignments(topicDescription.partitions().stream()
-                                .collect(Collectors.toMap(
-                                        TopicPartitionInfo::partition,
-                                        p -> p.replicas().stream().map(Node::id).collect(Collectors.toList())
-                                )))
-                        .configs(config.entries().stream()
-                                .collect(Collectors.toMap(
-                                        ConfigEntry::name,
-                                        ConfigEntry::value
-                                )))
-                        .build();
-                log.info("Successfully fetched topic info for '{}': {}", topicName, Utility.objectToJsonString(topicInfo));
+                topicInfo = AdminModelMapper.toTopicInfo(topicDescription, config, true);
+                log.info("Successfully fetched topic info for '{}'.", topicName);
+                log.atDebug().setMessage("Topic info for '{}': {}").addArgument(topicName).addArgument(Utility.lazyJson(topicInfo)).log();
             }
         } catch (ExecutionException e) {
             if (e.getCause() instanceof UnknownTopicOrPartitionException) {
@@ -164,6 +190,9 @@ public class TopicServiceImpl implements TopicService {
             Thread.currentThread().interrupt();
             log.error("Fetching topic info for '{}' was interrupted. Error: {}", topicName, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Fetching topic info was interrupted.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during topic info fetch: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error while fetching topic info for '{}': {}", topicName, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while fetching topic info.");
@@ -171,6 +200,106 @@ public class TopicServiceImpl implements TopicService {
         return topicInfo;
     }
 
+    /**
+     * Retrieves one page of topics, ordered by name.
+     * <p>
+     * Topic names are listed once and filtered by prefix and cursor; only the topics of the page are then described,
+     * with one batched describeTopics request if a partition field is requested and one batched describeConfigs
+     * request if {@code configs} is requested. A topic deleted between the listing and these requests is left out of
+     * the page.
+     * </p>
+     *
+     * @param query The projection, name prefix filter and page position.
+     * @return The matching topics and the cursor of the next page.
+     * @throws CommonCustomException with 400 for an invalid query, or if there is an error while fetching topics.
+     */
+    @Override
+    public PageResult<TopicInfo> getTopicPage(TopicQueryDTO query) {
+        Set<String> fields = Pagination.fields(query.getFields(), TOPIC_FIELDS);
+        int limit = Pagination.limit(query.getLimit(), defaultLimit, maxLimit);
+        String after = Pagination.decodeCursor(query.getCursor());
+        String prefix = query.getTopicPrefix() == null ? "" : query.getTopicPrefix();
+        log.info("Fetching topic page: fields={}, topicPrefix={}, limit={}.", fields, prefix, limit);
+        try {
+            List<String> candidates = RequestDeadline.await(adminClient.listTopics(new ListTopicsOptions().timeoutMs(RequestDeadline.timeoutMs())).names())
+                    .stream()
+                    .filter(name -> name.startsWith(prefix) && (after == null || name.compareTo(after) > 0))
+                    .sorted()
+                    .toList();
+            List<String> pageNames = candidates.subList(0, Math.min(limit, candidates.size()));
+            boolean describe = !pageNames.isEmpty() && fields.stream().anyMatch(DESCRIBE_FIELDS::contains);
+            boolean withConfigs = !pageNames.isEmpty() && fields.contains("configs");
+            Map<String, TopicDescription> descriptions = describe
+                    ? awaitExistingTopics(adminClient.describeTopics(pageNames, new DescribeTopicsOptions().timeoutMs(RequestDeadline.timeoutMs())).topicNameValues())
+                    : Collections.emptyMap();
+            Map<ConfigResource, Config> configs = withConfigs
+                    ? awaitExistingTopics(adminClient.describeConfigs(pageNames.stream().map(name -> new ConfigResource(ConfigResource.Type.TOPIC, name)).toList(),
+                            new DescribeConfigsOptions().timeoutMs(RequestDeadline.timeoutMs())).values())
+                    : Collections.emptyMap();
+            List<TopicInfo> items = new ArrayList<>(pageNames.size());
+            for (String name : pageNames) {
+                TopicDescription description = descriptions.get(name);
+                Config config = configs.get(new ConfigResource(ConfigResource.Type.TOPIC, name));
+                if ((describe && description == null) || (withConfigs && config == null)) {
+                    continue;
+                }
+                TopicInfo.TopicInfoBuilder builder = TopicInfo.builder().topicName(name);
+                if (description != null) {
+                    List<TopicPartitionInfo> partitions = description.partitions();
+                    if (fields.contains("partitions")) {
+                        builder.partitions(partitions.size());
+                    }
+                    if (fields.contains("replicationFactor")) {
+                        builder.replicationFactor(partitions.isEmpty() ? 0 : (short) partitions.getFirst().replicas().size());
+                    }
+                    if (fields.contains("replicasAssignments")) {
+                        builder.replicasAssignments(AdminModelMapper.toReplicasAssignments(partitions));
+                    }
+                    if (fields.contains("partitionInfos")) {
+                        builder.partitionInfos(partitions.stream().map(AdminModelMapper::toPartitionInfo).toList());
+                    }
+                }
+                if (config != null) {
+                    builder.configs(AdminModelMapper.toConfigMap(config));
+                }
+                items.add(builder.build());
+            }
+            String nextCursor = candidates.size() > limit ? Pagination.encodeCursor(pageNames.getLast()) : null;
+            log.info("Fetched topic page of {} topics out of {} candidates.", items.size(), candidates.size());
+            return PageResult.<TopicInfo>builder().items(items).nextCursor(nextCursor).build();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            log.error("Failed to fetch topic page. Reason: {}", cause.getMessage(), cause);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unable to fetch topics at this time. Please try again later.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Topic page retrieval was interrupted. Reason: {}", e.getMessage(), e);
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Fetching topics was interrupted.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during topic page retrieval: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
+        }
+    }
+
+    /**
+     * Awaits per-topic admin results, leaving out topics that no longer exist.
+     */
+    private <K, V> Map<K, V> awaitExistingTopics(Map<K, KafkaFuture<V>> futures)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Map<K, V> results = new HashMap<>(futures.size() * 2);
+        for (Map.Entry<K, KafkaFuture<V>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), RequestDeadline.await(entry.getValue()));
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof UnknownTopicOrPartitionException)) {
+                    throw e;
+                }
+                log.debug("Topic {} was deleted while fetching the topic page.", entry.getKey());
+            }
+        }
+        return results;
+    }
+
     /**
      * Deletes a specified Kafka topic from the cluster.
      *
@@ -179,9 +308,10 @@ public class TopicServiceImpl implements TopicService {
      */
     @Override
     public void deleteTopic(String topicName) {
-        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
-            DeleteTopicsResult deleteTopicsResult = adminClient.deleteTopics(Collections.singleton(topicName));
-            deleteTopicsResult.all().get();
+        try {
+            DeleteTopicsResult deleteTopicsResult = adminClient.deleteTopics(Collections.singleton(topicName),
+                    new DeleteTopicsOptions().timeoutMs(RequestDeadline.timeoutMs()));
+            RequestDeadline.await(deleteTopicsResult.all());
             log.info("Topic '{}' deleted successfully.", topicName);
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
@@ -196,6 +326,9 @@ public class TopicServiceImpl implements TopicService {
             Thread.currentThread().interrupt();
             log.error("Deletion of topic '{}' was interrupted. Error: {}", topicName, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Topic deletion was interrupted.");
+        } catch (TimeoutException e) {
+            log.error("Request deadline exceeded during deletion of topic: {}", e.getMessage());
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Kafka cluster did not respond in time. Please try again later.");
         } catch (Exception e) {
             log.error("Unexpected error while deleting topic '{}': {}", topicName, e.getMessage(), e);
             throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred while deleting topic.");
@@ -1,29 +1,131 @@
 package com.kafka.poc.service.impl;
 
 import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.entity.OutboxEvent;
+import com.kafka.poc.enums.OutboxStatus;
+import com.kafka.poc.exception.CommonCustomException;
 import com.kafka.poc.producer.KafkaProducer;
+import com.kafka.poc.producer.RingBufferHandoff;
+import com.kafka.poc.producer.TransactionBatcher;
+import com.kafka.poc.repository.OutboxEventRepository;
 import com.kafka.poc.service.TransactionService;
-import com.kafka.poc.utils.Utility;
+import com.kafka.poc.utils.Constants;
+import com.kafka.poc.utils.HotPathLogger;
+import com.kafka.poc.utils.RequestDeadline;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final HotPathLogger INITIATE_LOG = HotPathLogger.of(TransactionServiceImpl.class, "transaction.initiate");
+
     @Autowired
     private KafkaProducer kafkaProducer;
 
+    @Autowired
+    private TransactionBatcher transactionBatcher;
+
+    @Autowired
+    private RingBufferHandoff ringBufferHandoff;
+
+    @Autowired
+    private ObjectProvider<OutboxEventRepository> outboxEventRepositoryProvider;
+
+    /**
+     * When true, transactions are written to the outbox table and published by
+     * {@link com.kafka.poc.producer.OutboxRelay} instead of being sent to Kafka on the request thread.
+     */
+    @Value("${kafka.poc.outbox.enabled:false}")
+    private boolean outboxEnabled;
+
+    /**
+     * When batching or handing off to producer threads, whether the request waits for the broker's acknowledgement
+     * of its record before returning.
+     */
+    @Value("${kafka.poc.batching.await-ack:false}")
+    private boolean awaitAck;
+
+    private OutboxEventRepository outboxEventRepository;
+
+    @PostConstruct
+    public void resolveOutbox() {
+        if (outboxEnabled) {
+            outboxEventRepository = outboxEventRepositoryProvider.getIfAvailable();
+            if (outboxEventRepository == null) {
+                throw new IllegalStateException("kafka.poc.outbox.enabled is true but no JPA datasource is configured.");
+            }
+        }
+    }
+
     @Override
     public TransactionDTO initiateTransaction(TransactionDTO transactionDTO) {
-        log.info("Initiating transaction request : {}", Utility.objectToJsonString(transactionDTO));
+        INITIATE_LOG.info("Initiating transaction request", "transactionId", transactionDTO.getTransactionId(), "type", transactionDTO.getType());
         try{
-            kafkaProducer.sendMessage("banking.transaction.topic", Utility.objectToJsonString(transactionDTO));
+            if (outboxEventRepository != null) {
+                saveToOutbox(transactionDTO);
+            } else if (ringBufferHandoff.isEnabled()) {
+                awaitIfRequired(ringBufferHandoff.submit(Constants.TRANSACTION_TOPIC,
+                        transactionDTO.getFromAccount(), kafkaProducer.transactionPayload(transactionDTO)));
+            } else if (transactionBatcher.isEnabled()) {
+                awaitIfRequired(transactionBatcher.submit(Constants.TRANSACTION_TOPIC,
+                        transactionDTO.getFromAccount(), kafkaProducer.transactionPayload(transactionDTO)));
+            } else {
+                kafkaProducer.publishTransaction(Constants.TRANSACTION_TOPIC, transactionDTO.getFromAccount(), transactionDTO);
+            }
             return transactionDTO;
         } catch (Exception e){
-            log.error("Error while initiating transaction : {}", e.getMessage());
+            log.error("Error while initiating transaction {} : {}", transactionDTO.getTransactionId(), e.getMessage());
             throw e;
         }
     }
+
+    private void awaitIfRequired(CompletableFuture<RecordMetadata> future) {
+        if (!awaitAck) {
+            return;
+        }
+        try {
+            future.get(RequestDeadline.remainingMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CommonCustomException cause) {
+                throw cause;
+            }
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to publish transaction: " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new CommonCustomException(HttpStatus.GATEWAY_TIMEOUT.value(), "Timed out waiting for the broker to acknowledge the transaction.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Interrupted while publishing the transaction.");
+        }
+    }
+
+    private void saveToOutbox(TransactionDTO transactionDTO) {
+        try {
+            Instant now = Instant.now();
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(Constants.TRANSACTION_TOPIC)
+                    .messageKey(transactionDTO.getFromAccount())
+                    .payload(kafkaProducer.transactionPayload(transactionDTO))
+                    .createdAt(now)
+                    .status(OutboxStatus.PENDING)
+                    .availableAt(now)
+                    .build());
+        } catch (DataAccessException e) {
+            throw new CommonCustomException(HttpStatus.SERVICE_UNAVAILABLE.value(), "Transaction could not be recorded: " + e.getMostSpecificCause().getMessage());
+        }
+    }
 }
@@ -0,0 +1,185 @@
+package com.kafka.poc.utils;
+
+import com.kafka.poc.model.BrokerInfo;
+import com.kafka.poc.model.ConsumerGroupInfo;
+import com.kafka.poc.model.Coordinator;
+import com.kafka.poc.model.MemberInfo;
+import com.kafka.poc.model.PartitionInfo;
+import com.kafka.poc.model.TopicInfo;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maps AdminClient results to the application's models, shared by the blocking, reactive and snapshot services so
+ * each model is built the same way everywhere.
+ */
+public final class AdminModelMapper {
+
+    private AdminModelMapper() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Converts a resource configuration to a name to value map.
+     *
+     * @param config the configuration, may be null
+     * @return the entries of the configuration, or an empty map if it is null
+     */
+    public static Map<String, String> toConfigMap(Config config) {
+        if (config == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> configMap = new HashMap<>();
+        for (ConfigEntry entry : config.entries()) {
+            configMap.put(entry.name(), entry.value());
+        }
+        return configMap;
+    }
+
+    /**
+     * Maps a broker node without its configuration.
+     */
+    public static BrokerInfo toBrokerInfo(Node node) {
+        return BrokerInfo.builder()
+                .id(node.id())
+                .host(node.host())
+                .port(node.port())
+                .rack(node.rack())
+                .build();
+    }
+
+    /**
+     * Maps a broker node with its configuration.
+     *
+     * @param node   the broker node
+     * @param config the broker configuration, may be null
+     * @return the BrokerInfo
+     */
+    public static BrokerInfo toBrokerInfo(Node node, Config config) {
+        BrokerInfo brokerInfo = toBrokerInfo(node);
+        brokerInfo.setConfigs(toConfigMap(config));
+        return brokerInfo;
+    }
+
+    /**
+     * Maps a group coordinator node.
+     *
+     * @param node the coordinator node, may be null
+     * @return the Coordinator, or null if there is no coordinator
+     */
+    public static Coordinator toCoordinator(Node node) {
+        if (node == null) {
+            return null;
+        }
+        return Coordinator.builder()
+                .id(node.id())
+                .idString(node.idString())
+                .host(node.host())
+                .port(node.port())
+                .rack(node.rack())
+                .build();
+    }
+
+    /**
+     * Maps a consumer group member with its assigned partitions.
+     */
+    public static MemberInfo toMemberInfo(MemberDescription memberDescription) {
+        return MemberInfo.builder()
+                .id(memberDescription.consumerId())
+                .clientId(memberDescription.clientId())
+                .host(memberDescription.host())
+                .assignment(memberDescription.assignment().topicPartitions().stream().map(topicPartition -> {
+                    Map<String, Object> map = new HashMap<>();
+                    map.put("topic", topicPartition.topic());
+                    map.put("partition", String.valueOf(topicPartition.partition()));
+                    return map;
+                }).toList())
+                .build();
+    }
+
+    /**
+     * Maps a partition description to its leader, replica and in-sync replica details.
+     */
+    public static PartitionInfo toPartitionInfo(TopicPartitionInfo topicPartitionInfo) {
+        return PartitionInfo.builder()
+                .partitionId(topicPartitionInfo.partition())
+                .leader(topicPartitionInfo.leader() == null || topicPartitionInfo.leader().isEmpty() ? null : toBrokerInfo(topicPartitionInfo.leader()))
+                .replicas(topicPartitionInfo.replicas().stream().map(AdminModelMapper::toBrokerInfo).toList())
+                .inSyncReplicas(topicPartitionInfo.isr().stream().map(AdminModelMapper::toBrokerInfo).toList())
+                .build();
+    }
+
+    /**
+     * Maps partitions to the broker IDs of their replicas.
+     */
+    public static Map<Integer, List<Integer>> toReplicasAssignments(List<TopicPartitionInfo> partitions) {
+        return partitions.stream()
+                .collect(Collectors.toMap(
+                        TopicPartitionInfo::partition,
+                        p -> p.replicas().stream().map(Node::id).collect(Collectors.toList())
+                ));
+    }
+
+    /**
+     * Maps a topic description and its configuration.
+     *
+     * @param description        the topic description
+     * @param config             the topic configuration, may be null
+     * @param withPartitionInfos whether to include the per-partition leader and replica details
+     * @return the TopicInfo
+     */
+    public static TopicInfo toTopicInfo(TopicDescription description, Config config, boolean withPartitionInfos) {
+        List<TopicPartitionInfo> partitions = description.partitions();
+        TopicInfo.TopicInfoBuilder builder = TopicInfo.builder()
+                .topicName(description.name())
+                .partitions(partitions.size())
+                .replicationFactor(partitions.isEmpty() ? 0 : (short) partitions.getFirst().replicas().size())
+                .replicasAssignments(toReplicasAssignments(partitions))
+                .configs(toConfigMap(config));
+        if (withPartitionInfos) {
+            builder.partitionInfos(partitions.stream().map(AdminModelMapper::toPartitionInfo).toList());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Maps a consumer group listing and, if available, its description.
+     *
+     * @param listing     the group listing
+     * @param description the group description, may be null
+     * @param withMembers whether to include the group members
+     * @return the ConsumerGroupInfo
+     */
+    public static ConsumerGroupInfo toConsumerGroupInfo(ConsumerGroupListing listing, ConsumerGroupDescription description,
+                                                        boolean withMembers) {
+        ConsumerGroupInfo.ConsumerGroupInfoBuilder builder = ConsumerGroupInfo.builder()
+                .id(listing.groupId())
+                .state(listing.state().isPresent() ? listing.state().get().toString() : "UNKNOWN")
+                .isSimpleConsumerGroup(listing.isSimpleConsumerGroup())
+                .type(listing.type().isPresent() ? listing.type().get().toString() : "UNKNOWN");
+        if (description != null) {
+            builder.partitionAssignor(description.partitionAssignor())
+                    .coordinator(toCoordinator(description.coordinator()))
+                    .topics(description.members().stream().flatMap(member ->
+                            member.assignment().topicPartitions().stream().map(TopicPartition::topic)).distinct().toList())
+                    .authorizedOperations(description.authorizedOperations());
+            if (withMembers) {
+                builder.members(description.members().stream().map(AdminModelMapper::toMemberInfo).toList());
+            }
+        }
+        return builder.build();
+    }
+}
@@ -17,4 +17,8 @@ public class Constants {
      * Status tag indicating a failed operation.
      */
     public static final String FAILURE_TAG = "Failure";
+    /**
+     * Topic transactions are published to.
+     */
+    public static final String TRANSACTION_TOPIC = "banking.transaction.topic";
 }
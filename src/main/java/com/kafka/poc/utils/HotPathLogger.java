@@ -0,0 +1,234 @@
+package com.kafka.poc.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sampled, rate-limited logger for per-message hot paths.
+ * <p>
+ * Each instance logs one event type (for example {@code kafka.producer.send}). INFO events are sampled
+ * (one in {@code sample-every}) and every level is limited to {@code max-per-second} events per logger; warnings
+ * and errors are only rate limited, never sampled. Events carry key/value fields instead of rendered payloads,
+ * written once: appended to the message as {@code key=value} by default, or, with
+ * {@code kafka.poc.logging.key-values=true}, attached to the SLF4J event as key/value pairs only, for structured log
+ * formats and {@code %kvp} patterns. Nothing is formatted unless the level is enabled and the event is kept, so a
+ * dropped event costs a level check and two atomic increments. A value that is costly to compute, or may fail, can
+ * be passed as a {@link Supplier}, which is only called for kept events.
+ * </p>
+ *
+ * <p>Each emitted event reports how many events were dropped since the previous one ({@code dropped=}), and the
+ * {@code logging.hotpath.events} counter (tags {@code event}, {@code outcome}) counts logged, sampled-out and
+ * rate-limited events. Sampling settings are global and applied by
+ * {@link com.kafka.poc.config.HotPathLoggingConfig} from {@code kafka.poc.logging.*}, which also binds the counters
+ * to the application's meter registry; loggers are static fields created before the registry exists, so they
+ * count into local adders that the registry reads once bound.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *     private static final HotPathLogger SEND_LOG = HotPathLogger.of(KafkaProducer.class, "kafka.producer.send");
+ *     SEND_LOG.info("Message published", "topic", topic, "offset", offset);
+ * </pre>
+ * </p>
+ */
+public final class HotPathLogger {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private static volatile int sampleEvery = 100;
+    private static volatile int maxPerSecond = 20;
+    private static volatile boolean keyValues;
+    private static final List<HotPathLogger> LOGGERS = new CopyOnWriteArrayList<>();
+    private static MeterRegistry meterRegistry;
+
+    private final Logger logger;
+    private final String event;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong windowStartNanos = new AtomicLong(System.nanoTime());
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicLong droppedSinceLast = new AtomicLong();
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    private HotPathLogger(Class<?> type, String event) {
+        this.logger = LoggerFactory.getLogger(type);
+        this.event = event;
+    }
+
+    /**
+     * Creates a hot-path logger writing to the logger of the given class.
+     *
+     * @param type  the class whose logger receives the events
+     * @param event the event type, used as the {@code event} field and counter tag
+     * @return a new hot-path logger
+     */
+    public static HotPathLogger of(Class<?> type, String event) {
+        HotPathLogger hotPathLogger = new HotPathLogger(type, event);
+        synchronized (HotPathLogger.class) {
+            LOGGERS.add(hotPathLogger);
+            if (meterRegistry != null) {
+                hotPathLogger.registerCounters(meterRegistry);
+            }
+        }
+        return hotPathLogger;
+    }
+
+    /**
+     * Registers the event counters of every hot-path logger, existing and future, with the given registry.
+     *
+     * @param registry the application meter registry
+     */
+    public static synchronized void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        LOGGERS.forEach(hotPathLogger -> hotPathLogger.registerCounters(registry));
+    }
+
+    /**
+     * Applies the global sampling and output settings.
+     *
+     * @param everyN      keep one in {@code everyN} INFO events; 1 keeps all of them
+     * @param perSecond   maximum events logged per second by each logger
+     * @param asKeyValues true to attach the fields as SLF4J key/value pairs, false to append them to the message
+     */
+    public static void configure(int everyN, int perSecond, boolean asKeyValues) {
+        sampleEvery = Math.max(1, everyN);
+        maxPerSecond = Math.max(1, perSecond);
+        keyValues = asKeyValues;
+    }
+
+    public void info(String message, String k1, Object v1) {
+        if (accept(Level.INFO)) {
+            emit(Level.INFO, message, 1, k1, v1, null, null, null, null, null, null);
+        }
+    }
+
+    public void info(String message, String k1, Object v1, String k2, Object v2) {
+        if (accept(Level.INFO)) {
+            emit(Level.INFO, message, 2, k1, v1, k2, v2, null, null, null, null);
+        }
+    }
+
+    public void info(String message, String k1, Object v1, String k2, Object v2, String k3, Object v3) {
+        if (accept(Level.INFO)) {
+            emit(Level.INFO, message, 3, k1, v1, k2, v2, k3, v3, null, null);
+        }
+    }
+
+    public void info(String message, String k1, Object v1, String k2, Object v2, String k3, Object v3, String k4, Object v4) {
+        if (accept(Level.INFO)) {
+            emit(Level.INFO, message, 4, k1, v1, k2, v2, k3, v3, k4, v4);
+        }
+    }
+
+    public void error(String message, String k1, Object v1, String k2, Object v2) {
+        if (accept(Level.ERROR)) {
+            emit(Level.ERROR, message, 2, k1, v1, k2, v2, null, null, null, null);
+        }
+    }
+
+    public void error(String message, String k1, Object v1, String k2, Object v2, String k3, Object v3) {
+        if (accept(Level.ERROR)) {
+            emit(Level.ERROR, message, 3, k1, v1, k2, v2, k3, v3, null, null);
+        }
+    }
+
+    /**
+     * Decides whether an event at the given level is logged, counting the outcome.
+     */
+    private boolean accept(Level level) {
+        if (!logger.isEnabledForLevel(level)) {
+            return false;
+        }
+        if (level == Level.INFO && sequence.getAndIncrement() % sampleEvery != 0) {
+            droppedSinceLast.incrementAndGet();
+            sampledOut.increment();
+            return false;
+        }
+        long now = System.nanoTime();
+        long windowStart = windowStartNanos.get();
+        if (now - windowStart >= WINDOW_NANOS && windowStartNanos.compareAndSet(windowStart, now)) {
+            windowCount.set(0);
+        }
+        if (windowCount.incrementAndGet() > maxPerSecond) {
+            droppedSinceLast.incrementAndGet();
+            rateLimited.increment();
+            return false;
+        }
+        logged.increment();
+        return true;
+    }
+
+    private void emit(Level level, String message, int fields,
+                      String k1, Object v1, String k2, Object v2, String k3, Object v3, String k4, Object v4) {
+        long dropped = droppedSinceLast.getAndSet(0);
+        if (keyValues) {
+            LoggingEventBuilder builder = logger.atLevel(level).addKeyValue("event", event);
+            if (fields >= 1) {
+                builder.addKeyValue(k1, resolve(v1));
+            }
+            if (fields >= 2) {
+                builder.addKeyValue(k2, resolve(v2));
+            }
+            if (fields >= 3) {
+                builder.addKeyValue(k3, resolve(v3));
+            }
+            if (fields >= 4) {
+                builder.addKeyValue(k4, resolve(v4));
+            }
+            builder.addKeyValue("dropped", dropped).log(message);
+            return;
+        }
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(message).append(" event=").append(event);
+        if (fields >= 1) {
+            append(buffer, k1, v1);
+        }
+        if (fields >= 2) {
+            append(buffer, k2, v2);
+        }
+        if (fields >= 3) {
+            append(buffer, k3, v3);
+        }
+        if (fields >= 4) {
+            append(buffer, k4, v4);
+        }
+        buffer.append(" dropped=").append(dropped);
+        logger.atLevel(level).log(buffer.toString());
+    }
+
+    private static void append(StringBuilder buffer, String key, Object value) {
+        buffer.append(' ').append(key).append('=').append(resolve(value));
+    }
+
+    private static Object resolve(Object value) {
+        return value instanceof Supplier<?> supplier ? supplier.get() : value;
+    }
+
+    private void registerCounters(MeterRegistry registry) {
+        counter(registry, "logged", logged);
+        counter(registry, "sampled_out", sampledOut);
+        counter(registry, "rate_limited", rateLimited);
+    }
+
+    private void counter(MeterRegistry registry, String outcome, LongAdder count) {
+        FunctionCounter.builder("logging.hotpath.events", count, LongAdder::sum)
+                .description("Hot-path log events by outcome")
+                .tag("event", event)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
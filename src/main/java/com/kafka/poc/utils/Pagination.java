@@ -0,0 +1,98 @@
+package com.kafka.poc.utils;
+
+import com.kafka.poc.exception.CommonCustomException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Helpers for cursor pagination and field projection of admin listings.
+ * <p>
+ * A cursor is the URL-safe Base64 encoding of the sort key (topic name or group ID) of the last item of a page; the
+ * next page starts strictly after it, so pages stay consistent when items are created or deleted in between.
+ * </p>
+ */
+public final class Pagination {
+
+    private Pagination() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Encodes the sort key of the last item of a page.
+     *
+     * @param lastKey sort key of the last returned item
+     * @return the opaque cursor
+     */
+    public static String encodeCursor(String lastKey) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor back into the sort key the next page starts after.
+     *
+     * @param cursor the cursor, may be null or blank for the first page
+     * @return the sort key, or null for the first page
+     * @throws CommonCustomException with 400 if the cursor is malformed
+     */
+    public static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(), "Invalid cursor '" + cursor + "'.");
+        }
+    }
+
+    /**
+     * Resolves the requested page size.
+     *
+     * @param limit        requested size, may be null
+     * @param defaultLimit size used when none is requested
+     * @param maxLimit     upper bound
+     * @return the page size
+     * @throws CommonCustomException with 400 if the limit is not positive
+     */
+    public static int limit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+        if (limit < 1) {
+            throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(), "Limit must be greater than zero.");
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    /**
+     * Validates a field projection.
+     *
+     * @param requested requested field names, may be null or empty for all fields
+     * @param allowed   names of the fields that can be requested
+     * @return the requested fields, or all allowed fields when none are requested
+     * @throws CommonCustomException with 400 if an unknown field is requested
+     */
+    public static Set<String> fields(Collection<String> requested, Set<String> allowed) {
+        if (requested == null || requested.isEmpty()) {
+            return allowed;
+        }
+        Set<String> fields = new TreeSet<>();
+        for (String field : requested) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new CommonCustomException(HttpStatus.BAD_REQUEST.value(),
+                        "Unknown field '" + name + "'. Supported fields: " + new TreeSet<>(allowed) + ".");
+            }
+            fields.add(name);
+        }
+        return fields.isEmpty() ? allowed : fields;
+    }
+}
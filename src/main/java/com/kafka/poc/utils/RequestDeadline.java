@@ -0,0 +1,96 @@
+package com.kafka.poc.utils;
+
+import org.apache.kafka.common.KafkaFuture;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per-request deadline for blocking Kafka admin calls.
+ * <p>
+ * {@link com.kafka.poc.config.RequestDeadlineFilter} starts a deadline when an API request arrives, and every admin
+ * call made while serving it waits only for the time that is left: {@link #timeoutMs()} bounds the admin request
+ * itself and {@link #await(KafkaFuture)} bounds the wait for its result. Nested service calls therefore share one
+ * budget instead of each waiting their own 30 seconds. The deadline is held in a thread local, which is cheap with
+ * one virtual thread per request. Calls made outside a request (scheduled jobs, startup) use the default timeout.
+ * </p>
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private static volatile long defaultTimeoutMs = 30_000;
+
+    private RequestDeadline() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Sets the timeout used when no request deadline is active.
+     *
+     * @param timeoutMs default timeout in milliseconds
+     */
+    public static void configure(long timeoutMs) {
+        defaultTimeoutMs = Math.max(1, timeoutMs);
+    }
+
+    /**
+     * Starts a deadline for the current thread.
+     *
+     * @param timeoutMs time budget in milliseconds from now
+     */
+    public static void start(long timeoutMs) {
+        DEADLINE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    /**
+     * Clears the deadline of the current thread.
+     */
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /**
+     * Returns the milliseconds left before the current deadline, or the default timeout when none is active.
+     *
+     * @return remaining time in milliseconds, never negative
+     */
+    public static long remainingMs() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return defaultTimeoutMs;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * Returns the remaining time as an admin client {@code timeoutMs} option value.
+     *
+     * @return remaining time in milliseconds, at least 1
+     */
+    public static int timeoutMs() {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, remainingMs()));
+    }
+
+    /**
+     * Waits for a Kafka future until the current deadline, cancelling it if the deadline passes first.
+     *
+     * @param future the future to wait for
+     * @param <T>    the result type
+     * @return the result of the future
+     * @throws TimeoutException if the deadline passes before the future completes
+     */
+    public static <T> T await(KafkaFuture<T> future) throws InterruptedException, ExecutionException, TimeoutException {
+        long remainingMs = remainingMs();
+        try {
+            if (remainingMs <= 0) {
+                throw new TimeoutException("Request deadline already exceeded.");
+            }
+            return future.get(remainingMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+}
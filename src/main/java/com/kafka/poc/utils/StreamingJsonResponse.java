@@ -0,0 +1,163 @@
+package com.kafka.poc.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafka.poc.exception.CommonCustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Writes a {@link com.kafka.poc.model.common.CommonSuccessResponse} envelope whose payload list is streamed item by
+ * item with a Jackson {@link JsonGenerator}, instead of being collected and serialized at once.
+ * <p>
+ * Each item is serialized as soon as the service produces it and the response is flushed after the first item, so
+ * peak memory no longer grows with the size of the result and clients receive bytes before the last item is
+ * fetched. The envelope carries the same fields as the buffered response, but {@code payload} is written first and
+ * {@code status}, {@code statusCode} and {@code message} last, once the outcome and the item count are known.
+ * </p>
+ * <p>
+ * Failures before the first item propagate to {@link com.kafka.poc.exception.GlobalExceptionHandler} as usual. Once
+ * the payload has started the HTTP status is already sent, so a failure closes the payload array and ends the
+ * envelope with {@code "status": "Failure"} and the error's status code and message. The caller's request deadline
+ * is carried over to the thread that writes the response.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *     return streamingJsonResponse.stream(brokerService::forEachBroker,
+ *             count -> String.format("Fetched %d brokers successfully.", count));
+ * </pre>
+ * </p>
+ */
+@Slf4j
+@Component
+public class StreamingJsonResponse {
+
+    /**
+     * Application ObjectMapper, so streamed items are serialized exactly like buffered responses.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Produces the items of a streamed payload by handing each one to the given sink.
+     *
+     * @param <T> the item type
+     */
+    @FunctionalInterface
+    public interface ItemSource<T> {
+        void forEach(Consumer<T> sink);
+    }
+
+    /**
+     * Builds a streaming HTTP 200 response for the items of the given source.
+     *
+     * @param source  produces the payload items
+     * @param message builds the response message from the number of items written
+     * @param <T>     the item type
+     * @return a response entity whose body is written on the async request thread
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(ItemSource<T> source, IntFunction<String> message) {
+        long remainingMs = RequestDeadline.remainingMs();
+        StreamingResponseBody body = outputStream -> {
+            RequestDeadline.start(remainingMs);
+            try {
+                write(outputStream, source, message);
+            } finally {
+                RequestDeadline.clear();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private <T> void write(OutputStream outputStream, ItemSource<T> source, IntFunction<String> message) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        PayloadWriter<T> writer = new PayloadWriter<>(generator);
+        try {
+            source.forEach(writer);
+        } catch (RuntimeException e) {
+            if (!writer.started) {
+                // Nothing written yet: leave the generator unflushed so the response is not committed and the
+                // exception handler can still set the error status.
+                throw e;
+            }
+            writeFailure(generator, e);
+            return;
+        }
+        try (generator) {
+            writer.start();
+            generator.writeEndArray();
+            generator.writeStringField("status", Constants.SUCCESS_TAG);
+            generator.writeNumberField("statusCode", HttpStatus.OK.value());
+            generator.writeStringField("message", message.apply(writer.count));
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeFailure(JsonGenerator generator, RuntimeException e) {
+        int statusCode = e instanceof CommonCustomException commonCustomException
+                ? commonCustomException.getStatusCode()
+                : HttpStatus.INTERNAL_SERVER_ERROR.value();
+        log.error("Streamed response failed after the payload started. Reason: {}", e.getMessage());
+        try {
+            generator.writeEndArray();
+            generator.writeStringField("status", Constants.FAILURE_TAG);
+            generator.writeNumberField("statusCode", statusCode);
+            generator.writeStringField("message", e.getMessage());
+            generator.writeEndObject();
+            generator.close();
+        } catch (IOException ioException) {
+            log.debug("Could not complete failed streamed response, client likely disconnected: {}", ioException.getMessage());
+        }
+    }
+
+    /**
+     * Sink writing each item into the payload array, opening the envelope with the first item.
+     */
+    private static final class PayloadWriter<T> implements Consumer<T> {
+
+        private final JsonGenerator generator;
+        private boolean started;
+        private int count;
+
+        private PayloadWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void accept(T item) {
+            try {
+                start();
+                generator.writeObject(item);
+                if (++count == 1) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void start() throws IOException {
+            if (!started) {
+                started = true;
+                generator.writeStartObject();
+                generator.writeStringField("timestamp", Instant.now().toString());
+                generator.writeArrayFieldStart("payload");
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.kafka.poc.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket with an adjustable rate.
+ * <p>
+ * Implemented as the generic cell rate algorithm: the bucket keeps only the theoretical arrival time of the next
+ * permit, and a permit is granted while that time is no further ahead of now than the burst allows. Acquiring is a
+ * single compare-and-set, so request threads never block on each other, and a refusal tells how long to wait
+ * before the next permit is free, which is what {@code Retry-After} needs. Changing the rate applies to the next
+ * acquisition without resetting the bucket.
+ * </p>
+ */
+public final class TokenBucket {
+
+    private final AtomicLong nextFreeNanos = new AtomicLong(System.nanoTime());
+
+    private volatile long intervalNanos;
+    private volatile long burstNanos;
+
+    /**
+     * Creates a bucket.
+     *
+     * @param permitsPerSecond sustained rate
+     * @param burstMs          time worth of permits that may be taken at once above the sustained rate
+     */
+    public TokenBucket(double permitsPerSecond, long burstMs) {
+        setRate(permitsPerSecond, burstMs);
+    }
+
+    /**
+     * Changes the sustained rate and burst.
+     *
+     * @param permitsPerSecond sustained rate, above zero
+     * @param burstMs          time worth of permits that may be taken at once above the sustained rate
+     */
+    public void setRate(double permitsPerSecond, long burstMs) {
+        intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(permitsPerSecond, 1e-3)));
+        burstNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, burstMs));
+    }
+
+    /**
+     * Returns the current sustained rate.
+     *
+     * @return permits per second
+     */
+    public double getRate() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos;
+    }
+
+    /**
+     * Takes one permit if available.
+     *
+     * @return 0 if the permit was granted, otherwise the nanoseconds until one is free
+     */
+    public long tryAcquire() {
+        long interval = intervalNanos;
+        long burst = burstNanos;
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextFreeNanos.get();
+            long start = Math.max(next, now);
+            if (start - now > burst) {
+                return start - now - burst;
+            }
+            if (nextFreeNanos.compareAndSet(next, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire()} when the request was refused by another limit.
+     */
+    public void release() {
+        nextFreeNanos.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * Returns the nanoseconds since the bucket was last drawn below full, for evicting idle buckets.
+     *
+     * @return idle time in nanoseconds, 0 while the bucket is in use
+     */
+    public long idleNanos() {
+        return Math.max(0, System.nanoTime() - nextFreeNanos.get());
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
+import java.util.function.Supplier;
+
 /**
  * Utility class providing helper methods for JSON processing and other common tasks.
  * <p>
@@ -37,6 +39,20 @@ public class Utility {
         }
     }
 
+    /**
+     * Defers the JSON rendering of an object until the returned supplier is called.
+     * <p>
+     * Intended for log arguments, e.g. {@code log.atDebug().addArgument(Utility.lazyJson(result)).log("{}")},
+     * so the object is only serialized when the log level is enabled.
+     * </p>
+     *
+     * @param object the object to be rendered as JSON
+     * @return a supplier rendering the object with {@link #objectToJsonString(Object)}
+     */
+    public static Supplier<String> lazyJson(Object object) {
+        return () -> objectToJsonString(object);
+    }
+
     /**
      * Static ObjectMapper instance for efficiency.
      */
@@ -0,0 +1,86 @@
+package com.kafka.poc.consumer;
+
+import com.kafka.poc.serialization.TransactionView;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests parsing and matching of {@link RoutingRule}.
+ */
+class RoutingRuleTest {
+
+    private static final TransactionView TRANSFER = TransactionView.of("{\"type\":\"TRANSFER\",\"status\":\"PENDING\",\"currency\":\"USD\"}");
+
+    @Test
+    void parsesTargets() {
+        RoutingRule drop = RoutingRule.parse(" type=DEBIT -> drop ");
+        RoutingRule handler = RoutingRule.parse("type=DEBIT->transactionConsumer");
+        RoutingRule pooled = RoutingRule.parse("type=DEBIT->transactionConsumer@foreign");
+
+        assertTrue(drop.isDrop());
+        assertFalse(handler.isDrop());
+        assertEquals("transactionConsumer", handler.handlerName());
+        assertNull(handler.poolName());
+        assertEquals("transactionConsumer", pooled.handlerName());
+        assertEquals("foreign", pooled.poolName());
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(IllegalStateException.class, () -> RoutingRule.parse("type=DEBIT"));
+        assertThrows(IllegalStateException.class, () -> RoutingRule.parse("type=DEBIT->"));
+        assertThrows(IllegalStateException.class, () -> RoutingRule.parse("type=REFUND->drop"));
+        assertThrows(IllegalStateException.class, () -> RoutingRule.parse("amount=1->drop"));
+        assertThrows(IllegalStateException.class, () -> RoutingRule.parse("type=->drop"));
+        assertThrows(IllegalStateException.class, () -> RoutingRule.parse("type=DEBIT->handler@"));
+    }
+
+    @Test
+    void allConditionsMustHold() {
+        assertTrue(matches("type=transfer|debit&status=PENDING&currency!=INR->drop", TRANSFER));
+        assertFalse(matches("type=TRANSFER&currency=INR->drop", TRANSFER));
+        assertTrue(matches("status!=APPROVED|REJECTED->drop", TRANSFER));
+    }
+
+    @Test
+    void unknownOrMissingEnumValuesMatchNoValue() {
+        TransactionView unknown = TransactionView.of("{\"type\":\"REFUND\",\"status\":\"SETTLED\"}");
+        TransactionView missing = TransactionView.of("{}");
+
+        assertFalse(matches("type=DEBIT|CREDIT|TRANSFER->drop", unknown));
+        assertFalse(matches("status=CREATED|PENDING|APPROVED|REJECTED->drop", unknown));
+        assertTrue(matches("type!=DEBIT->drop", unknown));
+        assertFalse(matches("type=DEBIT->drop", missing));
+    }
+
+    @Test
+    void headerConditionsDoNotNeedTheBody() {
+        RoutingRule present = RoutingRule.parse("header:source->drop");
+        RoutingRule valued = RoutingRule.parse("header:source=batch|replay->drop");
+        ConsumerRecord<Object, Object> record = record();
+        record.headers().add("source", "replay".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(present.needsBody());
+        assertTrue(present.matches(record, null));
+        assertTrue(valued.matches(record, null));
+        assertFalse(valued.matches(record(), null));
+        assertTrue(RoutingRule.parse("header:source!=batch->drop").matches(record(), null));
+        assertTrue(RoutingRule.parse("header:source&currency=USD->drop").needsBody());
+    }
+
+    private static boolean matches(String rule, TransactionView view) {
+        return RoutingRule.parse(rule).matches(record(), view);
+    }
+
+    private static ConsumerRecord<Object, Object> record() {
+        return new ConsumerRecord<>("banking.transaction.topic", 0, 0L, null, null);
+    }
+}
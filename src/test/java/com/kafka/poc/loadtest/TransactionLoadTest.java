@@ -0,0 +1,279 @@
+package com.kafka.poc.loadtest;
+
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.enums.TransactionStatus;
+import com.kafka.poc.enums.TransactionType;
+import com.kafka.poc.utils.Utility;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: drives the transaction (or producer) REST endpoint at a fixed request rate against
+ * embedded Kafka and measures latency from the intended request start until {@code TransactionConsumer} has
+ * processed the record.
+ * <p>
+ * Requests are paced on an open model (one request per interval, regardless of how slow earlier responses are) and
+ * latencies are measured from the scheduled start time, so slowdowns are not hidden by coordinated omission.
+ * Consumption is observed through a {@link RecordInterceptor} on the listener container factory, which runs after
+ * {@code consumeTransaction} returns. HTTP and end-to-end latencies are recorded with HdrHistogram recorders, whose interval snapshots stay
+ * consistent while late responses are still being recorded, and a report with
+ * throughput, p50, p99 and p999 is printed and written to {@code target/loadtest-report.txt}.
+ * </p>
+ *
+ * <p>Tunable with system properties:
+ * <ul>
+ *     <li><b>loadtest.endpoint</b>: {@code transactions} (default) or {@code producer}</li>
+ *     <li><b>loadtest.rate</b>: requests per second (default 500)</li>
+ *     <li><b>loadtest.duration-seconds</b>: measured duration (default 20)</li>
+ *     <li><b>loadtest.warmup-seconds</b>: unmeasured warm-up duration (default 5)</li>
+ *     <li><b>loadtest.max-p99-ms</b>: end-to-end p99 regression threshold (default 250)</li>
+ *     <li><b>loadtest.min-delivery-ratio</b>: fraction of sent records that must be consumed (default 1.0)</li>
+ * </ul>
+ * </p>
+ */
+@Tag("loadtest")
+@EmbeddedKafka(partitions = 3, topics = {TransactionLoadTest.TOPIC, "test.1", "test.2"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "APPLICATION_NAME=kafka-poc-loadtest",
+        "KAFKA_BOOTSTRAP_SERVERS=${spring.embedded.kafka.brokers}",
+        "KAFKA_PRODUCER_TRANSACTION_TOPIC=" + TransactionLoadTest.TOPIC,
+        "KAFKA_PRODUCER_KEY_SERIALIZER=org.apache.kafka.common.serialization.StringSerializer",
+        "KAFKA_PRODUCER_VALUE_SERIALIZER=org.apache.kafka.common.serialization.StringSerializer",
+        "KAFKA_CONSUMER_GROUP_ID=transaction_group",
+        "AUTO_OFFSET_RESET=earliest",
+        "KAFKA_ADMISSION_ENABLED=false",
+        "KAFKA_CONSUMER_KEY_SERIALIZER=org.apache.kafka.common.serialization.StringDeserializer",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+        "logging.level.com.kafka.poc=${loadtest.log-level:WARN}",
+        "logging.level.org.apache.kafka=WARN",
+        "logging.level.kafka=WARN",
+        "logging.level.org.apache.zookeeper=WARN"
+})
+class TransactionLoadTest {
+
+    static final String TOPIC = "banking.transaction.topic";
+
+    /**
+     * Intended start time (nanoTime) of every in-flight request, keyed by transaction ID.
+     */
+    private static final Map<String, Long> START_TIMES = new ConcurrentHashMap<>();
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Recorder END_TO_END = new Recorder(MAX_LATENCY_MICROS, 3);
+    private static final AtomicLong CONSUMED = new AtomicLong();
+    private static volatile boolean measuring;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @TestConfiguration
+    static class LatencyProbeConfig {
+
+        /**
+         * Records end-to-end latency once the listener has processed each transaction record.
+         */
+        @Bean
+        RecordInterceptor<Object, Object> latencyProbe() {
+            return new RecordInterceptor<>() {
+                @Override
+                public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+                    return record;
+                }
+
+                @Override
+                public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+                    if (!TOPIC.equals(record.topic()) || record.value() == null) {
+                        return;
+                    }
+                    Long startedAt = START_TIMES.remove(transactionId(record.value()));
+                    if (startedAt != null && measuring) {
+                        END_TO_END.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt), MAX_LATENCY_MICROS));
+                        CONSUMED.incrementAndGet();
+                    }
+                }
+            };
+        }
+    }
+
+    @Test
+    void produceToConsumeLatencyStaysWithinThreshold() throws Exception {
+        String endpoint = System.getProperty("loadtest.endpoint", "transactions");
+        int rate = Integer.getInteger("loadtest.rate", 500);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 20);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        double maxP99Ms = Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "250"));
+        double minDeliveryRatio = Double.parseDouble(System.getProperty("loadtest.min-delivery-ratio", "1.0"));
+
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            if ("transaction_group".equals(container.getGroupId())) {
+                ContainerTestUtils.waitForAssignment(container, embeddedKafka.getPartitionsPerTopic());
+            }
+        }
+
+        URI uri = URI.create("transactions".equals(endpoint)
+                ? "http://localhost:" + port + "/api/transactions/initiate"
+                : "http://localhost:" + port + "/api/kafka/producer/produce/" + TOPIC);
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Recorder httpLatency = new Recorder(MAX_LATENCY_MICROS, 3);
+        AtomicLong httpErrors = new AtomicLong();
+
+        drive(httpClient, uri, rate, warmupSeconds, null, httpErrors);
+        awaitDrain(Duration.ofSeconds(10));
+        START_TIMES.clear();
+        httpErrors.set(0);
+        measuring = true;
+        long measuredStart = System.nanoTime();
+        long sent = drive(httpClient, uri, rate, durationSeconds, httpLatency, httpErrors);
+        awaitDrain(Duration.ofSeconds(30));
+        long elapsedNanos = System.nanoTime() - measuredStart;
+        measuring = false;
+
+        long consumed = CONSUMED.get();
+        double throughput = consumed / (elapsedNanos / 1e9);
+        Histogram endToEnd = END_TO_END.getIntervalHistogram();
+        String report = report(endpoint, rate, durationSeconds, sent, consumed, httpErrors.get(), throughput,
+                httpLatency.getIntervalHistogram(), endToEnd);
+        System.out.println(report);
+        Files.writeString(Path.of("target", "loadtest-report.txt"), report);
+
+        double p99Ms = endToEnd.getValueAtPercentile(99.0) / 1000.0;
+        assertTrue(consumed >= sent * minDeliveryRatio,
+                String.format("Only %d of %d records were consumed (required ratio %.3f)", consumed, sent, minDeliveryRatio));
+        assertTrue(p99Ms <= maxP99Ms, String.format("End-to-end p99 %.2f ms exceeds threshold %.2f ms", p99Ms, maxP99Ms));
+    }
+
+    /**
+     * Sends requests at a fixed rate for the given duration on an open model.
+     *
+     * @return the number of requests sent
+     */
+    private long drive(HttpClient httpClient, URI uri, int rate, int seconds, Recorder httpLatency, AtomicLong httpErrors) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = (long) rate * seconds;
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            TransactionDTO transaction = syntheticTransaction();
+            START_TIMES.put(transaction.getTransactionId(), intendedStart);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Utility.objectToJsonString(transaction)))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                if (ex != null || response.statusCode() >= 300) {
+                    httpErrors.incrementAndGet();
+                    START_TIMES.remove(transaction.getTransactionId());
+                    return;
+                }
+                if (httpLatency != null) {
+                    httpLatency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart), MAX_LATENCY_MICROS));
+                }
+            });
+        }
+        return total;
+    }
+
+    private void awaitDrain(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!START_TIMES.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static TransactionDTO syntheticTransaction() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return TransactionDTO.builder()
+                .transactionId(Long.toHexString(random.nextLong()) + Long.toHexString(System.nanoTime()))
+                .fromAccount("ACC-" + random.nextInt(1_000_000))
+                .toAccount("ACC-" + random.nextInt(1_000_000))
+                .amount(BigDecimal.valueOf(random.nextLong(1, 10_000_000), 2))
+                .currency("INR")
+                .type(TransactionType.values()[random.nextInt(TransactionType.values().length)])
+                .status(TransactionStatus.CREATED)
+                .description("Load test transaction")
+                .timestamp(Instant.now().toString())
+                .build();
+    }
+
+    /**
+     * Extracts the transaction ID from the JSON payload, text or raw bytes, without a full parse.
+     */
+    private static String transactionId(Object value) {
+        String json = value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+        int key = json.indexOf("\"transactionId\"");
+        if (key < 0) {
+            return "";
+        }
+        int start = json.indexOf('"', json.indexOf(':', key) + 1) + 1;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static String report(String endpoint, int rate, int seconds, long sent, long consumed, long errors, double throughput,
+                                 Histogram http, Histogram endToEnd) {
+        java.io.ByteArrayOutputStream buffer = new java.io.ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buffer);
+        out.printf("%n=== Load test report (%s, %d req/s for %d s) ===%n", endpoint, rate, seconds);
+        out.printf("sent=%d consumed=%d httpErrors=%d throughput=%.1f records/s%n", sent, consumed, errors, throughput);
+        out.printf("%-12s %10s %10s %10s %10s %10s%n", "latency(ms)", "p50", "p99", "p999", "max", "mean");
+        line(out, "http", http);
+        line(out, "end-to-end", endToEnd);
+        out.flush();
+        return buffer.toString();
+    }
+
+    private static void line(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-12s %10.2f %10.2f %10.2f %10.2f %10.2f%n", name,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                histogram.getMean() / 1000.0);
+    }
+}
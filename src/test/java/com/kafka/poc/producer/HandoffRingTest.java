@@ -0,0 +1,126 @@
+package com.kafka.poc.producer;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests ordering, capacity, wrap-around, closing and concurrent publishing of {@link HandoffRing}.
+ */
+class HandoffRingTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new HandoffRing(5).capacity());
+        assertEquals(8, new HandoffRing(8).capacity());
+        assertEquals(2, new HandoffRing(0).capacity());
+    }
+
+    @Test
+    void recordsArePolledInPublishOrderAcrossLaps() {
+        HandoffRing ring = new HandoffRing(4);
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+            assertTrue(ring.offer("topic", "key-" + i, "message-" + i, future));
+            HandoffRing.Slot slot = ring.poll();
+            assertEquals("message-" + i, slot.message);
+            assertEquals("key-" + i, slot.key);
+            assertSame(future, slot.future);
+            ring.release(slot);
+        }
+        assertTrue(ring.isEmpty());
+        assertEquals(0, ring.occupancy());
+    }
+
+    @Test
+    void fullRingRefusesUntilASlotIsReleased() {
+        HandoffRing ring = new HandoffRing(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer("topic", null, "message-" + i, new CompletableFuture<>()));
+        }
+
+        assertFalse(ring.offer("topic", null, "overflow", new CompletableFuture<>()));
+        assertEquals(4, ring.occupancy());
+
+        ring.release(ring.poll());
+        assertTrue(ring.offer("topic", null, "message-4", new CompletableFuture<>()));
+    }
+
+    @Test
+    void closedRingRefusesOffersButKeepsClaimedRecords() {
+        HandoffRing ring = new HandoffRing(4);
+        ring.offer("topic", null, "before", new CompletableFuture<>());
+
+        ring.close();
+
+        assertTrue(ring.isClosed());
+        assertFalse(ring.offer("topic", null, "after", new CompletableFuture<>()));
+        assertEquals(1, ring.occupancy());
+        HandoffRing.Slot slot = ring.poll();
+        assertEquals("before", slot.message);
+        ring.release(slot);
+        assertEquals(0, ring.occupancy());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void concurrentProducersDeliverEveryRecordOnce() throws Exception {
+        HandoffRing ring = new HandoffRing(64);
+        int producers = 3;
+        int perProducer = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer("topic", null, producer + ":" + i, new CompletableFuture<>())) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        Set<String> received = new HashSet<>();
+        int[] lastSeen = new int[producers];
+        Arrays.fill(lastSeen, -1);
+        while (received.size() < producers * perProducer) {
+            HandoffRing.Slot slot = ring.poll();
+            if (slot == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            String[] parts = slot.message.split(":");
+            int producer = Integer.parseInt(parts[0]);
+            int sequence = Integer.parseInt(parts[1]);
+            assertTrue(sequence > lastSeen[producer], "records of one producer stay in order");
+            lastSeen[producer] = sequence;
+            assertTrue(received.add(slot.message), "record delivered twice: " + slot.message);
+            ring.release(slot);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(ring.isEmpty());
+    }
+}
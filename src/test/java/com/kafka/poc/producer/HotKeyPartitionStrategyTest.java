@@ -0,0 +1,128 @@
+package com.kafka.poc.producer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests key-hash placement, hot key spreading and the asynchronous partition count lookup of
+ * {@link HotKeyPartitionStrategy}.
+ */
+class HotKeyPartitionStrategyTest {
+
+    private static final String TOPIC = "transactions";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HotKeyPartitionStrategy strategy;
+    private int partitions = 6;
+
+    @BeforeEach
+    void setUp() {
+        AdminClient adminClient = mock(AdminClient.class);
+        when(adminClient.describeTopics(anyCollection())).thenAnswer(invocation -> {
+            DescribeTopicsResult result = mock(DescribeTopicsResult.class);
+            when(result.topicNameValues()).thenReturn(Map.of(TOPIC, KafkaFuture.completedFuture(describe(partitions))));
+            return result;
+        });
+        strategy = new HotKeyPartitionStrategy();
+        ReflectionTestUtils.setField(strategy, "adminClient", adminClient);
+        ReflectionTestUtils.setField(strategy, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(strategy, "sketchWidth", 2048);
+        ReflectionTestUtils.setField(strategy, "sketchDepth", 4);
+        ReflectionTestUtils.setField(strategy, "hotMinCount", 50L);
+        ReflectionTestUtils.setField(strategy, "hotShare", 0.2);
+        ReflectionTestUtils.setField(strategy, "fanOut", 3);
+        ReflectionTestUtils.setField(strategy, "maxTopics", 10);
+        ReflectionTestUtils.setField(strategy, "maxTrackedHotKeys", 100);
+    }
+
+    @Test
+    void leavesRecordsToTheProducerUntilThePartitionCountIsKnown() {
+        assertNull(strategy.partition(TOPIC, "account-1"));
+
+        strategy.refreshUnknownPartitions();
+
+        assertEquals(hashPartition("account-1", 6), strategy.partition(TOPIC, "account-1"));
+    }
+
+    @Test
+    void leavesRecordsWithoutKeyToTheProducer() {
+        strategy.partition(TOPIC, "account-1");
+        strategy.refreshUnknownPartitions();
+
+        assertNull(strategy.partition(TOPIC, null));
+    }
+
+    @Test
+    void coldKeysKeepTheirHashPartition() {
+        strategy.partition(TOPIC, "warm-up");
+        strategy.refreshUnknownPartitions();
+
+        for (int i = 0; i < 200; i++) {
+            String key = "account-" + i;
+            assertEquals(hashPartition(key, 6), strategy.partition(TOPIC, key));
+        }
+        assertEquals(0, meterRegistry.get("kafka.producer.hot.key.sends").counter().count());
+    }
+
+    @Test
+    void hotKeyIsSpreadOverTheFanOutPartitionsFromItsOwn() {
+        strategy.partition(TOPIC, "warm-up");
+        strategy.refreshUnknownPartitions();
+        int home = hashPartition("hot", 6);
+
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            used.add(strategy.partition(TOPIC, "hot"));
+        }
+
+        Set<Integer> expected = new HashSet<>(IntStream.range(0, 3).mapToObj(i -> (home + i) % 6).toList());
+        assertEquals(expected, used);
+        assertTrue(meterRegistry.get("kafka.producer.hot.key.sends").counter().count() > 0);
+    }
+
+    @Test
+    void rotateWindowPicksUpAddedPartitions() {
+        strategy.partition(TOPIC, "account-1");
+        strategy.refreshUnknownPartitions();
+
+        partitions = 12;
+        strategy.rotateWindow();
+
+        assertEquals(hashPartition("account-1", 12), strategy.partition(TOPIC, "account-1"));
+    }
+
+    private static int hashPartition(String key, int partitions) {
+        return Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % partitions;
+    }
+
+    private static TopicDescription describe(int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        List<TopicPartitionInfo> infos = IntStream.range(0, partitions)
+                .mapToObj(p -> new TopicPartitionInfo(p, node, List.of(node), List.of(node)))
+                .toList();
+        return new TopicDescription(TOPIC, false, infos);
+    }
+}
@@ -0,0 +1,178 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.entity.OutboxEvent;
+import com.kafka.poc.enums.OutboxStatus;
+import com.kafka.poc.metrics.ProducerMetrics;
+import com.kafka.poc.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests claiming and the publish, retry and park decisions of {@link OutboxRelay}.
+ */
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final long SEND_TIMEOUT_MS = 200;
+
+    private final Map<String, CompletableFuture<SendResult<String, String>>> acknowledgements = new HashMap<>();
+    private final List<String> sent = new ArrayList<>();
+    private OutboxEventRepository outboxEventRepository;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            String payload = invocation.getArgument(2);
+            sent.add(payload);
+            return acknowledgements.getOrDefault(payload, acknowledged(payload));
+        });
+        ProducerMetrics producerMetrics = new ProducerMetrics();
+        ReflectionTestUtils.setField(producerMetrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(producerMetrics, "maxTopicTags", 200);
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        relay = new OutboxRelay();
+        ReflectionTestUtils.setField(relay, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(relay, "producerMetrics", producerMetrics);
+        ReflectionTestUtils.setField(relay, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(relay, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(relay, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", SEND_TIMEOUT_MS);
+    }
+
+    @Test
+    void acknowledgedMessagesAreDeleted() {
+        List<OutboxEvent> events = pending(3);
+
+        relay.relay();
+
+        assertEquals(List.of("1", "2", "3"), sent);
+        verify(outboxEventRepository).updateAvailableAt(eq(List.of(1L, 2L, 3L)), any(Instant.class));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(outboxEventRepository).saveAll(List.of());
+        verify(outboxEventRepository, times(1)).updateAvailableAt(any(), any());
+        events.forEach(event -> assertEquals(0, event.getAttempts()));
+    }
+
+    @Test
+    void retriableFailureStopsThePassAndReleasesTheRest() {
+        List<OutboxEvent> events = pending(4);
+        acknowledgements.put("2", CompletableFuture.failedFuture(failure("2", new TimeoutException("expired"))));
+
+        relay.relay();
+
+        OutboxEvent failed = events.get(1);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository).saveAll(List.of(failed));
+        verify(outboxEventRepository).updateAvailableAt(eq(List.of(3L, 4L)), any(Instant.class));
+        assertEquals(OutboxStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().startsWith(KafkaProducerException.class.getName()));
+        assertFalse(failed.getAvailableAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void unacknowledgedMessageIsRetriedAfterTheSendTimeout() {
+        List<OutboxEvent> events = pending(3);
+        acknowledgements.put("1", new CompletableFuture<>());
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        verify(outboxEventRepository).saveAll(List.of(events.get(0)));
+        verify(outboxEventRepository).updateAvailableAt(eq(List.of(2L, 3L)), any(Instant.class));
+        assertEquals(OutboxStatus.PENDING, events.get(0).getStatus());
+        assertEquals(1, events.get(0).getAttempts());
+    }
+
+    @Test
+    void permanentFailureIsParkedWithoutStoppingThePass() {
+        List<OutboxEvent> events = pending(3);
+        acknowledgements.put("2", CompletableFuture.failedFuture(failure("2", new RecordTooLargeException("too large"))));
+
+        relay.relay();
+
+        OutboxEvent parked = events.get(1);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+        verify(outboxEventRepository).saveAll(List.of(parked));
+        verify(outboxEventRepository, times(1)).updateAvailableAt(any(), any());
+        assertEquals(OutboxStatus.PARKED, parked.getStatus());
+        assertEquals(1, parked.getAttempts());
+        assertTrue(parked.getLastError().startsWith(KafkaProducerException.class.getName()));
+    }
+
+    @Test
+    void fullBatchesAreDrainedInOnePoll() {
+        pending(BATCH_SIZE);
+
+        relay.relay();
+
+        verify(outboxEventRepository, times(2)).findAllByStatusAndAvailableAtLessThanEqualOrderByIdAsc(
+                eq(OutboxStatus.PENDING), any(Instant.class), eq(Limit.of(BATCH_SIZE)));
+        assertEquals(BATCH_SIZE, sent.size());
+    }
+
+    /**
+     * Makes the next claim return {@code count} pending events with ids and payloads 1..count, and later claims none.
+     */
+    private List<OutboxEvent> pending(int count) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            events.add(OutboxEvent.builder()
+                    .id(id)
+                    .topic("topic")
+                    .messageKey("key")
+                    .payload(String.valueOf(id))
+                    .createdAt(Instant.now())
+                    .status(OutboxStatus.PENDING)
+                    .availableAt(Instant.now())
+                    .build());
+        }
+        when(outboxEventRepository.findAllByStatusAndAvailableAtLessThanEqualOrderByIdAsc(eq(OutboxStatus.PENDING), any(Instant.class), any(Limit.class)))
+                .thenReturn(events, List.of());
+        return events;
+    }
+
+    private static CompletableFuture<SendResult<String, String>> acknowledged(String payload) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition("topic", 0), Long.parseLong(payload), 0, 0, 3, payload.length());
+        return CompletableFuture.completedFuture(new SendResult<>(new ProducerRecord<>("topic", "key", payload), metadata));
+    }
+
+    private static KafkaProducerException failure(String payload, Exception cause) {
+        return new KafkaProducerException(new ProducerRecord<>("topic", "key", payload), "Failed to send", cause);
+    }
+}
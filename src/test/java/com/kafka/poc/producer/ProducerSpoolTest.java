@@ -0,0 +1,181 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.exception.CommonCustomException;
+import com.kafka.poc.metrics.ProducerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests segment rollover, the size limit, ordered replay, CRC skipping and recovery of {@link ProducerSpool}.
+ */
+class ProducerSpoolTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private final List<String> sent = new ArrayList<>();
+    private final List<Integer> partitions = new ArrayList<>();
+    private boolean brokerDown;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), any(), any(), any())).thenAnswer(invocation -> {
+            if (brokerDown) {
+                return CompletableFuture.failedFuture(new TimeoutException("broker down"));
+            }
+            partitions.add(invocation.getArgument(1));
+            sent.add(invocation.getArgument(3));
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+    }
+
+    @Test
+    void appendsRollOverToNewSegmentsUntilTheLimit() throws Exception {
+        ProducerSpool spool = openSpool(4L * SEGMENT_SIZE);
+        int appended = 0;
+        CommonCustomException full = null;
+        while (full == null) {
+            try {
+                spool.append("topic", "key", "value-" + appended);
+                appended++;
+            } catch (CommonCustomException e) {
+                full = e;
+            }
+        }
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), full.getStatusCode());
+        assertEquals(4, segmentFiles().size());
+        assertEquals(appended, pendingRecords(spool));
+        assertTrue(spool.shouldSpool());
+    }
+
+    @Test
+    void replaySendsRecordsInOrderAndDeletesFinishedSegments() throws Exception {
+        ProducerSpool spool = openSpool(16L * SEGMENT_SIZE);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            values.add("value-" + i);
+            spool.append("topic", "key-" + i, values.get(i));
+        }
+        assertTrue(segmentFiles().size() > 1);
+
+        spool.replay();
+
+        assertEquals(values, sent);
+        assertTrue(partitions.stream().allMatch(partition -> partition == 1));
+        assertEquals(0, pendingRecords(spool));
+        assertEquals(1, segmentFiles().size());
+        assertFalse(spool.shouldSpool());
+    }
+
+    @Test
+    void failedReplayKeepsRecordsForTheNextAttempt() throws Exception {
+        ProducerSpool spool = openSpool(16L * SEGMENT_SIZE);
+        spool.append("topic", "a", "1");
+        spool.append("topic", "b", "2");
+
+        brokerDown = true;
+        spool.replay();
+        assertEquals(2, pendingRecords(spool));
+
+        brokerDown = false;
+        spool.replay();
+        assertEquals(List.of("1", "2"), sent);
+        assertEquals(0, pendingRecords(spool));
+    }
+
+    @Test
+    void recordFailingItsCrcIsSkippedOnReplay() throws Exception {
+        ProducerSpool spool = openSpool(16L * SEGMENT_SIZE);
+        spool.append("topic", "a", "first");
+        spool.append("topic", "b", "second");
+        spool.append("topic", "c", "third");
+        Path segment = segmentFiles().getFirst();
+        int secondRecord = SpoolSegment.HEADER_SIZE + 2 + "topic".length() + 4 + 1 + 4 + "first".length();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), secondRecord + SpoolSegment.HEADER_SIZE + 4);
+        }
+
+        spool.replay();
+
+        assertEquals(List.of("first", "third"), sent);
+        assertEquals(0, pendingRecords(spool));
+    }
+
+    @Test
+    void reopenedSpoolResumesFromTheCheckpoint() throws Exception {
+        ProducerSpool spool = openSpool(16L * SEGMENT_SIZE);
+        spool.append("topic", "a", "1");
+        spool.append("topic", "b", "2");
+        spool.replay();
+        spool.append("topic", "c", "3");
+        spool.closeSpool();
+        sent.clear();
+
+        ProducerSpool reopened = openSpool(16L * SEGMENT_SIZE);
+        assertEquals(1, pendingRecords(reopened));
+        reopened.replay();
+        assertEquals(List.of("3"), sent);
+    }
+
+    private ProducerSpool openSpool(long maxBytes) throws Exception {
+        ProducerMetrics producerMetrics = mock(ProducerMetrics.class);
+        when(producerMetrics.bufferAvailableRatio()).thenReturn(1.0);
+        ProducerSpool spool = new ProducerSpool();
+        ReflectionTestUtils.setField(spool, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(spool, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(spool, "producerMetrics", producerMetrics);
+        ReflectionTestUtils.setField(spool, "partitionStrategy", (PartitionStrategy) (topic, key) -> 1);
+        ReflectionTestUtils.setField(spool, "enabled", true);
+        ReflectionTestUtils.setField(spool, "directory", directory.toString());
+        ReflectionTestUtils.setField(spool, "segmentSize", SEGMENT_SIZE);
+        ReflectionTestUtils.setField(spool, "maxBytes", maxBytes);
+        ReflectionTestUtils.setField(spool, "replayBatchSize", 5);
+        ReflectionTestUtils.setField(spool, "replayTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(spool, "bufferLowWaterRatio", 0.1);
+        spool.openSpool();
+        return spool;
+    }
+
+    private static long pendingRecords(ProducerSpool spool) {
+        MeterRegistry meterRegistry = (MeterRegistry) ReflectionTestUtils.getField(spool, "meterRegistry");
+        return (long) meterRegistry.get("kafka.producer.spool.records").gauge().value();
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".spool")).sorted().toList();
+        }
+    }
+}
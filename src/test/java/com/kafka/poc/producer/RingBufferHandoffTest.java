@@ -0,0 +1,117 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.exception.CommonCustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests ordering per key and shutdown of {@link RingBufferHandoff}.
+ */
+class RingBufferHandoffTest {
+
+    private final List<String> published = Collections.synchronizedList(new ArrayList<>());
+    private RingBufferHandoff handoff;
+
+    @BeforeEach
+    void setUp() {
+        KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+        when(kafkaProducer.publish(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            published.add(invocation.getArgument(2));
+            return CompletableFuture.completedFuture(null);
+        });
+        handoff = new RingBufferHandoff();
+        ReflectionTestUtils.setField(handoff, "kafkaProducer", kafkaProducer);
+        ReflectionTestUtils.setField(handoff, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(handoff, "enabled", true);
+        ReflectionTestUtils.setField(handoff, "threads", 2);
+        ReflectionTestUtils.setField(handoff, "ringSize", 1024);
+        ReflectionTestUtils.setField(handoff, "waitStrategyName", "blocking");
+        ReflectionTestUtils.setField(handoff, "sleepMicros", 100L);
+        handoff.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        handoff.stop();
+    }
+
+    @Test
+    void recordsOfOneKeyArePublishedInOrder() throws Exception {
+        List<String> messages = new ArrayList<>();
+        CompletableFuture<RecordMetadata> last = null;
+        for (int i = 0; i < 500; i++) {
+            messages.add("message-" + i);
+            last = handoff.submit("topic", "account-1", messages.get(i));
+        }
+
+        last.get(5, TimeUnit.SECONDS);
+
+        assertEquals(messages, published);
+    }
+
+    @Test
+    void stoppedHandoffRefusesNewRecords() throws Exception {
+        handoff.stop();
+
+        CommonCustomException refused = assertThrows(CommonCustomException.class, () -> handoff.submit("topic", "key", "late"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), refused.getStatusCode());
+    }
+
+    @Test
+    void everyAcceptedRecordCompletesWhenPublishingRacesWithStop() throws Exception {
+        List<CompletableFuture<RecordMetadata>> accepted = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean stopping = new AtomicBoolean();
+        List<Thread> publishers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            String key = "account-" + p;
+            publishers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; !stopping.get() || i % 100 != 0; i++) {
+                    try {
+                        accepted.add(handoff.submit("topic", key, key + ":" + i));
+                    } catch (CommonCustomException e) {
+                        if (stopping.get()) {
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+
+        Thread.sleep(50);
+        stopping.set(true);
+        handoff.stop();
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        for (CompletableFuture<RecordMetadata> future : accepted) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(CommonCustomException.class, e.getCause());
+            }
+        }
+        assertTrue(accepted.stream().allMatch(CompletableFuture::isDone));
+    }
+}
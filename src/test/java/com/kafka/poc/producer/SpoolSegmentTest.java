@@ -0,0 +1,94 @@
+package com.kafka.poc.producer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the record layout, CRC checks and recovery scan of {@link SpoolSegment}.
+ */
+class SpoolSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedRecordsAreReadBackInOrder() throws Exception {
+        SpoolSegment segment = SpoolSegment.open(0, directory.resolve("0.spool"), 1024);
+        int first = segment.append(bytes("topic"), bytes("key"), bytes("value"));
+        segment.append(bytes("topic"), null, null);
+
+        assertEquals(first, SpoolSegment.HEADER_SIZE + segment.recordLength(0));
+        assertTrue(segment.isValid(0));
+        assertEquals(new SpoolSegment.SpooledRecord("topic", "key", "value"), segment.read(0));
+        assertTrue(segment.isValid(first));
+        assertEquals(new SpoolSegment.SpooledRecord("topic", null, null), segment.read(first));
+        assertEquals(0, segment.recordLength(segment.writePosition()));
+    }
+
+    @Test
+    void appendIsRefusedWhenTheSegmentIsFull() throws Exception {
+        SpoolSegment segment = SpoolSegment.open(0, directory.resolve("0.spool"), 64);
+        assertTrue(segment.append(bytes("t"), null, new byte[30]) > 0);
+        int writePosition = segment.writePosition();
+
+        assertEquals(-1, segment.append(bytes("t"), null, new byte[30]));
+        assertEquals(writePosition, segment.writePosition());
+    }
+
+    @Test
+    void reopenedSegmentResumesAfterItsLastRecord() throws Exception {
+        Path file = directory.resolve("0.spool");
+        SpoolSegment segment = SpoolSegment.open(0, file, 1024);
+        segment.append(bytes("topic"), bytes("a"), bytes("1"));
+        segment.append(bytes("topic"), bytes("b"), bytes("2"));
+        segment.force();
+
+        SpoolSegment reopened = SpoolSegment.open(0, file, 1024);
+        assertEquals(segment.writePosition(), reopened.writePosition());
+        assertFalse(reopened.hasCorruptTail());
+    }
+
+    @Test
+    void corruptRecordFailsItsCrcAndEndsTheRecoveryScan() throws Exception {
+        Path file = directory.resolve("0.spool");
+        SpoolSegment segment = SpoolSegment.open(0, file, 1024);
+        int first = segment.append(bytes("topic"), bytes("a"), bytes("1"));
+        segment.append(bytes("topic"), bytes("b"), bytes("2"));
+        segment.force();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("X")), first + SpoolSegment.HEADER_SIZE + 4);
+        }
+
+        assertTrue(segment.isValid(0));
+        assertFalse(segment.isValid(first));
+        SpoolSegment reopened = SpoolSegment.open(0, file, 1024);
+        assertEquals(first, reopened.writePosition());
+        assertTrue(reopened.hasCorruptTail());
+    }
+
+    @Test
+    void deleteRemovesTheFile() throws Exception {
+        Path file = directory.resolve("0.spool");
+        SpoolSegment segment = SpoolSegment.open(0, file, 1024);
+        segment.append(bytes("topic"), null, bytes("value"));
+
+        segment.delete();
+
+        assertFalse(Files.exists(file));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
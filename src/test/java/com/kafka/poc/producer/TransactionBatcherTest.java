@@ -0,0 +1,169 @@
+package com.kafka.poc.producer;
+
+import com.kafka.poc.exception.CommonCustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests ordering, batch bounds, failure propagation and shutdown of {@link TransactionBatcher}.
+ */
+class TransactionBatcherTest {
+
+    private static final int MAX_BATCH_SIZE = 16;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> published = Collections.synchronizedList(new ArrayList<>());
+    private KafkaProducer kafkaProducer;
+    private TransactionBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        kafkaProducer = mock(KafkaProducer.class);
+        when(kafkaProducer.publish(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            published.add(invocation.getArgument(2));
+            return CompletableFuture.completedFuture(new RecordMetadata(new TopicPartition("topic", 0), published.size() - 1, 0, 0, 0, 0));
+        });
+        batcher = newBatcher(1024);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batcher.stop();
+    }
+
+    @Test
+    void publishesRecordsInSubmissionOrderAndCompletesEachFuture() throws Exception {
+        List<CompletableFuture<RecordMetadata>> futures = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            messages.add("message-" + i);
+            futures.add(batcher.submit("topic", "key", messages.get(i)));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS).offset());
+        }
+        assertEquals(messages, published);
+        assertTrue(meterRegistry.get("kafka.producer.batcher.batch.size").summary().max() <= MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void producerFailureCompletesOnlyThatRecordExceptionally() throws Exception {
+        CommonCustomException failure = new CommonCustomException(HttpStatus.INTERNAL_SERVER_ERROR.value(), "send failed");
+        when(kafkaProducer.publish(anyString(), anyString(), eq("bad"))).thenThrow(failure);
+
+        CompletableFuture<RecordMetadata> bad = batcher.submit("topic", "key", "bad");
+        CompletableFuture<RecordMetadata> good = batcher.submit("topic", "key", "good");
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+        assertEquals(0, good.get(5, TimeUnit.SECONDS).offset());
+    }
+
+    @Test
+    void fullQueueIsRefused() throws Exception {
+        batcher.stop();
+        batcher = newBatcher(1);
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(kafkaProducer.publish(anyString(), anyString(), eq("blocking"))).thenAnswer(invocation -> {
+            publishing.countDown();
+            release.await();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        CompletableFuture<RecordMetadata> blocking = batcher.submit("topic", "key", "blocking");
+        assertTrue(publishing.await(5, TimeUnit.SECONDS));
+        batcher.submit("topic", "key", "queued");
+
+        CommonCustomException refused = assertThrows(CommonCustomException.class, () -> batcher.submit("topic", "key", "refused"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), refused.getStatusCode());
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void stoppedBatcherRefusesNewRecords() throws Exception {
+        batcher.submit("topic", "key", "before").get(5, TimeUnit.SECONDS);
+
+        batcher.stop();
+
+        CommonCustomException refused = assertThrows(CommonCustomException.class, () -> batcher.submit("topic", "key", "after"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), refused.getStatusCode());
+        assertEquals(List.of("before"), published);
+    }
+
+    @Test
+    void recordSubmittedWhileStoppingIsPublished() throws Exception {
+        CountDownLatch offering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReflectionTestUtils.setField(batcher, "queue", new ArrayBlockingQueue<Object>(1024) {
+            @Override
+            public boolean offer(Object record) {
+                offering.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.offer(record);
+            }
+        });
+        Thread.sleep(200);
+        CompletableFuture<CompletableFuture<RecordMetadata>> submitted = CompletableFuture.supplyAsync(
+                () -> batcher.submit("topic", "key", "late"));
+        assertTrue(offering.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(() -> {
+            try {
+                batcher.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(300);
+        release.countDown();
+        stopped.get(10, TimeUnit.SECONDS);
+
+        submitted.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("late"), published);
+        CommonCustomException refused = assertThrows(CommonCustomException.class, () -> batcher.submit("topic", "key", "after"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), refused.getStatusCode());
+    }
+
+    private TransactionBatcher newBatcher(int queueCapacity) {
+        TransactionBatcher transactionBatcher = new TransactionBatcher();
+        ReflectionTestUtils.setField(transactionBatcher, "kafkaProducer", kafkaProducer);
+        ReflectionTestUtils.setField(transactionBatcher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(transactionBatcher, "enabled", true);
+        ReflectionTestUtils.setField(transactionBatcher, "maxBatchSize", MAX_BATCH_SIZE);
+        ReflectionTestUtils.setField(transactionBatcher, "maxWaitMicros", 200L);
+        ReflectionTestUtils.setField(transactionBatcher, "queueCapacity", queueCapacity);
+        transactionBatcher.start();
+        return transactionBatcher;
+    }
+}
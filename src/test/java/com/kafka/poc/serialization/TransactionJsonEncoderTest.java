@@ -0,0 +1,94 @@
+package com.kafka.poc.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.enums.TransactionStatus;
+import com.kafka.poc.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that {@link TransactionJsonEncoder} writes the same JSON as the application's Jackson mapper renders to a
+ * String, without indentation and with plain amounts.
+ */
+class TransactionJsonEncoderTest {
+
+    private static final ObjectMapper JACKSON = new ObjectMapper().enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+
+    @Test
+    void encodesAllFieldsLikeJackson() throws Exception {
+        assertSameAsJackson(transaction("Groceries", new BigDecimal("42.50")));
+    }
+
+    @Test
+    void encodesNullFieldsLikeJackson() throws Exception {
+        assertSameAsJackson(new TransactionDTO());
+    }
+
+    @Test
+    void escapesAndEncodesStringsLikeJackson() throws Exception {
+        assertSameAsJackson(transaction("quote \" backslash \\ newline \n tab \t control \u0001 \u001f", BigDecimal.ONE));
+        assertSameAsJackson(transaction("café € 中文 💸", BigDecimal.ONE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "0.01", "-0.01", "-12.50", "100", "1E+3", "0.000000001", "999999999999999999",
+            "123456789012345678901234.5678", "-1.000000000000000000001"})
+    void writesAmountsInPlainNotation(String amount) throws Exception {
+        assertSameAsJackson(transaction("amount", new BigDecimal(amount)));
+    }
+
+    @Test
+    void escapesUnpairedSurrogates() {
+        String json = TransactionJsonEncoder.encodeToString(transaction("broken \ud800 pair", BigDecimal.ONE));
+
+        assertTrue(json.contains("\"broken \\uD800 pair\""), json);
+    }
+
+    @Test
+    void encodeToStringMatchesTheEncodedBytes() {
+        TransactionDTO transaction = transaction("café", new BigDecimal("1.5"));
+
+        assertEquals(new String(TransactionJsonEncoder.encode(transaction), StandardCharsets.UTF_8),
+                TransactionJsonEncoder.encodeToString(transaction));
+    }
+
+    @Test
+    void encodesLargeValuesAndKeepsWorkingAfterwards() throws Exception {
+        assertSameAsJackson(transaction("x".repeat(100_000), BigDecimal.TEN));
+        assertSameAsJackson(transaction("small", BigDecimal.TEN));
+    }
+
+    @Test
+    void nullTransactionEncodesToNull() {
+        assertNull(TransactionJsonEncoder.encode(null));
+        assertNull(TransactionJsonEncoder.encodeToString(null));
+    }
+
+    private static void assertSameAsJackson(TransactionDTO transaction) throws Exception {
+        assertEquals(JACKSON.writeValueAsString(transaction), new String(TransactionJsonEncoder.encode(transaction), StandardCharsets.UTF_8));
+    }
+
+    private static TransactionDTO transaction(String description, BigDecimal amount) {
+        return TransactionDTO.builder()
+                .transactionId("TX-1")
+                .fromAccount("ACC-1")
+                .toAccount("ACC-2")
+                .amount(amount)
+                .currency("EUR")
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.PENDING)
+                .description(description)
+                .timestamp("2026-01-01T00:00:00Z")
+                .build();
+    }
+}
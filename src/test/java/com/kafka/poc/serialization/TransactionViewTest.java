@@ -0,0 +1,127 @@
+package com.kafka.poc.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kafka.poc.dto.TransactionDTO;
+import com.kafka.poc.enums.TransactionStatus;
+import com.kafka.poc.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests field decoding, enum and currency matching and malformed input handling of {@link TransactionView}.
+ */
+class TransactionViewTest {
+
+    @Test
+    void decodesTheCompactEncoderOutput() {
+        TransactionDTO transaction = transaction("Groceries");
+
+        assertSameTransaction(transaction, TransactionView.of(TransactionJsonEncoder.encode(transaction)).toTransactionDTO());
+    }
+
+    @Test
+    void decodesIndentedJacksonOutput() throws Exception {
+        TransactionDTO transaction = transaction("Rent");
+        String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(transaction);
+
+        assertSameTransaction(transaction, TransactionView.of(json).toTransactionDTO());
+    }
+
+    @Test
+    void decodesEscapedAndMultiByteStrings() {
+        String description = "quote \" backslash \\ newline \n control \u0001 café 中文 💸";
+
+        assertEquals(description, TransactionView.of(TransactionJsonEncoder.encode(transaction(description))).description());
+        assertEquals("A\u00e9", TransactionView.of("{\"description\":\"\\u0041\\u00E9\"}").description());
+    }
+
+    @Test
+    void absentAndNullFieldsAreNull() {
+        TransactionView view = TransactionView.of("{\"transactionId\":null,\"amount\":null}");
+
+        assertNull(view.transactionId());
+        assertNull(view.amount());
+        assertNull(view.type());
+        assertNull(view.status());
+        assertTrue(view.isCurrency(null));
+        assertFalse(view.isCurrency("EUR"));
+    }
+
+    @Test
+    void skipsUnknownFields() {
+        TransactionView view = TransactionView.of("{\"extra\":{\"type\":\"DEBIT\",\"list\":[1,\"x\",null]},"
+                + "\"type\":\"CREDIT\",\"flag\":true,\"status\":\"APPROVED\"}");
+
+        assertEquals(TransactionType.CREDIT, view.type());
+        assertEquals(TransactionStatus.APPROVED, view.status());
+    }
+
+    @Test
+    void readsAmountsWrittenAsNumbersOrStrings() {
+        assertEquals(new BigDecimal("-12.50"), TransactionView.of("{\"amount\":-12.50}").amount());
+        assertEquals(new BigDecimal("1E+3"), TransactionView.of("{\"amount\":1E+3}").amount());
+        assertEquals(new BigDecimal("42.5"), TransactionView.of("{\"amount\":\" 42.5 \"}").amount());
+    }
+
+    @Test
+    void matchesEscapedEnumNames() {
+        TransactionView view = TransactionView.of("{\"type\":\"DEBI\\u0054\"}");
+
+        assertEquals(TransactionType.DEBIT, view.type());
+    }
+
+    @Test
+    void comparesTheCurrencyWithAndWithoutEscapes() {
+        assertTrue(TransactionView.of("{\"currency\":\"INR\"}").isCurrency("INR"));
+        assertFalse(TransactionView.of("{\"currency\":\"INR\"}").isCurrency("IN"));
+        assertFalse(TransactionView.of("{\"currency\":\"INR\"}").isCurrency("USD"));
+        assertTrue(TransactionView.of("{\"currency\":\"\\u0049NR\"}").isCurrency("INR"));
+        assertFalse(TransactionView.of("{\"currency\":\"INR\"}").isCurrency(null));
+    }
+
+    @Test
+    void unknownEnumValuesAreRejected() {
+        TransactionView view = TransactionView.of("{\"type\":\"REFUND\",\"status\":\"SETTLED\"}");
+
+        assertThrows(IllegalArgumentException.class, view::type);
+        assertThrows(IllegalArgumentException.class, view::status);
+        assertNull(view.knownType());
+        assertNull(view.knownStatus());
+    }
+
+    @Test
+    void malformedRecordsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionView.of("not json").type());
+        assertThrows(IllegalArgumentException.class, () -> TransactionView.of("{\"type\":\"DEBIT\"").type());
+        assertThrows(IllegalArgumentException.class, () -> TransactionView.of("{\"transactionId\":42}").transactionId());
+        assertThrows(IllegalArgumentException.class, () -> TransactionView.of("[1]").validate());
+        assertThrows(IllegalArgumentException.class, () -> TransactionView.of((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> TransactionView.of((String) null));
+    }
+
+    private static void assertSameTransaction(TransactionDTO expected, TransactionDTO actual) {
+        assertEquals(TransactionJsonEncoder.encodeToString(expected), TransactionJsonEncoder.encodeToString(actual));
+    }
+
+    private static TransactionDTO transaction(String description) {
+        return TransactionDTO.builder()
+                .transactionId("TX-1")
+                .fromAccount("ACC-1")
+                .toAccount("ACC-2")
+                .amount(new BigDecimal("42.50"))
+                .currency("EUR")
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.PENDING)
+                .description(description)
+                .timestamp("2026-01-01T00:00:00Z")
+                .build();
+    }
+}
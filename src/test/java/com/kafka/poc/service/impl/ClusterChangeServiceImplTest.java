@@ -0,0 +1,170 @@
+package com.kafka.poc.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafka.poc.enums.ClusterChangeType;
+import com.kafka.poc.event.ClusterSnapshotEvent;
+import com.kafka.poc.model.BrokerInfo;
+import com.kafka.poc.model.ClusterChangeEvent;
+import com.kafka.poc.model.ClusterInfo;
+import com.kafka.poc.model.TopicInfo;
+import com.kafka.poc.producer.KafkaProducer;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests partition, ISR and topic diffing of consecutive snapshots in {@link ClusterChangeServiceImpl}.
+ */
+class ClusterChangeServiceImplTest {
+
+    private static final String CHANGE_TOPIC = "cluster-changes";
+    private static final Node[] NODES = {new Node(0, "broker-0", 9092), new Node(1, "broker-1", 9092),
+            new Node(2, "broker-2", 9092), new Node(3, "broker-3", 9092)};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ClusterChangeEvent> published = new ArrayList<>();
+    private ClusterChangeServiceImpl service;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+        doAnswer(invocation -> {
+            published.add(objectMapper.readValue((String) invocation.getArgument(1), ClusterChangeEvent.class));
+            return null;
+        }).when(kafkaProducer).sendMessageWithKey(eq(CHANGE_TOPIC), anyString(), anyString());
+        service = new ClusterChangeServiceImpl();
+        ReflectionTestUtils.setField(service, "kafkaProducer", kafkaProducer);
+        ReflectionTestUtils.setField(service, "changeTopic", CHANGE_TOPIC);
+    }
+
+    @Test
+    void firstSnapshotOnlyEstablishesTheBaseline() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1, 2))));
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void unchangedSnapshotReportsNothing() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1, 2), partition(1, 2, 2, 1))));
+        snapshot(Map.of("orders", List.of(partition(0, 1, 2, 1), partition(1, 2, 1, 2))));
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void reportsLeaderChange() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1, 2), partition(1, 2, 1, 2))));
+        snapshot(Map.of("orders", List.of(partition(0, 2, 1, 2), partition(1, 2, 1, 2))));
+
+        assertEquals(1, published.size());
+        assertChange(published.get(0), ClusterChangeType.LEADER_CHANGED, "orders", 0, "1", "2");
+    }
+
+    @Test
+    void reportsIsrShrinkAndExpand() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1, 2, 3), partition(1, 2, 2))));
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1, 3), partition(1, 2, 2, 3))));
+
+        assertEquals(2, published.size());
+        assertChange(published.get(0), ClusterChangeType.ISR_SHRUNK, "orders", 0, "3", "2");
+        assertChange(published.get(1), ClusterChangeType.ISR_EXPANDED, "orders", 1, "1", "2");
+    }
+
+    @Test
+    void reportsSameSizeIsrSwap() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1, 2))));
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1, 3))));
+
+        assertEquals(1, published.size());
+        assertChange(published.get(0), ClusterChangeType.ISR_CHANGED, "orders", 0, "2", "2");
+    }
+
+    @Test
+    void reportsAddedPartitions() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1))));
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1), partition(1, 2, 2))));
+
+        assertEquals(ClusterChangeType.PARTITIONS_ADDED, published.get(0).getType());
+        assertEquals("1", published.get(0).getPreviousValue());
+        assertEquals("2", published.get(0).getCurrentValue());
+        assertTrue(published.stream().noneMatch(change -> change.getType() == ClusterChangeType.LEADER_CHANGED));
+    }
+
+    @Test
+    void reportsCreatedAndDeletedTopics() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1))));
+        snapshot(Map.of("payments", List.of(partition(0, 2, 2), partition(1, 3, 3))));
+
+        assertEquals(2, published.size());
+        assertChange(published.get(0), ClusterChangeType.TOPIC_CREATED, "payments", null, null, "2");
+        assertChange(published.get(1), ClusterChangeType.TOPIC_DELETED, "orders", null, null, null);
+    }
+
+    @Test
+    void ignoresOutOfOrderSnapshots() {
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1))));
+        ClusterSnapshotEvent stale = event(sequence - 1, Map.of("orders", List.of(partition(0, 2, 2))));
+
+        service.onSnapshot(stale);
+        snapshot(Map.of("orders", List.of(partition(0, 1, 1))));
+
+        assertTrue(published.isEmpty());
+    }
+
+    private void snapshot(Map<String, List<TopicPartitionInfo>> topics) {
+        service.onSnapshot(event(++sequence, topics));
+    }
+
+    private ClusterSnapshotEvent event(long sequence, Map<String, List<TopicPartitionInfo>> topics) {
+        List<TopicInfo> topicInfos = new ArrayList<>();
+        Map<String, TopicDescription> descriptions = new LinkedHashMap<>();
+        topics.forEach((name, partitions) -> {
+            topicInfos.add(TopicInfo.builder().topicName(name).partitions(partitions.size()).configs(Map.of()).build());
+            descriptions.put(name, new TopicDescription(name, false, partitions));
+        });
+        List<BrokerInfo> brokers = Arrays.stream(NODES).map(node -> BrokerInfo.builder().id(node.id()).build()).toList();
+        ClusterInfo clusterInfo = ClusterInfo.builder()
+                .clusterId("cluster")
+                .controller(brokers.get(0))
+                .brokers(brokers)
+                .topics(topicInfos)
+                .consumerGroups(List.of())
+                .build();
+        return new ClusterSnapshotEvent(this, sequence, clusterInfo, descriptions);
+    }
+
+    /**
+     * Partition replicated on brokers 1-3 with the given leader and in-sync replicas.
+     */
+    private static TopicPartitionInfo partition(int partition, int leader, int... isr) {
+        List<Node> replicas = List.of(NODES[1], NODES[2], NODES[3]);
+        return new TopicPartitionInfo(partition, NODES[leader], replicas, Arrays.stream(isr).mapToObj(id -> NODES[id]).toList());
+    }
+
+    private static void assertChange(ClusterChangeEvent change, ClusterChangeType type, String resource, Integer partition,
+                                     String previousValue, String currentValue) {
+        assertEquals(type, change.getType());
+        assertEquals(resource, change.getResource());
+        assertEquals(partition, change.getPartition());
+        assertEquals(previousValue, change.getPreviousValue());
+        assertEquals(currentValue, change.getCurrentValue());
+    }
+}
@@ -0,0 +1,63 @@
+package com.kafka.poc.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the burst, refusal wait, release and rate changes of {@link TokenBucket}.
+ */
+class TokenBucketTest {
+
+    @Test
+    void grantsTheBurstThenRefusesWithTheWaitUntilTheNextPermit() {
+        TokenBucket bucket = new TokenBucket(1, 5000);
+
+        assertEquals(6, acquireAll(bucket));
+        long wait = bucket.tryAcquire();
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1), "wait " + wait);
+    }
+
+    @Test
+    void releaseGivesBackAPermit() {
+        TokenBucket bucket = new TokenBucket(1, 2000);
+        acquireAll(bucket);
+
+        bucket.release();
+
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void setRateAppliesWithoutResettingTheBucket() {
+        TokenBucket bucket = new TokenBucket(1, 0);
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        bucket.setRate(1000, 0);
+
+        assertEquals(1000, bucket.getRate(), 1e-6);
+        assertTrue(bucket.tryAcquire() > 0, "the permit already scheduled a second ahead is kept");
+    }
+
+    @Test
+    void idleTimeIsZeroWhileTheBucketIsDrawnBelowFull() {
+        TokenBucket bucket = new TokenBucket(1, 1000);
+
+        bucket.tryAcquire();
+
+        assertEquals(0, bucket.idleNanos());
+    }
+
+    private static int acquireAll(TokenBucket bucket) {
+        int granted = 0;
+        while (bucket.tryAcquire() == 0) {
+            granted++;
+        }
+        return granted;
+    }
+}